@@ -0,0 +1,50 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.messages.Message;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the decoding of every message sent by the server in each {@link Format} which can be decoded
+ * one message at a time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@State(Scope.Thread)
+public class DecodeBenchmark {
+	@Param({
+		"Accepted", "AcceptedJoinLobby", "AcceptedLeaveLobby", "AcceptedUsername", "AvailableLobbies",
+		"CharacterCardUpdate", "DisconnectionUpdate", "GameOverUpdate", "HelpResponse",
+		"LastRoundUpdate", "LobbyUpdate", "LobbyDirectoryUpdate", "ReconnectionUpdate", "Refused", "RefusedReconnect",
+		"UserSelectionUpdate", "AssistantCardUpdate-2p-mid", "AssistantCardUpdate-2p-late",
+		"AssistantCardUpdate-3p-mid", "AssistantCardUpdate-3p-late", "BoardDelta-2p-mid", "BoardDelta-2p-late",
+		"BoardDelta-3p-mid", "BoardDelta-3p-late", "BoardUpdate-2p-mid", "BoardUpdate-2p-late",
+		"BoardUpdate-3p-mid", "BoardUpdate-3p-late", "InitialBoardStatus-2p-mid", "InitialBoardStatus-2p-late",
+		"InitialBoardStatus-3p-mid", "InitialBoardStatus-3p-late"
+	})
+	public String message;
+
+	@Param({ "java", "gson", "binary" })
+	public String format;
+
+	private Format decoder;
+	private Class<? extends Message> type;
+	private byte[] encoded;
+
+	@Setup
+	public void setup() throws IOException {
+		Message sample = ServerMessages.get(message);
+		decoder = Format.byName(format);
+		type = sample.getClass();
+		encoded = decoder.newEncoder().encode(sample);
+	}
+
+	@Benchmark
+	public Message decode() throws IOException {
+		return decoder.decode(encoded, type);
+	}
+}
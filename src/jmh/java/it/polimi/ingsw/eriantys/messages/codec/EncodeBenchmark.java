@@ -0,0 +1,52 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.messages.Message;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the encoding of every message sent by the server in each {@link Format}.
+ * Invocations cycle through distinct copies of the message, as many as the messages written by the stream
+ * formats between two resets, so that no format can write a back-reference to a message written before.
+ * The size of the encoded messages is reported by {@link MessageSizes}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@State(Scope.Thread)
+public class EncodeBenchmark {
+	@Param({
+		"Accepted", "AcceptedJoinLobby", "AcceptedLeaveLobby", "AcceptedUsername", "AvailableLobbies",
+		"CharacterCardUpdate", "DisconnectionUpdate", "GameOverUpdate", "HelpResponse",
+		"LastRoundUpdate", "LobbyUpdate", "LobbyDirectoryUpdate", "ReconnectionUpdate", "Refused", "RefusedReconnect",
+		"UserSelectionUpdate", "AssistantCardUpdate-2p-mid", "AssistantCardUpdate-2p-late",
+		"AssistantCardUpdate-3p-mid", "AssistantCardUpdate-3p-late", "BoardDelta-2p-mid", "BoardDelta-2p-late",
+		"BoardDelta-3p-mid", "BoardDelta-3p-late", "BoardUpdate-2p-mid", "BoardUpdate-2p-late",
+		"BoardUpdate-3p-mid", "BoardUpdate-3p-late", "InitialBoardStatus-2p-mid", "InitialBoardStatus-2p-late",
+		"InitialBoardStatus-3p-mid", "InitialBoardStatus-3p-late"
+	})
+	public String message;
+
+	@Param({ "java", "java-stream-reset", "java-stream", "gson", "binary" })
+	public String format;
+
+	private Message[] copies;
+	private Format.Encoder encoder;
+	private int next;
+
+	@Setup
+	public void setup() throws IOException {
+		copies = ServerMessages.copies(message, Format.RESET_INTERVAL);
+		encoder = Format.byName(format).newEncoder();
+	}
+
+	@Benchmark
+	public byte[] encode() throws IOException {
+		Message copy = copies[next];
+		next = (next + 1) % copies.length;
+		return encoder.encode(copy);
+	}
+}
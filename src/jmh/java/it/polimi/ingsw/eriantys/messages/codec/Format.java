@@ -0,0 +1,120 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import com.google.gson.Gson;
+import it.polimi.ingsw.eriantys.messages.Message;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The serialization formats compared by the benchmarks.
+ * Besides the codecs of the protocol, the formats include the long-lived {@link ObjectOutputStream} which
+ * used to be shared by all the messages of a connection, both with and without a {@code reset()} before each message.
+ * Without {@code reset()}, objects which have already been written are sent as back-references:
+ * the stream is smaller, but the receiver never sees the changes made to those objects in the meantime
+ * and the stream keeps every written object reachable, so the encoder of that format only resets the stream
+ * every {@link #RESET_INTERVAL} messages. Only the codecs of the protocol can decode on their own.
+ */
+enum Format {
+	JAVA("java"),
+	JAVA_STREAM_RESET("java-stream-reset"),
+	JAVA_STREAM("java-stream"),
+	GSON("gson"),
+	BINARY("binary");
+
+	/**
+	 * The number of messages after which the stream which is not reset before each message is reset anyway,
+	 * to keep the objects it references bounded.
+	 */
+	static final int RESET_INTERVAL = 1024;
+
+	private static final Gson gson = new Gson();
+
+	private final String name;
+
+	Format(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Returns the format with the specified name.
+	 * @param name the name of the format
+	 * @return the format with the specified name
+	 * @throws IllegalArgumentException if no format has the specified name
+	 */
+	static Format byName(String name) {
+		for (Format format : values())
+			if (format.name.equals(name))
+				return format;
+		throw new IllegalArgumentException("No format named " + name);
+	}
+
+	/**
+	 * A getter for the name of the format, as used in the benchmark parameters.
+	 * @return the name of the format
+	 */
+	String getName() {
+		return name;
+	}
+
+	/**
+	 * A getter to know if messages in this format can be decoded one at a time.
+	 * @return {@code true} if and only if the format does not depend on previously written messages
+	 */
+	boolean isDecodable() {
+		return this != JAVA_STREAM_RESET && this != JAVA_STREAM;
+	}
+
+	/**
+	 * Creates an encoder for this format. Encoders of the stream formats hold a stream, so they must not be shared.
+	 * @return a new encoder
+	 * @throws IOException if the underlying stream cannot be created
+	 */
+	Encoder newEncoder() throws IOException {
+		return switch (this) {
+			case JAVA -> MessageCodecs.JAVA::encode;
+			case BINARY -> MessageCodecs.BINARY::encode;
+			case GSON -> message -> gson.toJson(message).getBytes(StandardCharsets.UTF_8);
+			case JAVA_STREAM_RESET, JAVA_STREAM -> {
+				ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+				ObjectOutputStream stream = new ObjectOutputStream(buffer);
+				int resetInterval = this == JAVA_STREAM_RESET ? 1 : RESET_INTERVAL;
+				int[] written = { 0 };
+				yield message -> {
+					buffer.reset();
+					if (written[0]++ % resetInterval == 0)
+						stream.reset();
+					stream.writeObject(message);
+					stream.flush();
+					return buffer.toByteArray();
+				};
+			}
+		};
+	}
+
+	/**
+	 * Decodes a message encoded by an encoder of this format.
+	 * @param bytes the encoded message
+	 * @param type the class of the message, which the JSON format does not record
+	 * @return the decoded message
+	 * @throws IOException if the message cannot be decoded
+	 * @throws UnsupportedOperationException if the format is not {@link #isDecodable() decodable}
+	 */
+	Message decode(byte[] bytes, Class<? extends Message> type) throws IOException {
+		return switch (this) {
+			case JAVA, BINARY -> MessageCodecs.decode(bytes, Frames.HEADER_SIZE, bytes.length - Frames.HEADER_SIZE);
+			case GSON -> gson.fromJson(new String(bytes, StandardCharsets.UTF_8), type);
+			case JAVA_STREAM_RESET, JAVA_STREAM -> throw new UnsupportedOperationException(name + " cannot decode single messages");
+		};
+	}
+
+	/**
+	 * This interface represents an encoder of messages.
+	 */
+	@FunctionalInterface
+	interface Encoder {
+		byte[] encode(Message message) throws IOException;
+	}
+}
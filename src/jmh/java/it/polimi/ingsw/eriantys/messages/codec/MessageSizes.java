@@ -0,0 +1,52 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import com.google.gson.GsonBuilder;
+import it.polimi.ingsw.eriantys.messages.Message;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the number of bytes taken by every message sent by the server in each {@link Format}.
+ * Two distinct copies of every message are encoded with the same encoder and the size of the second copy is reported,
+ * which is what a stream pays once its class descriptors have been written.
+ * The sizes are printed as a table and, if a path is passed as first argument, written to that file in JSON.
+ */
+public class MessageSizes {
+	public static void main(String[] args) throws IOException {
+		Map<String, Map<String, Integer>> sizes = new LinkedHashMap<>();
+
+		for (Map.Entry<String, Message> sample : ServerMessages.all().entrySet()) {
+			Map<String, Integer> messageSizes = new LinkedHashMap<>();
+			for (Format format : Format.values()) {
+				Message[] copies = ServerMessages.copies(sample.getKey(), 2);
+				Format.Encoder encoder = format.newEncoder();
+				encoder.encode(copies[0]);
+				messageSizes.put(format.getName(), encoder.encode(copies[1]).length);
+			}
+			sizes.put(sample.getKey(), messageSizes);
+		}
+
+		System.out.printf("%-30s", "Message");
+		for (Format format : Format.values())
+			System.out.printf("%20s", format.getName());
+		System.out.println();
+		for (Map.Entry<String, Map<String, Integer>> entry : sizes.entrySet()) {
+			System.out.printf("%-30s", entry.getKey());
+			for (int size : entry.getValue().values())
+				System.out.printf("%20d", size);
+			System.out.println();
+		}
+
+		if (args.length > 0) {
+			try (Writer out = Files.newBufferedWriter(Path.of(args[0]))) {
+				new GsonBuilder().setPrettyPrinting().create().toJson(sizes, out);
+			}
+			System.out.println("Message sizes are saved to " + args[0]);
+		}
+	}
+}
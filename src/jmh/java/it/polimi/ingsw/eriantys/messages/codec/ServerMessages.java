@@ -0,0 +1,133 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.server.*;
+import it.polimi.ingsw.eriantys.model.BoardStatus;
+import it.polimi.ingsw.eriantys.model.BoardStatusDelta;
+import it.polimi.ingsw.eriantys.model.GameManager;
+import it.polimi.ingsw.eriantys.model.Scenarios;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * This class builds a sample of every message sent by the server, keyed by a name which the benchmarks use
+ * as parameter. The board messages are sampled in mid-game and late-game states of 2-player and 3-player expert games.
+ */
+final class ServerMessages {
+	private static final Map<String, Message> samples = build();
+
+	private ServerMessages() {}
+
+	/**
+	 * Returns the sample message with the specified name.
+	 * @param name the name of the sample
+	 * @return the sample message
+	 * @throws IllegalArgumentException if no sample has the specified name
+	 */
+	static Message get(String name) {
+		Message message = samples.get(name);
+		if (message == null)
+			throw new IllegalArgumentException("No sample message named " + name);
+		return message;
+	}
+
+	/**
+	 * Returns the specified number of distinct copies of the sample message with the specified name.
+	 * Copies share no objects, so that a stream which is not reset cannot write any of them as a back-reference
+	 * to a previous copy.
+	 * @param name the name of the sample
+	 * @param number the number of copies
+	 * @return the copies of the sample message
+	 * @throws IOException if the sample message cannot be copied
+	 */
+	static Message[] copies(String name, int number) throws IOException {
+		byte[] frame = MessageCodecs.JAVA.encode(get(name));
+		Message[] copies = new Message[number];
+		for (int i = 0; i < number; i++)
+			copies[i] = MessageCodecs.decode(frame, Frames.HEADER_SIZE, frame.length - Frames.HEADER_SIZE);
+		return copies;
+	}
+
+	/**
+	 * Returns all the sample messages, keyed by name.
+	 * @return the sample messages
+	 */
+	static Map<String, Message> all() {
+		return samples;
+	}
+
+	private static Map<String, Message> build() {
+		Map<String, Message> samples = new LinkedHashMap<>();
+		List<String> players = Scenarios.nicknames(3);
+
+		samples.put("Accepted", new Accepted());
+		samples.put("AcceptedJoinLobby", new AcceptedJoinLobby(17, "a3f0"));
+		samples.put("AcceptedLeaveLobby", new AcceptedLeaveLobby());
+		samples.put("AcceptedUsername", new AcceptedUsername("Alice", BinaryMessageCodec.NAME));
+		samples.put("AvailableLobbies", new AvailableLobbies(lobbies(20)));
+		samples.put("CharacterCardUpdate", new CharacterCardUpdate(2));
+		samples.put("DisconnectionUpdate", new DisconnectionUpdate("Bob", 2, false));
+		samples.put("GameOverUpdate", new GameOverUpdate("Alice"));
+		samples.put("HelpResponse", new HelpResponse("Move three students from your entrance, then move Mother Nature."));
+		samples.put("LastRoundUpdate", new LastRoundUpdate());
+		samples.put("LobbyUpdate", new LobbyUpdate(players));
+		samples.put("LobbyDirectoryUpdate", new LobbyDirectoryUpdate(LobbyDirectoryUpdate.Change.UPDATED, lobbies(1).get(0), 1024));
+		samples.put("ReconnectionUpdate", new ReconnectionUpdate("Bob", 3, true));
+		samples.put("Refused", new Refused("Invalid move"));
+		samples.put("RefusedReconnect", new RefusedReconnect("Access denied"));
+		samples.put("UserSelectionUpdate", new UserSelectionUpdate(
+				List.of("GREY"), List.of("SKY", "SNOW"),
+				Map.of("Alice", "BLACK", "Bob", "WHITE"), Map.of("Alice", "FOREST", "Bob", "DESERT")));
+
+		for (int numPlayers : new int[] { 2, 3 }) {
+			for (String stage : new String[] { "mid", "late" }) {
+				String suffix = "-" + numPlayers + "p-" + stage;
+				GameManager gm = Scenarios.game(numPlayers, true, stage.equals("mid") ? Scenarios.MID_GAME : Scenarios.LATE_GAME);
+				BoardStatus before = new BoardStatus(gm);
+				BoardStatus after = new BoardStatus(moveStudent(gm));
+
+				samples.put("AssistantCardUpdate" + suffix, new AssistantCardUpdate(playedCards(gm), gm.getAvailableAssistantCards()));
+				samples.put("BoardDelta" + suffix, new BoardDelta(1, 2, new BoardStatusDelta(before, after), PhaseName.MOVE_STUDENT));
+				samples.put("BoardUpdate" + suffix, new BoardUpdate(after, PhaseName.MOVE_STUDENT, 2));
+				samples.put("InitialBoardStatus" + suffix, new InitialBoardStatus(before, 1));
+			}
+		}
+		return samples;
+	}
+
+	private static List<GameInfo> lobbies(int number) {
+		List<GameInfo> lobbies = new ArrayList<>();
+		for (int i = 0; i < number; i++) {
+			GameInfo info = new GameInfo(i, "player" + i, 2 + i % 2, i % 3 != 0);
+			info.setCurrentPlayers(1);
+			lobbies.add(info);
+		}
+		return lobbies;
+	}
+
+	private static Map<String, String> playedCards(GameManager gm) {
+		Map<String, String> playedCards = new LinkedHashMap<>();
+		for (Map.Entry<String, List<String>> entry : gm.getAvailableAssistantCards().entrySet())
+			playedCards.put(entry.getKey(), entry.getValue().get(0));
+		return playedCards;
+	}
+
+	private static GameManager moveStudent(GameManager gm) {
+		try {
+			String player = gm.getTurnOrder().get(0);
+			gm.setCurrentPlayer(player);
+			String student = gm.entranceRepresentation(player).entrySet().stream()
+					.filter(e -> e.getValue() > 0)
+					.map(Map.Entry::getKey)
+					.findFirst()
+					.orElseThrow();
+			gm.handleMovedStudent(player, student, gm.islandsRepresentation().get(0));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return gm;
+	}
+}
@@ -0,0 +1,46 @@
+package it.polimi.ingsw.eriantys.model;
+
+import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
+import it.polimi.ingsw.eriantys.model.exceptions.IslandNotFoundException;
+import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the unification of an island with both its neighbors.
+ * Since unifying islands changes the board, a new board is set up before every invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BoardBenchmark {
+	@Param({ "2", "3" })
+	public int players;
+
+	private GameConstants constants;
+	private Board board;
+	private IslandGroup target;
+
+	@Setup(Level.Trial)
+	public void loadConstants() {
+		constants = new GameManager(Scenarios.nicknames(players), false).constants;
+	}
+
+	@Setup(Level.Invocation)
+	public void setup() throws InvalidArgumentException, NoMovementException, IslandNotFoundException {
+		board = new Board(constants.getCloudNumber(), constants.getCloudSize(), new GameRandom(Scenarios.SEED));
+		board.setup();
+
+		Player controller = new Player(Scenarios.nicknames(players).get(0), constants.getEntranceSize(), constants.getTowerNumber());
+		for (String id : new String[] { "04", "05", "06" })
+			board.getIsland(id).setController(controller);
+		target = board.getIsland("05");
+	}
+
+	@Benchmark
+	public int unifyIslands() throws IslandNotFoundException, InvalidArgumentException {
+		board.unifyIslands(target);
+		return board.getIslandNumber();
+	}
+}
@@ -0,0 +1,31 @@
+package it.polimi.ingsw.eriantys.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the construction of a {@link BoardStatus} from a mid-game state, as done for every board update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BoardStatusBenchmark {
+	@Param({ "2", "3" })
+	public int players;
+
+	@Param({ "false", "true" })
+	public boolean expertMode;
+
+	private GameManager gm;
+
+	@Setup
+	public void setup() {
+		gm = Scenarios.game(players, expertMode, Scenarios.MID_GAME);
+	}
+
+	@Benchmark
+	public BoardStatus construct() {
+		return new BoardStatus(gm);
+	}
+}
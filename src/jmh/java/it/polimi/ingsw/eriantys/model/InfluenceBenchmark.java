@@ -0,0 +1,45 @@
+package it.polimi.ingsw.eriantys.model;
+
+import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
+import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
+import it.polimi.ingsw.eriantys.model.influence.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the resolution of an island in a mid-game state, with each {@link InfluenceCalculator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class InfluenceBenchmark {
+	@Param({ "2", "3" })
+	public int players;
+
+	@Param({ "common", "bonus", "excludeColor", "noTowers" })
+	public String calculator;
+
+	private GameManager gm;
+	private IslandGroup island;
+
+	@Setup
+	public void setup() throws InvalidArgumentException, NoMovementException {
+		gm = Scenarios.game(players, true, Scenarios.MID_GAME);
+		Player user = new Player(Scenarios.nicknames(players).get(0), 0, 0);
+		gm.changeInfluenceState(switch (calculator) {
+			case "bonus" -> new BonusInfluence(user);
+			case "excludeColor" -> new ExcludeColorInfluence(Color.GREEN);
+			case "noTowers" -> new NoTowersInfluence();
+			default -> new CommonInfluence();
+		});
+
+		island = new IslandGroup("01");
+		new Bag(new GameRandom(Scenarios.SEED)).moveTo(island, 8);
+	}
+
+	@Benchmark
+	public boolean resolve() throws InvalidArgumentException {
+		return gm.resolve(island);
+	}
+}
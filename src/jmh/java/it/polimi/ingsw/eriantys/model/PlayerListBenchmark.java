@@ -0,0 +1,34 @@
+package it.polimi.ingsw.eriantys.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the lookup of a player by nickname.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PlayerListBenchmark {
+	@Param({ "2", "3" })
+	public int players;
+
+	private List<String> nicknames;
+	private PlayerList playerList;
+	private int current;
+
+	@Setup
+	public void setup() {
+		GameConstants constants = new GameManager(Scenarios.nicknames(players), false).constants;
+		nicknames = Scenarios.nicknames(players);
+		playerList = new PlayerList(nicknames, constants.getEntranceSize(), constants.getTowerNumber());
+	}
+
+	@Benchmark
+	public Player get() {
+		current = (current + 1) % nicknames.size();
+		return playerList.get(nicknames.get(current));
+	}
+}
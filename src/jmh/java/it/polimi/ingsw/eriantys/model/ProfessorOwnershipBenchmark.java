@@ -0,0 +1,47 @@
+package it.polimi.ingsw.eriantys.model;
+
+import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
+import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the update of the owners of all the professors, with each player taking a turn in order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ProfessorOwnershipBenchmark {
+	private static final Set<Color> ALL_COLORS = EnumSet.allOf(Color.class);
+
+	@Param({ "2", "3" })
+	public int players;
+
+	private List<Player> turnOrder;
+	private ProfessorOwnership professors;
+	private int current;
+
+	@Setup
+	public void setup() throws InvalidArgumentException, NoMovementException {
+		GameConstants constants = new GameManager(Scenarios.nicknames(players), false).constants;
+		PlayerList playerList = new PlayerList(Scenarios.nicknames(players), constants.getEntranceSize(), constants.getTowerNumber());
+		turnOrder = playerList.getTurnOrder();
+
+		Bag bag = new Bag(new GameRandom(Scenarios.SEED));
+		for (Player player : turnOrder)
+			bag.moveTo(player.getDiningRoom(), 20);
+
+		professors = new ProfessorOwnership(() -> turnOrder.get(current));
+	}
+
+	@Benchmark
+	public ProfessorOwnership update() {
+		current = (current + 1) % turnOrder.size();
+		professors.update(ALL_COLORS);
+		return professors;
+	}
+}
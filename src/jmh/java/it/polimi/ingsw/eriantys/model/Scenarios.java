@@ -0,0 +1,98 @@
+package it.polimi.ingsw.eriantys.model;
+
+import it.polimi.ingsw.eriantys.model.exceptions.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class builds the deterministic game states which the benchmarks run against.
+ * Every state is obtained from a fixed seed through the public API of {@link GameManager},
+ * with the number of players and the constants read from {@code config.json}.
+ */
+public final class Scenarios {
+	public static final long SEED = 9133L;
+
+	/**
+	 * The number of rounds played to reach a mid-game state.
+	 */
+	public static final int MID_GAME = 3;
+
+	/**
+	 * The number of rounds played to reach a late-game state, in which the bag of a 3-player game is almost empty.
+	 */
+	public static final int LATE_GAME = 7;
+
+	private static final String[] TOWER_COLORS = { "BLACK", "WHITE", "GREY" };
+	private static final String[] WIZARDS = { "FOREST", "DESERT", "SKY" };
+
+	private Scenarios() {}
+
+	/**
+	 * Returns the nicknames of the players of a game with the specified number of players.
+	 * @param numPlayers the number of players
+	 * @return the nicknames of the players
+	 */
+	public static List<String> nicknames(int numPlayers) {
+		return List.copyOf(List.of("Alice", "Bob", "Eve").subList(0, numPlayers));
+	}
+
+	/**
+	 * Sets up a game and plays the specified number of rounds, in which every player moves the students
+	 * of a cloud tile from the entrance alternately to the dining room and to the islands, then picks a cloud tile.
+	 * Mother Nature is never moved, so that the islands keep their initial layout.
+	 * @param numPlayers the number of players
+	 * @param expertMode {@code true} if and only if the game is to be played in expert mode
+	 * @param rounds the number of rounds to be played
+	 * @return the {@link GameManager} of the game
+	 */
+	public static GameManager game(int numPlayers, boolean expertMode, int rounds) {
+		List<String> nicknames = nicknames(numPlayers);
+		GameManager gm = new GameManager(nicknames, expertMode, new GameRandom(SEED));
+
+		try {
+			gm.setupBoard();
+			gm.setupEntrances();
+			for (int i = 0; i < numPlayers; i++)
+				gm.setupPlayer(nicknames.get(i), TOWER_COLORS[i], WIZARDS[i]);
+
+			List<String> islands = gm.islandsRepresentation();
+			int moves = 0;
+			for (int round = 0; round < rounds; round++) {
+				gm.setupRound();
+				for (int i = 0; i < numPlayers; i++) {
+					String nickname = nicknames.get(i);
+					gm.setCurrentPlayer(nickname);
+					for (int j = 0; j < gm.constants.getCloudSize(); j++, moves++) {
+						Map<String, Integer> entrance = gm.entranceRepresentation(nickname);
+						String student = moves % 2 == 0 ? diningRoomStudent(entrance, gm.diningRoomRepresentation(nickname)) : null;
+						if (student != null)
+							gm.handleMovedStudent(nickname, student, GameConstants.DINING_ROOM);
+						else
+							gm.handleMovedStudent(nickname, anyStudent(entrance), islands.get(moves % islands.size()));
+					}
+					gm.handleSelectedCloud(nickname, i);
+				}
+			}
+		} catch (InvalidArgumentException | NoMovementException | IslandNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+		return gm;
+	}
+
+	private static String diningRoomStudent(Map<String, Integer> entrance, Map<String, Integer> diningRoom) {
+		return entrance.keySet().stream()
+				.filter(c -> entrance.get(c) > 0 && diningRoom.get(c) < 10)
+				.max(Comparator.comparing(entrance::get))
+				.orElse(null);
+	}
+
+	private static String anyStudent(Map<String, Integer> entrance) {
+		return entrance.entrySet().stream()
+				.filter(e -> e.getValue() > 0)
+				.map(Map.Entry::getKey)
+				.findFirst()
+				.orElseThrow();
+	}
+}
@@ -0,0 +1,47 @@
+package it.polimi.ingsw.eriantys.model;
+
+import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
+import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the students drawn from the {@link Bag}, both to fill a cloud tile and to fill an entrance.
+ * Every invocation puts the drawn students back, so that the bag never runs out of students.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class StudentContainerBenchmark {
+	@Param({ "2", "3" })
+	public int players;
+
+	private Bag bag;
+	private StudentContainer cloud;
+	private StudentContainer entrance;
+	private int entranceSize;
+
+	@Setup
+	public void setup() {
+		GameConstants constants = new GameManager(Scenarios.nicknames(players), false).constants;
+		bag = new Bag(new GameRandom(Scenarios.SEED));
+		cloud = new StudentContainer(constants.getCloudSize());
+		entranceSize = constants.getEntranceSize();
+		entrance = new StudentContainer(entranceSize);
+	}
+
+	@Benchmark
+	public StudentContainer refillFrom() throws InvalidArgumentException, NoMovementException {
+		cloud.refillFrom(bag);
+		cloud.moveAllTo(bag);
+		return cloud;
+	}
+
+	@Benchmark
+	public StudentContainer moveTo() throws InvalidArgumentException, NoMovementException {
+		bag.moveTo(entrance, entranceSize);
+		entrance.moveAllTo(bag);
+		return entrance;
+	}
+}
@@ -8,6 +8,9 @@ import it.polimi.ingsw.eriantys.client.gui.GraphicalUserInterface;
 import it.polimi.ingsw.eriantys.messages.Message;
 import it.polimi.ingsw.eriantys.messages.Ping;
 import it.polimi.ingsw.eriantys.messages.client.*;
+import it.polimi.ingsw.eriantys.messages.codec.Frames;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodecs;
 import it.polimi.ingsw.eriantys.messages.server.*;
 import it.polimi.ingsw.eriantys.model.AssistantCard;
 import it.polimi.ingsw.eriantys.model.BoardStatus;
@@ -16,9 +19,7 @@ import it.polimi.ingsw.eriantys.model.TowerColor;
 import it.polimi.ingsw.eriantys.model.Wizard;
 import org.apache.commons.cli.*;
 
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.*;
 import java.net.Socket;
 import java.util.Arrays;
 import java.util.List;
@@ -30,8 +31,9 @@ import java.util.prefs.Preferences;
  */
 public class Client extends Thread {
 	private final Socket socket;
-	private final ObjectOutputStream out;
-	private final ObjectInputStream in;
+	private final OutputStream out;
+	private final DataInputStream in;
+	private volatile MessageCodec codec;
 	private boolean running;
 	private final UserInterface ui;
 	private String username;
@@ -41,6 +43,11 @@ public class Client extends Thread {
 	private Integer characterCard;
 	private List<String> availableCards;
 	private BoardStatus boardStatus;
+	private BoardStatus cachedStatus;
+	private int cachedVersion;
+	private boolean statusRequested;
+	private final LobbyList lobbyList = new LobbyList();
+	private volatile boolean quickPlayQueued;
 
 	/**
 	 * The method is called to launch the client-side application (in either CLI or GUI mode).
@@ -100,11 +107,12 @@ public class Client extends Thread {
 		try {
 			this.socket = new Socket(serverAddress, serverPort);
 			this.socket.setSoTimeout(10000);
-			this.out = new ObjectOutputStream(this.socket.getOutputStream());
-			this.in = new ObjectInputStream(this.socket.getInputStream());
+			this.out = new BufferedOutputStream(this.socket.getOutputStream());
+			this.in = new DataInputStream(new BufferedInputStream(this.socket.getInputStream()));
 		} catch (IOException e) {
 			throw new IOException("Can't connect to the server", e);
 		}
+		this.codec = MessageCodecs.JAVA;
 		this.running = true;
 	}
 
@@ -125,10 +133,10 @@ public class Client extends Thread {
 		ui.init();
 		try (socket) {
 			while (running) {
-				Message message = (Message) in.readObject();
+				Message message = Frames.read(in);
 				handleMessage(message);
 			}
-		} catch (IOException | ClassNotFoundException e) {
+		} catch (IOException e) {
 			setRunning(false);
 			ui.quit();
 		}
@@ -141,7 +149,7 @@ public class Client extends Thread {
 	public void write(Message message) {
 		synchronized (out) {
 			try {
-				out.writeObject(message);
+				Frames.write(out, codec, message);
 			} catch (IOException e) {
 				setRunning(false);
 				ui.quit();
@@ -268,10 +276,14 @@ public class Client extends Thread {
 
 	private void handleMessage(Message message) {
 		if (message instanceof AcceptedUsername m) {
+			if (m.getCodec() != null)
+				codec = MessageCodecs.byName(m.getCodec());
 			ui.handleMessage(m);
 		} else if (message instanceof AcceptedJoinLobby m) {
+			quickPlayQueued = false;
 			ui.handleMessage(m);
 		} else if (message instanceof AcceptedLeaveLobby m) {
+			quickPlayQueued = false;
 			ui.handleMessage(m);
 		} else if (message instanceof Accepted m) {
 			ui.handleMessage(m);
@@ -282,17 +294,27 @@ public class Client extends Thread {
 		} else if (message instanceof HelpResponse m) {
 			ui.handleMessage(m);
 		} else if (message instanceof AvailableLobbies m) {
-			ui.handleMessage(m);
+			lobbyList.apply(m);
+			ui.handleMessage(lobbyView(m.getVersion()));
+		} else if (message instanceof LobbyDirectoryUpdate m) {
+			if (lobbyList.apply(m))
+				ui.handleMessage(lobbyView(m.getVersion()));
 		} else if (message instanceof LobbyUpdate m) {
 			ui.handleMessage(m);
 		} else if (message instanceof UserSelectionUpdate m) {
 			ui.handleMessage(m);
 		} else if (message instanceof InitialBoardStatus m) {
+			cacheStatus(m.getStatus(), m.getVersion());
 			ui.handleMessage(m);
 		} else if (message instanceof AssistantCardUpdate m) {
 			ui.handleMessage(m);
 		} else if (message instanceof BoardUpdate m) {
+			cacheStatus(m.getStatus(), m.getVersion());
 			ui.handleMessage(m);
+		} else if (message instanceof BoardDelta m) {
+			BoardUpdate update = applyDelta(m);
+			if (update != null)
+				ui.handleMessage(update);
 		} else if (message instanceof CharacterCardUpdate m) {
 			ui.handleMessage(m);
 		} else if (message instanceof LastRoundUpdate m) {
@@ -311,6 +333,36 @@ public class Client extends Thread {
 		}
 	}
 
+	private AvailableLobbies lobbyView(long version) {
+		return new AvailableLobbies(lobbyList.getLobbies(), lobbyList.getTotal(), lobbyList.getNext(), version);
+	}
+
+	private void cacheStatus(BoardStatus status, int version) {
+		cachedStatus = status;
+		cachedVersion = version;
+		statusRequested = false;
+	}
+
+	/**
+	 * Applies a {@link BoardDelta} to the cached board status, asking the server for the full status
+	 * if the delta refers to a version which is not the cached one.
+	 * @param delta the received delta
+	 * @return the equivalent {@link BoardUpdate}, or {@code null} if the delta cannot be applied
+	 */
+	private BoardUpdate applyDelta(BoardDelta delta) {
+		if (cachedStatus == null || cachedVersion == 0 || cachedVersion != delta.getBaseVersion()) {
+			if (!statusRequested) {
+				statusRequested = true;
+				write(new BoardStatusRequest(username));
+			}
+			return null;
+		}
+		cacheStatus(new BoardStatus(cachedStatus, delta.getDelta()), delta.getVersion());
+		BoardUpdate update = new BoardUpdate(cachedStatus, delta.getPhase(), cachedVersion);
+		update.setNextPlayer(delta.getNextPlayer());
+		return update;
+	}
+
 	/**
 	 * Sends a {@link HelpRequest} message to the server.
 	 */
@@ -325,7 +377,7 @@ public class Client extends Thread {
 	 */
 	public void sendHandshake(String username) {
 		if(username.matches("^[a-zA-Z\\d]+(?:(?:-[a-zA-Z\\d]+)*|(?:\\.[a-zA-Z\\d]+)*)\\z") && username.length() <= 16) {
-			write(new Handshake(username));
+			write(new Handshake(username, MessageCodecs.names()));
 		} else {
 			ui.showError("Invalid username, try again");
 		}
@@ -350,9 +402,43 @@ public class Client extends Thread {
 	 */
 	public void askLobbies() {
 		if (usernameNotSet()) return;
+		lobbyList.request(false);
 		write(new LobbiesRequest(username));
 	}
 
+	/**
+	 * Sends a {@link LobbiesRequest} message to the server, subscribing to the updates about the available lobbies,
+	 * which are then shown to the user as they are received.
+	 */
+	public void subscribeLobbies() {
+		if (usernameNotSet()) return;
+		lobbyList.request(true);
+		write(new LobbiesRequest(username, null, null, LobbiesRequest.FIRST_PAGE, LobbiesRequest.DEFAULT_PAGE_SIZE, true));
+	}
+
+	/**
+	 * Checks if the parameters are valid and sends a {@link QuickPlay} message to the server,
+	 * which finds the game as soon as enough players are looking for the same kind of game.
+	 * @param numPlayersArg the number of players of the game
+	 * @param expertModeArg {@code "true"} if the game is to be played in expert mode, {@code "false"} otherwise
+	 */
+	public void quickPlay(String numPlayersArg, String expertModeArg) {
+		if (usernameNotSet()) return;
+		try {
+			int numPlayers = Integer.parseInt(numPlayersArg);
+			if (!expertModeArg.equalsIgnoreCase("true") && !expertModeArg.equalsIgnoreCase("false"))
+				throw new Exception("Invalid boolean value");
+			boolean expertMode = Boolean.parseBoolean(expertModeArg);
+			quickPlayQueued = true;
+			write(new QuickPlay(username, numPlayers, expertMode));
+			ui.showInfo("Waiting for other players...");
+		} catch (NumberFormatException e) {
+			ui.showError("Invalid number format for argument <players>");
+		} catch (Exception e) {
+			ui.showError("Argument <expert> should be a boolean value (true/false)");
+		}
+	}
+
 	/**
 	 * Checks if the lobby id is a valid integer and sends a {@link JoinLobby} message to the server.
 	 * @param lobbyIdArg the identifier of the lobby to join
@@ -429,6 +515,10 @@ public class Client extends Thread {
 	 * If the player is in a lobby, sends a {@link LeaveLobby} message to the server.
 	 */
 	public void leaveLobby() {
+		if (gameId == null && quickPlayQueued) {
+			write(new LeaveLobby(username, LeaveLobby.QUICK_PLAY_QUEUE));
+			return;
+		}
 		if (gameId == null) {
 			ui.showError("Not in a lobby");
 			return;
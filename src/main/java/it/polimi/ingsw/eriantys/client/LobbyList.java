@@ -0,0 +1,117 @@
+package it.polimi.ingsw.eriantys.client;
+
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.messages.server.AvailableLobbies;
+import it.polimi.ingsw.eriantys.messages.server.LobbyDirectoryUpdate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * This class keeps the client-side copy of a page of lobbies, kept up to date by the {@link LobbyDirectoryUpdate} messages
+ * pushed by the server after subscribing to them.
+ * Since updates and pages are sent by different server threads, the updates received while a page is awaited are buffered
+ * and replayed on top of it if they are newer than the page, so that no change is lost or applied twice.
+ * Lobbies opened after the last lobby of the page are left out if the page is not the last one, so that the list
+ * never grows beyond what has been requested.
+ */
+public class LobbyList {
+	private final TreeMap<Integer, GameInfo> lobbies;
+	private final List<LobbyDirectoryUpdate> pending;
+	private boolean subscribed;
+	private boolean awaiting;
+	private Integer next;
+	private int total;
+
+	/**
+	 * Constructs an empty list, which is not subscribed to lobby updates.
+	 */
+	public LobbyList() {
+		this.lobbies = new TreeMap<>();
+		this.pending = new ArrayList<>();
+		this.subscribed = false;
+		this.awaiting = false;
+		this.next = null;
+		this.total = 0;
+	}
+
+	/**
+	 * Records that a new page of lobbies has been requested: the updates received until it arrives are buffered.
+	 * @param subscribe {@code true} if the request subscribes to lobby updates, {@code false} if it cancels the subscription
+	 */
+	public synchronized void request(boolean subscribe) {
+		subscribed = subscribe;
+		awaiting = true;
+		pending.clear();
+	}
+
+	/**
+	 * Replaces the content of the list with a page sent by the server, then replays the buffered updates newer than it.
+	 * @param page the page of lobbies
+	 */
+	public synchronized void apply(AvailableLobbies page) {
+		lobbies.clear();
+		if (page.getLobbies() != null)
+			for (GameInfo lobby : page.getLobbies())
+				lobbies.put(lobby.getGameId(), lobby);
+		next = page.getNext();
+		total = page.getTotal();
+		awaiting = false;
+		for (LobbyDirectoryUpdate update : pending)
+			if (update.getVersion() > page.getVersion())
+				apply(update);
+		pending.clear();
+	}
+
+	/**
+	 * Applies an update pushed by the server, unless a page is awaited, in which case the update is buffered.
+	 * @param update the update
+	 * @return {@code true} if and only if the content of the list has changed
+	 */
+	public synchronized boolean apply(LobbyDirectoryUpdate update) {
+		if (!subscribed)
+			return false;
+		if (awaiting) {
+			pending.add(update);
+			return false;
+		}
+
+		GameInfo lobby = update.getLobby();
+		int gameId = lobby.getGameId();
+		if (update.getChange() == LobbyDirectoryUpdate.Change.REMOVED) {
+			total = Math.max(0, total - 1);
+			return lobbies.remove(gameId) != null;
+		}
+		if (update.getChange() == LobbyDirectoryUpdate.Change.ADDED)
+			total++;
+		if (next != null && gameId > next)
+			return false;
+		lobbies.put(gameId, lobby);
+		return true;
+	}
+
+	/**
+	 * A getter for the lobbies in the list.
+	 * @return a copy of the lobbies, sorted by game identifier
+	 */
+	public synchronized List<GameInfo> getLobbies() {
+		return new ArrayList<>(lobbies.values());
+	}
+
+	/**
+	 * A getter for the cursor of the page following the lobbies in the list.
+	 * @return the cursor, or {@code null} if the list reaches the last lobby
+	 */
+	public synchronized Integer getNext() {
+		return next;
+	}
+
+	/**
+	 * A getter for the number of lobbies matching the request, including the ones which are not in the list.
+	 * @return the total number of matching lobbies
+	 */
+	public synchronized int getTotal() {
+		return total;
+	}
+}
@@ -1,16 +1,14 @@
 package it.polimi.ingsw.eriantys.client;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
 import it.polimi.ingsw.eriantys.messages.Message;
 import it.polimi.ingsw.eriantys.messages.Ping;
 import it.polimi.ingsw.eriantys.messages.server.*;
+import it.polimi.ingsw.eriantys.resources.ResourceRegistry;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -23,21 +21,20 @@ public abstract class UserInterface implements Runnable, ClientMessageHandler {
 	protected Client client;
 
 	/**
-	 * JSON structured object containing information about character cards that should be available to the player.
+	 * Information about character cards that should be available to the player, mapping each card to its description fields.
 	 */
-	protected final JsonObject characterCardInfo;
+	protected final Map<String, Map<String, String>> characterCardInfo;
 
 	/**
-	 * Reads the JSON file and saves the information about character cards.
+	 * Gets the information about character cards from the {@link ResourceRegistry}.
 	 *
 	 * @throws IOException if the file can't be opened or read
 	 */
 	public UserInterface() throws IOException {
-		try (InputStream in = getClass().getClassLoader().getResourceAsStream("help/characters.json")) {
-			if (in == null) throw new FileNotFoundException();
-			InputStreamReader reader = new InputStreamReader(in);
-			Gson gson = new Gson();
-			this.characterCardInfo = gson.fromJson(reader, JsonObject.class);
+		try {
+			this.characterCardInfo = ResourceRegistry.get().getCharacters();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
 		}
 	}
 
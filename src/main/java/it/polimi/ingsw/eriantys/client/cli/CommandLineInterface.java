@@ -1,6 +1,5 @@
 package it.polimi.ingsw.eriantys.client.cli;
 
-import com.google.gson.JsonObject;
 import it.polimi.ingsw.eriantys.client.UserInterface;
 import it.polimi.ingsw.eriantys.controller.GameInfo;
 import it.polimi.ingsw.eriantys.messages.server.*;
@@ -116,6 +115,10 @@ public class CommandLineInterface extends UserInterface {
 						if (wrongArgNumber(tokens, 1, 2)) break;
 						client.createLobby(tokens[1], tokens.length == 3 ? tokens[2] : "true");
 					}
+					case "/quickplay", "/q" -> {
+						if (wrongArgNumber(tokens, 1, 2)) break;
+						client.quickPlay(tokens[1], tokens.length == 3 ? tokens[2] : "true");
+					}
 					case "/leave", "/e" -> {
 						if (wrongArgNumber(tokens, 0)) break;
 						client.leaveLobby();
@@ -261,27 +264,27 @@ public class CommandLineInterface extends UserInterface {
 		BoardStatus boardStatus = client.getBoardStatus();
 		if (boardStatus == null) return;
 		String card = boardStatus.getCharacterCards().get(id);
-		if (!characterCardInfo.getAsJsonObject(card).has("cmd")) {
+		if (!characterCardInfo.get(card).containsKey("cmd")) {
 			client.playCharacterCard(null, null, null, null);
 			return;
 		}
-		String cmd = characterCardInfo.getAsJsonObject(card).get("cmd").getAsString();
+		String cmd = characterCardInfo.get(card).get("cmd");
 		showInfo("Set the arguments for the " + card + " character card using:\n " + cmd);
 	}
 
 	private void showCharacterDescription(String card) {
-		if (!characterCardInfo.has(card)) {
+		if (!characterCardInfo.containsKey(card)) {
 			showError("Invalid character card name");
 			return;
 		}
-		JsonObject cardInfo = characterCardInfo.getAsJsonObject(card);
-		String setup = Optional.ofNullable(cardInfo.get("setup")).map(j -> "Setup: " + j.getAsString() + "\n").orElse("");
-		String effect = "Effect: " + cardInfo.get("effect").getAsString();
+		Map<String, String> cardInfo = characterCardInfo.get(card);
+		String setup = Optional.ofNullable(cardInfo.get("setup")).map(j -> "Setup: " + j + "\n").orElse("");
+		String effect = "Effect: " + cardInfo.get("effect");
 		showInfo(setup + effect);
 	}
 
 	private void showCharacterStatus(String card) {
-		if (!characterCardInfo.has(card)) {
+		if (!characterCardInfo.containsKey(card)) {
 			showError("Invalid character card name");
 			return;
 		}
@@ -1,10 +1,9 @@
 package it.polimi.ingsw.eriantys.client.gui.controllers;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import it.polimi.ingsw.eriantys.client.gui.SceneName;
 import it.polimi.ingsw.eriantys.model.BoardStatus;
 import it.polimi.ingsw.eriantys.model.Color;
+import it.polimi.ingsw.eriantys.resources.ResourceRegistry;
 import javafx.event.Event;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -17,10 +16,8 @@ import javafx.scene.layout.Pane;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -52,14 +49,14 @@ public class CharacterCardsController extends Controller {
 	private List<Text> characterNoEntryTileTexts;
 
 	/**
-	 * Constructs the {@link CharacterCardsController} getting the character card information from the JSON file.
+	 * Constructs the {@link CharacterCardsController} getting the character card information from the {@link ResourceRegistry}.
 	 * @throws IOException if the file cannot be opened or read
 	 */
 	public CharacterCardsController() throws IOException {
-		try (InputStream in = getClass().getClassLoader().getResourceAsStream("help/characters.json")) {
-			if (in == null) throw new FileNotFoundException();
-			Gson gson = new Gson();
-			info = gson.fromJson(new InputStreamReader(in), new TypeToken<Map<String, Map<String, String>>>(){}.getType());
+		try {
+			info = ResourceRegistry.get().getCharacters();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
 		}
 	}
 
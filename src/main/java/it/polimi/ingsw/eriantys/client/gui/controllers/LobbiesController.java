@@ -91,18 +91,18 @@ public class LobbiesController extends Controller {
 		});
 
 		list.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
-			client.askLobbies();
+			client.subscribeLobbies();
 			event.consume();
 		});
 	}
 
 	/**
 	 * {@inheritDoc}
-	 * Asks for the available lobbies list and shows a reconnection message if related settings are found.
+	 * Subscribes to the available lobbies list and shows a reconnection message if related settings are found.
 	 */
 	@Override
 	public void onChangeScene() {
-		client.askLobbies();
+		client.subscribeLobbies();
 		if (client.hasReconnectSettings())
 			showReconnect();
 	}
@@ -4,20 +4,32 @@ import com.google.gson.JsonObject;
 import it.polimi.ingsw.eriantys.controller.phases.*;
 import it.polimi.ingsw.eriantys.messages.GameMessage;
 import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.client.BoardStatusRequest;
 import it.polimi.ingsw.eriantys.messages.client.HelpRequest;
 import it.polimi.ingsw.eriantys.messages.server.*;
+import it.polimi.ingsw.eriantys.model.BoardStatus;
+import it.polimi.ingsw.eriantys.model.BoardStatusDelta;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.GameManager;
+import it.polimi.ingsw.eriantys.model.GameRandom;
 import it.polimi.ingsw.eriantys.model.TowerColor;
 import it.polimi.ingsw.eriantys.model.Wizard;
 import it.polimi.ingsw.eriantys.model.exceptions.*;
 import it.polimi.ingsw.eriantys.server.ClientConnection;
 import it.polimi.ingsw.eriantys.server.HelpContent;
+import it.polimi.ingsw.eriantys.server.Mailbox;
 import it.polimi.ingsw.eriantys.server.Server;
 import it.polimi.ingsw.eriantys.server.exceptions.NoConnectionException;
+import it.polimi.ingsw.eriantys.server.journal.GameJournal;
+import it.polimi.ingsw.eriantys.server.journal.JournalCodec;
+import it.polimi.ingsw.eriantys.server.journal.JournalEntry;
+import it.polimi.ingsw.eriantys.server.journal.JournalWriter;
 
+import java.io.IOException;
+import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -26,11 +38,18 @@ import java.util.Map;
  * communicates with the players in order to provide updates about the game, as well as interacting with the model
  * through {@link GameManager}. {@link Game} implements a state pattern in order to manage the various phases of the
  * game and exposes several methods which are used to advance the game.
+ * Every message addressed to a game is handled within its own {@link Mailbox}, so that the state of the game
+ * is only modified by one thread at a time.
+ * If the {@link Server} keeps game journals, every call made to the {@link GameManager} is recorded in the
+ * {@link GameJournal} of the game, so that its state can be rebuilt by replaying them.
  */
 public class Game {
+	private static final SecureRandom passcodes = new SecureRandom();
+
 	private final Server server;
 	private final GameInfo info;
-	private boolean started = false;
+	private final Mailbox mailbox;
+	private volatile boolean started = false;
 	private boolean lastRound = false;
 	private boolean idle = false;
 	private Thread idleThread = null;
@@ -41,6 +60,11 @@ public class Game {
 	private Map<String, List<String>> availableAssistantCards;
 	private MessageHandler messageHandler;
 	private GameManager gameManager;
+	private GameJournal journal;
+	private BoardStatus boardStatus;
+	private PhaseName boardPhase;
+	private int boardVersion;
+	private final Map<String, Integer> boardVersions;
 
 	/**
 	 * Constructs a {@code Game} that fits the specified parameters.
@@ -53,12 +77,18 @@ public class Game {
 	public Game(Server server, int gameId, String creator, int lobbySize, boolean expertMode) {
 		this.server = server;
 		this.info = new GameInfo(gameId, creator, lobbySize, expertMode);
+		this.mailbox = new Mailbox("game #" + gameId, server.getWorkers());
 		this.players = new ArrayList<>();
 		this.playerPasscodes = new HashMap<>();
 		this.currentPlayer = 0;
 		this.availableAssistantCards = new HashMap<>();
 		this.messageHandler = null;
 		this.gameManager = null;
+		this.journal = null;
+		this.boardStatus = null;
+		this.boardPhase = null;
+		this.boardVersion = 0;
+		this.boardVersions = new HashMap<>();
 	}
 
 	/**
@@ -71,6 +101,14 @@ public class Game {
 		return info;
 	}
 
+	/**
+	 * Returns the {@link Mailbox} within which the messages addressed to this game are handled.
+	 * @return the {@link Mailbox} of this game.
+	 */
+	public Mailbox getMailbox() {
+		return mailbox;
+	}
+
 	/**
 	 * Returns the username of the current player, or {@code null} if the game has not started yet.
 	 * @return the username of the current player, or {@code null} if the game has not started yet.
@@ -138,6 +176,7 @@ public class Game {
 	 * Starts the game and notifies each player about the initial status of the game objects.
 	 */
 	public void start() {
+		record(new JournalEntry.Start());
 		try {
 			gameManager.setupBoard();
 			gameManager.setupEntrances();
@@ -160,7 +199,9 @@ public class Game {
 		}
 
 		try {
+			record(new JournalEntry.Round());
 			lastRound = gameManager.setupRound();
+			if (journal != null) journal.snapshot(gameManager);
 			if (lastRound) broadcast(new LastRoundUpdate());
 		} catch (InvalidArgumentException | NoMovementException e) {
 			System.out.println("This is a Throwable#printStackTrace() method call.");
@@ -168,6 +209,7 @@ public class Game {
 		}
 		availableAssistantCards = gameManager.getAvailableAssistantCards();
 		messageHandler = new PlayAssistantCardHandler(this);
+		boardPhase = null;
 		sendUpdate(new AssistantCardUpdate(new HashMap<>(), getAssistantCards()),
 				true);
 		checkDisconnection();
@@ -178,6 +220,7 @@ public class Game {
 	 * @param playedCards the assistant card played by each player.
 	 */
 	public void newTurn(Map<String, String> playedCards) {
+		record(new JournalEntry.AssistantCards(new LinkedHashMap<>(playedCards)));
 		lastRound = gameManager.handleAssistantCards(playedCards);
 		if (lastRound) broadcast(new LastRoundUpdate());
 		players = gameManager.getTurnOrder();
@@ -200,6 +243,7 @@ public class Game {
 		checkConnectedPlayers();
 
 		try {
+			record(new JournalEntry.CancelEffect());
 			gameManager.cancelCharacterCardEffect();
 		} catch (InvalidArgumentException e) {
 			System.out.println("This is a Throwable#printStackTrace() method call.");
@@ -220,6 +264,7 @@ public class Game {
 	 * Advances to the step of the turn when the current player can move Mother Nature.
 	 */
 	public void receiveMotherNatureMovement() {
+		record(new JournalEntry.Phase(PhaseName.MOTHER_NATURE.name()));
 		messageHandler = new MotherNatureDestinationHandler(this);
 		sendBoardUpdate(PhaseName.MOTHER_NATURE);
 		checkDisconnection();
@@ -229,6 +274,7 @@ public class Game {
 	 * Advances to the step of the turn when the current player can select a cloud tile.
 	 */
 	public void receiveCloudSelection() {
+		record(new JournalEntry.Phase(PhaseName.SELECT_CLOUD.name()));
 		messageHandler = new SelectCloudHandler(this);
 		sendBoardUpdate(PhaseName.SELECT_CLOUD);
 		checkDisconnection();
@@ -244,7 +290,7 @@ public class Game {
 	public String addPlayer(String username) {
 		if (players.contains(username) || players.size() == getInfo().getLobbySize()) return null;
 		players.add(username);
-		String passcode = Integer.toHexString((int) (Math.random() * 65536));
+		String passcode = Integer.toHexString(passcodes.nextInt(65536));
 		playerPasscodes.put(username, passcode);
 		info.setCurrentPlayers(info.getCurrentPlayers() + 1);
 		return passcode;
@@ -286,21 +332,33 @@ public class Game {
 	/**
 	 * Handles the reconnection of the specified player, notifying the rest of the players about the reconnection,
 	 * resuming the game if necessary and broadcasting an update about the state of the game.
+	 * A game is only resumed once at least two players are connected: the first player reconnecting to a game restored
+	 * by the server waits for the others as if the game had been paused.
 	 * @param username the username of the player who has reconnected to the game.
 	 */
 	public void reconnect(String username) {
+		boardVersions.remove(username);
 		int connectedPlayers =
 				players.stream().mapToInt(p -> server.isConnected(p) ? 1 : 0).reduce(0, Integer::sum);
-		broadcast(new ReconnectionUpdate(username, connectedPlayers, resume()));
+		boolean resumed = connectedPlayers > 1 && resume();
+		broadcast(new ReconnectionUpdate(username, connectedPlayers, resumed));
 		messageHandler.sendReconnectUpdate(username);
+		if (idle) {
+			// the player is the only one connected, and wins unless another one reconnects in time
+			stopIdleTimeout();
+			pause(username);
+		} else if (resumed)
+			checkDisconnection();
 	}
 
 	/**
-	 * Notifies every player in the game about the players currently waiting for the game to start.
+	 * Notifies every player in the game about the players currently waiting for the game to start, and updates the
+	 * entry of the game in the lobby directory of the server.
 	 */
 	public void notifyLobbyChange() {
 		LobbyUpdate res = new LobbyUpdate(new ArrayList<>(this.players));
 		broadcast(res);
+		server.getLobbyDirectory().update(this);
 	}
 
 	/**
@@ -320,7 +378,13 @@ public class Game {
 	 * {@code wizard} are not legal enum literals.
 	 */
 	public void setupPlayer(String username, String towerColor, String wizard) throws InvalidArgumentException {
-		gameManager.setupPlayer(username, towerColor, wizard);
+		boolean accepted = false;
+		try {
+			gameManager.setupPlayer(username, towerColor, wizard);
+			accepted = true;
+		} finally {
+			record(new JournalEntry.SetupPlayer(username, towerColor, wizard, accepted));
+		}
 	}
 
 	/**
@@ -345,7 +409,13 @@ public class Game {
 	 */
 	public void moveStudent(String username, String color, String destination)
 			throws IslandNotFoundException, NoMovementException, InvalidArgumentException {
-		gameManager.handleMovedStudent(username, color, destination);
+		boolean accepted = false;
+		try {
+			gameManager.handleMovedStudent(username, color, destination);
+			accepted = true;
+		} finally {
+			record(new JournalEntry.MoveStudent(username, color, destination, accepted));
+		}
 	}
 
 	/**
@@ -367,7 +437,14 @@ public class Game {
 	 */
 	public boolean moveMotherNature(String destination)
 			throws InvalidArgumentException, IslandNotFoundException, NotEnoughMovementsException {
-		return gameManager.handleMotherNatureMovement(destination);
+		boolean accepted = false;
+		try {
+			boolean gameOver = gameManager.handleMotherNatureMovement(destination);
+			accepted = true;
+			return gameOver;
+		} finally {
+			record(new JournalEntry.MotherNature(destination, accepted));
+		}
 	}
 
 	/**
@@ -379,7 +456,13 @@ public class Game {
 	 * @throws NoMovementException if an error occurs while transferring the students.
 	 */
 	public void selectCloud(String sender, int cloud) throws InvalidArgumentException, NoMovementException {
-		gameManager.handleSelectedCloud(sender, cloud);
+		boolean accepted = false;
+		try {
+			gameManager.handleSelectedCloud(sender, cloud);
+			accepted = true;
+		} finally {
+			record(new JournalEntry.Cloud(sender, cloud, accepted));
+		}
 	}
 
 	/**
@@ -394,7 +477,13 @@ public class Game {
 	public void playCharacterCard(int card, JsonObject params)
 			throws Exception, InvalidArgumentException, ItemNotAvailableException, DuplicateNoEntryTileException, NoMovementException {
 		if (playedCharacterCard) throw new Exception();
-		lastRound = gameManager.handleCharacterCard(card, params);
+		boolean accepted = false;
+		try {
+			lastRound = gameManager.handleCharacterCard(card, params);
+			accepted = true;
+		} finally {
+			record(new JournalEntry.CharacterCard(card, params != null ? params.toString() : null, accepted));
+		}
 		playedCharacterCard = true;
 		if (lastRound) broadcast(new LastRoundUpdate());
 	}
@@ -462,7 +551,11 @@ public class Game {
 	 * Sends an {@link InitialBoardStatus} message to every player.
 	 */
 	public void sendInitialBoardStatus() {
-		broadcast(new InitialBoardStatus(gameManager));
+		boardStatus = new BoardStatus(gameManager);
+		boardVersion++;
+		Message message = new InitialBoardStatus(boardStatus, boardVersion);
+		for (String player : players)
+			recordBoardVersion(player, send(player, message));
 	}
 
 	/**
@@ -471,7 +564,7 @@ public class Game {
 	 * @see Game#sendUpdate(UserActionUpdate, boolean)
 	 */
 	public void sendBoardUpdate(PhaseName phase) {
-		sendUpdate(new BoardUpdate(gameManager, phase), true);
+		broadcastBoardStatus(phase);
 	}
 
 	/**
@@ -479,7 +572,62 @@ public class Game {
 	 * @see Game#sendUpdate(UserActionUpdate, boolean)
 	 */
 	public void sendBoardUpdate() {
-		sendUpdate(new BoardUpdate(gameManager), true);
+		broadcastBoardStatus(null);
+	}
+
+	/**
+	 * Sends the last version of the board status to the specified player, who has lost track of its versions, along
+	 * with the phase started by the latest board updates, which the player may have dropped with the missing versions.
+	 * @param username the player who has sent a {@link BoardStatusRequest}.
+	 */
+	public void sendBoardStatus(String username) {
+		if (boardStatus == null || !players.contains(username)) return;
+		BoardUpdate message = new BoardUpdate(boardStatus, boardPhase, boardVersion);
+		message.setNextPlayer(players.get(currentPlayer));
+		recordBoardVersion(username, send(username, message));
+	}
+
+	/**
+	 * Takes a new version of the board status and sends it to every player: players who have received the previous
+	 * version only receive a {@link BoardDelta} with the differences, while the others receive a full {@link BoardUpdate}.
+	 * @param phase the current game phase, or {@code null} if the update does not start a new phase.
+	 */
+	private void broadcastBoardStatus(PhaseName phase) {
+		BoardStatus previous = boardStatus;
+		int baseVersion = boardVersion;
+		boardStatus = new BoardStatus(gameManager);
+		boardVersion++;
+		if (phase != null) boardPhase = phase;
+
+		String nextPlayer = players.get(currentPlayer);
+		BoardUpdate snapshot = new BoardUpdate(boardStatus, phase, boardVersion);
+		snapshot.setNextPlayer(nextPlayer);
+		BoardDelta delta = null;
+		if (previous != null) {
+			delta = new BoardDelta(baseVersion, boardVersion, new BoardStatusDelta(previous, boardStatus), phase);
+			delta.setNextPlayer(nextPlayer);
+		}
+
+		for (String player : players) {
+			Integer knownVersion = boardVersions.get(player);
+			boolean upToDate = delta != null && knownVersion != null && knownVersion == baseVersion;
+			recordBoardVersion(player, send(player, upToDate ? delta : snapshot));
+		}
+	}
+
+	/**
+	 * Records the version of the board status which the specified player is known to receive, so that the next update
+	 * can be sent to them as a delta. The version is recorded as soon as its message is queued rather than once the client
+	 * acknowledges it: an outbound queue never drops a board update unless a later full one replaces it, so the client
+	 * reaches the last version queued once its queue drains, or is disconnected, which forgets the version on reconnection.
+	 * A client which finds a gap anyway asks for the full status with a {@link BoardStatusRequest}.
+	 * @param player the player
+	 * @param sent {@code true} if the last version has been queued for the player,
+	 * {@code false} if the player is no longer connected to the game
+	 */
+	private void recordBoardVersion(String player, boolean sent) {
+		if (sent) boardVersions.put(player, boardVersion);
+		else boardVersions.remove(player);
 	}
 
 	/**
@@ -503,31 +651,74 @@ public class Game {
 	 */
 	public void gameOver() {
 		started = false;
+		closeJournal();
 		sendUpdate(new GameOverUpdate(gameManager.getWinner()), false);
 		server.gameOver(this, players);
 	}
 
 	private void gameOver(String winner) {
 		started = false;
+		closeJournal();
 		sendUpdate(new GameOverUpdate(winner), false);
 		server.gameOver(this, players);
 	}
 
 	private void broadcast(Message message) {
-		for (String player : players) {
-			try {
-				ClientConnection connection = server.getConnection(player);
-				if (connection.getGame().getInfo().getGameId() == this.info.getGameId())
-					connection.write(message);
-			} catch (NoConnectionException e) {
-				System.out.println(player + " disconnected");
+		for (String player : players)
+			send(player, message);
+	}
+
+	private boolean send(String player, Message message) {
+		try {
+			ClientConnection connection = server.getConnection(player);
+			if (connection.getGame().getInfo().getGameId() == this.info.getGameId()) {
+				connection.write(message);
+				return true;
 			}
+		} catch (NoConnectionException e) {
+			System.out.println(player + " disconnected");
 		}
+		return false;
 	}
 
 	private void setGameManager() {
-		if (gameManager == null)
+		if (gameManager == null) {
 			gameManager = new GameManager(players, getInfo().isExpertMode());
+			System.out.println("Game " + getInfo().getGameId() + " started with seed " + gameManager.getSeed());
+			openJournal();
+		}
+	}
+
+	/**
+	 * Opens the journal of the game, if the server keeps game journals, recording everything needed to create the game again.
+	 */
+	private void openJournal() {
+		JournalWriter writer = server.getJournalWriter();
+		if (writer == null) return;
+		Map<String, String> passcodes = new LinkedHashMap<>();
+		for (String player : players)
+			passcodes.put(player, playerPasscodes.get(player));
+		journal = writer.open(info.getGameId());
+		journal.append(new JournalEntry.Created(info.getGameId(), info.getCreator(), info.getLobbySize(),
+				info.isExpertMode(), gameManager.getSeed(), List.copyOf(players), passcodes));
+	}
+
+	/**
+	 * Appends an entry to the journal of the game, if any.
+	 * @param entry the entry to append
+	 */
+	private void record(JournalEntry entry) {
+		if (journal != null) journal.append(entry);
+	}
+
+	/**
+	 * Records the end of the game and deletes its journal, which is no longer needed.
+	 */
+	private void closeJournal() {
+		if (journal == null) return;
+		journal.append(new JournalEntry.End());
+		journal.close(true);
+		journal = null;
 	}
 
 	/**
@@ -535,6 +726,7 @@ public class Game {
 	 */
 	private void updateCurrentPlayer() {
 		try {
+			record(new JournalEntry.CurrentPlayer(players.get(currentPlayer)));
 			gameManager.setCurrentPlayer(players.get(currentPlayer));
 		} catch (InvalidArgumentException e) {
 			throw new RuntimeException(e);
@@ -561,15 +753,29 @@ public class Game {
 		return connectedPlayers.size();
 	}
 
+	/**
+	 * Starts the idle timeout of a game restored by {@link #recover}, so that the game ends if none of its players
+	 * reconnects in time. The timeout starts over when the first player reconnects.
+	 */
+	public void startIdleTimeout() {
+		mailbox.execute(() -> {
+			if (idle && idleThread == null)
+				pause(null);
+		});
+	}
+
 	private void pause(String connectedPlayer) {
 		idle = true;
+		long timeout = server.getSettings().getIdleTimeout() * 1000L;
 		idleThread = new Thread(() -> {
 			try {
-				Thread.sleep(60000);
+				Thread.sleep(timeout);
 			} catch (InterruptedException e) {
 				return;
 			}
-			if (idle) gameOver(connectedPlayer);
+			mailbox.execute(() -> {
+				if (idle) gameOver(connectedPlayer);
+			});
 		});
 		idleThread.start();
 	}
@@ -578,7 +784,113 @@ public class Game {
 		if (!idle) return false;
 
 		idle = false;
-		idleThread.interrupt();
+		stopIdleTimeout();
 		return true;
 	}
+
+	private void stopIdleTimeout() {
+		if (idleThread != null) {
+			idleThread.interrupt();
+			idleThread = null;
+		}
+	}
+
+	/**
+	 * Restores a game from the entries of its journal, after the server which was running it has stopped.
+	 * The model is restored from the latest snapshot, if any, and rebuilt by replaying the entries following it,
+	 * while the phase of the game, the turn order and the current player are rebuilt from the entries which mark them.
+	 * A game restored during the planning phase restarts it, since the assistant cards are only recorded once every player
+	 * has chosen one.
+	 * The restored game is idle, and resumes as soon as two of its players have reconnected;
+	 * it only ends when nobody comes back if its idle timeout is started with {@link #startIdleTimeout()}.
+	 * @param server the {@link Server} in charge of exchanging messages with the clients.
+	 * @param entries the entries of the journal of the game.
+	 * @param snapshot the latest snapshot of the game, from which the model is restored instead of replaying the entries
+	 * it includes, or {@code null} if the model is to be rebuilt from the first entry.
+	 * @param journal the journal to which the restored game keeps appending its entries, or {@code null} if none.
+	 * @return the restored game.
+	 * @throws IOException if the entries do not describe a game in progress, if the snapshot does not belong to them,
+	 * or if replaying them does not lead to the same outcomes.
+	 */
+	public static Game recover(Server server, List<JournalEntry> entries, JournalCodec.Snapshot snapshot,
+							   GameJournal journal) throws IOException {
+		if (entries.isEmpty() || !(entries.get(0) instanceof JournalEntry.Created created))
+			throw new IOException("The journal does not start with the creation of the game");
+
+		Game game = new Game(server, created.gameId(), created.creator(), created.lobbySize(), created.expertMode());
+		for (String player : created.players()) {
+			game.players.add(player);
+			game.playerPasscodes.put(player, created.passcodes().get(player));
+		}
+		game.info.setCurrentPlayers(game.players.size());
+		int replayFrom = 1;
+		if (snapshot != null) {
+			game.gameManager = GameJournal.restore(entries, snapshot);
+			replayFrom = snapshot.entries();
+		} else
+			game.gameManager = new GameManager(game.players, created.expertMode(), new GameRandom(created.seed()));
+
+		Map<String, String> towerColors = new HashMap<>();
+		Map<String, String> wizards = new HashMap<>();
+		boolean planning = false;
+		PhaseName phase = null;
+		int movementCount = 0;
+		// the state of the controller is rebuilt from every entry, while the model only replays those after the snapshot
+		for (int i = 1; i < entries.size(); i++) {
+			JournalEntry entry = entries.get(i);
+			if (i >= replayFrom)
+				GameJournal.apply(game.gameManager, entry);
+			if (entry instanceof JournalEntry.SetupPlayer e && e.accepted()) {
+				towerColors.put(e.username(), e.towerColor());
+				wizards.put(e.username(), e.wizard());
+				game.nextPlayer();
+			} else if (entry instanceof JournalEntry.Round) {
+				game.availableAssistantCards = game.gameManager.getAvailableAssistantCards();
+				game.currentPlayer = 0;
+				planning = true;
+			} else if (entry instanceof JournalEntry.AssistantCards) {
+				game.players = game.gameManager.getTurnOrder();
+				planning = false;
+			} else if (entry instanceof JournalEntry.CurrentPlayer e) {
+				game.currentPlayer = game.players.indexOf(e.username());
+				game.playedCharacterCard = false;
+				phase = PhaseName.MOVE_STUDENT;
+				movementCount = 0;
+			} else if (entry instanceof JournalEntry.MoveStudent e && e.accepted())
+				movementCount++;
+			else if (entry instanceof JournalEntry.CharacterCard e && e.accepted())
+				game.playedCharacterCard = true;
+			else if (entry instanceof JournalEntry.Phase e)
+				phase = PhaseName.valueOf(e.name());
+			else if (entry instanceof JournalEntry.End)
+				throw new IOException("The game has already ended");
+		}
+		if (game.currentPlayer < 0)
+			throw new IOException("The current player is not part of the game");
+
+		game.started = true;
+		game.lastRound = game.gameManager.isLastRound();
+		if (planning)
+			game.messageHandler = new PlayAssistantCardHandler(game);
+		else if (phase == null)
+			game.messageHandler = new GameSetupHandler(game, towerColors, wizards);
+		else
+			game.messageHandler = switch (phase) {
+				case MOVE_STUDENT -> new MoveStudentHandler(game, movementCount);
+				case MOTHER_NATURE -> new MotherNatureDestinationHandler(game);
+				case SELECT_CLOUD -> new SelectCloudHandler(game);
+			};
+		game.boardPhase = planning ? null : phase;
+		game.journal = journal;
+		game.idle = true;
+		return game;
+	}
+
+	/**
+	 * Returns the usernames of the players of the game.
+	 * @return a copy of the usernames of the players, in the current turn order.
+	 */
+	public List<String> getPlayers() {
+		return new ArrayList<>(players);
+	}
 }
@@ -11,7 +11,7 @@ public class GameInfo implements Serializable {
 	private final int gameId;
 	private final String creator;
 	private final int lobbySize;
-	private int currentPlayers;
+	private volatile int currentPlayers;
 	private final boolean expertMode;
 
 	/**
@@ -41,6 +41,20 @@ public class GameSetupHandler implements MessageHandler {
 			this.availableTowerColors.remove("GREY");
 	}
 
+	/**
+	 * Constructs a {@link GameSetupHandler} for the specified game, in which some players have already completed the setup.
+	 * @param game the {@link Game} this message handler refers to.
+	 * @param towerColors the tower color chosen by each player who has completed the setup.
+	 * @param wizards the wizard chosen by each player who has completed the setup.
+	 */
+	public GameSetupHandler(Game game, Map<String, String> towerColors, Map<String, String> wizards) {
+		this(game);
+		this.towerColors.putAll(towerColors);
+		this.wizards.putAll(wizards);
+		this.availableTowerColors.removeAll(towerColors.values());
+		this.availableWizards.removeAll(wizards.values());
+	}
+
 	@Override
 	public void handle(GameMessage m) throws NoConnectionException {
 		if (m instanceof GameSetupSelection gameSetupSelection)
@@ -23,8 +23,18 @@ public class MoveStudentHandler extends PlayCharacterCardHandler {
 	 * @param game the {@link Game} this message handler refers to.
 	 */
 	public MoveStudentHandler(Game game) {
+		this(game, 0);
+	}
+
+	/**
+	 * Constructs a {@link MoveStudentHandler} for the specified game, in which the current player has already moved
+	 * some students.
+	 * @param game the {@link Game} this message handler refers to.
+	 * @param movementCount the number of students already moved by the current player.
+	 */
+	public MoveStudentHandler(Game game, int movementCount) {
 		super(game);
-		this.movementCount = 0;
+		this.movementCount = movementCount;
 	}
 
 	@Override
@@ -0,0 +1,353 @@
+package it.polimi.ingsw.eriantys.loadtest;
+
+import com.google.gson.JsonObject;
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.Ping;
+import it.polimi.ingsw.eriantys.messages.client.*;
+import it.polimi.ingsw.eriantys.messages.codec.Frames;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodecs;
+import it.polimi.ingsw.eriantys.messages.server.*;
+import it.polimi.ingsw.eriantys.model.BoardStatus;
+import it.polimi.ingsw.eriantys.model.Color;
+import it.polimi.ingsw.eriantys.model.GameConstants;
+
+import java.io.*;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This class represents a headless client which plays a single game with legal moves, chosen at random.
+ * A bot either creates a lobby, joins the one created by another bot or waits in the quick-play queue, then reacts to every message of the server
+ * on its own reader thread, sending at most one request at a time and timing how long the server takes to answer it.
+ * The bot gives up the game if the server stops making progress or keeps refusing its requests.
+ */
+class Bot implements Runnable {
+	private static final Set<String> SUPPORTED_CHARACTERS =
+			Set.of("Centaur", "Farmer", "Knight", "MagicPostman", "Herald", "MushroomGuy", "Thief");
+	private static final int MAX_REFUSALS = 3;
+	private static final int DINING_ROOM_SIZE = 10;
+
+	private final String username;
+	private final Integer joinedGameId;
+	private final LoadSettings settings;
+	private final LoadStatistics statistics;
+	private final SplittableRandom random;
+	private final CompletableFuture<Integer> gameId;
+	private final CompletableFuture<Boolean> result;
+	private Socket socket;
+	private OutputStream out;
+	private DataInputStream in;
+	private MessageCodec codec;
+
+	private BoardStatus status;
+	private int version;
+	private boolean statusRequested;
+	private PhaseName phase;
+	private String nextPlayer;
+	private Message pending;
+	private long pendingSince;
+	private boolean playedCharacterCard;
+	private int refusals;
+	private final Set<Integer> refusedClouds;
+
+	/**
+	 * Constructs a bot which creates a new lobby if {@code gameId} is {@code null}, or joins the specified game otherwise.
+	 * With {@link LoadSettings#isQuickPlay()}, the bot ignores {@code gameId} and waits in the quick-play queue instead.
+	 * @param username the username of the bot
+	 * @param gameId the identifier of the game to join, or {@code null} to create a new lobby
+	 * @param settings the settings of the load test
+	 * @param statistics the statistics to update
+	 */
+	Bot(String username, Integer gameId, LoadSettings settings, LoadStatistics statistics) {
+		this.username = username;
+		this.joinedGameId = gameId;
+		this.settings = settings;
+		this.statistics = statistics;
+		this.random = new SplittableRandom();
+		this.gameId = new CompletableFuture<>();
+		this.result = new CompletableFuture<>();
+		this.codec = MessageCodecs.JAVA;
+		this.refusedClouds = new HashSet<>();
+	}
+
+	/**
+	 * Connects to the server and starts the reader thread of the bot.
+	 * @param threads the factory of the reader thread
+	 * @throws IOException if the connection cannot be established
+	 */
+	void start(ThreadFactory threads) throws IOException {
+		socket = new Socket(settings.getAddress(), settings.getPort());
+		socket.setTcpNoDelay(true);
+		socket.setSoTimeout(settings.getIdleTimeout() * 1000);
+		out = new BufferedOutputStream(socket.getOutputStream());
+		in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		threads.newThread(this).start();
+	}
+
+	/**
+	 * Waits until the lobby has been created or joined.
+	 * @return the identifier of the game
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 * @throws ExecutionException if the bot has failed before entering a lobby
+	 * @throws TimeoutException if no lobby has been entered within the idle timeout
+	 */
+	int awaitGameId() throws InterruptedException, ExecutionException, TimeoutException {
+		return gameId.get(settings.getIdleTimeout(), TimeUnit.SECONDS);
+	}
+
+	/**
+	 * A getter for the outcome of the bot, which is completed when the bot stops playing.
+	 * This happens at the latest after the idle timeout of the bot.
+	 * @return a future completed with {@code true} if and only if the game has been played until the end
+	 */
+	CompletableFuture<Boolean> getResult() {
+		return result;
+	}
+
+	/**
+	 * Closes the connection to the server, which stops the reader thread.
+	 * A bot which is still playing is stopped without recording an error.
+	 */
+	void close() {
+		gameId.completeExceptionally(new IOException("closed"));
+		result.complete(false);
+		try {
+			if (socket != null)
+				socket.close();
+		} catch (IOException e) {
+			// the connection is being discarded anyway
+		}
+	}
+
+	@Override
+	public void run() {
+		long lastProgress = System.nanoTime();
+		long idleTimeout = TimeUnit.SECONDS.toNanos(settings.getIdleTimeout());
+		try {
+			List<String> codecs = settings.getCodec() == null ? MessageCodecs.names() : List.of(settings.getCodec());
+			send(new Handshake(username, codecs), true);
+			while (!result.isDone()) {
+				Message message = Frames.read(in);
+				statistics.messageReceived();
+				if (message instanceof Ping) {
+					send(new Ping(), false);
+					if (System.nanoTime() - lastProgress > idleTimeout)
+						fail("no progress for " + settings.getIdleTimeout() + "s in phase " + phase);
+				} else {
+					lastProgress = System.nanoTime();
+					handle(message);
+				}
+			}
+		} catch (SocketTimeoutException e) {
+			fail("no message for " + settings.getIdleTimeout() + "s");
+		} catch (IOException e) {
+			if (!result.isDone())
+				fail("connection lost: " + e.getMessage());
+		} finally {
+			close();
+		}
+	}
+
+	private void handle(Message message) throws IOException {
+		if (message instanceof AcceptedUsername m) {
+			respond();
+			if (m.getCodec() != null)
+				codec = MessageCodecs.byName(m.getCodec());
+			if (settings.isQuickPlay())
+				send(new QuickPlay(username, settings.getPlayersPerGame(), settings.isExpertMode()), true);
+			else if (joinedGameId == null)
+				send(new LobbyCreation(username, settings.getPlayersPerGame(), settings.isExpertMode()), true);
+			else
+				send(new JoinLobby(username, joinedGameId), true);
+		} else if (message instanceof AcceptedJoinLobby m) {
+			respond();
+			gameId.complete(m.getGameId());
+		} else if (message instanceof Accepted) {
+			Message request = respond();
+			refusals = 0;
+			if (request instanceof SelectCloud) {
+				// the turn is over: wait for the next phase
+				phase = null;
+				playedCharacterCard = false;
+				refusedClouds.clear();
+			}
+		} else if (message instanceof Refused m) {
+			handleRefused(respond(), m);
+		} else if (message instanceof UserSelectionUpdate m) {
+			if (username.equals(m.getNextPlayer()))
+				send(new GameSetupSelection(username, m.getAvailableTowerColors().get(0), m.getAvailableWizards().get(0)), true);
+		} else if (message instanceof AssistantCardUpdate m) {
+			if (username.equals(m.getNextPlayer()))
+				playAssistantCard(m.getAvailableCards().get(username), m.getPlayedCards().values());
+		} else if (message instanceof InitialBoardStatus m) {
+			cache(m.getStatus(), m.getVersion());
+		} else if (message instanceof BoardUpdate m) {
+			cache(m.getStatus(), m.getVersion());
+			onBoardUpdate(m.getPhase(), m.getNextPlayer());
+		} else if (message instanceof BoardDelta m) {
+			if (status != null && version == m.getBaseVersion()) {
+				cache(new BoardStatus(status, m.getDelta()), m.getVersion());
+				onBoardUpdate(m.getPhase(), m.getNextPlayer());
+			} else if (!statusRequested) {
+				statusRequested = true;
+				statistics.resync();
+				send(new BoardStatusRequest(username), false);
+			}
+		} else if (message instanceof GameOverUpdate) {
+			result.complete(true);
+		}
+	}
+
+	private void handleRefused(Message request, Refused refused) throws IOException {
+		statistics.requestRefused();
+		if (request instanceof Handshake || request instanceof LobbyCreation || request instanceof JoinLobby || request instanceof QuickPlay) {
+			fail(request.getClass().getSimpleName() + " refused: " + refused.getDetails());
+		} else if (request instanceof PlayCharacterCard) {
+			// go on with the turn without the character card
+			playedCharacterCard = true;
+			act();
+		} else if (++refusals > MAX_REFUSALS) {
+			fail("too many refused requests, last: " + refused.getDetails());
+		} else {
+			if (request instanceof SelectCloud selectCloud)
+				refusedClouds.add(selectCloud.getCloud());
+			act();
+		}
+	}
+
+	private void cache(BoardStatus status, int version) {
+		this.status = status;
+		this.version = version;
+		this.statusRequested = false;
+	}
+
+	private void onBoardUpdate(PhaseName phase, String nextPlayer) throws IOException {
+		if (phase != null)
+			this.phase = phase;
+		this.nextPlayer = nextPlayer;
+		act();
+	}
+
+	/**
+	 * Sends the next move, if it is the bot's turn and no request is waiting for a response.
+	 */
+	private void act() throws IOException {
+		if (pending != null || status == null || phase == null || !username.equals(nextPlayer))
+			return;
+
+		switch (phase) {
+			case MOVE_STUDENT -> {
+				if (settings.isExpertMode() && !playedCharacterCard && random.nextDouble() < settings.getCharacterProbability()
+						&& playCharacterCard())
+					return;
+				moveStudent();
+			}
+			case MOTHER_NATURE -> {
+				List<String> islands = status.getIslands();
+				int index = islands.indexOf(status.getMotherNatureIsland());
+				send(new MotherNatureDestination(username, islands.get((index + 1) % islands.size())), true);
+			}
+			case SELECT_CLOUD -> selectCloud();
+		}
+	}
+
+	private void playAssistantCard(List<String> available, Collection<String> played) throws IOException {
+		String card = available.stream().filter(c -> !played.contains(c)).findFirst().orElse(available.get(0));
+		send(new PlayAssistantCard(username, card), true);
+	}
+
+	private boolean playCharacterCard() throws IOException {
+		List<String> cards = status.getCharacterCards();
+		Map<String, Integer> costs = status.getCharacterCardsCost();
+		int coins = status.getPlayerCoins().getOrDefault(username, 0);
+
+		List<Integer> playable = new ArrayList<>();
+		for (int i = 0; i < cards.size(); i++)
+			if (SUPPORTED_CHARACTERS.contains(cards.get(i)) && costs.get(cards.get(i)) <= coins)
+				playable.add(i);
+		if (playable.isEmpty()) {
+			playedCharacterCard = true;
+			return false;
+		}
+
+		int index = playable.get(random.nextInt(playable.size()));
+		JsonObject params = new JsonObject();
+		switch (cards.get(index)) {
+			case "Herald" -> params.addProperty("targetIsland", randomIsland());
+			case "MushroomGuy", "Thief" -> params.addProperty("targetColor", Color.values()[random.nextInt(Color.values().length)].toString());
+		}
+		send(new PlayCharacterCard(username, index, params.toString()), true);
+		return true;
+	}
+
+	private void moveStudent() throws IOException {
+		Map<String, Integer> entrance = status.getPlayerEntrances().get(username);
+		Map<String, Integer> diningRoom = status.getPlayerDiningRooms().get(username);
+		List<String> students = entrance.keySet().stream().filter(c -> entrance.get(c) > 0).toList();
+		if (students.isEmpty()) {
+			fail("empty entrance");
+			return;
+		}
+
+		String student = students.get(random.nextInt(students.size()));
+		String destination = random.nextBoolean() && diningRoom.get(student) < DINING_ROOM_SIZE
+				? GameConstants.DINING_ROOM
+				: randomIsland();
+		send(new MoveStudent(username, student, destination), true);
+	}
+
+	private void selectCloud() throws IOException {
+		for (Map.Entry<String, Map<String, Integer>> cloud : status.getCloudTiles().entrySet()) {
+			int index = Integer.parseInt(cloud.getKey());
+			int students = cloud.getValue().values().stream().mapToInt(Integer::intValue).sum();
+			if (students > 0 && !refusedClouds.contains(index)) {
+				send(new SelectCloud(username, index), true);
+				return;
+			}
+		}
+		fail("no cloud tile left to select");
+	}
+
+	private String randomIsland() {
+		List<String> islands = status.getIslands();
+		return islands.get(random.nextInt(islands.size()));
+	}
+
+	private void send(Message message, boolean awaitResponse) throws IOException {
+		if (awaitResponse) {
+			pending = message;
+			pendingSince = System.nanoTime();
+		}
+		Frames.write(out, codec, message);
+		statistics.messageSent();
+	}
+
+	/**
+	 * Marks the pending request as answered, recording its round-trip time.
+	 * @return the answered request, or {@code null} if no request was pending
+	 */
+	private Message respond() {
+		Message request = pending;
+		if (request != null) {
+			statistics.recordRoundTrip(request.getClass().getSimpleName(), System.nanoTime() - pendingSince);
+			pending = null;
+		}
+		return request;
+	}
+
+	private void fail(String reason) {
+		if (result.isDone()) return;
+		statistics.error(username + ": " + reason);
+		gameId.completeExceptionally(new IOException(reason));
+		result.complete(false);
+		close();
+	}
+}
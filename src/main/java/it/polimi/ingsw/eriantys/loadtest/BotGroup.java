@@ -0,0 +1,109 @@
+package it.polimi.ingsw.eriantys.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This class represents a group of bots which play one game after the other, until the end of the load test.
+ * For every game, the first bot creates a lobby and the other ones join it, unless the bots enter the quick-play queue
+ * all at once, in which case they may be matched with the bots of other groups.
+ * Every game is played over new connections, since the server forgets the players of a game once it is over.
+ */
+class BotGroup implements Runnable {
+	private final int index;
+	private final LoadSettings settings;
+	private final LoadStatistics statistics;
+	private final ThreadFactory threads;
+	private final long deadline;
+
+	/**
+	 * Constructs a group of {@link LoadSettings#getPlayersPerGame()} bots.
+	 * @param index the index of the group, which makes the usernames of its bots unique
+	 * @param settings the settings of the load test
+	 * @param statistics the statistics to update
+	 * @param threads the factory of the reader threads of the bots
+	 * @param deadline the {@link System#nanoTime()} value after which no new game is started
+	 */
+	BotGroup(int index, LoadSettings settings, LoadStatistics statistics, ThreadFactory threads, long deadline) {
+		this.index = index;
+		this.settings = settings;
+		this.statistics = statistics;
+		this.threads = threads;
+		this.deadline = deadline;
+	}
+
+	@Override
+	public void run() {
+		for (int game = 0; System.nanoTime() < deadline; game++) {
+			try {
+				if (!play(game))
+					Thread.sleep(1000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private boolean play(int game) throws InterruptedException {
+		long start = System.nanoTime();
+		List<Bot> bots = new ArrayList<>();
+		boolean completed = true;
+
+		try {
+			Bot creator = new Bot(username(0, game), null, settings, statistics);
+			bots.add(creator);
+			creator.start(threads);
+			Integer gameId = settings.isQuickPlay() ? null : creator.awaitGameId();
+
+			for (int i = 1; i < settings.getPlayersPerGame(); i++) {
+				Bot bot = new Bot(username(i, game), gameId, settings, statistics);
+				bots.add(bot);
+				bot.start(threads);
+			}
+			completed = awaitEnd(bots);
+		} catch (IOException e) {
+			statistics.error("cannot connect: " + e.getMessage());
+			completed = false;
+		} catch (ExecutionException | TimeoutException e) {
+			statistics.error("cannot create a lobby: " + e);
+			completed = false;
+		} finally {
+			bots.forEach(Bot::close);
+		}
+
+		if (completed)
+			statistics.gameCompleted(System.nanoTime() - start);
+		else
+			statistics.gameFailed();
+		return completed;
+	}
+
+	/**
+	 * Waits until every bot has played the game until the end, or until the first bot fails,
+	 * so that the rest of the group does not wait for the idle timeout in a game which cannot go on.
+	 */
+	private boolean awaitEnd(List<Bot> bots) throws InterruptedException {
+		CompletableFuture<Boolean> failure = new CompletableFuture<>();
+		for (Bot bot : bots)
+			bot.getResult().thenAccept(completed -> {
+				if (!completed)
+					failure.complete(false);
+			});
+		CompletableFuture<?> all = CompletableFuture.allOf(bots.stream().map(Bot::getResult).toArray(CompletableFuture[]::new));
+		try {
+			return (Boolean) CompletableFuture.anyOf(failure, all.thenApply(v -> true)).get();
+		} catch (ExecutionException e) {
+			return false;
+		}
+	}
+
+	private String username(int bot, int game) {
+		return "b" + index + "-" + bot + "-" + game;
+	}
+}
@@ -0,0 +1,142 @@
+package it.polimi.ingsw.eriantys.loadtest;
+
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodecs;
+import it.polimi.ingsw.eriantys.server.VirtualThreads;
+import org.apache.commons.cli.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is the main class of the load test tool, which drives many headless bot clients against a running server
+ * to measure how many games it can host. The bots are split into groups which play complete games with legal moves;
+ * progress is reported periodically, and a summary with the games per second, the messages per second,
+ * the round-trip latency of every kind of request and the number of errors is printed at the end of the run.
+ * The tool uses neither JavaFX nor the command line interface of the client.
+ */
+public class LoadGenerator {
+	private final LoadSettings settings;
+	private final LoadStatistics statistics;
+
+	/**
+	 * The method is called to launch the load test.
+	 * @param args the command line arguments
+	 */
+	public static void main(String[] args) {
+		Options options = new Options();
+		LoadSettings settings = new LoadSettings();
+		options.addOption(new Option("addr", "address", true, "Server address"));
+		options.addOption(new Option("p", "port", true, "Server port"));
+		options.addOption(new Option("b", "bots", true, "Number of bots connected at the same time"));
+		options.addOption(new Option("n", "players", true, "Number of players in each game (2/3)"));
+		options.addOption(new Option(null, "simple", false, "Play games in simplified mode instead of expert mode"));
+		options.addOption(new Option("d", "duration", true, "Duration of the test in seconds"));
+		options.addOption(new Option(null, "report", true, "Progress report interval in seconds (0 to disable)"));
+		options.addOption(new Option(null, "idle-timeout", true, "Seconds without progress after which a game is given up"));
+		options.addOption(new Option(null, "codec", true, "Only codec offered to the server (" + String.join("/", MessageCodecs.names()) + ")"));
+		options.addOption(new Option(null, "character-probability", true,
+				"Probability of playing a character card at the beginning of a turn"));
+		options.addOption(new Option(null, "quick-play", false, "Enter games through the quick-play queue instead of lobbies"));
+		CommandLineParser parser = new DefaultParser();
+		try {
+			CommandLine line = parser.parse(options, args);
+			if (line.hasOption("addr"))
+				settings.setAddress(line.getOptionValue("address"));
+			if (line.hasOption("p"))
+				settings.setPort(Integer.parseInt(line.getOptionValue("port")));
+			if (line.hasOption("b"))
+				settings.setBots(Integer.parseInt(line.getOptionValue("bots")));
+			if (line.hasOption("n"))
+				settings.setPlayersPerGame(Integer.parseInt(line.getOptionValue("players")));
+			if (line.hasOption("simple"))
+				settings.setExpertMode(false);
+			if (line.hasOption("d"))
+				settings.setDuration(Integer.parseInt(line.getOptionValue("duration")));
+			if (line.hasOption("report"))
+				settings.setReportInterval(Integer.parseInt(line.getOptionValue("report")));
+			if (line.hasOption("idle-timeout"))
+				settings.setIdleTimeout(Integer.parseInt(line.getOptionValue("idle-timeout")));
+			if (line.hasOption("codec"))
+				settings.setCodec(MessageCodecs.byName(line.getOptionValue("codec")).getName());
+			if (line.hasOption("character-probability"))
+				settings.setCharacterProbability(Double.parseDouble(line.getOptionValue("character-probability")));
+			if (line.hasOption("quick-play"))
+				settings.setQuickPlay(true);
+		}
+		catch (ParseException | IllegalArgumentException e) {
+			System.out.println("Parsing failed");
+			System.exit(1);
+		}
+		try {
+			new LoadGenerator(settings).run();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Constructs a {@code LoadGenerator} with the specified settings.
+	 * @param settings the settings of the load test
+	 */
+	public LoadGenerator(LoadSettings settings) {
+		this.settings = settings;
+		this.statistics = new LoadStatistics();
+	}
+
+	/**
+	 * A getter for the statistics collected by the load test.
+	 * @return the statistics of the load test
+	 */
+	public LoadStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Runs the load test: starts the groups of bots, waits until all of them have finished their last game
+	 * and prints the summary of the run.
+	 * @throws InterruptedException if the current thread is interrupted while waiting for the bots
+	 */
+	public void run() throws InterruptedException {
+		int groups = Math.max(1, settings.getBots() / settings.getPlayersPerGame());
+		ThreadFactory threads = VirtualThreads.factory("bot-").orElse(r -> {
+			Thread thread = new Thread(r, "bot");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.getDuration());
+
+		System.out.printf("[load] %d bots in %d-player %s games%s against %s:%d for %ds%n",
+				groups * settings.getPlayersPerGame(), settings.getPlayersPerGame(),
+				settings.isExpertMode() ? "expert" : "simplified", settings.isQuickPlay() ? " (quick play)" : "",
+				settings.getAddress(), settings.getPort(), settings.getDuration());
+
+		ScheduledExecutorService reporter = null;
+		if (settings.getReportInterval() > 0) {
+			reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread thread = new Thread(r, "load-reporter");
+				thread.setDaemon(true);
+				return thread;
+			});
+			reporter.scheduleAtFixedRate(statistics::reportProgress,
+					settings.getReportInterval(), settings.getReportInterval(), TimeUnit.SECONDS);
+		}
+
+		List<Thread> groupThreads = new ArrayList<>();
+		for (int i = 0; i < groups; i++) {
+			Thread thread = new Thread(new BotGroup(i, settings, statistics, threads, deadline), "bot-group-" + i);
+			thread.setDaemon(true);
+			groupThreads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : groupThreads)
+			thread.join();
+
+		if (reporter != null)
+			reporter.shutdownNow();
+		statistics.reportSummary();
+	}
+}
@@ -0,0 +1,234 @@
+package it.polimi.ingsw.eriantys.loadtest;
+
+/**
+ * This class gathers the tunable parameters of a {@link LoadGenerator} run.
+ * Every parameter has a default value, so that a freshly constructed object describes a small local run.
+ */
+public class LoadSettings {
+	private String address;
+	private int port;
+	private int bots;
+	private int playersPerGame;
+	private boolean expertMode;
+	private int duration;
+	private int reportInterval;
+	private int idleTimeout;
+	private String codec;
+	private double characterProbability;
+	private boolean quickPlay;
+
+	/**
+	 * Constructs the default load test configuration.
+	 */
+	public LoadSettings() {
+		this.address = "localhost";
+		this.port = 9133;
+		this.bots = 100;
+		this.playersPerGame = 2;
+		this.expertMode = true;
+		this.duration = 60;
+		this.reportInterval = 5;
+		this.idleTimeout = 30;
+		this.codec = null;
+		this.characterProbability = 0.3;
+		this.quickPlay = false;
+	}
+
+	/**
+	 * A getter for the address of the server under test.
+	 * @return the server address
+	 */
+	public String getAddress() {
+		return address;
+	}
+
+	/**
+	 * A setter for the address of the server under test.
+	 * @param address the server address
+	 */
+	public void setAddress(String address) {
+		this.address = address;
+	}
+
+	/**
+	 * A getter for the port of the server under test.
+	 * @return the server port
+	 */
+	public int getPort() {
+		return port;
+	}
+
+	/**
+	 * A setter for the port of the server under test.
+	 * @param port the server port
+	 * @throws IllegalArgumentException if the port is not between 0 and 65535
+	 */
+	public void setPort(int port) {
+		if (port < 0 || port > 65535)
+			throw new IllegalArgumentException("Invalid port: " + port);
+		this.port = port;
+	}
+
+	/**
+	 * A getter for the number of bot clients connected at the same time.
+	 * @return the number of bots
+	 */
+	public int getBots() {
+		return bots;
+	}
+
+	/**
+	 * A setter for the number of bot clients connected at the same time.
+	 * Bots are split into groups of {@link #getPlayersPerGame()} bots, each group playing one game at a time.
+	 * @param bots the number of bots
+	 * @throws IllegalArgumentException if the number of bots is not positive
+	 */
+	public void setBots(int bots) {
+		if (bots < 1)
+			throw new IllegalArgumentException("The number of bots must be positive");
+		this.bots = bots;
+	}
+
+	/**
+	 * A getter for the number of players in each game.
+	 * @return the number of players in each game
+	 */
+	public int getPlayersPerGame() {
+		return playersPerGame;
+	}
+
+	/**
+	 * A setter for the number of players in each game.
+	 * @param playersPerGame the number of players in each game
+	 * @throws IllegalArgumentException if the number of players is neither 2 nor 3
+	 */
+	public void setPlayersPerGame(int playersPerGame) {
+		if (playersPerGame < 2 || playersPerGame > 3)
+			throw new IllegalArgumentException("Invalid number of players: " + playersPerGame);
+		this.playersPerGame = playersPerGame;
+	}
+
+	/**
+	 * A getter to know if the games are played in expert mode.
+	 * @return {@code true} if and only if the games are played in expert mode
+	 */
+	public boolean isExpertMode() {
+		return expertMode;
+	}
+
+	/**
+	 * A setter for the game mode of the games.
+	 * @param expertMode {@code true} if the games are to be played in expert mode
+	 */
+	public void setExpertMode(boolean expertMode) {
+		this.expertMode = expertMode;
+	}
+
+	/**
+	 * A getter for the duration of the run, after which no new game is started.
+	 * @return the duration in seconds
+	 */
+	public int getDuration() {
+		return duration;
+	}
+
+	/**
+	 * A setter for the duration of the run, after which no new game is started.
+	 * @param duration the duration in seconds
+	 * @throws IllegalArgumentException if the duration is not positive
+	 */
+	public void setDuration(int duration) {
+		if (duration < 1)
+			throw new IllegalArgumentException("The duration must be positive");
+		this.duration = duration;
+	}
+
+	/**
+	 * A getter for the interval between two progress reports.
+	 * @return the report interval in seconds, or {@code 0} if progress is not reported
+	 */
+	public int getReportInterval() {
+		return reportInterval;
+	}
+
+	/**
+	 * A setter for the interval between two progress reports.
+	 * @param reportInterval the report interval in seconds, or {@code 0} to disable progress reports
+	 * @throws IllegalArgumentException if the interval is negative
+	 */
+	public void setReportInterval(int reportInterval) {
+		if (reportInterval < 0)
+			throw new IllegalArgumentException("The report interval cannot be negative");
+		this.reportInterval = reportInterval;
+	}
+
+	/**
+	 * A getter for the time after which a bot which has not heard from the server gives up its game.
+	 * @return the idle timeout in seconds
+	 */
+	public int getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	/**
+	 * A setter for the time after which a bot which has not heard from the server gives up its game.
+	 * @param idleTimeout the idle timeout in seconds
+	 * @throws IllegalArgumentException if the timeout is not positive
+	 */
+	public void setIdleTimeout(int idleTimeout) {
+		if (idleTimeout < 1)
+			throw new IllegalArgumentException("The idle timeout must be positive");
+		this.idleTimeout = idleTimeout;
+	}
+
+	/**
+	 * A getter for the only codec offered by the bots during the handshake.
+	 * @return the name of the codec, or {@code null} if the bots offer every codec they support
+	 */
+	public String getCodec() {
+		return codec;
+	}
+
+	/**
+	 * A setter for the only codec offered by the bots during the handshake.
+	 * @param codec the name of the codec, or {@code null} to offer every supported codec
+	 */
+	public void setCodec(String codec) {
+		this.codec = codec;
+	}
+
+	/**
+	 * A getter for the probability that a bot tries to play a character card at the beginning of its turn.
+	 * @return the probability, between 0 and 1
+	 */
+	public double getCharacterProbability() {
+		return characterProbability;
+	}
+
+	/**
+	 * A setter for the probability that a bot tries to play a character card at the beginning of its turn.
+	 * @param characterProbability the probability, between 0 and 1
+	 * @throws IllegalArgumentException if the probability is not between 0 and 1
+	 */
+	public void setCharacterProbability(double characterProbability) {
+		if (characterProbability < 0 || characterProbability > 1)
+			throw new IllegalArgumentException("Invalid probability: " + characterProbability);
+		this.characterProbability = characterProbability;
+	}
+
+	/**
+	 * A getter to know if the bots are matched by the quick-play queue of the server instead of creating and joining lobbies.
+	 * @return {@code true} if and only if the bots use quick play
+	 */
+	public boolean isQuickPlay() {
+		return quickPlay;
+	}
+
+	/**
+	 * A setter for the way the bots enter their games.
+	 * @param quickPlay {@code true} if the bots are to be matched by the quick-play queue of the server
+	 */
+	public void setQuickPlay(boolean quickPlay) {
+		this.quickPlay = quickPlay;
+	}
+}
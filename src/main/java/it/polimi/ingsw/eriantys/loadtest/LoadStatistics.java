@@ -0,0 +1,154 @@
+package it.polimi.ingsw.eriantys.loadtest;
+
+import it.polimi.ingsw.eriantys.server.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class collects the statistics of a load test: the number of completed and failed games,
+ * the number of exchanged messages, the refused requests and the errors, and a round-trip latency histogram
+ * for each kind of request sent by the bots.
+ * Counters can be reported both as progress over an interval and as a summary of the whole run.
+ */
+public class LoadStatistics {
+	private final AtomicLong completedGames;
+	private final AtomicLong failedGames;
+	private final AtomicLong sentMessages;
+	private final AtomicLong receivedMessages;
+	private final AtomicLong refusedRequests;
+	private final AtomicLong resyncs;
+	private final AtomicLong errors;
+	private final LatencyHistogram gameDuration;
+	private final Map<String, LatencyHistogram> roundTrips;
+	private final long start;
+	private long lastReport;
+	private long lastCompletedGames, lastSentMessages, lastReceivedMessages;
+
+	/**
+	 * Constructs an empty set of statistics, starting the clock of the run.
+	 */
+	public LoadStatistics() {
+		this.completedGames = new AtomicLong();
+		this.failedGames = new AtomicLong();
+		this.sentMessages = new AtomicLong();
+		this.receivedMessages = new AtomicLong();
+		this.refusedRequests = new AtomicLong();
+		this.resyncs = new AtomicLong();
+		this.errors = new AtomicLong();
+		this.gameDuration = new LatencyHistogram();
+		this.roundTrips = new ConcurrentHashMap<>();
+		this.start = System.nanoTime();
+		this.lastReport = start;
+	}
+
+	/**
+	 * Records a game which has been played until the end.
+	 * @param nanos the time elapsed from the creation of the lobby to the end of the game, in nanoseconds
+	 */
+	public void gameCompleted(long nanos) {
+		completedGames.incrementAndGet();
+		gameDuration.record(nanos);
+	}
+
+	/**
+	 * Records a game which could not be played until the end.
+	 */
+	public void gameFailed() {
+		failedGames.incrementAndGet();
+	}
+
+	/**
+	 * Records a message sent to the server.
+	 */
+	public void messageSent() {
+		sentMessages.incrementAndGet();
+	}
+
+	/**
+	 * Records a message received from the server.
+	 */
+	public void messageReceived() {
+		receivedMessages.incrementAndGet();
+	}
+
+	/**
+	 * Records the round-trip time of a request, from the moment it was written to the moment its response was read.
+	 * @param request the simple class name of the request
+	 * @param nanos the round-trip time in nanoseconds
+	 */
+	public void recordRoundTrip(String request, long nanos) {
+		roundTrips.computeIfAbsent(request, r -> new LatencyHistogram()).record(nanos);
+	}
+
+	/**
+	 * Records a request which has been refused by the server.
+	 */
+	public void requestRefused() {
+		refusedRequests.incrementAndGet();
+	}
+
+	/**
+	 * Records a board delta which could not be applied, so that the whole board had to be requested.
+	 */
+	public void resync() {
+		resyncs.incrementAndGet();
+	}
+
+	/**
+	 * Records an error, such as a failed connection, an unexpected disconnection or a timeout.
+	 * @param details a description of the error
+	 */
+	public void error(String details) {
+		if (errors.incrementAndGet() <= 10)
+			System.out.println("[load] error: " + details);
+	}
+
+	/**
+	 * Prints the progress made since the previous call.
+	 */
+	public synchronized void reportProgress() {
+		long now = System.nanoTime();
+		double seconds = (now - lastReport) / 1e9;
+		long games = completedGames.get(), sent = sentMessages.get(), received = receivedMessages.get();
+		System.out.printf("[load] %.0fs games=%d (%.1f/s) sent=%.0f/s received=%.0f/s failed=%d refused=%d errors=%d%n",
+				(now - start) / 1e9,
+				games, (games - lastCompletedGames) / seconds,
+				(sent - lastSentMessages) / seconds,
+				(received - lastReceivedMessages) / seconds,
+				failedGames.get(), refusedRequests.get(), errors.get());
+		lastReport = now;
+		lastCompletedGames = games;
+		lastSentMessages = sent;
+		lastReceivedMessages = received;
+	}
+
+	/**
+	 * Prints the summary of the whole run, including the round-trip latency percentiles of each kind of request.
+	 */
+	public void reportSummary() {
+		double seconds = (System.nanoTime() - start) / 1e9;
+		long[] durations = gameDuration.snapshot();
+		System.out.printf("[load] %.1fs: %d games completed (%.2f games/s), %d failed%n",
+				seconds, completedGames.get(), completedGames.get() / seconds, failedGames.get());
+		System.out.printf("[load] game duration(ms) p50=%d p99=%d max=%d%n",
+				LatencyHistogram.percentile(durations, 50) / 1000,
+				LatencyHistogram.percentile(durations, 99) / 1000,
+				LatencyHistogram.percentile(durations, 100) / 1000);
+		System.out.printf("[load] messages sent=%d (%.0f/s) received=%d (%.0f/s)%n",
+				sentMessages.get(), sentMessages.get() / seconds, receivedMessages.get(), receivedMessages.get() / seconds);
+		System.out.printf("[load] refused=%d resyncs=%d errors=%d%n", refusedRequests.get(), resyncs.get(), errors.get());
+		System.out.printf("[load] %-22s %10s %10s %10s %10s%n", "round trip(us)", "count", "p50", "p99", "max");
+		for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(roundTrips).entrySet()) {
+			long[] snapshot = entry.getValue().snapshot();
+			System.out.printf("[load] %-22s %10d %10d %10d %10d%n",
+					entry.getKey(),
+					LatencyHistogram.count(snapshot),
+					LatencyHistogram.percentile(snapshot, 50),
+					LatencyHistogram.percentile(snapshot, 99),
+					LatencyHistogram.percentile(snapshot, 100));
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package it.polimi.ingsw.eriantys.messages.client;
+
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.server.BoardDelta;
+import it.polimi.ingsw.eriantys.messages.server.BoardUpdate;
+
+/**
+ * A {@link Message} sent by a client which has received a {@link BoardDelta} referring to a version
+ * of the board status it does not know, in order to request a full {@link BoardUpdate}.
+ */
+public class BoardStatusRequest extends Message {
+	public BoardStatusRequest(String sender) {
+		super(sender);
+	}
+}
@@ -1,13 +1,33 @@
 package it.polimi.ingsw.eriantys.messages.client;
 
 import it.polimi.ingsw.eriantys.messages.ConnectionMessage;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
+
+import java.util.List;
 
 /**
  * A {@link ConnectionMessage} sent by a client in order to communicate the chosen (global and unique) username
  * and subsequently establish a connection with the server.
+ * The message also carries the names of the {@link MessageCodec}s supported by the client,
+ * among which the server chooses the one used for the rest of the connection.
  */
 public class Handshake extends ConnectionMessage {
+	private final List<String> codecs;
+
 	public Handshake(String sender) {
+		this(sender, List.of());
+	}
+
+	public Handshake(String sender, List<String> codecs) {
 		super(sender);
+		this.codecs = codecs;
+	}
+
+	/**
+	 * A getter for the names of the {@link MessageCodec}s supported by the client.
+	 * @return the codec names, or an empty list if the client only supports Java serialization
+	 */
+	public List<String> getCodecs() {
+		return codecs;
 	}
 }
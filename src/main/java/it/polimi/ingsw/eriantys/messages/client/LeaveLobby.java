@@ -6,6 +6,12 @@ import it.polimi.ingsw.eriantys.messages.ConnectionMessage;
  * A {@link ConnectionMessage} sent by a client in order to request the server to leave the lobby.
  */
 public class LeaveLobby extends ConnectionMessage {
+	/**
+	 * The identifier sent by a client leaving the quick-play queue, since it has no game yet.
+	 * @see QuickPlay
+	 */
+	public static final int QUICK_PLAY_QUEUE = -1;
+
 	private final int gameId;
 
 	public LeaveLobby(String sender, int gameId) {
@@ -15,7 +21,7 @@ public class LeaveLobby extends ConnectionMessage {
 
 	/**
 	 * A getter for the identifier of the lobby which the user is requesting to exit.
-	 * @return the identifier of the game
+	 * @return the identifier of the game, or {@link #QUICK_PLAY_QUEUE} if the user is waiting for a quick-play game
 	 */
 	public int getGameId() {
 		return gameId;
@@ -1,12 +1,96 @@
 package it.polimi.ingsw.eriantys.messages.client;
 
 import it.polimi.ingsw.eriantys.messages.ConnectionMessage;
+import it.polimi.ingsw.eriantys.messages.server.AvailableLobbies;
+import it.polimi.ingsw.eriantys.messages.server.LobbyDirectoryUpdate;
 
 /**
  * A {@link ConnectionMessage} sent by a client in order to request a list of the available server-side lobbies.
+ * Lobbies can be filtered by size and game mode, and are returned in pages sorted by game identifier:
+ * the next page is requested by passing the {@link AvailableLobbies#getNext()} cursor of the previous one.
+ * A client can also subscribe to the {@link LobbyDirectoryUpdate} messages about the lobbies matching the filter,
+ * and every request replaces the subscription of its sender.
  */
 public class LobbiesRequest extends ConnectionMessage {
+	/**
+	 * The number of lobbies returned in a page if the request does not specify it.
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 50;
+
+	/**
+	 * The cursor of the first page.
+	 */
+	public static final int FIRST_PAGE = -1;
+
+	private final Integer lobbySize;
+	private final Boolean expertMode;
+	private final int after;
+	private final int limit;
+	private final boolean subscribe;
+
+	/**
+	 * Constructs a request for the first page of all the available lobbies, without subscribing to their updates.
+	 * @param sender the username of the client
+	 */
 	public LobbiesRequest(String sender) {
+		this(sender, null, null, FIRST_PAGE, DEFAULT_PAGE_SIZE, false);
+	}
+
+	/**
+	 * Constructs a request for a page of the available lobbies matching the specified filter.
+	 * @param sender the username of the client
+	 * @param lobbySize the number of players of the requested lobbies, or {@code null} for any number of players
+	 * @param expertMode the game mode of the requested lobbies, or {@code null} for any game mode
+	 * @param after the identifier of the last game of the previous page, or {@link #FIRST_PAGE} for the first page
+	 * @param limit the maximum number of lobbies in the page
+	 * @param subscribe {@code true} to receive updates about the lobbies matching the filter, {@code false} to stop receiving them
+	 */
+	public LobbiesRequest(String sender, Integer lobbySize, Boolean expertMode, int after, int limit, boolean subscribe) {
 		super(sender);
+		this.lobbySize = lobbySize;
+		this.expertMode = expertMode;
+		this.after = after;
+		this.limit = limit;
+		this.subscribe = subscribe;
+	}
+
+	/**
+	 * A getter for the number of players of the requested lobbies.
+	 * @return the number of players, or {@code null} if lobbies of any size are requested
+	 */
+	public Integer getLobbySize() {
+		return lobbySize;
+	}
+
+	/**
+	 * A getter for the game mode of the requested lobbies.
+	 * @return {@code true} for expert lobbies, {@code false} for simplified lobbies, or {@code null} for both
+	 */
+	public Boolean getExpertMode() {
+		return expertMode;
+	}
+
+	/**
+	 * A getter for the cursor of the requested page.
+	 * @return the identifier of the last game of the previous page, or {@link #FIRST_PAGE} for the first page
+	 */
+	public int getAfter() {
+		return after;
+	}
+
+	/**
+	 * A getter for the maximum number of lobbies in the requested page.
+	 * @return the page size
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * A getter to know if the client wants to receive updates about the lobbies matching the filter.
+	 * @return {@code true} if and only if the client is subscribing to lobby updates
+	 */
+	public boolean isSubscribe() {
+		return subscribe;
 	}
 }
@@ -0,0 +1,37 @@
+package it.polimi.ingsw.eriantys.messages.client;
+
+import it.polimi.ingsw.eriantys.messages.ConnectionMessage;
+import it.polimi.ingsw.eriantys.messages.server.AcceptedJoinLobby;
+
+/**
+ * A {@link ConnectionMessage} sent by a client in order to be matched with other players looking for a game
+ * with the specified number of players and game mode.
+ * The server answers with an {@link AcceptedJoinLobby} as soon as enough players are waiting, and the game starts right away.
+ * The client can give up waiting by sending a {@link LeaveLobby} message.
+ */
+public class QuickPlay extends ConnectionMessage {
+	private final int numPlayers;
+	private final boolean expertMode;
+
+	public QuickPlay(String sender, int numPlayers, boolean expertMode) {
+		super(sender);
+		this.numPlayers = numPlayers;
+		this.expertMode = expertMode;
+	}
+
+	/**
+	 * A getter for the number of players of the game which the user is looking for.
+	 * @return the number of players of the game
+	 */
+	public int getNumPlayers() {
+		return numPlayers;
+	}
+
+	/**
+	 * A getter for the game mode of the game which the user is looking for.
+	 * @return {@code true} if and only if the game must be played in expert mode
+	 */
+	public boolean isExpertMode() {
+		return expertMode;
+	}
+}
@@ -0,0 +1,297 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.model.Color;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A reader for the primitives written by {@link BinaryOutput}, working on a region of a byte array.
+ * Every malformed input is reported through an {@link IOException}.
+ */
+public final class BinaryInput {
+	private final byte[] bytes;
+	private int position;
+	private final int limit;
+
+	/**
+	 * Reads a value of a specific type.
+	 * @param <T> the type of the value
+	 */
+	@FunctionalInterface
+	public interface Reader<T> {
+		T read(BinaryInput in) throws IOException;
+	}
+
+	/**
+	 * Constructs a reader on the specified region of a byte array.
+	 * @param bytes the array to read from
+	 * @param offset the index of the first byte to read
+	 * @param length the number of bytes which can be read
+	 */
+	public BinaryInput(byte[] bytes, int offset, int length) {
+		this.bytes = bytes;
+		this.position = offset;
+		this.limit = offset + length;
+	}
+
+	/**
+	 * A getter to know if all the bytes have been read.
+	 * @return {@code true} if and only if there is nothing left to read
+	 */
+	public boolean isExhausted() {
+		return position == limit;
+	}
+
+	/**
+	 * Reads a single unsigned byte.
+	 * @return the byte read
+	 * @throws IOException if there are no bytes left
+	 */
+	public int readByte() throws IOException {
+		if (position >= limit)
+			throw new EOFException("Truncated payload");
+		return bytes[position++] & 0xFF;
+	}
+
+	/**
+	 * Reads a boolean.
+	 * @return the boolean read
+	 * @throws IOException if the input is malformed
+	 */
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	/**
+	 * Reads a non-negative variable-length integer.
+	 * @return the integer read
+	 * @throws IOException if the input is malformed
+	 */
+	public int readVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = readByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed variable-length integer");
+	}
+
+	/**
+	 * Reads a variable-length long integer.
+	 * @return the integer read
+	 * @throws IOException if the input is malformed
+	 */
+	public long readVarLong() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 70; shift += 7) {
+			int b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed variable-length integer");
+	}
+
+	/**
+	 * Reads a zigzag-encoded signed integer.
+	 * @return the integer read
+	 * @throws IOException if the input is malformed
+	 */
+	public int readInt() throws IOException {
+		int value = readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Reads an integer which may be {@code null}.
+	 * @return the integer read
+	 * @throws IOException if the input is malformed
+	 */
+	public Integer readNullableInt() throws IOException {
+		long token = readVarLong();
+		if (token == 0)
+			return null;
+		if (token > 0x100000000L || token < 0)
+			throw new IOException("Malformed nullable integer");
+		int value = (int) (token - 1);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Reads a UTF-8 string which may be {@code null}.
+	 * @return the string read
+	 * @throws IOException if the input is malformed
+	 */
+	public String readString() throws IOException {
+		int length = readVarInt() - 1;
+		if (length < 0)
+			return null;
+		if (length > limit - position)
+			throw new EOFException("Truncated payload");
+		String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+		position += length;
+		return value;
+	}
+
+	/**
+	 * Reads a string written by {@link BinaryOutput#writeSymbol(String)}.
+	 * @return the string read
+	 * @throws IOException if the input is malformed
+	 */
+	public String readSymbol() throws IOException {
+		int token = readVarInt();
+		if (token == Symbols.NULL)
+			return null;
+		if (token == Symbols.LITERAL)
+			return readString();
+		String symbol = Symbols.get(token);
+		if (symbol == null)
+			throw new IOException("Unknown symbol: " + token);
+		return symbol;
+	}
+
+	/**
+	 * Reads an island identifier written by {@link BinaryOutput#writeIslandId(String)}.
+	 * @return the identifier read
+	 * @throws IOException if the input is malformed
+	 */
+	public String readIslandId() throws IOException {
+		int token = readVarInt();
+		if (token == 0)
+			return null;
+		if (token == 1)
+			return readString();
+		int parts = token - 1;
+		// an island is made up of at most 12 single islands
+		if (parts < 1 || parts > 12)
+			throw new IOException("Malformed island identifier");
+		StringBuilder id = new StringBuilder(parts * 3 - 1);
+		for (int i = 0; i < parts; i++) {
+			int number = readByte();
+			if (number > 99)
+				throw new IOException("Malformed island identifier");
+			if (i > 0)
+				id.append('-');
+			id.append((char) ('0' + number / 10)).append((char) ('0' + number % 10));
+		}
+		return id.toString();
+	}
+
+	/**
+	 * Reads a list written by {@link BinaryOutput#writeStrings(java.util.Collection)}.
+	 * @return the list read
+	 * @throws IOException if the input is malformed
+	 */
+	public List<String> readStrings() throws IOException {
+		int size = readSize();
+		if (size < 0)
+			return null;
+		List<String> values = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			values.add(readString());
+		return values;
+	}
+
+	/**
+	 * Reads a list written by {@link BinaryOutput#writeSymbols(java.util.Collection)}.
+	 * @return the list read
+	 * @throws IOException if the input is malformed
+	 */
+	public List<String> readSymbols() throws IOException {
+		int size = readSize();
+		if (size < 0)
+			return null;
+		List<String> values = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			values.add(readSymbol());
+		return values;
+	}
+
+	/**
+	 * Reads a mapping written by {@link BinaryOutput#writeSymbolMap(Map)}.
+	 * @return the mapping read
+	 * @throws IOException if the input is malformed
+	 */
+	public Map<String, String> readSymbolMap() throws IOException {
+		int size = readSize();
+		if (size < 0)
+			return null;
+		Map<String, String> values = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++)
+			values.put(readString(), readSymbol());
+		return values;
+	}
+
+	/**
+	 * Reads a mapping written by {@link BinaryOutput#writeMap(Map, BinaryOutput.Writer, BinaryOutput.Writer)}.
+	 * @param keyReader the reader of the keys
+	 * @param valueReader the reader of the values
+	 * @param <V> the type of the values
+	 * @return the mapping read
+	 * @throws IOException if the input is malformed
+	 */
+	public <V> Map<String, V> readMap(Reader<String> keyReader, Reader<V> valueReader) throws IOException {
+		int size = readVarInt();
+		if (size > limit - position)
+			throw new IOException("Malformed collection size: " + size);
+		Map<String, V> values = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++)
+			values.put(keyReader.read(this), valueReader.read(this));
+		return values;
+	}
+
+	/**
+	 * Reads a player reference written by {@link BinaryOutput#writePlayer(List, String)}.
+	 * @param players the players which can be referenced
+	 * @return the nickname read
+	 * @throws IOException if the input is malformed
+	 */
+	public String readPlayer(List<String> players) throws IOException {
+		int token = readVarInt();
+		if (token == 0)
+			return null;
+		if (token == 1)
+			return readString();
+		if (token - 2 >= players.size())
+			throw new IOException("Unknown player: " + token);
+		return players.get(token - 2);
+	}
+
+	/**
+	 * Reads a student count mapping written by {@link BinaryOutput#writeCounts(Map)}.
+	 * @return the mapping read
+	 * @throws IOException if the input is malformed
+	 */
+	public Map<String, Integer> readCounts() throws IOException {
+		int layout = readVarInt();
+		if (layout == 0)
+			return null;
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		if (layout == 1) {
+			for (Color color : Color.values())
+				counts.put(color.name(), readVarInt());
+		} else if (layout == 2) {
+			int size = readVarInt();
+			for (int i = 0; i < size; i++)
+				counts.put(readSymbol(), readNullableInt());
+		} else {
+			throw new IOException("Unknown student count layout: " + layout);
+		}
+		return counts;
+	}
+
+	private int readSize() throws IOException {
+		int size = readVarInt() - 1;
+		if (size > limit - position)
+			throw new IOException("Malformed collection size: " + size);
+		return size;
+	}
+}
@@ -0,0 +1,568 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import com.google.gson.JsonObject;
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.Ping;
+import it.polimi.ingsw.eriantys.messages.client.*;
+import it.polimi.ingsw.eriantys.messages.server.*;
+import it.polimi.ingsw.eriantys.model.BoardStatus;
+import it.polimi.ingsw.eriantys.model.BoardStatusDelta;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A compact {@link MessageCodec} which writes every message as a type identifier followed by its fields,
+ * without any class metadata.
+ * Message types are looked up in a registry which maps each concrete message class to its identifier,
+ * encoder and decoder: a message whose class is not registered cannot be encoded by this codec.
+ * Game literals such as colors, phases and island identifiers are written as small integers.
+ * @see BinaryOutput
+ * @see BinaryInput
+ */
+public class BinaryMessageCodec implements MessageCodec {
+	/**
+	 * The identifier of the frames produced by this codec.
+	 */
+	public static final byte ID = 1;
+
+	/**
+	 * The name used to negotiate this codec.
+	 */
+	public static final String NAME = "binary";
+
+	private final Map<Class<? extends Message>, Type<?>> typesByClass;
+	private final Type<?>[] typesById;
+
+	/**
+	 * Constructs the codec and registers every message type.
+	 */
+	public BinaryMessageCodec() {
+		typesByClass = new HashMap<>();
+		typesById = new Type<?>[64];
+
+		register(1, Ping.class, (m, out) -> out.writeString(m.getSender()),
+				in -> new Ping(in.readString()));
+
+		// client messages
+		register(2, Handshake.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeStrings(m.getCodecs());
+		}, in -> {
+			String sender = in.readString();
+			List<String> codecs = in.readStrings();
+			return new Handshake(sender, codecs == null ? List.of() : codecs);
+		});
+		register(3, Reconnect.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeInt(m.getGameId());
+			out.writeString(m.getPasscode());
+		}, in -> new Reconnect(in.readString(), in.readInt(), in.readString()));
+		register(4, HelpRequest.class, (m, out) -> out.writeString(m.getSender()),
+				in -> new HelpRequest(in.readString()));
+		register(5, LobbiesRequest.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeNullableInt(m.getLobbySize());
+			out.writeByte(m.getExpertMode() == null ? 0 : m.getExpertMode() ? 2 : 1);
+			out.writeInt(m.getAfter());
+			out.writeVarInt(m.getLimit());
+			out.writeBoolean(m.isSubscribe());
+		}, in -> {
+			String sender = in.readString();
+			Integer lobbySize = in.readNullableInt();
+			int expertMode = in.readByte();
+			return new LobbiesRequest(sender, lobbySize, expertMode == 0 ? null : expertMode == 2,
+					in.readInt(), in.readVarInt(), in.readBoolean());
+		});
+		register(6, LobbyCreation.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeInt(m.getNumPlayers());
+			out.writeBoolean(m.isExpertMode());
+		}, in -> new LobbyCreation(in.readString(), in.readInt(), in.readBoolean()));
+		register(7, JoinLobby.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeInt(m.getGameId());
+		}, in -> new JoinLobby(in.readString(), in.readInt()));
+		register(8, LeaveLobby.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeInt(m.getGameId());
+		}, in -> new LeaveLobby(in.readString(), in.readInt()));
+		register(9, GameSetupSelection.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeSymbol(m.getTowerColor());
+			out.writeSymbol(m.getWizard());
+		}, in -> new GameSetupSelection(in.readString(), in.readSymbol(), in.readSymbol()));
+		register(10, PlayAssistantCard.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeSymbol(m.getAssistantCard());
+		}, in -> new PlayAssistantCard(in.readString(), in.readSymbol()));
+		register(11, MoveStudent.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeSymbol(m.getColor());
+			out.writeIslandId(m.getDestination());
+		}, in -> new MoveStudent(in.readString(), in.readSymbol(), in.readIslandId()));
+		register(12, MotherNatureDestination.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeIslandId(m.getDestination());
+		}, in -> new MotherNatureDestination(in.readString(), in.readIslandId()));
+		register(13, SelectCloud.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeInt(m.getCloud());
+		}, in -> new SelectCloud(in.readString(), in.readInt()));
+		register(14, PlayCharacterCard.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeInt(m.getCharacterCard());
+			JsonObject params = m.getParams();
+			out.writeString(params == null ? null : params.toString());
+		}, in -> new PlayCharacterCard(in.readString(), in.readInt(), in.readString()));
+		register(15, BoardStatusRequest.class, (m, out) -> out.writeString(m.getSender()),
+				in -> new BoardStatusRequest(in.readString()));
+		register(16, QuickPlay.class, (m, out) -> {
+			out.writeString(m.getSender());
+			out.writeInt(m.getNumPlayers());
+			out.writeBoolean(m.isExpertMode());
+		}, in -> new QuickPlay(in.readString(), in.readInt(), in.readBoolean()));
+
+		// server messages, whose sender is always the server
+		register(20, Accepted.class, (m, out) -> {
+		}, in -> new Accepted());
+		register(21, AcceptedUsername.class, (m, out) -> {
+			out.writeString(m.getUsername());
+			out.writeString(m.getCodec());
+		}, in -> new AcceptedUsername(in.readString(), in.readString()));
+		register(22, AcceptedJoinLobby.class, (m, out) -> {
+			out.writeInt(m.getGameId());
+			out.writeString(m.getPasscode());
+		}, in -> new AcceptedJoinLobby(in.readInt(), in.readString()));
+		register(23, AcceptedLeaveLobby.class, (m, out) -> {
+		}, in -> new AcceptedLeaveLobby());
+		register(24, Refused.class, (m, out) -> out.writeString(m.getDetails()),
+				in -> new Refused(in.readString()));
+		register(25, RefusedReconnect.class, (m, out) -> out.writeString(m.getDetails()),
+				in -> new RefusedReconnect(in.readString()));
+		register(26, HelpResponse.class, (m, out) -> out.writeString(m.getContent()),
+				in -> new HelpResponse(in.readString()));
+		register(27, AvailableLobbies.class, BinaryMessageCodec::writeLobbies, BinaryMessageCodec::readLobbies);
+		register(28, LobbyUpdate.class, (m, out) -> out.writeStrings(m.getPlayers()),
+				in -> new LobbyUpdate(in.readStrings()));
+		register(29, UserSelectionUpdate.class, (m, out) -> {
+			out.writeSymbols(m.getAvailableTowerColors());
+			out.writeSymbols(m.getAvailableWizards());
+			out.writeSymbolMap(m.getTowerColors());
+			out.writeSymbolMap(m.getWizards());
+			out.writeString(m.getNextPlayer());
+		}, in -> withNextPlayer(new UserSelectionUpdate(in.readSymbols(), in.readSymbols(),
+				in.readSymbolMap(), in.readSymbolMap()), in));
+		register(30, AssistantCardUpdate.class, BinaryMessageCodec::writeAssistantCards,
+				BinaryMessageCodec::readAssistantCards);
+		register(31, BoardUpdate.class, (m, out) -> {
+			writeStatus(m.getStatus(), out);
+			out.writeSymbol(m.getPhase() == null ? null : m.getPhase().name());
+			out.writeVarInt(m.getVersion());
+			out.writeString(m.getNextPlayer());
+		}, in -> {
+			BoardStatus status = readStatus(in);
+			PhaseName phase = readPhase(in.readSymbol());
+			return withNextPlayer(new BoardUpdate(status, phase, in.readVarInt()), in);
+		});
+		register(32, InitialBoardStatus.class, (m, out) -> {
+			writeStatus(m.getStatus(), out);
+			out.writeVarInt(m.getVersion());
+		}, in -> new InitialBoardStatus(readStatus(in), in.readVarInt()));
+		register(33, CharacterCardUpdate.class, (m, out) -> {
+			out.writeInt(m.getCard());
+			out.writeString(m.getNextPlayer());
+		}, in -> withNextPlayer(new CharacterCardUpdate(in.readInt()), in));
+		register(34, LastRoundUpdate.class, (m, out) -> out.writeString(m.getNextPlayer()),
+				in -> withNextPlayer(new LastRoundUpdate(), in));
+		register(35, GameOverUpdate.class, (m, out) -> {
+			out.writeString(m.getWinner());
+			out.writeString(m.getNextPlayer());
+		}, in -> withNextPlayer(new GameOverUpdate(in.readString()), in));
+		register(36, DisconnectionUpdate.class, (m, out) -> {
+			out.writeString(m.getSubject());
+			out.writeInt(m.getNumPlayers());
+			out.writeBoolean(m.isGameIdle());
+		}, in -> new DisconnectionUpdate(in.readString(), in.readInt(), in.readBoolean()));
+		register(37, ReconnectionUpdate.class, (m, out) -> {
+			out.writeString(m.getSubject());
+			out.writeInt(m.getNumPlayers());
+			out.writeBoolean(m.isGameResumed());
+		}, in -> new ReconnectionUpdate(in.readString(), in.readInt(), in.readBoolean()));
+		register(38, BoardDelta.class, (m, out) -> {
+			out.writeVarInt(m.getBaseVersion());
+			out.writeVarInt(m.getVersion());
+			writeDelta(m.getDelta(), out);
+			out.writeSymbol(m.getPhase() == null ? null : m.getPhase().name());
+			out.writeString(m.getNextPlayer());
+		}, in -> {
+			int baseVersion = in.readVarInt();
+			int version = in.readVarInt();
+			BoardStatusDelta delta = readDelta(in);
+			PhaseName phase = readPhase(in.readSymbol());
+			return withNextPlayer(new BoardDelta(baseVersion, version, delta, phase), in);
+		});
+		register(39, LobbyDirectoryUpdate.class, (m, out) -> {
+			out.writeByte(m.getChange().ordinal());
+			writeLobby(m.getLobby(), out);
+			out.writeVarLong(m.getVersion());
+		}, in -> {
+			int change = in.readByte();
+			LobbyDirectoryUpdate.Change[] changes = LobbyDirectoryUpdate.Change.values();
+			if (change >= changes.length)
+				throw new IOException("Unknown lobby change: " + change);
+			return new LobbyDirectoryUpdate(changes[change], readLobby(in), in.readVarLong());
+		});
+	}
+
+	/**
+	 * Writes the fields of a message of a specific type.
+	 * @param <T> the type of the message
+	 */
+	@FunctionalInterface
+	private interface Encoder<T extends Message> {
+		void encode(T message, BinaryOutput out) throws IOException;
+	}
+
+	/**
+	 * Reads the fields of a message of a specific type and builds the message.
+	 */
+	@FunctionalInterface
+	private interface Decoder {
+		Message decode(BinaryInput in) throws IOException;
+	}
+
+	/**
+	 * A registered message type.
+	 * @param <T> the type of the message
+	 */
+	private record Type<T extends Message>(int id, Class<T> type, Encoder<T> encoder, Decoder decoder) {
+		void encode(Message message, BinaryOutput out) throws IOException {
+			encoder.encode(type.cast(message), out);
+		}
+	}
+
+	private <T extends Message> void register(int id, Class<T> type, Encoder<T> encoder, Decoder decoder) {
+		Type<T> entry = new Type<>(id, type, encoder, decoder);
+		typesByClass.put(type, entry);
+		typesById[id] = entry;
+	}
+
+	/**
+	 * A getter for the message classes registered with this codec.
+	 * @return the registered message classes
+	 */
+	Set<Class<? extends Message>> getTypes() {
+		return Collections.unmodifiableSet(typesByClass.keySet());
+	}
+
+	/**
+	 * A getter to know if a message can be encoded by this codec.
+	 * @param type the class of the message
+	 * @return {@code true} if and only if the message type is registered
+	 */
+	public boolean supports(Class<? extends Message> type) {
+		return typesByClass.containsKey(type);
+	}
+
+	@Override
+	public byte getId() {
+		return ID;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public byte[] encode(Message message) throws IOException {
+		Type<?> type = typesByClass.get(message.getClass());
+		if (type == null)
+			throw new IOException("Unsupported message type: " + message.getClass().getName());
+		FrameOutputStream frame = new FrameOutputStream(ID);
+		BinaryOutput out = new BinaryOutput(frame);
+		out.writeByte(type.id());
+		type.encode(message, out);
+		return frame.toFrame();
+	}
+
+	@Override
+	public Message decode(byte[] payload, int offset, int length) throws IOException {
+		BinaryInput in = new BinaryInput(payload, offset, length);
+		int id = in.readByte();
+		Type<?> type = id < typesById.length ? typesById[id] : null;
+		if (type == null)
+			throw new IOException("Unknown message type: " + id);
+		Message message = type.decoder().decode(in);
+		if (!in.isExhausted())
+			throw new IOException("Trailing bytes after message of type " + id);
+		return message;
+	}
+
+	private static <T extends UserActionUpdate> T withNextPlayer(T message, BinaryInput in) throws IOException {
+		message.setNextPlayer(in.readString());
+		return message;
+	}
+
+	private static PhaseName readPhase(String phase) throws IOException {
+		if (phase == null)
+			return null;
+		try {
+			return PhaseName.valueOf(phase);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Unknown phase: " + phase, e);
+		}
+	}
+
+	private static void writeLobbies(AvailableLobbies message, BinaryOutput out) throws IOException {
+		List<GameInfo> lobbies = message.getLobbies();
+		out.writeVarInt(lobbies == null ? 0 : lobbies.size() + 1);
+		if (lobbies != null)
+			for (GameInfo lobby : lobbies)
+				writeLobby(lobby, out);
+		out.writeVarInt(message.getTotal());
+		out.writeNullableInt(message.getNext());
+		out.writeVarLong(message.getVersion());
+	}
+
+	private static AvailableLobbies readLobbies(BinaryInput in) throws IOException {
+		int size = in.readVarInt() - 1;
+		List<GameInfo> lobbies = null;
+		if (size >= 0) {
+			lobbies = new ArrayList<>();
+			for (int i = 0; i < size; i++)
+				lobbies.add(readLobby(in));
+		}
+		return new AvailableLobbies(lobbies, in.readVarInt(), in.readNullableInt(), in.readVarLong());
+	}
+
+	private static void writeLobby(GameInfo lobby, BinaryOutput out) throws IOException {
+		out.writeInt(lobby.getGameId());
+		out.writeString(lobby.getCreator());
+		out.writeInt(lobby.getLobbySize());
+		out.writeInt(lobby.getCurrentPlayers());
+		out.writeBoolean(lobby.isExpertMode());
+	}
+
+	private static GameInfo readLobby(BinaryInput in) throws IOException {
+		int gameId = in.readInt();
+		String creator = in.readString();
+		int lobbySize = in.readInt();
+		int currentPlayers = in.readInt();
+		GameInfo lobby = new GameInfo(gameId, creator, lobbySize, in.readBoolean());
+		lobby.setCurrentPlayers(currentPlayers);
+		return lobby;
+	}
+
+	private static void writeAssistantCards(AssistantCardUpdate message, BinaryOutput out) throws IOException {
+		out.writeSymbolMap(message.getPlayedCards());
+		Map<String, List<String>> available = message.getAvailableCards();
+		out.writeVarInt(available == null ? 0 : available.size() + 1);
+		if (available != null) {
+			for (Map.Entry<String, List<String>> entry : available.entrySet()) {
+				out.writeString(entry.getKey());
+				out.writeSymbols(entry.getValue());
+			}
+		}
+		out.writeString(message.getNextPlayer());
+	}
+
+	private static AssistantCardUpdate readAssistantCards(BinaryInput in) throws IOException {
+		Map<String, String> played = in.readSymbolMap();
+		int size = in.readVarInt() - 1;
+		Map<String, List<String>> available = null;
+		if (size >= 0) {
+			available = new LinkedHashMap<>();
+			for (int i = 0; i < size; i++)
+				available.put(in.readString(), in.readSymbols());
+		}
+		return withNextPlayer(new AssistantCardUpdate(played, available), in);
+	}
+
+	/**
+	 * Writes a {@link BoardStatus}, referring to the players by their position in the turn order.
+	 * @param status the status to write
+	 * @param out the writer
+	 * @throws IOException if an I/O error occurs
+	 */
+	static void writeStatus(BoardStatus status, BinaryOutput out) throws IOException {
+		List<String> players = status.getPlayers();
+		out.writeStrings(players);
+		for (String p : players) {
+			out.writeCounts(status.getPlayerEntrances().get(p));
+			out.writeCounts(status.getPlayerDiningRooms().get(p));
+			out.writeSymbol(status.getPlayerTowerColors().get(p));
+			out.writeNullableInt(status.getPlayerTowers().get(p));
+			out.writeNullableInt(status.getPlayerCoins().get(p));
+		}
+
+		List<String> islands = status.getIslands();
+		out.writeVarInt(islands.size());
+		for (String isle : islands) {
+			out.writeIslandId(isle);
+			out.writeNullableInt(status.getIslandSizes().get(isle));
+			out.writeCounts(status.getIslandStudents().get(isle));
+			out.writePlayer(players, status.getIslandControllers().get(isle));
+			out.writeNullableInt(status.getIslandNoEntryTiles().get(isle));
+		}
+		out.writeIslandId(status.getMotherNatureIsland());
+
+		Map<String, Map<String, Integer>> clouds = status.getCloudTiles();
+		out.writeVarInt(clouds.size());
+		for (Map.Entry<String, Map<String, Integer>> cloud : clouds.entrySet()) {
+			out.writeString(cloud.getKey());
+			out.writeCounts(cloud.getValue());
+		}
+
+		Map<String, String> professors = status.getProfessors();
+		out.writeVarInt(professors.size());
+		for (Map.Entry<String, String> professor : professors.entrySet()) {
+			out.writeSymbol(professor.getKey());
+			out.writePlayer(players, professor.getValue());
+		}
+
+		List<String> characters = status.getCharacterCards();
+		out.writeSymbols(characters);
+		if (characters != null) {
+			for (String c : characters) {
+				out.writeNullableInt(status.getCharacterCardsCost().get(c));
+				out.writeCounts(status.getCharacterCardsStudents().get(c));
+				out.writeNullableInt(status.getCharacterCardsNoEntryTiles().get(c));
+			}
+		}
+	}
+
+	/**
+	 * Reads a {@link BoardStatus} written by {@link #writeStatus(BoardStatus, BinaryOutput)}.
+	 * @param in the reader
+	 * @return the status read
+	 * @throws IOException if the input is malformed
+	 */
+	static BoardStatus readStatus(BinaryInput in) throws IOException {
+		BoardStatus status = new BoardStatus();
+
+		List<String> players = in.readStrings();
+		if (players == null)
+			throw new IOException("Missing players");
+		status.setPlayers(players);
+		for (String p : players) {
+			status.getPlayerEntrances().put(p, in.readCounts());
+			status.getPlayerDiningRooms().put(p, in.readCounts());
+			status.getPlayerTowerColors().put(p, in.readSymbol());
+			status.getPlayerTowers().put(p, in.readNullableInt());
+			status.getPlayerCoins().put(p, in.readNullableInt());
+		}
+
+		int numIslands = in.readVarInt();
+		List<String> islands = new ArrayList<>(Math.min(numIslands, 16));
+		for (int i = 0; i < numIslands; i++) {
+			String isle = in.readIslandId();
+			islands.add(isle);
+			status.getIslandSizes().put(isle, in.readNullableInt());
+			status.getIslandStudents().put(isle, in.readCounts());
+			status.getIslandControllers().put(isle, in.readPlayer(players));
+			status.getIslandNoEntryTiles().put(isle, in.readNullableInt());
+		}
+		status.setIslands(islands);
+		status.setMotherNatureIsland(in.readIslandId());
+
+		int numClouds = in.readVarInt();
+		for (int i = 0; i < numClouds; i++)
+			status.getCloudTiles().put(in.readString(), in.readCounts());
+
+		int numProfessors = in.readVarInt();
+		for (int i = 0; i < numProfessors; i++)
+			status.getProfessors().put(in.readSymbol(), in.readPlayer(players));
+
+		List<String> characters = in.readSymbols();
+		status.setCharacterCards(characters);
+		if (characters != null) {
+			for (String c : characters) {
+				status.getCharacterCardsCost().put(c, in.readNullableInt());
+				status.getCharacterCardsStudents().put(c, in.readCounts());
+				status.getCharacterCardsNoEntryTiles().put(c, in.readNullableInt());
+			}
+		}
+		return status;
+	}
+
+	/**
+	 * Writes a {@link BoardStatusDelta}: the players are written out in full,
+	 * since the receiver may not know the turn order which they would refer to.
+	 * @param delta the delta to write
+	 * @param out the writer
+	 * @throws IOException if an I/O error occurs
+	 */
+	static void writeDelta(BoardStatusDelta delta, BinaryOutput out) throws IOException {
+		out.writeStrings(delta.getPlayers());
+		out.writeVarInt(delta.getIslands() == null ? 0 : delta.getIslands().size() + 1);
+		if (delta.getIslands() != null)
+			for (String isle : delta.getIslands())
+				out.writeIslandId(isle);
+		out.writeIslandId(delta.getMotherNatureIsland());
+		out.writeBoolean(delta.haveCharacterCardsChanged());
+		if (delta.haveCharacterCardsChanged())
+			out.writeSymbols(delta.getCharacterCards());
+
+		out.writeMap(delta.getPlayerEntrances(), BinaryOutput::writeString, BinaryOutput::writeCounts);
+		out.writeMap(delta.getPlayerDiningRooms(), BinaryOutput::writeString, BinaryOutput::writeCounts);
+		out.writeMap(delta.getPlayerTowerColors(), BinaryOutput::writeString, BinaryOutput::writeSymbol);
+		out.writeMap(delta.getPlayerTowers(), BinaryOutput::writeString, BinaryOutput::writeNullableInt);
+		out.writeMap(delta.getPlayerCoins(), BinaryOutput::writeString, BinaryOutput::writeNullableInt);
+
+		out.writeMap(delta.getIslandSizes(), BinaryOutput::writeIslandId, BinaryOutput::writeNullableInt);
+		out.writeMap(delta.getIslandStudents(), BinaryOutput::writeIslandId, BinaryOutput::writeCounts);
+		out.writeMap(delta.getIslandControllers(), BinaryOutput::writeIslandId, BinaryOutput::writeString);
+		out.writeMap(delta.getIslandNoEntryTiles(), BinaryOutput::writeIslandId, BinaryOutput::writeNullableInt);
+
+		out.writeMap(delta.getCloudTiles(), BinaryOutput::writeString, BinaryOutput::writeCounts);
+		out.writeMap(delta.getProfessors(), BinaryOutput::writeSymbol, BinaryOutput::writeString);
+
+		out.writeMap(delta.getCharacterCardsCost(), BinaryOutput::writeSymbol, BinaryOutput::writeNullableInt);
+		out.writeMap(delta.getCharacterCardsStudents(), BinaryOutput::writeSymbol, BinaryOutput::writeCounts);
+		out.writeMap(delta.getCharacterCardsNoEntryTiles(), BinaryOutput::writeSymbol, BinaryOutput::writeNullableInt);
+	}
+
+	/**
+	 * Reads a {@link BoardStatusDelta} written by {@link #writeDelta(BoardStatusDelta, BinaryOutput)}.
+	 * @param in the reader
+	 * @return the delta read
+	 * @throws IOException if the input is malformed
+	 */
+	static BoardStatusDelta readDelta(BinaryInput in) throws IOException {
+		List<String> players = in.readStrings();
+		int numIslands = in.readVarInt() - 1;
+		List<String> islands = null;
+		if (numIslands >= 0) {
+			islands = new ArrayList<>(Math.min(numIslands, 16));
+			for (int i = 0; i < numIslands; i++)
+				islands.add(in.readIslandId());
+		}
+		String motherNatureIsland = in.readIslandId();
+		boolean characterCardsChanged = in.readBoolean();
+		List<String> characterCards = characterCardsChanged ? in.readSymbols() : null;
+		BoardStatusDelta delta = new BoardStatusDelta(players, islands, motherNatureIsland, characterCardsChanged, characterCards);
+
+		delta.getPlayerEntrances().putAll(in.readMap(BinaryInput::readString, BinaryInput::readCounts));
+		delta.getPlayerDiningRooms().putAll(in.readMap(BinaryInput::readString, BinaryInput::readCounts));
+		delta.getPlayerTowerColors().putAll(in.readMap(BinaryInput::readString, BinaryInput::readSymbol));
+		delta.getPlayerTowers().putAll(in.readMap(BinaryInput::readString, BinaryInput::readNullableInt));
+		delta.getPlayerCoins().putAll(in.readMap(BinaryInput::readString, BinaryInput::readNullableInt));
+
+		delta.getIslandSizes().putAll(in.readMap(BinaryInput::readIslandId, BinaryInput::readNullableInt));
+		delta.getIslandStudents().putAll(in.readMap(BinaryInput::readIslandId, BinaryInput::readCounts));
+		delta.getIslandControllers().putAll(in.readMap(BinaryInput::readIslandId, BinaryInput::readString));
+		delta.getIslandNoEntryTiles().putAll(in.readMap(BinaryInput::readIslandId, BinaryInput::readNullableInt));
+
+		delta.getCloudTiles().putAll(in.readMap(BinaryInput::readString, BinaryInput::readCounts));
+		delta.getProfessors().putAll(in.readMap(BinaryInput::readSymbol, BinaryInput::readString));
+
+		delta.getCharacterCardsCost().putAll(in.readMap(BinaryInput::readSymbol, BinaryInput::readNullableInt));
+		delta.getCharacterCardsStudents().putAll(in.readMap(BinaryInput::readSymbol, BinaryInput::readCounts));
+		delta.getCharacterCardsNoEntryTiles().putAll(in.readMap(BinaryInput::readSymbol, BinaryInput::readNullableInt));
+		return delta;
+	}
+}
@@ -0,0 +1,287 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.model.Color;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A writer for the primitives of the compact binary format: variable-length integers, nullable values,
+ * strings drawn from a fixed vocabulary of game literals and student counts indexed by {@link Color}.
+ * @see BinaryInput
+ */
+public final class BinaryOutput {
+	private final OutputStream out;
+
+	/**
+	 * Writes a value of a specific type.
+	 * @param <T> the type of the value
+	 */
+	@FunctionalInterface
+	public interface Writer<T> {
+		void write(BinaryOutput out, T value) throws IOException;
+	}
+
+	/**
+	 * Constructs a writer on top of the specified stream.
+	 * @param out the stream to write to
+	 */
+	public BinaryOutput(OutputStream out) {
+		this.out = out;
+	}
+
+	/**
+	 * Writes a single byte.
+	 * @param value the byte to write
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeByte(int value) throws IOException {
+		out.write(value);
+	}
+
+	/**
+	 * Writes a boolean as a single byte.
+	 * @param value the boolean to write
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeBoolean(boolean value) throws IOException {
+		out.write(value ? 1 : 0);
+	}
+
+	/**
+	 * Writes a non-negative integer in as few bytes as possible (seven bits per byte).
+	 * @param value the integer to write
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	/**
+	 * Writes a variable-length long integer.
+	 * @param value the integer to write
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeVarLong(long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	/**
+	 * Writes a signed integer, zigzag-encoding it so that small negative values stay short.
+	 * @param value the integer to write
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeInt(int value) throws IOException {
+		writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	/**
+	 * Writes an integer which may be {@code null}.
+	 * @param value the integer to write
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeNullableInt(Integer value) throws IOException {
+		if (value == null) {
+			writeVarInt(0);
+		} else {
+			// the zigzag encoding of Integer.MIN_VALUE is the largest unsigned integer, which overflows once shifted
+			writeVarLong((((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL) + 1);
+		}
+	}
+
+	/**
+	 * Writes a UTF-8 string which may be {@code null}.
+	 * @param value the string to write
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeString(String value) throws IOException {
+		if (value == null) {
+			writeVarInt(0);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length + 1);
+		out.write(bytes);
+	}
+
+	/**
+	 * Writes a string which is expected to be one of the {@link Symbols}: known literals take a single byte,
+	 * anything else (including malformed user input) is written out in full.
+	 * @param value the string to write, possibly {@code null}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeSymbol(String value) throws IOException {
+		if (value == null) {
+			writeVarInt(Symbols.NULL);
+			return;
+		}
+		int token = Symbols.tokenOf(value);
+		writeVarInt(token);
+		if (token == Symbols.LITERAL)
+			writeString(value);
+	}
+
+	/**
+	 * Writes an island identifier: identifiers made of two-digit numbers joined by dashes (such as {@code 01-02})
+	 * take one byte per island, anything else is written out in full.
+	 * @param value the identifier to write, possibly {@code null}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeIslandId(String value) throws IOException {
+		if (value == null) {
+			writeVarInt(0);
+			return;
+		}
+		int length = value.length();
+		if (length % 3 != 2 || !isIslandId(value)) {
+			writeVarInt(1);
+			writeString(value);
+			return;
+		}
+		writeVarInt(length / 3 + 2);
+		for (int i = 0; i < length; i += 3)
+			out.write((value.charAt(i) - '0') * 10 + value.charAt(i + 1) - '0');
+	}
+
+	private static boolean isIslandId(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (i % 3 == 2 ? c != '-' : c < '0' || c > '9')
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Writes a list of strings, each of them through {@link #writeString(String)}.
+	 * @param values the strings to write, possibly {@code null}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeStrings(Collection<String> values) throws IOException {
+		if (values == null) {
+			writeVarInt(0);
+			return;
+		}
+		writeVarInt(values.size() + 1);
+		for (String value : values)
+			writeString(value);
+	}
+
+	/**
+	 * Writes a list of strings, each of them through {@link #writeSymbol(String)}.
+	 * @param values the strings to write, possibly {@code null}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeSymbols(Collection<String> values) throws IOException {
+		if (values == null) {
+			writeVarInt(0);
+			return;
+		}
+		writeVarInt(values.size() + 1);
+		for (String value : values)
+			writeSymbol(value);
+	}
+
+	/**
+	 * Writes a mapping between strings and symbols, such as the one between usernames and tower colors.
+	 * @param values the mapping to write, possibly {@code null}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeSymbolMap(Map<String, String> values) throws IOException {
+		if (values == null) {
+			writeVarInt(0);
+			return;
+		}
+		writeVarInt(values.size() + 1);
+		for (Map.Entry<String, String> entry : values.entrySet()) {
+			writeString(entry.getKey());
+			writeSymbol(entry.getValue());
+		}
+	}
+
+	/**
+	 * Writes a mapping, whose keys and values may be {@code null}, through the specified writers.
+	 * @param values the mapping to write
+	 * @param keyWriter the writer of the keys
+	 * @param valueWriter the writer of the values
+	 * @param <V> the type of the values
+	 * @throws IOException if an I/O error occurs
+	 */
+	public <V> void writeMap(Map<String, V> values, Writer<String> keyWriter, Writer<V> valueWriter) throws IOException {
+		writeVarInt(values.size());
+		for (Map.Entry<String, V> entry : values.entrySet()) {
+			keyWriter.write(this, entry.getKey());
+			valueWriter.write(this, entry.getValue());
+		}
+	}
+
+	/**
+	 * Writes a reference to one of the specified players: known players take a single byte,
+	 * anything else is written out in full.
+	 * @param players the players which can be referenced
+	 * @param value the nickname to write, possibly {@code null}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writePlayer(List<String> players, String value) throws IOException {
+		if (value == null) {
+			writeVarInt(0);
+			return;
+		}
+		int index = players.indexOf(value);
+		if (index >= 0) {
+			writeVarInt(index + 2);
+		} else {
+			writeVarInt(1);
+			writeString(value);
+		}
+	}
+
+	/**
+	 * Writes a student count mapping, such as the one returned by {@code StudentContainer#getRepresentation()}:
+	 * mappings holding exactly the {@link Color} literals in declaration order only take the five counts,
+	 * any other mapping is written out in full.
+	 * @param counts the mapping to write, possibly {@code null}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeCounts(Map<String, Integer> counts) throws IOException {
+		if (counts == null) {
+			writeVarInt(0);
+		} else if (hasColorLayout(counts)) {
+			writeVarInt(1);
+			for (Integer count : counts.values())
+				writeVarInt(count);
+		} else {
+			writeVarInt(2);
+			writeVarInt(counts.size());
+			for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+				writeSymbol(entry.getKey());
+				writeNullableInt(entry.getValue());
+			}
+		}
+	}
+
+	private static boolean hasColorLayout(Map<String, Integer> counts) {
+		Color[] colors = Color.values();
+		if (counts.size() != colors.length)
+			return false;
+		int i = 0;
+		for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+			Integer count = entry.getValue();
+			if (!colors[i++].name().equals(entry.getKey()) || count == null || count < 0)
+				return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,33 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * A {@link ByteArrayOutputStream} which reserves room for the frame header and starts with the codec identifier,
+ * so that a frame can be built without copying the payload once it has been written.
+ */
+class FrameOutputStream extends ByteArrayOutputStream {
+	/**
+	 * Constructs a frame produced by the specified codec, whose header is filled in by {@link #toFrame()}.
+	 * @param codecId the identifier of the codec producing the frame
+	 */
+	FrameOutputStream(byte codecId) {
+		super(256);
+		count = Frames.HEADER_SIZE;
+		write(codecId);
+	}
+
+	/**
+	 * Writes the payload length into the header and returns the frame.
+	 * @return the complete frame, header included
+	 * @throws IOException if the payload exceeds {@link Frames#MAX_PAYLOAD_SIZE}
+	 */
+	byte[] toFrame() throws IOException {
+		int length = count - Frames.HEADER_SIZE;
+		if (length > Frames.MAX_PAYLOAD_SIZE)
+			throw new IOException("Frame payload too large: " + length + " bytes");
+		Frames.writeHeader(buf, length);
+		return buf.length == count ? buf : toByteArray();
+	}
+}
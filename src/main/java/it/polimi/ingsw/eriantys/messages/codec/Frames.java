@@ -0,0 +1,76 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.messages.Message;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * This class collects the helpers used to exchange length-prefixed frames over blocking streams.
+ * Framing lets the server decode messages incrementally, which non-blocking channels require.
+ */
+public final class Frames {
+	/**
+	 * The size (in bytes) of the frame header, which holds the payload length.
+	 */
+	public static final int HEADER_SIZE = Integer.BYTES;
+
+	/**
+	 * The maximum accepted payload size (in bytes): larger frames are treated as protocol errors.
+	 */
+	public static final int MAX_PAYLOAD_SIZE = 1 << 20;
+
+	private Frames() {
+	}
+
+	/**
+	 * Writes the specified payload length as a big-endian header at the beginning of the array.
+	 * @param frame the frame array
+	 * @param length the payload length
+	 */
+	static void writeHeader(byte[] frame, int length) {
+		frame[0] = (byte) (length >>> 24);
+		frame[1] = (byte) (length >>> 16);
+		frame[2] = (byte) (length >>> 8);
+		frame[3] = (byte) length;
+	}
+
+	/**
+	 * Checks that the length read from a frame header is acceptable.
+	 * @param length the payload length
+	 * @return the payload length
+	 * @throws IOException if the length is negative or exceeds {@link #MAX_PAYLOAD_SIZE}
+	 */
+	public static int checkLength(int length) throws IOException {
+		if (length < 0 || length > MAX_PAYLOAD_SIZE)
+			throw new IOException("Invalid frame length: " + length);
+		return length;
+	}
+
+	/**
+	 * Encodes the specified message and writes the resulting frame to the output stream.
+	 * @param out the stream to write to
+	 * @param codec the codec to encode the message with
+	 * @param message the message to write
+	 * @throws IOException if the message cannot be encoded or an I/O error occurs
+	 */
+	public static void write(OutputStream out, MessageCodec codec, Message message) throws IOException {
+		out.write(codec.encode(message));
+		out.flush();
+	}
+
+	/**
+	 * Blocks until a whole frame has been read from the input stream, then decodes its payload
+	 * with the codec which produced it.
+	 * @param in the stream to read from
+	 * @return the decoded message
+	 * @throws IOException if an I/O error occurs or the frame is malformed
+	 */
+	public static Message read(DataInputStream in) throws IOException {
+		int length = checkLength(in.readInt());
+		byte[] payload = new byte[length];
+		in.readFully(payload);
+		return MessageCodecs.decode(payload, 0, length);
+	}
+}
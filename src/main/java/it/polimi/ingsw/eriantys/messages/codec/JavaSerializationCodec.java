@@ -0,0 +1,49 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.messages.Message;
+
+import java.io.*;
+
+/**
+ * A {@link MessageCodec} based on the standard Java serialization mechanism, which every peer supports.
+ * Every frame carries a self-contained object stream, which is equivalent to resetting the stream before each write.
+ */
+public class JavaSerializationCodec implements MessageCodec {
+	/**
+	 * The identifier of the frames produced by this codec.
+	 */
+	public static final byte ID = 0;
+
+	/**
+	 * The name used to negotiate this codec.
+	 */
+	public static final String NAME = "java";
+
+	@Override
+	public byte getId() {
+		return ID;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public byte[] encode(Message message) throws IOException {
+		FrameOutputStream frame = new FrameOutputStream(ID);
+		try (ObjectOutputStream out = new ObjectOutputStream(frame)) {
+			out.writeObject(message);
+		}
+		return frame.toFrame();
+	}
+
+	@Override
+	public Message decode(byte[] payload, int offset, int length) throws IOException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload, offset, length))) {
+			return (Message) in.readObject();
+		} catch (ClassNotFoundException | ClassCastException e) {
+			throw new IOException("Invalid message payload", e);
+		}
+	}
+}
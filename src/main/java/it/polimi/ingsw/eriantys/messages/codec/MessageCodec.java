@@ -0,0 +1,44 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.messages.Message;
+
+import java.io.IOException;
+
+/**
+ * This interface represents a strategy to turn {@link Message} objects into frames and frames back into messages.
+ * A frame is made up of a {@link Frames#HEADER_SIZE}-byte big-endian length header, followed by a payload
+ * whose first byte is the identifier of the codec which produced it: since every frame names its own codec,
+ * the two ends of a connection can switch codec without coordinating on the exact frame.
+ * @see MessageCodecs
+ */
+public interface MessageCodec {
+	/**
+	 * A getter for the identifier written as the first payload byte of the frames produced by this codec.
+	 * @return the codec identifier
+	 */
+	byte getId();
+
+	/**
+	 * A getter for the name used to negotiate this codec.
+	 * @return the codec name
+	 */
+	String getName();
+
+	/**
+	 * Encodes the specified message into a complete frame, header and codec identifier included.
+	 * @param message the message to encode
+	 * @return the encoded frame
+	 * @throws IOException if the message cannot be encoded
+	 */
+	byte[] encode(Message message) throws IOException;
+
+	/**
+	 * Decodes a message out of a frame payload, codec identifier excluded.
+	 * @param payload the array containing the payload
+	 * @param offset the index of the first byte following the codec identifier
+	 * @param length the number of bytes following the codec identifier
+	 * @return the decoded message
+	 * @throws IOException if the payload does not contain a valid message
+	 */
+	Message decode(byte[] payload, int offset, int length) throws IOException;
+}
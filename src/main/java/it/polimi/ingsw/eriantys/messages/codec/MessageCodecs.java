@@ -0,0 +1,82 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.messages.Message;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class collects the available {@link MessageCodec} implementations,
+ * decodes frames according to the codec which produced them and negotiates the codec of a connection.
+ */
+public final class MessageCodecs {
+	/**
+	 * The Java serialization codec, which every peer supports and which is used until another codec is negotiated.
+	 */
+	public static final MessageCodec JAVA = new JavaSerializationCodec();
+
+	/**
+	 * The compact binary codec.
+	 */
+	public static final MessageCodec BINARY = new BinaryMessageCodec();
+
+	private static final MessageCodec[] CODECS = {BINARY, JAVA};
+
+	private MessageCodecs() {
+	}
+
+	/**
+	 * A getter for the names of the available codecs, from the most to the least preferred one.
+	 * @return the codec names
+	 */
+	public static List<String> names() {
+		return Arrays.stream(CODECS).map(MessageCodec::getName).toList();
+	}
+
+	/**
+	 * Looks up a codec from its name.
+	 * @param name the name of the codec
+	 * @return the codec with the specified name
+	 * @throws IllegalArgumentException if no codec has the specified name
+	 */
+	public static MessageCodec byName(String name) {
+		for (MessageCodec codec : CODECS)
+			if (codec.getName().equalsIgnoreCase(name.trim()))
+				return codec;
+		throw new IllegalArgumentException("Unknown codec: " + name);
+	}
+
+	/**
+	 * Chooses the codec of a connection: the first of the preferred codecs which is also offered by the peer,
+	 * or the Java serialization codec if there is none.
+	 * @param preferred the codecs supported by this end, from the most to the least preferred one
+	 * @param offered the names of the codecs supported by the peer
+	 * @return the negotiated codec
+	 */
+	public static MessageCodec negotiate(List<MessageCodec> preferred, List<String> offered) {
+		if (offered != null)
+			for (MessageCodec codec : preferred)
+				if (offered.contains(codec.getName()))
+					return codec;
+		return JAVA;
+	}
+
+	/**
+	 * Decodes a frame payload with the codec named by its first byte.
+	 * @param payload the array containing the payload
+	 * @param offset the index of the first payload byte
+	 * @param length the number of payload bytes
+	 * @return the decoded message
+	 * @throws IOException if the payload is empty, names an unknown codec or does not contain a valid message
+	 */
+	public static Message decode(byte[] payload, int offset, int length) throws IOException {
+		if (length < 1)
+			throw new IOException("Empty frame");
+		byte id = payload[offset];
+		for (MessageCodec codec : CODECS)
+			if (codec.getId() == id)
+				return codec.decode(payload, offset + 1, length - 1);
+		throw new IOException("Unknown codec identifier: " + id);
+	}
+}
@@ -0,0 +1,78 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.model.AssistantCard;
+import it.polimi.ingsw.eriantys.model.Color;
+import it.polimi.ingsw.eriantys.model.TowerColor;
+import it.polimi.ingsw.eriantys.model.Wizard;
+import it.polimi.ingsw.eriantys.model.characters.CharacterCard;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The vocabulary of game literals which the binary codec encodes as small integers:
+ * the {@link Color}, {@link TowerColor}, {@link Wizard}, {@link AssistantCard} and {@link PhaseName} literals
+ * and the names of the {@link CharacterCard}s.
+ * The vocabulary is spelled out rather than taken from the enumerations, so that a new constant does not shift
+ * the symbols following it: symbols may only be appended at the end, since their position is part of the binary format.
+ * A string which is not part of the vocabulary, such as a new constant which has not been appended yet,
+ * is still encoded after the {@link #LITERAL} token.
+ */
+final class Symbols {
+	private static final List<String> SYMBOLS = List.of(
+			"YELLOW", "BLUE", "GREEN", "RED", "PINK",
+			"BLACK", "WHITE", "GREY",
+			"FOREST", "DESERT", "SKY", "SNOW",
+			"CHEETAH", "OSTRICH", "CAT", "EAGLE", "FOX", "LIZARD", "OCTOPUS", "DOG", "ELEPHANT", "TURTLE",
+			"MOVE_STUDENT", "MOTHER_NATURE", "SELECT_CLOUD",
+			"Centaur", "Farmer", "Herald", "HerbGranny", "Jester", "Knight",
+			"MagicPostman", "Minstrel", "Monk", "MushroomGuy", "SpoiledPrincess", "Thief");
+	private static final Map<String, Integer> INDEXES;
+
+	static {
+		INDEXES = new HashMap<>();
+		for (int i = 0; i < SYMBOLS.size(); i++)
+			INDEXES.put(SYMBOLS.get(i), i);
+	}
+
+	/**
+	 * The token which stands for {@code null}.
+	 */
+	static final int NULL = 0;
+
+	/**
+	 * The token which announces a string which is not part of the vocabulary.
+	 * It precedes the symbols, so that appending a symbol does not change it.
+	 */
+	static final int LITERAL = 1;
+
+	/**
+	 * The token of the first symbol of the vocabulary, which is followed by the tokens of the others in order.
+	 */
+	static final int FIRST = 2;
+
+	private Symbols() {
+	}
+
+	/**
+	 * Looks up the token of a string.
+	 * @param symbol the string
+	 * @return the token of the symbol, or {@link #LITERAL} if the string is not part of the vocabulary
+	 */
+	static int tokenOf(String symbol) {
+		Integer index = INDEXES.get(symbol);
+		return index == null ? LITERAL : index + FIRST;
+	}
+
+	/**
+	 * Looks up the symbol of a token.
+	 * @param token the token
+	 * @return the symbol of the token, or {@code null} if no symbol has the token
+	 */
+	static String get(int token) {
+		int index = token - FIRST;
+		return index >= 0 && index < SYMBOLS.size() ? SYMBOLS.get(index) : null;
+	}
+}
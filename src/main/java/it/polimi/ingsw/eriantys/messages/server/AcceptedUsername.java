@@ -1,16 +1,24 @@
 package it.polimi.ingsw.eriantys.messages.server;
 
 import it.polimi.ingsw.eriantys.messages.client.Handshake;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
 
 /**
  * A message of type {@link Accepted} sent by the server in order to
  * tell the client the acceptance of a {@link Handshake} request.
+ * The message also carries the name of the {@link MessageCodec} chosen for the rest of the connection.
  */
 public class AcceptedUsername extends Accepted {
 	private final String username;
+	private final String codec;
 
 	public AcceptedUsername(String username) {
+		this(username, null);
+	}
+
+	public AcceptedUsername(String username, String codec) {
 		this.username = username;
+		this.codec = codec;
 	}
 
 	/**
@@ -20,4 +28,12 @@ public class AcceptedUsername extends Accepted {
 	public String getUsername() {
 		return username;
 	}
+
+	/**
+	 * A getter for the name of the {@link MessageCodec} which the server will use from now on.
+	 * @return the name of the chosen codec, or {@code null} if the connection keeps using Java serialization
+	 */
+	public String getCodec() {
+		return codec;
+	}
 }
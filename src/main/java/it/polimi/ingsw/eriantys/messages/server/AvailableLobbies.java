@@ -9,13 +9,24 @@ import java.util.List;
 
 /**
  * A {@link Message} sent by the server in order to communicate the result of a {@link LobbiesRequest} handling process.
+ * It carries a single page of the lobbies matching the request, sorted by game identifier.
  */
 public class AvailableLobbies extends Message {
 	private final List<GameInfo> lobbies;
+	private final int total;
+	private final Integer next;
+	private final long version;
 
 	public AvailableLobbies(List<GameInfo> lobbies) {
+		this(lobbies, lobbies == null ? 0 : lobbies.size(), null, 0);
+	}
+
+	public AvailableLobbies(List<GameInfo> lobbies, int total, Integer next, long version) {
 		super(Server.name);
 		this.lobbies = lobbies;
+		this.total = total;
+		this.next = next;
+		this.version = version;
 	}
 
 	/**
@@ -25,4 +36,29 @@ public class AvailableLobbies extends Message {
 	public List<GameInfo> getLobbies() {
 		return lobbies;
 	}
+
+	/**
+	 * A getter for the number of lobbies matching the request, in this page and in all the other ones.
+	 * @return the total number of matching lobbies
+	 */
+	public int getTotal() {
+		return total;
+	}
+
+	/**
+	 * A getter for the cursor of the next page.
+	 * @return the cursor to be passed to the next {@link LobbiesRequest}, or {@code null} if this is the last page
+	 */
+	public Integer getNext() {
+		return next;
+	}
+
+	/**
+	 * A getter for the version of the lobby directory read before taking this page.
+	 * The {@link LobbyDirectoryUpdate} messages with a later version may not be reflected in this page yet.
+	 * @return the version of the lobby directory
+	 */
+	public long getVersion() {
+		return version;
+	}
 }
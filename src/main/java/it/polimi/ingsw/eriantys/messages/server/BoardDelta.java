@@ -0,0 +1,60 @@
+package it.polimi.ingsw.eriantys.messages.server;
+
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.messages.client.BoardStatusRequest;
+import it.polimi.ingsw.eriantys.model.BoardStatus;
+import it.polimi.ingsw.eriantys.model.BoardStatusDelta;
+
+/**
+ * A message of type {@link UserActionUpdate} sent by the server in place of a {@link BoardUpdate}
+ * to a client which already knows the previous version of the board status: it only carries what has changed.
+ * A client which does not know the base version asks for a full status through a {@link BoardStatusRequest}.
+ * @see BoardStatusDelta
+ */
+public class BoardDelta extends UserActionUpdate {
+	private final int baseVersion;
+	private final int version;
+	private final BoardStatusDelta delta;
+	private final PhaseName phase;
+
+	public BoardDelta(int baseVersion, int version, BoardStatusDelta delta, PhaseName phase) {
+		super();
+		this.baseVersion = baseVersion;
+		this.version = version;
+		this.delta = delta;
+		this.phase = phase;
+	}
+
+	/**
+	 * A getter for the version of the board status which the differences refer to.
+	 * @return the base version
+	 */
+	public int getBaseVersion() {
+		return baseVersion;
+	}
+
+	/**
+	 * A getter for the version of the board status obtained by applying the differences.
+	 * @return the new version
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * A getter for the differences between the base status and the new one.
+	 * @return the differences to apply
+	 * @see BoardStatus#BoardStatus(BoardStatus, BoardStatusDelta)
+	 */
+	public BoardStatusDelta getDelta() {
+		return delta;
+	}
+
+	/**
+	 * A getter for the phase name which prompts an information message to the UI.
+	 * @return the phase name, or {@code null} if no message should be shown following the receiving of {@code this}
+	 */
+	public PhaseName getPhase() {
+		return phase;
+	}
+}
@@ -13,17 +13,27 @@ import it.polimi.ingsw.eriantys.model.GameManager;
 public class BoardUpdate extends UserActionUpdate {
 	private final BoardStatus status;
 	private final PhaseName phase;
+	private final int version;
 
 	public BoardUpdate(GameManager gm) {
 		super();
 		this.status = new BoardStatus(gm);
 		this.phase = null;
+		this.version = 0;
 	}
 
 	public BoardUpdate(GameManager gm, PhaseName phase) {
 		super();
 		this.status = new BoardStatus(gm);
 		this.phase = phase;
+		this.version = 0;
+	}
+
+	public BoardUpdate(BoardStatus status, PhaseName phase, int version) {
+		super();
+		this.status = status;
+		this.phase = phase;
+		this.version = version;
 	}
 
 	/**
@@ -41,4 +51,12 @@ public class BoardUpdate extends UserActionUpdate {
 	public PhaseName getPhase() {
 		return phase;
 	}
+
+	/**
+	 * A getter for the version of the status, which the following {@link BoardDelta} messages refer to.
+	 * @return the version of the status, or {@code 0} if the status is not versioned
+	 */
+	public int getVersion() {
+		return version;
+	}
 }
@@ -12,10 +12,18 @@ import it.polimi.ingsw.eriantys.server.Server;
  */
 public class InitialBoardStatus extends Message {
 	private final BoardStatus status;
+	private final int version;
 
 	public InitialBoardStatus(GameManager gm) {
 		super(Server.name);
 		this.status = new BoardStatus(gm);
+		this.version = 0;
+	}
+
+	public InitialBoardStatus(BoardStatus status, int version) {
+		super(Server.name);
+		this.status = status;
+		this.version = version;
 	}
 
 	/**
@@ -25,4 +33,12 @@ public class InitialBoardStatus extends Message {
 	public BoardStatus getStatus() {
 		return status;
 	}
+
+	/**
+	 * A getter for the version of the status, which the following {@link BoardDelta} messages refer to.
+	 * @return the version of the status, or {@code 0} if the status is not versioned
+	 */
+	public int getVersion() {
+		return version;
+	}
 }
@@ -0,0 +1,67 @@
+package it.polimi.ingsw.eriantys.messages.server;
+
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.client.LobbiesRequest;
+import it.polimi.ingsw.eriantys.server.Server;
+
+/**
+ * A {@link Message} pushed by the server to the clients which have subscribed through a {@link LobbiesRequest},
+ * whenever a lobby matching their filter is opened, changes or can no longer be joined.
+ * Updates about the same lobby are sent in order, and each of them carries the whole state of the lobby.
+ */
+public class LobbyDirectoryUpdate extends Message {
+	/**
+	 * The kinds of change undergone by a lobby.
+	 */
+	public enum Change {
+		/**
+		 * The lobby has become joinable.
+		 */
+		ADDED,
+		/**
+		 * The players of a joinable lobby have changed.
+		 */
+		UPDATED,
+		/**
+		 * The lobby can no longer be joined, either because it is full or because it has been closed.
+		 */
+		REMOVED
+	}
+
+	private final Change change;
+	private final GameInfo lobby;
+	private final long version;
+
+	public LobbyDirectoryUpdate(Change change, GameInfo lobby, long version) {
+		super(Server.name);
+		this.change = change;
+		this.lobby = lobby;
+		this.version = version;
+	}
+
+	/**
+	 * A getter for the kind of change undergone by the lobby.
+	 * @return the change
+	 */
+	public Change getChange() {
+		return change;
+	}
+
+	/**
+	 * A getter for the state of the lobby after the change.
+	 * @return the lobby
+	 */
+	public GameInfo getLobby() {
+		return lobby;
+	}
+
+	/**
+	 * A getter for the version of the lobby directory produced by the change.
+	 * @return the version of the lobby directory
+	 * @see AvailableLobbies#getVersion()
+	 */
+	public long getVersion() {
+		return version;
+	}
+}
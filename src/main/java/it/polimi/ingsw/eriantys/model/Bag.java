@@ -2,8 +2,9 @@ package it.polimi.ingsw.eriantys.model;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * This class models the actual bag in the board game, which initially contains all the students discs.
@@ -12,13 +13,25 @@ import java.util.List;
  */
 public class Bag extends StudentContainer {
 	private static final int MAX_STUDENTS_PER_COLOR = 26;
+	private final RandomGenerator random;
 
 	/**
 	 * Constructs an empty {@code Bag}, then fills it with 26 students for each color, 130 total.
+	 * Students are drawn with an unseeded source of randomness.
 	 * @see StudentContainer#fill()
 	 */
 	public Bag() {
+		this(new SplittableRandom());
+	}
+
+	/**
+	 * Constructs an empty {@code Bag}, then fills it with 26 students for each color, 130 total.
+	 * @param random the source of randomness used to draw students, which can be seeded to make draws reproducible
+	 * @see StudentContainer#fill()
+	 */
+	public Bag(RandomGenerator random) {
 		super();
+		this.random = random;
 		fill();
 	}
 
@@ -30,11 +43,20 @@ public class Bag extends StudentContainer {
 	public List<Color> setupDraw() {
 		List<Color> colors = new ArrayList<>(Arrays.asList(Color.values()));
 		colors.addAll(Arrays.asList(Color.values()));
-		Collections.shuffle(colors);
+		GameRandom.shuffle(colors, random);
 
 		return colors;
 	}
 
+	/**
+	 * Returns the source of randomness which the {@code Bag} has been constructed with.
+	 * @return the source of randomness used to draw students
+	 */
+	@Override
+	protected RandomGenerator getRandom() {
+		return random;
+	}
+
 	/**
 	 * A method which states if the {@code Bag} is empty.
 	 * @return {@code true} if and only if the object is empty
@@ -8,6 +8,7 @@ import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 
 /**
  * This class contains the game objects that every player can interact with.
@@ -20,17 +21,34 @@ public class Board {
 	 * The number of single islands in the game. Initially there are 12 isolated island groups,
 	 * but that number decreases as the game proceeds and islands are unified.
 	 */
-	private static final int NUMBER_OF_ISLANDS = 12;
+	static final int NUMBER_OF_ISLANDS = 12;
 
 	/**
-	 * The list containing all the current {@link IslandGroup} objects.
-	 * This list will change as a result of islands being unified, but the order of the islands will be maintained throughout the game.
+	 * The ring containing all the current {@link IslandGroup} objects in its first {@code islandNumber} cells,
+	 * the last one being followed by the first one.
+	 * The ring shrinks as a result of islands being unified, but the order of the islands will be maintained throughout the game.
 	 */
-	private final List<IslandGroup> islands;
+	private final IslandGroup[] islands;
+
+	/**
+	 * The current number of islands, i.e. the number of cells of {@code islands} in use.
+	 */
+	private int islandNumber;
+
+	/**
+	 * The disjoint sets of single islands making up each {@link IslandGroup}, indexed by the number of the single island minus one.
+	 * Each single island points to another single island of its group, and the first single island of the group points to itself.
+	 */
+	private final int[] parent;
+
+	/**
+	 * The index within {@code islands} of each {@link IslandGroup}, indexed by the number of its first single island minus one.
+	 */
+	private final int[] position;
 
 	/**
 	 * The index of the island where the Mother Nature pawn is currently located.
-	 * It should always be an integer between 0 and the current value of {@code islands.size()}.
+	 * It should always be an integer between 0 and the current value of {@code islandNumber}.
 	 */
 	private int motherNatureIslandIndex;
 
@@ -48,6 +66,11 @@ public class Board {
 
 	private Consumer<Integer> returnTile;
 
+	/**
+	 * The source of randomness of the game, shared with the {@link Bag}.
+	 */
+	private final RandomGenerator random;
+
 	/**
 	 * Constructs a {@code Board}, initializing the islands, bag and cloud tiles.
 	 * The number and capacity of the cloud tiles are constants in {@link GameManager}.
@@ -55,11 +78,29 @@ public class Board {
 	 * @param cloudSize the size of each cloud tile
 	 */
 	public Board(int cloudNumber, int cloudSize) {
-		this.islands = new ArrayList<>();
-		for (int i = 0; i < NUMBER_OF_ISLANDS; i++)
-			islands.add(new IslandGroup(String.format("%02d", i+1)));
+		this(cloudNumber, cloudSize, new GameRandom());
+	}
 
-		this.bag = new Bag();
+	/**
+	 * Constructs a {@code Board}, initializing the islands, bag and cloud tiles.
+	 * The number and capacity of the cloud tiles are constants in {@link GameManager}.
+	 * @param cloudNumber the number of cloud tiles to be instantiated
+	 * @param cloudSize the size of each cloud tile
+	 * @param random the source of randomness of the game, used to set up the board and to draw students
+	 */
+	public Board(int cloudNumber, int cloudSize, RandomGenerator random) {
+		this.random = random;
+		this.islands = new IslandGroup[NUMBER_OF_ISLANDS];
+		this.parent = new int[NUMBER_OF_ISLANDS];
+		this.position = new int[NUMBER_OF_ISLANDS];
+		for (int i = 0; i < NUMBER_OF_ISLANDS; i++) {
+			islands[i] = new IslandGroup(i);
+			parent[i] = i;
+			position[i] = i;
+		}
+		this.islandNumber = NUMBER_OF_ISLANDS;
+
+		this.bag = new Bag(random);
 		this.motherNatureIslandIndex = -1;
 
 		this.cloudTiles = new StudentContainer[cloudNumber];
@@ -78,7 +119,16 @@ public class Board {
 
 		if (index == -1)
 			throw new IslandNotFoundException("Requested: " + id);	// this should not happen
-		return islands.get(index);
+		return islands[index];
+	}
+
+	/**
+	 * Returns the {@link IslandGroup} at the specified position, following the order of the islands.
+	 * @param index the position of the island, between 0 and {@link #getIslandNumber()} excluded
+	 * @return the {@link IslandGroup} at the specified position
+	 */
+	IslandGroup getIsland(int index) {
+		return islands[index];
 	}
 
 	/**
@@ -86,7 +136,7 @@ public class Board {
 	 * @return the number of islands on the board
 	 */
 	public int getIslandNumber() {
-		return islands.size();
+		return islandNumber;
 	}
 
 	/**
@@ -97,7 +147,52 @@ public class Board {
 	public IslandGroup getMotherNatureIsland() {
 		if (motherNatureIslandIndex == -1)
 			return null;
-		return islands.get(motherNatureIslandIndex);
+		return islands[motherNatureIslandIndex];
+	}
+
+	/**
+	 * A getter for the index of the island where Mother Nature is currently located.
+	 * @return the index of the island with Mother Nature, or -1 if Mother Nature has not been deployed yet
+	 */
+	int getMotherNatureIndex() {
+		return motherNatureIslandIndex;
+	}
+
+	/**
+	 * A getter for the number of cloud tiles.
+	 * @return the number of cloud tiles on the board
+	 */
+	int getCloudNumber() {
+		return cloudTiles.length;
+	}
+
+	/**
+	 * A getter for the cloud tile at the specified index.
+	 * @param index the index of the cloud tile
+	 * @return the cloud tile at the specified index
+	 */
+	StudentContainer getCloudTile(int index) {
+		return cloudTiles[index];
+	}
+
+	/**
+	 * Replaces the islands of the board with the specified ones, restoring a board saved by a {@link ModelSnapshot}.
+	 * The islands must follow the order of the ring, each one made up of the single islands following its first one.
+	 * @param ring the islands, in the order of the ring
+	 * @param motherNatureIndex the index of the island where Mother Nature is located, or -1 if it has not been deployed yet
+	 */
+	void restoreIslands(List<IslandGroup> ring, int motherNatureIndex) {
+		Arrays.fill(islands, null);
+		islandNumber = ring.size();
+		for (int i = 0; i < islandNumber; i++) {
+			IslandGroup island = ring.get(i);
+			int head = island.getFirstIsland();
+			islands[i] = island;
+			position[head] = i;
+			for (int j = 0; j < island.getSize(); j++)
+				parent[(head + j) % NUMBER_OF_ISLANDS] = head;
+		}
+		motherNatureIslandIndex = motherNatureIndex;
 	}
 
 	/**
@@ -127,13 +222,13 @@ public class Board {
 	 * @see Bag#setupDraw()
 	 */
 	public void setup() throws InvalidArgumentException, NoMovementException {
-		motherNatureIslandIndex = new Random().nextInt(NUMBER_OF_ISLANDS);
+		motherNatureIslandIndex = random.nextInt(NUMBER_OF_ISLANDS);
 
 		List<Color> colors = bag.setupDraw();
 
 		for (int i = 0; i < NUMBER_OF_ISLANDS; i++)
 			if (i != motherNatureIslandIndex && i != (motherNatureIslandIndex + 6) % 12)
-				bag.moveTo(islands.get(i), colors.remove(0));
+				bag.moveTo(islands[i], colors.remove(0));
 	}
 
 	/**
@@ -165,7 +260,7 @@ public class Board {
 	 * @return {@code true} if and only if {@code destination} is a valid island
 	 */
 	public boolean moveMotherNature(IslandGroup destination) {
-		int destinationIndex = islands.indexOf(destination);
+		int destinationIndex = indexOf(destination);
 
 		if (destinationIndex == -1)
 			return false;
@@ -211,55 +306,25 @@ public class Board {
 		if (target == null)
 			throw new InvalidArgumentException("target argument is null");	// this should not happen
 
-		int targetIndex = islands.indexOf(target);
+		int targetIndex = indexOf(target);
 		if (targetIndex == -1)
 			throw new IslandNotFoundException("Requested id: " + target.getId());	// this should not happen
 
-		IslandGroup motherNatureIsland = islands.get(motherNatureIslandIndex);
-
-		// Expected number of islands after unification
-		int size = islands.size();
+		// Any single island of the group with Mother Nature keeps belonging to the group containing it after the merge
+		int motherNatureIsland = motherNatureIslandIndex == -1 ? -1 : islands[motherNatureIslandIndex].getFirstIsland();
 
-		IslandGroup prev = islands.get(previousIndex(targetIndex, size));
-		IslandGroup next = islands.get(nextIndex(targetIndex, size));
+		int newIndex = targetIndex;
+		int prevIndex = previousIndex(targetIndex, islandNumber);
+		if (prevIndex != targetIndex && tryMerge(islands[prevIndex], islands[targetIndex]))
+			newIndex = remove(targetIndex, prevIndex);
 
-		Integer finalIndex = null;
-		IslandGroup newIsland = target;
-		IslandGroup tempIsland;
-
-		tempIsland = tryMerge(prev, target);
-		if (tempIsland != null) {
-			size--;
-			finalIndex = previousIndex(targetIndex, size);
-			newIsland = tempIsland;
-		}
-
-		tempIsland = tryMerge(newIsland, next);
-		if (tempIsland != null) {
-			size--;
-			// avoid index out of bounds caused by the resizing of islands
-			finalIndex = Math.min(finalIndex == null ? targetIndex : finalIndex, size - 1);
-			newIsland = tempIsland;
-		}
-
-		if (newIsland != target) {
-			islands.add(finalIndex, newIsland);
-		}
-
-		/*
-			1. MN is placed before the islands to unify: MN island index is not affected by merge
-			2. MN is placed after the islands to unify: MN island index is shifted back by a unit
-			3. MN is placed on the left island to unify: MN island index is not affected by merge
-			4. MN is placed on the right island to unify: MN island index is shifted back by a unit
-			5. The islands to unify are like "12" and "01": MN island index is shifted back by a unit
-		*/
+		int nextIndex = nextIndex(newIndex, islandNumber);
+		if (nextIndex != newIndex && tryMerge(islands[newIndex], islands[nextIndex]))
+			remove(nextIndex, newIndex);
 
 		// Place Mother Nature on the same island as before
-		motherNatureIslandIndex = islands.stream()
-				.filter(i -> i.getId().contains(motherNatureIsland.getId()))
-				.map(islands::indexOf)
-				.findAny()
-				.orElse(-1);
+		if (motherNatureIsland != -1)
+			motherNatureIslandIndex = position[find(motherNatureIsland)];
 	}
 
 	/**
@@ -269,10 +334,10 @@ public class Board {
 	 * the island where it is currently placed to the {@code target} island
 	 */
 	public int getDistanceFromMotherNature(IslandGroup target) {
-		int targetIndex = islands.indexOf(target);
+		int targetIndex = indexOf(target);
 		if (targetIndex == -1) return -1;
 		int diff = targetIndex - motherNatureIslandIndex;
-		return diff < 0 ? diff + islands.size() : diff;
+		return diff < 0 ? diff + islandNumber : diff;
 	}
 
 	/**
@@ -282,8 +347,8 @@ public class Board {
 	public List<String> getIslandsRepresentation() {
 		List<String> rep = new ArrayList<>();
 
-		for (IslandGroup i : islands)
-			rep.add(i.getId());
+		for (int i = 0; i < islandNumber; i++)
+			rep.add(islands[i].getId());
 
 		return rep;
 	}
@@ -302,43 +367,97 @@ public class Board {
 	}
 
 	/**
-	 * A getter for the index of the island with the specified {@code id} within the {@code islands} list.
+	 * A getter for the index of the island with the specified {@code id} within the {@code islands} ring.
+	 * The island is looked up through the first single island it contains, without scanning the ring.
 	 * @param id the requested island's identifier
-	 * @return the index of the island with the specified {@code id} within the {@code islands} list,
+	 * @return the index of the island with the specified {@code id} within the {@code islands} ring,
 	 * or -1 if no such island can be found
 	 */
 	private int getIslandIndex(String id) {
-		if (id == null)
+		int head = headOf(id);
+		if (head == -1 || parent[head] != head)
 			return -1;
 
-		for (int i = 0; i < islands.size(); i++)
-			if (islands.get(i).getId().equals(id))
-				return i;
+		int index = position[head];
+		return islands[index].getId().equals(id) ? index : -1;
+	}
+
+	private int indexOf(IslandGroup island) {
+		if (island == null)
+			return -1;
+
+		int head = island.getFirstIsland();
+		if (head < 0 || head >= NUMBER_OF_ISLANDS || parent[head] != head)
+			return -1;
 
-		return -1;
+		int index = position[head];
+		return islands[index].equals(island) ? index : -1;
 	}
 
 	/**
-	 * Merges {@code target} and {@code neighbor} and returns the resulting {@link IslandGroup},
-	 * or returns {@code null} if the islands are controlled by different players and cannot be merged.
-	 * @param target the first of the islands to merge
-	 * @param neighbor the second of the islands to merge
-	 * @return the {@link IslandGroup} resulting from merging {@code target} and {@code neighbor}, or {@code null} if the
-	 * operation cannot be completed
+	 * Returns the number, minus one, of the first single island of the group containing the specified single island.
+	 * @param island the number of a single island, starting from 0
+	 * @return the number of the first single island of its group, starting from 0
 	 */
-	private IslandGroup tryMerge(IslandGroup target, IslandGroup neighbor) {
-		IslandGroup newIsland;
+	private int find(int island) {
+		while (parent[island] != island) {
+			parent[island] = parent[parent[island]];
+			island = parent[island];
+		}
+		return island;
+	}
+
+	/**
+	 * Returns the number, minus one, of the first single island contained in the island with the specified {@code id}.
+	 * Island identifiers are made up of the two-digit numbers of their single islands, separated by dashes.
+	 * @param id the identifier of an island
+	 * @return the index of the first single island of {@code id}, or -1 if {@code id} does not begin with a valid island number
+	 */
+	private static int headOf(String id) {
+		if (id == null || id.length() < 2 || (id.length() > 2 && id.charAt(2) != '-'))
+			return -1;
+
+		int tens = id.charAt(0) - '0', units = id.charAt(1) - '0';
+		if (tens < 0 || tens > 9 || units < 0 || units > 9)
+			return -1;
+
+		int head = tens * 10 + units - 1;
+		return head >= 0 && head < NUMBER_OF_ISLANDS ? head : -1;
+	}
 
+	/**
+	 * Unifies {@code neighbor} into {@code target} and returns {@code true},
+	 * or returns {@code false} if the islands are controlled by different players and cannot be merged.
+	 * The single islands of {@code neighbor} join the set of {@code target}, which is the island preceding it.
+	 * @param target the island which absorbs {@code neighbor}
+	 * @param neighbor the island following {@code target}
+	 * @return {@code true} if and only if the islands have been unified
+	 */
+	private boolean tryMerge(IslandGroup target, IslandGroup neighbor) {
 		try {
-			newIsland = IslandGroup.merge(target, neighbor);
+			target.absorb(neighbor);
 		} catch (IncompatibleControllersException e) {
-			return null;
+			return false;
 		}
 
-		islands.remove(target);
-		islands.remove(neighbor);
+		parent[neighbor.getFirstIsland()] = target.getFirstIsland();
+		return true;
+	}
 
-		return newIsland;
+	/**
+	 * Removes the island at {@code index} from the ring, shifting back the following islands.
+	 * The ring is kept compact since Mother Nature moves and distances are counted in islands, not in single islands;
+	 * it holds at most 12 islands, so the shift is bounded.
+	 * @param index the index of the island to remove
+	 * @param kept the index of an island which is not removed
+	 * @return the index of the island previously at {@code kept} after the removal
+	 */
+	private int remove(int index, int kept) {
+		System.arraycopy(islands, index + 1, islands, index, islandNumber - index - 1);
+		islands[--islandNumber] = null;
+		for (int i = index; i < islandNumber; i++)
+			position[islands[i].getFirstIsland()] = i;
+		return kept > index ? kept - 1 : kept;
 	}
 
 	private int previousIndex(int index, int size) {
@@ -5,6 +5,7 @@ import it.polimi.ingsw.eriantys.messages.server.BoardUpdate;
 import it.polimi.ingsw.eriantys.model.characters.CharacterCard;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,8 +15,6 @@ import java.util.Map;
  * used as a payload for the {@link BoardUpdate} message.
  */
 public class BoardStatus implements Serializable {
-	// Note: transient modifier neutralizes final keyword.
-	private transient final GameManager gm;
 	private final PlayersInfo playersInfo;
 	private final IslandsInfo islandsInfo;
 	private final Map<String, Map<String, Integer>> cloudTiles;
@@ -23,25 +22,93 @@ public class BoardStatus implements Serializable {
 	private final CharacterCardsInfo charactersInfo;
 
 	public BoardStatus(GameManager gm) {
-		this.gm = gm;
-		this.playersInfo = new PlayersInfo();
-		this.islandsInfo = new IslandsInfo();
+		this.playersInfo = new PlayersInfo(gm);
+		this.islandsInfo = new IslandsInfo(gm);
 		this.cloudTiles = gm.cloudTilesRepresentation();
 		this.professors = gm.professorsRepresentation();
+		this.charactersInfo = new CharacterCardsInfo(gm);
+	}
+
+	/**
+	 * Constructs an empty board status, with no players, islands, clouds, professors or character cards.
+	 * An empty status is meant to be filled in by a message decoder, through the setters
+	 * and the (mutable) maps returned by the getters.
+	 */
+	public BoardStatus() {
+		this.playersInfo = new PlayersInfo();
+		this.islandsInfo = new IslandsInfo();
+		this.cloudTiles = new LinkedHashMap<>();
+		this.professors = new LinkedHashMap<>();
 		this.charactersInfo = new CharacterCardsInfo();
 	}
 
 	/**
-	 * An inner class which holds player-related information.
+	 * Constructs the status obtained by applying the specified differences to a base status.
+	 * The base status is not modified, and the nested representations which have not changed are shared with it.
+	 * @param base the status which the differences refer to
+	 * @param delta the differences to apply
+	 */
+	public BoardStatus(BoardStatus base, BoardStatusDelta delta) {
+		this();
+		List<String> players = delta.getPlayers() != null ? delta.getPlayers() : base.getPlayers();
+		setPlayers(players);
+		apply(players, base.getPlayerEntrances(), delta.getPlayerEntrances(), getPlayerEntrances());
+		apply(players, base.getPlayerDiningRooms(), delta.getPlayerDiningRooms(), getPlayerDiningRooms());
+		apply(players, base.getPlayerTowerColors(), delta.getPlayerTowerColors(), getPlayerTowerColors());
+		apply(players, base.getPlayerTowers(), delta.getPlayerTowers(), getPlayerTowers());
+		apply(players, base.getPlayerCoins(), delta.getPlayerCoins(), getPlayerCoins());
+
+		List<String> islands = delta.getIslands() != null ? delta.getIslands() : base.getIslands();
+		setIslands(islands);
+		apply(islands, base.getIslandSizes(), delta.getIslandSizes(), getIslandSizes());
+		apply(islands, base.getIslandStudents(), delta.getIslandStudents(), getIslandStudents());
+		apply(islands, base.getIslandControllers(), delta.getIslandControllers(), getIslandControllers());
+		apply(islands, base.getIslandNoEntryTiles(), delta.getIslandNoEntryTiles(), getIslandNoEntryTiles());
+		setMotherNatureIsland(delta.getMotherNatureIsland());
+
+		apply(base.getCloudTiles().keySet(), base.getCloudTiles(), delta.getCloudTiles(), getCloudTiles());
+		apply(base.getProfessors().keySet(), base.getProfessors(), delta.getProfessors(), getProfessors());
+
+		List<String> characterCards = delta.haveCharacterCardsChanged() ? delta.getCharacterCards() : base.getCharacterCards();
+		setCharacterCards(characterCards);
+		if (characterCards != null) {
+			apply(characterCards, base.getCharacterCardsCost(), delta.getCharacterCardsCost(), getCharacterCardsCost());
+			apply(characterCards, base.getCharacterCardsStudents(), delta.getCharacterCardsStudents(), getCharacterCardsStudents());
+			apply(characterCards, base.getCharacterCardsNoEntryTiles(), delta.getCharacterCardsNoEntryTiles(), getCharacterCardsNoEntryTiles());
+		}
+	}
+
+	private static <V> void apply(Collection<String> keys, Map<String, V> base, Map<String, V> changes, Map<String, V> target) {
+		for (String key : keys) {
+			if (changes.containsKey(key))
+				target.put(key, changes.get(key));
+			else if (base != null && base.containsKey(key))
+				target.put(key, base.get(key));
+		}
+		for (Map.Entry<String, V> change : changes.entrySet())
+			target.putIfAbsent(change.getKey(), change.getValue());
+	}
+
+	/**
+	 * A nested class which holds player-related information.
 	 */
-	private class PlayersInfo implements Serializable {
-		private final List<String> players;
+	private static class PlayersInfo implements Serializable {
+		private List<String> players;
 		private final Map<String, Map<String, Integer>> playerEntrances, playerDiningRooms;
 		private final Map<String, String> playerTowerColors;
 		private final Map<String, Integer> playerTowers;
 		private final Map<String, Integer> playerCoins;
 
 		private PlayersInfo() {
+			this.players = List.of();
+			this.playerEntrances = new LinkedHashMap<>();
+			this.playerDiningRooms = new LinkedHashMap<>();
+			this.playerTowerColors = new LinkedHashMap<>();
+			this.playerTowers = new LinkedHashMap<>();
+			this.playerCoins = new LinkedHashMap<>();
+		}
+
+		private PlayersInfo(GameManager gm) {
 			this.players = gm.getTurnOrder();
 
 			this.playerEntrances = new LinkedHashMap<>();
@@ -61,17 +128,26 @@ public class BoardStatus implements Serializable {
 	}
 
 	/**
-	 * An inner class which holds island-related information.
+	 * A nested class which holds island-related information.
 	 */
-	private class IslandsInfo implements Serializable {
-		private final List<String> islands;
+	private static class IslandsInfo implements Serializable {
+		private List<String> islands;
 		private final Map<String, Integer> islandSizes;
 		private final Map<String, Map<String, Integer>> islandStudents;
 		private final Map<String, String> islandControllers;
-		private final String motherNatureIsland;
+		private String motherNatureIsland;
 		private final Map<String, Integer> islandNoEntryTiles;
 
 		private IslandsInfo() {
+			this.islands = List.of();
+			this.islandSizes = new LinkedHashMap<>();
+			this.islandStudents = new LinkedHashMap<>();
+			this.islandControllers = new LinkedHashMap<>();
+			this.motherNatureIsland = null;
+			this.islandNoEntryTiles = new LinkedHashMap<>();
+		}
+
+		private IslandsInfo(GameManager gm) {
 			this.islands = gm.islandsRepresentation();
 
 			this.islandSizes = new LinkedHashMap<>();
@@ -92,15 +168,22 @@ public class BoardStatus implements Serializable {
 	}
 
 	/**
-	 * An inner class which holds cards-related information.
+	 * A nested class which holds cards-related information.
 	 */
-	private class CharacterCardsInfo implements Serializable {
-		private final List<String> characterCards;
-		private final Map<String, Integer> characterCardsCost;
-		private final Map<String, Map<String, Integer>> characterCardsStudents;
-		private final Map<String, Integer> characterCardsNoEntryTiles;
+	private static class CharacterCardsInfo implements Serializable {
+		private List<String> characterCards;
+		private Map<String, Integer> characterCardsCost;
+		private Map<String, Map<String, Integer>> characterCardsStudents;
+		private Map<String, Integer> characterCardsNoEntryTiles;
 
 		private CharacterCardsInfo() {
+			this.characterCards = null;
+			this.characterCardsCost = null;
+			this.characterCardsStudents = null;
+			this.characterCardsNoEntryTiles = null;
+		}
+
+		private CharacterCardsInfo(GameManager gm) {
 			this.characterCards = gm.charactersRepresentation();
 
 			if (characterCards != null) {
@@ -179,6 +262,14 @@ public class BoardStatus implements Serializable {
 		return playersInfo.playerCoins;
 	}
 
+	/**
+	 * A setter for the nicknames of the users in the {@link Game}.
+	 * @param players the nicknames of the users, following the current turn order
+	 */
+	public void setPlayers(List<String> players) {
+		playersInfo.players = players;
+	}
+
 	// IslandsInfo getters
 
 	/**
@@ -235,6 +326,22 @@ public class BoardStatus implements Serializable {
 		return islandsInfo.islandNoEntryTiles;
 	}
 
+	/**
+	 * A setter for the {@link IslandGroup} identifiers.
+	 * @param islands the identifiers of the islands on the {@link Board} of the {@link Game}
+	 */
+	public void setIslands(List<String> islands) {
+		islandsInfo.islands = islands;
+	}
+
+	/**
+	 * A setter for the {@link IslandGroup} on which Mother Nature is currently placed.
+	 * @param motherNatureIsland the identifier of the {@link IslandGroup} on which Mother Nature is placed
+	 */
+	public void setMotherNatureIsland(String motherNatureIsland) {
+		islandsInfo.motherNatureIsland = motherNatureIsland;
+	}
+
 	// CharacterCardsInfo getters
 
 	/**
@@ -278,6 +385,18 @@ public class BoardStatus implements Serializable {
 		return charactersInfo.characterCardsNoEntryTiles;
 	}
 
+	/**
+	 * A setter for the {@link CharacterCard}s extracted for the {@link Game}, which also resets their costs,
+	 * students and no-entry tiles.
+	 * @param characterCards the card literals, or {@code null} if the {@link Game} is not set on expert mode
+	 */
+	public void setCharacterCards(List<String> characterCards) {
+		charactersInfo.characterCards = characterCards;
+		charactersInfo.characterCardsCost = characterCards == null ? null : new LinkedHashMap<>();
+		charactersInfo.characterCardsStudents = characterCards == null ? null : new LinkedHashMap<>();
+		charactersInfo.characterCardsNoEntryTiles = characterCards == null ? null : new LinkedHashMap<>();
+	}
+
 	// BoardStatus getters
 
 	/**
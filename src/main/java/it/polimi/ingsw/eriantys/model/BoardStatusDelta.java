@@ -0,0 +1,278 @@
+package it.polimi.ingsw.eriantys.model;
+
+import it.polimi.ingsw.eriantys.controller.Game;
+import it.polimi.ingsw.eriantys.messages.server.BoardDelta;
+import it.polimi.ingsw.eriantys.model.characters.CharacterCard;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A class which contains the differences between two {@link BoardStatus} objects of the same {@link Game},
+ * used as a payload for the {@link BoardDelta} message.
+ * Every mapping only holds the entries (possibly with a {@code null} value) which have changed,
+ * while every list is {@code null} unless it has changed.
+ * Entries which disappear from a status (such as the identifiers of merged islands)
+ * are implied by the new list of players or islands.
+ * @see BoardStatus#BoardStatus(BoardStatus, BoardStatusDelta)
+ */
+public class BoardStatusDelta implements Serializable {
+	private final List<String> players;
+	private final Map<String, Map<String, Integer>> playerEntrances, playerDiningRooms;
+	private final Map<String, String> playerTowerColors;
+	private final Map<String, Integer> playerTowers;
+	private final Map<String, Integer> playerCoins;
+
+	private final List<String> islands;
+	private final Map<String, Integer> islandSizes;
+	private final Map<String, Map<String, Integer>> islandStudents;
+	private final Map<String, String> islandControllers;
+	private final String motherNatureIsland;
+	private final Map<String, Integer> islandNoEntryTiles;
+
+	private final Map<String, Map<String, Integer>> cloudTiles;
+	private final Map<String, String> professors;
+
+	private final boolean characterCardsChanged;
+	private final List<String> characterCards;
+	private final Map<String, Integer> characterCardsCost;
+	private final Map<String, Map<String, Integer>> characterCardsStudents;
+	private final Map<String, Integer> characterCardsNoEntryTiles;
+
+	/**
+	 * Constructs the differences which turn the {@code previous} status into the {@code current} one.
+	 * @param previous the status known to the receiver
+	 * @param current the up-to-date status
+	 */
+	public BoardStatusDelta(BoardStatus previous, BoardStatus current) {
+		this.players = changed(previous.getPlayers(), current.getPlayers());
+		this.playerEntrances = changes(previous.getPlayerEntrances(), current.getPlayerEntrances());
+		this.playerDiningRooms = changes(previous.getPlayerDiningRooms(), current.getPlayerDiningRooms());
+		this.playerTowerColors = changes(previous.getPlayerTowerColors(), current.getPlayerTowerColors());
+		this.playerTowers = changes(previous.getPlayerTowers(), current.getPlayerTowers());
+		this.playerCoins = changes(previous.getPlayerCoins(), current.getPlayerCoins());
+
+		this.islands = changed(previous.getIslands(), current.getIslands());
+		this.islandSizes = changes(previous.getIslandSizes(), current.getIslandSizes());
+		this.islandStudents = changes(previous.getIslandStudents(), current.getIslandStudents());
+		this.islandControllers = changes(previous.getIslandControllers(), current.getIslandControllers());
+		this.motherNatureIsland = current.getMotherNatureIsland();
+		this.islandNoEntryTiles = changes(previous.getIslandNoEntryTiles(), current.getIslandNoEntryTiles());
+
+		this.cloudTiles = changes(previous.getCloudTiles(), current.getCloudTiles());
+		this.professors = changes(previous.getProfessors(), current.getProfessors());
+
+		this.characterCardsChanged = !Objects.equals(previous.getCharacterCards(), current.getCharacterCards());
+		this.characterCards = characterCardsChanged ? current.getCharacterCards() : null;
+		this.characterCardsCost = changes(previous.getCharacterCardsCost(), current.getCharacterCardsCost());
+		this.characterCardsStudents = changes(previous.getCharacterCardsStudents(), current.getCharacterCardsStudents());
+		this.characterCardsNoEntryTiles = changes(previous.getCharacterCardsNoEntryTiles(), current.getCharacterCardsNoEntryTiles());
+	}
+
+	/**
+	 * Constructs an empty delta, which is meant to be filled in by a message decoder
+	 * through the (mutable) maps returned by the getters.
+	 * @param players the new turn order, or {@code null} if it has not changed
+	 * @param islands the new island identifiers, or {@code null} if they have not changed
+	 * @param motherNatureIsland the identifier of the island on which Mother Nature is placed
+	 * @param characterCardsChanged {@code true} if and only if the character cards have changed
+	 * @param characterCards the new character cards, or {@code null} if they have not changed
+	 * or the game is not set on expert mode
+	 */
+	public BoardStatusDelta(List<String> players, List<String> islands, String motherNatureIsland,
+							boolean characterCardsChanged, List<String> characterCards) {
+		this.players = players;
+		this.playerEntrances = new LinkedHashMap<>();
+		this.playerDiningRooms = new LinkedHashMap<>();
+		this.playerTowerColors = new LinkedHashMap<>();
+		this.playerTowers = new LinkedHashMap<>();
+		this.playerCoins = new LinkedHashMap<>();
+
+		this.islands = islands;
+		this.islandSizes = new LinkedHashMap<>();
+		this.islandStudents = new LinkedHashMap<>();
+		this.islandControllers = new LinkedHashMap<>();
+		this.motherNatureIsland = motherNatureIsland;
+		this.islandNoEntryTiles = new LinkedHashMap<>();
+
+		this.cloudTiles = new LinkedHashMap<>();
+		this.professors = new LinkedHashMap<>();
+
+		this.characterCardsChanged = characterCardsChanged;
+		this.characterCards = characterCards;
+		this.characterCardsCost = new LinkedHashMap<>();
+		this.characterCardsStudents = new LinkedHashMap<>();
+		this.characterCardsNoEntryTiles = new LinkedHashMap<>();
+	}
+
+	private static List<String> changed(List<String> previous, List<String> current) {
+		return Objects.equals(previous, current) ? null : current;
+	}
+
+	private static <V> Map<String, V> changes(Map<String, V> previous, Map<String, V> current) {
+		Map<String, V> changes = new LinkedHashMap<>();
+		if (current == null)
+			return changes;
+		for (Map.Entry<String, V> entry : current.entrySet()) {
+			String key = entry.getKey();
+			if (previous == null || !previous.containsKey(key) || !Objects.equals(previous.get(key), entry.getValue()))
+				changes.put(key, entry.getValue());
+		}
+		return changes;
+	}
+
+	/**
+	 * A getter for the new turn order.
+	 * @return the nicknames of the users, or {@code null} if the turn order has not changed
+	 */
+	public List<String> getPlayers() {
+		return players;
+	}
+
+	/**
+	 * A getter for the changed {@link SchoolBoard} entrances.
+	 * @return the changed entrances, mapped by nickname
+	 */
+	public Map<String, Map<String, Integer>> getPlayerEntrances() {
+		return playerEntrances;
+	}
+
+	/**
+	 * A getter for the changed {@link SchoolBoard} dining rooms.
+	 * @return the changed dining rooms, mapped by nickname
+	 */
+	public Map<String, Map<String, Integer>> getPlayerDiningRooms() {
+		return playerDiningRooms;
+	}
+
+	/**
+	 * A getter for the changed {@link TowerColor} literals of the users.
+	 * @return the changed literals, mapped by nickname
+	 */
+	public Map<String, String> getPlayerTowerColors() {
+		return playerTowerColors;
+	}
+
+	/**
+	 * A getter for the changed numbers of towers on the users' {@link SchoolBoard}.
+	 * @return the changed numbers of towers, mapped by nickname
+	 */
+	public Map<String, Integer> getPlayerTowers() {
+		return playerTowers;
+	}
+
+	/**
+	 * A getter for the changed numbers of coins owned by the users.
+	 * @return the changed numbers of coins, mapped by nickname
+	 */
+	public Map<String, Integer> getPlayerCoins() {
+		return playerCoins;
+	}
+
+	/**
+	 * A getter for the new {@link IslandGroup} identifiers.
+	 * @return the identifiers of the islands, or {@code null} if no islands have been merged
+	 */
+	public List<String> getIslands() {
+		return islands;
+	}
+
+	/**
+	 * A getter for the changed {@link IslandGroup} sizes.
+	 * @return the changed sizes, mapped by island identifier
+	 */
+	public Map<String, Integer> getIslandSizes() {
+		return islandSizes;
+	}
+
+	/**
+	 * A getter for the changed students placed on the islands.
+	 * @return the changed students, mapped by island identifier
+	 */
+	public Map<String, Map<String, Integer>> getIslandStudents() {
+		return islandStudents;
+	}
+
+	/**
+	 * A getter for the changed island controllers.
+	 * @return the nicknames of the changed controllers, mapped by island identifier
+	 */
+	public Map<String, String> getIslandControllers() {
+		return islandControllers;
+	}
+
+	/**
+	 * A getter for the {@link IslandGroup} on which Mother Nature is currently placed.
+	 * @return the identifier of the {@link IslandGroup} on which Mother Nature is placed
+	 */
+	public String getMotherNatureIsland() {
+		return motherNatureIsland;
+	}
+
+	/**
+	 * A getter for the changed numbers of no-entry tiles placed on the islands.
+	 * @return the changed numbers of no-entry tiles, mapped by island identifier
+	 */
+	public Map<String, Integer> getIslandNoEntryTiles() {
+		return islandNoEntryTiles;
+	}
+
+	/**
+	 * A getter for the changed students placed on the cloud tiles.
+	 * @return the changed students, mapped by cloud tile (numerical) identifier
+	 */
+	public Map<String, Map<String, Integer>> getCloudTiles() {
+		return cloudTiles;
+	}
+
+	/**
+	 * A getter for the changed professor ownerships.
+	 * @return the nicknames of the new owners, mapped by professor literal
+	 */
+	public Map<String, String> getProfessors() {
+		return professors;
+	}
+
+	/**
+	 * A getter to know if the {@link CharacterCard}s of the game have changed.
+	 * @return {@code true} if and only if the character cards have changed
+	 */
+	public boolean haveCharacterCardsChanged() {
+		return characterCardsChanged;
+	}
+
+	/**
+	 * A getter for the new {@link CharacterCard}s of the game.
+	 * @return the card literals, or {@code null} if they have not changed or the game is not set on expert mode
+	 */
+	public List<String> getCharacterCards() {
+		return characterCards;
+	}
+
+	/**
+	 * A getter for the changed {@link CharacterCard} costs.
+	 * @return the changed costs, mapped by card identifier
+	 */
+	public Map<String, Integer> getCharacterCardsCost() {
+		return characterCardsCost;
+	}
+
+	/**
+	 * A getter for the changed students placed on the {@link CharacterCard}s.
+	 * @return the changed students, mapped by card identifier
+	 */
+	public Map<String, Map<String, Integer>> getCharacterCardsStudents() {
+		return characterCardsStudents;
+	}
+
+	/**
+	 * A getter for the changed numbers of no-entry tiles placed on the {@link CharacterCard}s.
+	 * @return the changed numbers of no-entry tiles, mapped by card identifier
+	 */
+	public Map<String, Integer> getCharacterCardsNoEntryTiles() {
+		return characterCardsNoEntryTiles;
+	}
+}
@@ -2,6 +2,8 @@ package it.polimi.ingsw.eriantys.model;
 
 /**
  * A class representing all the constants parameters of the game itself.
+ * Instances are immutable and shared by every game with the same number of players.
+ * @see it.polimi.ingsw.eriantys.resources.ResourceRegistry
  */
 public class GameConstants {
 	private final int cloudSize;
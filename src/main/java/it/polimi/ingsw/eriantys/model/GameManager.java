@@ -1,15 +1,14 @@
 package it.polimi.ingsw.eriantys.model;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import it.polimi.ingsw.eriantys.model.characters.*;
 import it.polimi.ingsw.eriantys.model.exceptions.*;
 import it.polimi.ingsw.eriantys.model.influence.CommonInfluence;
 import it.polimi.ingsw.eriantys.model.influence.InfluenceCalculator;
+import it.polimi.ingsw.eriantys.resources.ResourceRegistry;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -25,10 +24,13 @@ public class GameManager {
 	private Player currPlayer;
 	private final ProfessorOwnership professors;
 	private InfluenceCalculator calc;
+	private final InfluenceTable influence;
 	private final boolean expertMode;
 	private final CharacterCard[] characters;
+	private final int[] characterIds;
 	private CharacterCard selectedCharacterCard;
 	private boolean lastRound;
+	private final GameRandom random;
 
 	public final GameConstants constants;
 
@@ -38,21 +40,73 @@ public class GameManager {
 	 * @param expertMode {@code true} if and only if the instantiated game is to be played in expert mode
 	 */
 	public GameManager(List<String> nicknames, boolean expertMode) {
+		this(nicknames, expertMode, new GameRandom());
+	}
+
+	/**
+	 * Constructs a {@code GameManager} that fits the number of players and the selected game mode,
+	 * taking every random choice of the game from the specified source.
+	 * Two games constructed with sources started from the same seed and played with the same moves are identical.
+	 * @param nicknames the nicknames of the players
+	 * @param expertMode {@code true} if and only if the instantiated game is to be played in expert mode
+	 * @param random the source of randomness of the game
+	 */
+	public GameManager(List<String> nicknames, boolean expertMode, GameRandom random) {
+		this(nicknames, expertMode, random, null);
+	}
+
+	/**
+	 * Constructs a {@code GameManager} that fits the number of players and the selected game mode,
+	 * with the specified character cards in play instead of drawing them from the source of randomness.
+	 * @param nicknames the nicknames of the players
+	 * @param expertMode {@code true} if and only if the instantiated game is to be played in expert mode
+	 * @param random the source of randomness of the game
+	 * @param characterIds the identifiers of the character cards in play, or {@code null} if they are to be drawn
+	 */
+	GameManager(List<String> nicknames, boolean expertMode, GameRandom random, int[] characterIds) {
+		this.random = random;
 		int numPlayers = nicknames.size();
-		constants = loadConstants(numPlayers);
+		constants = ResourceRegistry.get().getConstants(numPlayers);
 
-		board = new Board(constants.getCloudNumber(), constants.getCloudSize());
+		board = new Board(constants.getCloudNumber(), constants.getCloudSize(), random);
 		players = new PlayerList(nicknames, constants.getEntranceSize(), constants.getTowerNumber());
 		professors = new ProfessorOwnership(this::currentPlayer);
+		influence = new InfluenceTable(players);
+		professors.setOwnerChangeListener((color, oldOwner, newOwner) -> influence.professorMoved(board, color, oldOwner, newOwner));
 		calc = new CommonInfluence();
 		lastRound = false;
 
 		this.expertMode = expertMode;
 		if (expertMode) {
 			characters = new CharacterCard[3];
-			initCharacterCards();
-		} else
+			this.characterIds = characterIds != null ? characterIds.clone() : drawCharacterIds();
+			for (int i = 0; i < characters.length; i++)
+				characters[i] = getCharacter(this.characterIds[i]);
+		} else {
 			characters = null;
+			this.characterIds = null;
+		}
+	}
+
+	/**
+	 * Saves the whole state of the game into a compact, versioned binary snapshot.
+	 * The game built from the snapshot by {@link #restore(byte[])} is identical to this one, and keeps drawing
+	 * the same random choices, so that it can go on from the moves following the snapshot.
+	 * @return the bytes of the snapshot
+	 * @see ModelSnapshot
+	 */
+	public byte[] snapshot() {
+		return ModelSnapshot.write(this);
+	}
+
+	/**
+	 * Builds a game from a snapshot taken with {@link #snapshot()}.
+	 * @param snapshot the bytes of the snapshot
+	 * @return the restored game manager
+	 * @throws IOException if the snapshot is malformed, or has been written by an unsupported version
+	 */
+	public static GameManager restore(byte[] snapshot) throws IOException {
+		return ModelSnapshot.read(snapshot);
 	}
 
 	/**
@@ -192,6 +246,23 @@ public class GameManager {
 			.toList();
 	}
 
+	/**
+	 * A getter for the seed which the source of randomness of the game has been started from.
+	 * A game can be replayed by constructing a {@code GameManager} from the same seed and applying the same moves.
+	 * @return the seed of the game
+	 */
+	public long getSeed() {
+		return random.getSeed();
+	}
+
+	/**
+	 * A getter for the source of randomness of the game.
+	 * @return the source of randomness of the game
+	 */
+	public GameRandom getRandom() {
+		return random;
+	}
+
 	/**
 	 * Receives a {@link String} corresponding to the {@link Color} of the student that
 	 * the player wants to move and a {@link String} representing the destination.
@@ -228,8 +299,9 @@ public class GameManager {
 			} else {
 				IslandGroup island = board.getIsland(destination);
 				entrance.moveTo(island, student);
+				influence.studentAdded(island, student, professors.getOwnership(student));
 			}
-			professors.update(Set.of(student));
+			professors.update(student);
 		} catch (InvalidArgumentException | NoMovementException e) {
 			throw new NoMovementException(e.getMessage() + " Trying to move " + studentColor + " student to " + destination, e);
 		}
@@ -261,8 +333,10 @@ public class GameManager {
 		boolean movementSuccessful = board.moveMotherNature(destination);
 		if (movementSuccessful) {
 			boolean controllerChanged = resolve(destination);
-			if (controllerChanged)
+			if (controllerChanged) {
 				board.unifyIslands(destination);
+				influence.refresh(board.getMotherNatureIsland(), professors);
+			}
 		}
 
 		return gameOver();
@@ -282,23 +356,24 @@ public class GameManager {
 		Player oldController = island.getController();
 		int maxInfluence =
 				oldController == null ? 0 :
-				calc.calculate(oldController, island,professors.getProfessors(oldController));
-		List<Player> maxInfluencePlayers = new ArrayList<>();
-
-		for (Player player : players) {
-			int influence = calc.calculate(player, island, professors.getProfessors(player));
-			if (influence > maxInfluence) {
-				maxInfluence = influence;
-				maxInfluencePlayers.clear();
-				maxInfluencePlayers.add(player);
-			} else if (influence == maxInfluence)
-				maxInfluencePlayers.add(player);
+				calc.calculate(oldController, island, influence.get(island, oldController), professors);
+		Player newController = null;
+		int maxInfluencePlayers = 0;
+
+		for (int i = 0; i < players.size(); i++) {
+			Player player = players.get(i);
+			int playerInfluence = calc.calculate(player, island, influence.get(island, player), professors);
+			if (playerInfluence > maxInfluence) {
+				maxInfluence = playerInfluence;
+				newController = player;
+				maxInfluencePlayers = 1;
+			} else if (playerInfluence == maxInfluence && maxInfluencePlayers++ == 0)
+				newController = player;
 		}
 
-		if (maxInfluencePlayers.size() > 1)
+		if (maxInfluencePlayers > 1)
 			return false;
 
-		Player newController = maxInfluencePlayers.get(0);
 		boolean res = !Objects.equals(oldController, newController);
 		island.setController(newController);
 		if (res) {
@@ -388,8 +463,10 @@ public class GameManager {
 			throw new InvalidArgumentException("Not enough coins to play the selected card");
 
 		selectedCharacterCard.applyEffect(sourceColors, destinationColors, targetColor, targetIsland);
+		if (targetIsland != null)
+			influence.refresh(targetIsland, professors);
 		currPlayer.updateCoins(-originalCost);
-		professors.update(Set.of(Color.values()));
+		professors.updateAll();
 
 		return lastRound();
 	}
@@ -404,6 +481,15 @@ public class GameManager {
 		selectedCharacterCard = null;
 	}
 
+	/**
+	 * A getter to know if the current round has been found to be the last one by the latest call which checks it,
+	 * such as {@link #setupRound()}, {@link #handleAssistantCards(Map)} and {@link #handleCharacterCard(int, JsonObject)}.
+	 * @return {@code true} if and only if the current round is the last in the game
+	 */
+	public boolean isLastRound() {
+		return lastRound;
+	}
+
 	/**
 	 * A getter for the winner of the game.
 	 * @return the nickname of the winner of the game, or {@code null} if no winner has been declared yet
@@ -700,9 +786,66 @@ public class GameManager {
 		return null;
 	}
 
+	Board getBoard() {
+		return board;
+	}
+
+	PlayerList getPlayerList() {
+		return players;
+	}
+
+	ProfessorOwnership getProfessors() {
+		return professors;
+	}
+
+	Player getCurrentPlayer() {
+		return currPlayer;
+	}
+
+	InfluenceCalculator getInfluenceCalculator() {
+		return calc;
+	}
+
+	boolean isExpertMode() {
+		return expertMode;
+	}
+
+	CharacterCard[] getCharacters() {
+		return characters;
+	}
+
+	int[] getCharacterIds() {
+		return characterIds;
+	}
+
+	int getSelectedCharacterIndex() {
+		if (selectedCharacterCard != null)
+			for (int i = 0; i < characters.length; i++)
+				if (characters[i] == selectedCharacterCard)
+					return i;
+		return -1;
+	}
+
+	/**
+	 * Restores the state of the game which is not kept by its game objects, once they have been restored
+	 * by a {@link ModelSnapshot}, and computes the influence of every player on every island again.
+	 * @param current the current player, or {@code null} if none has been set
+	 * @param calculator the influence calculator in use
+	 * @param selectedCharacter the index of the character card played in the current turn, or -1 if none has been played
+	 * @param lastRound {@code true} if and only if the current round is the last in the game
+	 */
+	void restoreState(Player current, InfluenceCalculator calculator, int selectedCharacter, boolean lastRound) {
+		this.currPlayer = current;
+		this.calc = calculator;
+		this.selectedCharacterCard = selectedCharacter == -1 ? null : characters[selectedCharacter];
+		this.lastRound = lastRound;
+		for (int i = 0; i < board.getIslandNumber(); i++)
+			influence.refresh(board.getIsland(i), professors);
+	}
+
 	private boolean gameOver() {
-		for (Player player : players.getTurnOrder())
-			if (player.getTowerQuantity() == 0) {
+		for (int i = 0; i < players.size(); i++)
+			if (players.get(i).getTowerQuantity() == 0) {
 				lastRound = true;
 				return true;
 			}
@@ -716,8 +859,8 @@ public class GameManager {
 	}
 
 	private boolean lastRound() {
-		for (Player player : players.getTurnOrder())
-			if (player.getDeck().isEmpty()) {
+		for (int i = 0; i < players.size(); i++)
+			if (players.get(i).getDeck().isEmpty()) {
 				lastRound = true;
 				return true;
 			}
@@ -726,31 +869,18 @@ public class GameManager {
 		return board.getBag().isEmpty();
 	}
 
-	private GameConstants loadConstants(int numPlayers) {
-		Gson gson = new Gson();
-
-		InputStream configIn = getClass().getClassLoader().getResourceAsStream("config.json");
-
-		if (configIn == null)
-			throw new NullPointerException();
-
-		String jsonString =
-				gson.fromJson(new InputStreamReader(configIn), JsonObject.class)
-				.get(Integer.toString(numPlayers)).getAsJsonObject().toString();
-
-		return gson.fromJson(jsonString, GameConstants.class);
-	}
-
 	private Player currentPlayer() {
 		return currPlayer;
 	}
 
-	private void initCharacterCards() {
+	private int[] drawCharacterIds() {
 		List<Integer> indexes = new ArrayList<>(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12));
-		Collections.shuffle(indexes);
+		GameRandom.shuffle(indexes, random);
 
-		for (int i = 0; i < characters.length; i++)
-			characters[i] = getCharacter(indexes.remove(0));
+		int[] ids = new int[characters.length];
+		for (int i = 0; i < ids.length; i++)
+			ids[i] = indexes.remove(0);
+		return ids;
 	}
 
 	private CharacterCard getCharacter(int index) {
@@ -803,13 +933,13 @@ public class GameManager {
 	private List<Player> mostProfessorsOwned(List<Player> candidates) {
 		List<Player> potentialWinners = new ArrayList<>();
 		potentialWinners.add(candidates.get(0));
-		int maxProfessors = professors.getProfessors(candidates.get(0)).size();
+		int maxProfessors = Integer.bitCount(professors.getProfessorMask(candidates.get(0)));
 
 		if (maxProfessors == Color.values().length) return potentialWinners;
 
 		for (int i = 1; i < candidates.size(); i++) {
 			Player player = candidates.get(i);
-			int playerProfessors = professors.getProfessors(player).size();
+			int playerProfessors = Integer.bitCount(professors.getProfessorMask(player));
 			if (playerProfessors > maxProfessors) {
 				maxProfessors = playerProfessors;
 				potentialWinners.clear();
@@ -0,0 +1,85 @@
+package it.polimi.ingsw.eriantys.model;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * This class is the single source of randomness of a game: every random choice made by the model
+ * (the position of Mother Nature, the students placed on the islands and drawn from the {@link Bag},
+ * the character cards in play) is taken from the same {@code GameRandom}.
+ * The generator is a SplitMix64, whose whole state is a single {@code long}: a game built from the same seed
+ * is therefore replayed bit-for-bit, and the state can be saved and restored at any point.
+ * Every game owns its own instance, so that concurrent games never contend on a shared generator.
+ * Instances are not thread-safe.
+ */
+public final class GameRandom implements RandomGenerator {
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+	private static final SecureRandom seeds = new SecureRandom();
+
+	private final long seed;
+	private long state;
+
+	/**
+	 * Constructs a {@code GameRandom} with a fresh, unpredictable seed.
+	 */
+	public GameRandom() {
+		this(seeds.nextLong());
+	}
+
+	/**
+	 * Constructs a {@code GameRandom} which produces the sequence determined by the specified seed.
+	 * @param seed the seed of the generator
+	 */
+	public GameRandom(long seed) {
+		this(seed, seed);
+	}
+
+	/**
+	 * Constructs a {@code GameRandom} which resumes a sequence from a previously saved state.
+	 * @param seed the seed which the sequence has been started from
+	 * @param state the state of the generator, as returned by {@link GameRandom#getState()}
+	 */
+	public GameRandom(long seed, long state) {
+		this.seed = seed;
+		this.state = state;
+	}
+
+	/**
+	 * A getter for the seed which the generator has been started from.
+	 * @return the seed of the generator
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * A getter for the current state of the generator.
+	 * @return the current state of the generator
+	 */
+	public long getState() {
+		return state;
+	}
+
+	@Override
+	public long nextLong() {
+		long z = (state += GOLDEN_GAMMA);
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Shuffles the specified list in place with the Fisher-Yates algorithm, drawing from the specified generator
+	 * (unlike {@link java.util.Collections#shuffle(List, java.util.Random)}, which only accepts a {@link java.util.Random}).
+	 * @param list the list to be shuffled
+	 * @param random the source of randomness
+	 * @param <T> the type of the elements of the list
+	 */
+	public static <T> void shuffle(List<T> list, RandomGenerator random) {
+		for (int i = list.size() - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			list.set(j, list.set(i, list.get(j)));
+		}
+	}
+}
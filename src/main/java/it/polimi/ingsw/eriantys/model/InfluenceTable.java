@@ -0,0 +1,96 @@
+package it.polimi.ingsw.eriantys.model;
+
+import it.polimi.ingsw.eriantys.model.influence.InfluenceCalculator;
+
+/**
+ * This class keeps, for every island and every player, the number of students on the island whose color matches
+ * one of the professors owned by the player, i.e. the influence of the player on the island before towers
+ * and character cards are taken into account.
+ * The table is updated incrementally by the {@link GameManager} when a student lands on an island,
+ * when a professor changes owner and when islands are unified, so that resolving an island does not need
+ * to count the students again.
+ * @see InfluenceCalculator#calculate(Player, IslandGroup, int, ProfessorOwnership)
+ */
+class InfluenceTable {
+	/**
+	 * The influence of each player, indexed by the first single island of the {@link IslandGroup} and by the handle of the player.
+	 * Rows of single islands which are no longer the first one of their group are stale and never read.
+	 */
+	private final int[][] influence;
+	private final PlayerList players;
+
+	/**
+	 * Constructs an empty table, in which no player has any influence on any island.
+	 * @param players the players of the game
+	 */
+	InfluenceTable(PlayerList players) {
+		this.players = players;
+		this.influence = new int[Board.NUMBER_OF_ISLANDS][players.size()];
+	}
+
+	/**
+	 * Returns the influence of {@code player} on {@code island} due to the students matching its professors.
+	 * @param island the target island
+	 * @param player the target player
+	 * @return the number of students on {@code island} matching the professors owned by {@code player}
+	 */
+	int get(IslandGroup island, Player player) {
+		int index = indexOf(player);
+		return index == -1 ? 0 : influence[island.getFirstIsland()][index];
+	}
+
+	/**
+	 * Updates the table after a student of the specified {@link Color} has been placed on {@code island}.
+	 * @param island the island on which the student has been placed
+	 * @param color the {@link Color} of the student
+	 * @param owner the owner of the professor of the specified {@link Color}, or {@code null} if it has no owner
+	 */
+	void studentAdded(IslandGroup island, Color color, Player owner) {
+		int index = indexOf(owner);
+		if (index != -1)
+			influence[island.getFirstIsland()][index]++;
+	}
+
+	/**
+	 * Updates the table after the professor of the specified {@link Color} has changed owner,
+	 * moving the students of that color on every island from the old owner to the new one.
+	 * @param board the board containing the islands
+	 * @param color the {@link Color} of the professor
+	 * @param oldOwner the previous owner of the professor, or {@code null} if it had no owner
+	 * @param newOwner the new owner of the professor
+	 */
+	void professorMoved(Board board, Color color, Player oldOwner, Player newOwner) {
+		int oldIndex = indexOf(oldOwner), newIndex = indexOf(newOwner);
+
+		for (int i = 0; i < board.getIslandNumber(); i++) {
+			IslandGroup island = board.getIsland(i);
+			int students = island.getQuantity(color);
+			int[] row = influence[island.getFirstIsland()];
+			if (oldIndex != -1)
+				row[oldIndex] -= students;
+			if (newIndex != -1)
+				row[newIndex] += students;
+		}
+	}
+
+	/**
+	 * Counts again the influence of every player on {@code island}, e.g. after it has been unified with its neighbors.
+	 * @param island the target island
+	 * @param professors the current owners of the professors
+	 */
+	void refresh(IslandGroup island, ProfessorOwnership professors) {
+		int[] row = influence[island.getFirstIsland()];
+
+		for (int i = 0; i < row.length; i++)
+			row[i] = 0;
+		for (Color color : Color.values()) {
+			int index = indexOf(professors.getOwnership(color));
+			if (index != -1)
+				row[index] += island.getQuantity(color);
+		}
+	}
+
+	private int indexOf(Player player) {
+		return players.getHandle(player);
+	}
+}
@@ -2,10 +2,7 @@ package it.polimi.ingsw.eriantys.model;
 
 import it.polimi.ingsw.eriantys.model.exceptions.DuplicateNoEntryTileException;
 import it.polimi.ingsw.eriantys.model.exceptions.IncompatibleControllersException;
-import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
-import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Stack;
@@ -14,64 +11,70 @@ import java.util.Stack;
  * This class represents a group of islands, which contains at least one island.
  * At the beginning of the game, each {@link IslandGroup} is made up of a single island,
  * but its size can grow during the game as more islands are unified.
+ * Since only neighboring islands are unified, a group is identified by the number of its first single island
+ * and by its size; the textual {@code id} listing its single islands is only built when requested.
  */
 public class IslandGroup extends StudentContainer {
-	private final String id;
-	private final List<String> islandIds;
+	private final int firstIsland;
+	private int size;
+	private String id;
 	private Player controller;
 	private final Stack<Integer> noEntryTiles;
 
 	/**
 	 * Constructs a new {@link IslandGroup} with the specified {@code id},
 	 * containing no students neither no-entry tiles, and with no controller.
-	 * @param id the new island's {@code id}
+	 * @param id the new island's {@code id}, i.e. the two-digit number of the single island
+	 * @throws NumberFormatException if {@code id} is not a number
+	 * @throws IllegalArgumentException if {@code id} is not the number of a single island, from 1 to 12
 	 */
 	public IslandGroup(String id) {
-		super();
-
-		this.id = id;
-		this.controller = null;
-		this.noEntryTiles = new Stack<>();
-		this.islandIds = new ArrayList<>();
-		this.islandIds.add(id);
+		this(Integer.parseInt(id) - 1);
+		if (firstIsland < 0 || firstIsland >= Board.NUMBER_OF_ISLANDS)
+			throw new IllegalArgumentException("Id: " + id);
 	}
 
-	private IslandGroup(IslandGroup i1, IslandGroup i2) {
+	/**
+	 * Constructs a new {@link IslandGroup} made up of the specified single island,
+	 * containing no students neither no-entry tiles, and with no controller.
+	 * @param island the number of the single island, starting from 0
+	 */
+	IslandGroup(int island) {
 		super();
 
-		this.id = i1.id + "-" + i2.id;
-		this.controller = i1.controller;
+		this.firstIsland = island;
+		this.size = 1;
+		this.controller = null;
 		this.noEntryTiles = new Stack<>();
-
-		try {
-			i1.moveAllTo(this);
-			i2.moveAllTo(this);
-		} catch (InvalidArgumentException | NoMovementException e) {
-			System.out.println("This is a Throwable#printStackTrace() method call.");
-			e.printStackTrace();
-		}
-
-		this.islandIds = new ArrayList<>();
-		this.islandIds.addAll(i1.getComponents());
-		this.islandIds.addAll(i2.getComponents());
 	}
 
 	/**
-	 * Merges {@code i1} and {@code i2} and returns the resulting {@link IslandGroup}.
-	 * @param i1 the first of the islands to merge
-	 * @param i2 the second of the islands to merge
-	 * @return an {@link IslandGroup} containing all and only the single islands previously contained
-	 * in {@code i1} and {@code i2}, and with the same controller as them
-	 * @throws IncompatibleControllersException if {@code i1} and {@code i2} are controlled by different {@link Player}s
+	 * Constructs an {@link IslandGroup} made up of {@code size} neighboring single islands, starting from the specified one,
+	 * containing no students neither no-entry tiles, and with no controller.
+	 * @param island the number of the first single island, starting from 0
+	 * @param size the number of single islands in the group
 	 */
-	public static IslandGroup merge(IslandGroup i1, IslandGroup i2) throws IncompatibleControllersException {
-		if (i1 == null || i2 == null)
-			return null;
-
-		if (!i1.hasSameController(i2))
-			throw new IncompatibleControllersException("Ids: " + i1.id + ", " + i2.id);	// this should not happen
+	IslandGroup(int island, int size) {
+		this(island);
+		this.size = size;
+	}
 
-		return new IslandGroup(i1, i2);
+	/**
+	 * Unifies {@code neighbor}, which is the island following this one, into this {@link IslandGroup}:
+	 * its students and no-entry tiles are moved to this island, which grows by the size of {@code neighbor}.
+	 * No new island is created, and the students are moved by adding up the counts of each {@link Color}.
+	 * @param neighbor the island to absorb
+	 * @throws IncompatibleControllersException if this island and {@code neighbor} are controlled by different {@link Player}s
+	 */
+	void absorb(IslandGroup neighbor) throws IncompatibleControllersException {
+		if (!hasSameController(neighbor))
+			throw new IncompatibleControllersException("Ids: " + getId() + ", " + neighbor.getId());	// this should not happen
+
+		takeAllFrom(neighbor);
+		noEntryTiles.addAll(neighbor.noEntryTiles);
+		neighbor.noEntryTiles.clear();
+		size += neighbor.size;
+		id = null;
 	}
 
 	/**
@@ -79,9 +82,29 @@ public class IslandGroup extends StudentContainer {
 	 * @return the island's {@code id}
 	 */
 	public String getId() {
+		if (id == null) {
+			StringBuilder builder = new StringBuilder(3 * size);
+			for (int i = 0; i < size; i++) {
+				if (i > 0)
+					builder.append('-');
+				int island = (firstIsland + i) % Board.NUMBER_OF_ISLANDS;
+				if (island < 9)
+					builder.append('0');
+				builder.append(island + 1);
+			}
+			id = builder.toString();
+		}
 		return id;
 	}
 
+	/**
+	 * A getter for the number of the first single island of the {@link IslandGroup}, following the order of the islands.
+	 * @return the number of the first single island, starting from 0
+	 */
+	int getFirstIsland() {
+		return firstIsland;
+	}
+
 	/**
 	 * A getter for the island's {@code controller}.
 	 * @return the island's {@code controller}
@@ -106,7 +129,7 @@ public class IslandGroup extends StudentContainer {
 	 * @return the number of towers on the {@link IslandGroup}
 	 */
 	public int getTowers() {
-		return controller == null ? 0 : islandIds.size();
+		return controller == null ? 0 : size;
 	}
 
 	/**
@@ -137,7 +160,7 @@ public class IslandGroup extends StudentContainer {
 	 * @return a representation for the number of islands which form the aggregate
 	 */
 	public Integer getSize() {
-		return islandIds.size();
+		return size;
 	}
 
 	/**
@@ -153,7 +176,15 @@ public class IslandGroup extends StudentContainer {
 	 * @return a list of the {@code id}s of the single islands making up this {@link IslandGroup}
 	 */
 	protected List<String> getComponents() {
-		return new ArrayList<>(islandIds);
+		return List.of(getId().split("-"));
+	}
+
+	/**
+	 * A getter for the identifiers of the no-entry tiles on the island, from the first placed to the last.
+	 * @return the identifiers of the no-entry tiles on the island
+	 */
+	List<Integer> getNoEntryTileIds() {
+		return List.copyOf(noEntryTiles);
 	}
 
 	private boolean hasSameController(IslandGroup that) {
@@ -167,11 +198,11 @@ public class IslandGroup extends StudentContainer {
 		if (this == o) return true;
 		if (o == null || getClass() != o.getClass()) return false;
 		IslandGroup that = (IslandGroup) o;
-		return id.equals(that.id);
+		return firstIsland == that.firstIsland && size == that.size;
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(id);
+		return Objects.hash(firstIsland, size);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,307 @@
+package it.polimi.ingsw.eriantys.model;
+
+import it.polimi.ingsw.eriantys.model.characters.CharacterCard;
+import it.polimi.ingsw.eriantys.model.characters.HerbGranny;
+import it.polimi.ingsw.eriantys.model.exceptions.DuplicateNoEntryTileException;
+import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
+import it.polimi.ingsw.eriantys.model.influence.BonusInfluence;
+import it.polimi.ingsw.eriantys.model.influence.CommonInfluence;
+import it.polimi.ingsw.eriantys.model.influence.ExcludeColorInfluence;
+import it.polimi.ingsw.eriantys.model.influence.InfluenceCalculator;
+import it.polimi.ingsw.eriantys.model.influence.NoTowersInfluence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class converts the whole state of a {@link GameManager} to and from a compact binary snapshot.
+ * The snapshot starts with its version, followed by the players, the game mode, the character cards in play and the
+ * state of the source of randomness, so that the restored game keeps drawing the same random choices; then come the
+ * players' school boards and decks, the islands, the bag, the cloud tiles, the professors, the influence calculator
+ * in use and the state of the character cards. Counts and indexes take a single byte each, and players are referred
+ * to by their position in the game, so that a snapshot of a whole game takes a few hundred bytes.
+ * The influence of the players on the islands is not saved, since it is computed again from the restored objects.
+ */
+final class ModelSnapshot {
+	/**
+	 * The version of the format of the snapshots, which is written at their beginning.
+	 */
+	static final int VERSION = 1;
+
+	private static final Color[] COLORS = Color.values();
+	private static final TowerColor[] TOWER_COLORS = TowerColor.values();
+	private static final Wizard[] WIZARDS = Wizard.values();
+	private static final AssistantCard[] ASSISTANT_CARDS = AssistantCard.values();
+
+	private static final int COMMON_INFLUENCE = 0;
+	private static final int NO_TOWERS_INFLUENCE = 1;
+	private static final int BONUS_INFLUENCE = 2;
+	private static final int EXCLUDE_COLOR_INFLUENCE = 3;
+
+	private ModelSnapshot() {}
+
+	/**
+	 * Saves the state of a game into a snapshot.
+	 * @param gameManager the game manager
+	 * @return the bytes of the snapshot
+	 */
+	static byte[] write(GameManager gameManager) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+			DataOutputStream out = new DataOutputStream(bytes);
+			PlayerList players = gameManager.getPlayerList();
+			Board board = gameManager.getBoard();
+
+			out.writeByte(VERSION);
+			out.writeByte(players.size());
+			for (int i = 0; i < players.size(); i++)
+				out.writeUTF(players.get(i).getNickname());
+			out.writeBoolean(gameManager.isExpertMode());
+			if (gameManager.isExpertMode())
+				for (int id : gameManager.getCharacterIds())
+					out.writeByte(id);
+			out.writeLong(gameManager.getRandom().getSeed());
+			out.writeLong(gameManager.getRandom().getState());
+			out.writeBoolean(gameManager.isLastRound());
+			out.writeByte(players.getHandle(players.getTurnOrder().get(0)));
+			writePlayer(out, players, gameManager.getCurrentPlayer());
+
+			for (int i = 0; i < players.size(); i++) {
+				Player player = players.get(i);
+				out.writeByte(player.getTowerColor() == null ? 0 : player.getTowerColor().ordinal() + 1);
+				out.writeByte(player.getWizard() == null ? 0 : player.getWizard().ordinal() + 1);
+				int deck = 0;
+				for (AssistantCard card : player.getDeck())
+					deck |= 1 << card.ordinal();
+				out.writeShort(deck);
+				out.writeByte(player.getMotherNatureMovements());
+				out.writeByte(player.getCoins());
+				out.writeByte(player.getTowerQuantity());
+				writeStudents(out, player.getEntrance());
+				writeStudents(out, player.getDiningRoom());
+			}
+
+			out.writeByte(board.getIslandNumber());
+			out.writeByte(board.getMotherNatureIndex() + 1);
+			for (int i = 0; i < board.getIslandNumber(); i++) {
+				IslandGroup island = board.getIsland(i);
+				out.writeByte(island.getFirstIsland());
+				out.writeByte(island.getSize());
+				writePlayer(out, players, island.getController());
+				writeStudents(out, island);
+				writeTiles(out, island.getNoEntryTileIds());
+			}
+			writeStudents(out, board.getBag());
+			out.writeByte(board.getCloudNumber());
+			for (int i = 0; i < board.getCloudNumber(); i++)
+				writeStudents(out, board.getCloudTile(i));
+
+			ProfessorOwnership professors = gameManager.getProfessors();
+			for (Color color : COLORS)
+				writePlayer(out, players, professors.getOwnership(color));
+			out.writeBoolean(professors.isEffectActive());
+
+			InfluenceCalculator calculator = gameManager.getInfluenceCalculator();
+			if (calculator instanceof BonusInfluence bonus) {
+				out.writeByte(BONUS_INFLUENCE);
+				writePlayer(out, players, bonus.getUser());
+			} else if (calculator instanceof ExcludeColorInfluence exclude) {
+				out.writeByte(EXCLUDE_COLOR_INFLUENCE);
+				out.writeByte(exclude.getExcluded().ordinal());
+			} else if (calculator instanceof NoTowersInfluence)
+				out.writeByte(NO_TOWERS_INFLUENCE);
+			else
+				out.writeByte(COMMON_INFLUENCE);
+
+			if (gameManager.isExpertMode()) {
+				for (CharacterCard card : gameManager.getCharacters()) {
+					out.writeBoolean(card.isCostIncreased());
+					if (card instanceof StudentContainer container)
+						writeStudents(out, container);
+					if (card instanceof HerbGranny herbGranny)
+						writeTiles(out, herbGranny.getTileIds());
+				}
+				out.writeByte(gameManager.getSelectedCharacterIndex() + 1);
+			}
+			return bytes.toByteArray();
+		} catch (IOException e) {
+			// a ByteArrayOutputStream never fails
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Builds a game from a snapshot.
+	 * @param snapshot the bytes of the snapshot
+	 * @return the restored game manager
+	 * @throws IOException if the snapshot is malformed, or has been written by an unsupported version
+	 */
+	static GameManager read(byte[] snapshot) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot));
+		int version = in.readUnsignedByte();
+		if (version != VERSION)
+			throw new IOException("Unsupported snapshot version: " + version);
+
+		List<String> nicknames = new ArrayList<>();
+		int playerCount = in.readUnsignedByte();
+		for (int i = 0; i < playerCount; i++)
+			nicknames.add(in.readUTF());
+		boolean expertMode = in.readBoolean();
+		int[] characterIds = null;
+		if (expertMode) {
+			characterIds = new int[3];
+			for (int i = 0; i < characterIds.length; i++)
+				characterIds[i] = index(in, 1, 13);
+		}
+		GameRandom random = new GameRandom(in.readLong(), in.readLong());
+
+		GameManager gameManager;
+		try {
+			gameManager = new GameManager(nicknames, expertMode, random, characterIds);
+		} catch (RuntimeException e) {
+			throw new IOException("The snapshot does not describe a valid game", e);
+		}
+		PlayerList players = gameManager.getPlayerList();
+		Board board = gameManager.getBoard();
+
+		boolean lastRound = in.readBoolean();
+		players.setFirst(players.get(index(in, 0, players.size())));
+		Player current = readPlayer(in, players);
+
+		for (int i = 0; i < players.size(); i++) {
+			Player player = players.get(i);
+			int towerColor = index(in, 0, TOWER_COLORS.length + 1);
+			int wizard = index(in, 0, WIZARDS.length + 1);
+			player.setTowerColor(towerColor == 0 ? null : TOWER_COLORS[towerColor - 1]);
+			player.setWizard(wizard == 0 ? null : WIZARDS[wizard - 1]);
+			int deckMask = in.readUnsignedShort();
+			List<AssistantCard> deck = new ArrayList<>();
+			for (AssistantCard card : ASSISTANT_CARDS)
+				if ((deckMask & 1 << card.ordinal()) != 0)
+					deck.add(card);
+			int motherNatureMovements = in.readUnsignedByte();
+			int coins = in.readUnsignedByte();
+			int towers = in.readUnsignedByte();
+			player.restore(deck, motherNatureMovements, coins, towers);
+			readStudents(in, player.getEntrance());
+			readStudents(in, player.getDiningRoom());
+		}
+
+		int islandNumber = index(in, 1, Board.NUMBER_OF_ISLANDS + 1);
+		int motherNatureIndex = index(in, 0, islandNumber + 1) - 1;
+		List<IslandGroup> ring = new ArrayList<>();
+		int singleIslands = 0;
+		for (int i = 0; i < islandNumber; i++) {
+			IslandGroup island = new IslandGroup(index(in, 0, Board.NUMBER_OF_ISLANDS), index(in, 1, Board.NUMBER_OF_ISLANDS + 1));
+			singleIslands += island.getSize();
+			island.setController(readPlayer(in, players));
+			readStudents(in, island);
+			try {
+				for (int tile : readTiles(in))
+					island.putNoEntryTile(tile);
+			} catch (DuplicateNoEntryTileException e) {
+				throw new IOException("Duplicate no-entry tile", e);
+			}
+			ring.add(island);
+		}
+		if (singleIslands != Board.NUMBER_OF_ISLANDS)
+			throw new IOException("The islands of the snapshot do not make up the whole ring");
+		board.restoreIslands(ring, motherNatureIndex);
+		readStudents(in, board.getBag());
+		if (in.readUnsignedByte() != board.getCloudNumber())
+			throw new IOException("The snapshot does not have the expected number of cloud tiles");
+		for (int i = 0; i < board.getCloudNumber(); i++)
+			readStudents(in, board.getCloudTile(i));
+
+		ProfessorOwnership professors = gameManager.getProfessors();
+		for (Color color : COLORS)
+			professors.restoreOwnership(color, readPlayer(in, players));
+		if (in.readBoolean())
+			professors.activateEffect();
+
+		InfluenceCalculator calculator = switch (in.readUnsignedByte()) {
+			case COMMON_INFLUENCE -> new CommonInfluence();
+			case NO_TOWERS_INFLUENCE -> new NoTowersInfluence();
+			case BONUS_INFLUENCE -> new BonusInfluence(readPlayer(in, players));
+			case EXCLUDE_COLOR_INFLUENCE -> new ExcludeColorInfluence(COLORS[index(in, 0, COLORS.length)]);
+			default -> throw new IOException("Unknown influence calculator");
+		};
+
+		int selectedCharacter = -1;
+		if (expertMode) {
+			try {
+				for (CharacterCard card : gameManager.getCharacters()) {
+					if (in.readBoolean())
+						card.restoreIncreasedCost();
+					if (card instanceof StudentContainer container)
+						readStudents(in, container);
+					if (card instanceof HerbGranny herbGranny)
+						herbGranny.restoreTiles(readTiles(in));
+				}
+			} catch (InvalidArgumentException e) {
+				throw new IOException("The character cards could not be restored", e);
+			}
+			selectedCharacter = index(in, 0, gameManager.getCharacters().length + 1) - 1;
+		}
+		if (in.available() > 0)
+			throw new IOException("Unexpected bytes at the end of the snapshot");
+
+		gameManager.restoreState(current, calculator, selectedCharacter, lastRound);
+		return gameManager;
+	}
+
+	private static void writePlayer(DataOutputStream out, PlayerList players, Player player) throws IOException {
+		out.writeByte(players.getHandle(player) + 1);
+	}
+
+	private static Player readPlayer(DataInputStream in, PlayerList players) throws IOException {
+		int handle = index(in, 0, players.size() + 1) - 1;
+		return handle == -1 ? null : players.get(handle);
+	}
+
+	private static void writeStudents(DataOutputStream out, StudentContainer container) throws IOException {
+		for (Color color : COLORS)
+			out.writeByte(container.getQuantity(color));
+	}
+
+	private static void readStudents(DataInputStream in, StudentContainer container) throws IOException {
+		int[] quantities = new int[COLORS.length];
+		for (int i = 0; i < quantities.length; i++)
+			quantities[i] = in.readUnsignedByte();
+		container.restoreQuantities(quantities);
+	}
+
+	private static void writeTiles(DataOutputStream out, List<Integer> tiles) throws IOException {
+		out.writeByte(tiles.size());
+		for (int tile : tiles)
+			out.writeByte(tile);
+	}
+
+	private static List<Integer> readTiles(DataInputStream in) throws IOException {
+		List<Integer> tiles = new ArrayList<>();
+		int count = in.readUnsignedByte();
+		for (int i = 0; i < count; i++)
+			tiles.add(in.readUnsignedByte());
+		return tiles;
+	}
+
+	/**
+	 * Reads an index which must lie in the specified range.
+	 * @param in the input
+	 * @param min the minimum value, included
+	 * @param max the maximum value, excluded
+	 * @return the index
+	 * @throws IOException if the index is out of range, or cannot be read
+	 */
+	private static int index(DataInputStream in, int min, int max) throws IOException {
+		int index = in.readUnsignedByte();
+		if (index < min || index >= max)
+			throw new IOException("Index out of range in the snapshot: " + index);
+		return index;
+	}
+}
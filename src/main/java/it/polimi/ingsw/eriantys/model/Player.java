@@ -178,6 +178,22 @@ public class Player {
 		coins += amount;
 	}
 
+	/**
+	 * Replaces the state of the {@code Player} which changes during the game, restoring a player saved by a {@link ModelSnapshot}.
+	 * The students of the school board are restored through its containers.
+	 * @param deck the assistant cards which the {@code Player} has not played yet
+	 * @param motherNatureMovements the maximum number of movements of Mother Nature granted by the last played card
+	 * @param coins the number of coins of the {@code Player}
+	 * @param towers the number of towers left in the {@link SchoolBoard}
+	 */
+	void restore(List<AssistantCard> deck, int motherNatureMovements, int coins, int towers) {
+		this.deck.clear();
+		this.deck.addAll(deck);
+		this.motherNatureMovements = motherNatureMovements;
+		this.coins = coins;
+		schoolBoard.restoreTowers(towers);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
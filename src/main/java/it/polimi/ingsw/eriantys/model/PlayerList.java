@@ -1,22 +1,27 @@
 package it.polimi.ingsw.eriantys.model;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 
 /**
  * A {@link GameManager} helper class to handle the players of the game,
  * in particular for the variability of the turn order.
+ * Each player is given a handle, i.e. its index in the order in which the nicknames have been passed,
+ * which never changes during the game and can be used by the rest of the model to index per-player data.
  */
 public class PlayerList {
 	private final Player[] players;
+	private final Map<String, Integer> handles;
+	private final List<Player> turnOrder;
 	private int firstInRound;
 
 	public PlayerList(List<String> nicknames, int entranceSize, int towerNumber) {
 		players = new Player[nicknames.size()];
-		for (int i = 0; i < nicknames.size(); i++)
+		handles = new HashMap<>();
+		for (int i = 0; i < nicknames.size(); i++) {
 			players[i] = new Player(nicknames.get(i), entranceSize, towerNumber);
+			handles.put(nicknames.get(i), i);
+		}
+		turnOrder = new TurnOrder();
 	}
 
 	/**
@@ -24,20 +29,19 @@ public class PlayerList {
 	 * @param target the {@link Player} which will play as first
 	 */
 	public void setFirst(Player target) {
-		int index = new ArrayList<>(Arrays.asList(players)).indexOf(target);
+		int handle = getHandle(target);
 
-		if (index != -1)
-			firstInRound = index;
+		if (handle != -1)
+			firstInRound = handle;
 	}
 
 	/**
 	 * A getter for a {@link List} containing the turn order referred to the current round.
+	 * The returned list is a read-only view, which always reflects the turn order of the current round.
 	 * @return the reference to a {@link List} stating the turn order
 	 */
 	public List<Player> getTurnOrder() {
-		List<Player> temp = new ArrayList<>(List.of(players));
-		Collections.rotate(temp, -firstInRound);
-		return temp;
+		return turnOrder;
 	}
 
 	/**
@@ -46,11 +50,64 @@ public class PlayerList {
 	 * @return the {@link Player} corresponding to the given nickname if it exists, {@code null} otherwise
 	 */
 	public Player get(String nickname) {
-		Player temp = new Player(nickname, 0, 0);
-		int index = new ArrayList<>(Arrays.asList(players)).indexOf(temp);
+		int handle = getHandle(nickname);
 
-		if (index != -1)
-			return players[index];
+		if (handle != -1)
+			return players[handle];
 		return null;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * A getter for the {@link Player} object associated with a handle.
+	 * @param handle the handle of the {@link Player}
+	 * @return the {@link Player} corresponding to the given handle
+	 * @throws IndexOutOfBoundsException if the handle is not between 0 and {@link #size()} excluded
+	 */
+	public Player get(int handle) {
+		return players[handle];
+	}
+
+	/**
+	 * A getter for the handle of the {@link Player} associated with a nickname.
+	 * @param nickname the identifier of the {@link Player}
+	 * @return the handle of the {@link Player} corresponding to the given nickname if it exists, -1 otherwise
+	 */
+	public int getHandle(String nickname) {
+		Integer handle = nickname == null ? null : handles.get(nickname);
+		return handle == null ? -1 : handle;
+	}
+
+	/**
+	 * A getter for the handle of a {@link Player}.
+	 * @param player the target {@link Player}
+	 * @return the handle of the {@link Player} with the same nickname as {@code player} if it exists, -1 otherwise
+	 */
+	public int getHandle(Player player) {
+		return player == null ? -1 : getHandle(player.getNickname());
+	}
+
+	/**
+	 * A getter for the number of players.
+	 * @return the number of players in the game
+	 */
+	public int size() {
+		return players.length;
+	}
+
+	/**
+	 * The turn order of the current round, as a view over the players which starts from the first one in the round.
+	 */
+	private class TurnOrder extends AbstractList<Player> implements RandomAccess {
+		@Override
+		public Player get(int index) {
+			Objects.checkIndex(index, players.length);
+			int handle = firstInRound + index;
+			return players[handle < players.length ? handle : handle - players.length];
+		}
+
+		@Override
+		public int size() {
+			return players.length;
+		}
+	}
+}
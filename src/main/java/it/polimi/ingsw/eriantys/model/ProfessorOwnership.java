@@ -4,25 +4,43 @@ import it.polimi.ingsw.eriantys.model.characters.Farmer;
 
 import java.util.*;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * This class represents the association between each {@link Color}'s professor and its respective owner.
- * It exposes a method to get all the professors owned by a {@link Player},
+ * It exposes methods to get all the professors owned by a {@link Player}, either as a set or as a bitmask,
  * two methods to activate and deactivate the effect of the {@link Farmer} character card,
  * and a method to update the professors owners after a movement of students.
  */
 public class ProfessorOwnership {
-	private final Map<Color, Player> ownerships;
+	private static final Color[] COLORS = Color.values();
+
+	/**
+	 * The owner of each professor, indexed by the ordinal of its {@link Color}.
+	 */
+	private final Player[] ownerships;
 	private Comparator<Integer> comparator;
+	private boolean effectActive;
 	private final Supplier<Player> playerSupplier;
+	private OwnerChangeListener ownerChangeListener;
+
+	/**
+	 * A listener which is notified every time a professor changes owner.
+	 */
+	@FunctionalInterface
+	public interface OwnerChangeListener {
+		/**
+		 * Called right after the professor of the specified {@link Color} has changed owner.
+		 * @param color the {@link Color} of the professor
+		 * @param oldOwner the previous owner of the professor, or {@code null} if it had no owner
+		 * @param newOwner the new owner of the professor
+		 */
+		void ownerChanged(Color color, Player oldOwner, Player newOwner);
+	}
 
 	public ProfessorOwnership(Supplier<Player> playerSupplier) {
 		this.playerSupplier = playerSupplier;
 		this.comparator = Integer::compareTo;
-		this.ownerships = new EnumMap<>(Color.class);
-		for (Color color : Color.values())
-			this.ownerships.put(color, null);
+		this.ownerships = new Player[COLORS.length];
 	}
 
 	/**
@@ -31,10 +49,37 @@ public class ProfessorOwnership {
 	 * @return the respective {@link Color} of each professor owned by {@code player}
 	 */
 	public Set<Color> getProfessors(Player player) {
-		if (player == null)
-			return new HashSet<>();
-		return ownerships.keySet().stream()
-					.filter(c -> ownerships.get(c) != null && ownerships.get(c).equals(player)).collect(Collectors.toSet());
+		Set<Color> professors = EnumSet.noneOf(Color.class);
+		int mask = getProfessorMask(player);
+
+		for (Color color : COLORS)
+			if ((mask & 1 << color.ordinal()) != 0)
+				professors.add(color);
+		return professors;
+	}
+
+	/**
+	 * Returns the professors owned by {@code player} as a bitmask, in which the bit of each professor
+	 * is the one at the position given by the ordinal of its {@link Color}.
+	 * @param player the {@link Player} whose professors are returned
+	 * @return the bitmask of the professors owned by {@code player}, or {@code 0} if {@code player} is {@code null}
+	 */
+	public int getProfessorMask(Player player) {
+		int mask = 0;
+
+		if (player != null)
+			for (int i = 0; i < ownerships.length; i++)
+				if (player.equals(ownerships[i]))
+					mask |= 1 << i;
+		return mask;
+	}
+
+	/**
+	 * Sets the listener notified every time a professor changes owner.
+	 * @param listener the listener, or {@code null} to remove the current one
+	 */
+	public void setOwnerChangeListener(OwnerChangeListener listener) {
+		this.ownerChangeListener = listener;
 	}
 
 	/**
@@ -43,6 +88,7 @@ public class ProfessorOwnership {
 	public void activateEffect() {
 		//noinspection ComparatorMethodParameterNotUsed
 		this.comparator = (n1, n2) -> (n1 >= n2) ? 1 : -1;
+		this.effectActive = true;
 	}
 
 	/**
@@ -50,6 +96,15 @@ public class ProfessorOwnership {
 	 */
 	public void deactivateEffect() {
 		this.comparator = Integer::compareTo;
+		this.effectActive = false;
+	}
+
+	/**
+	 * A getter to know whether the {@link Farmer} character card's effect is active.
+	 * @return {@code true} if and only if the effect is active
+	 */
+	public boolean isEffectActive() {
+		return effectActive;
 	}
 
 	/**
@@ -57,30 +112,57 @@ public class ProfessorOwnership {
 	 * @param target the {@link Set} of {@link Color}s whose respective professors' owners are updated
 	 */
 	public void update(Set<Color> target) {
+		for (Color color : target)
+			update(color);
+	}
+
+	/**
+	 * Updates the owner of the professor of the specified {@link Color}.
+	 * @param color the {@link Color} of the professor whose owner is updated
+	 */
+	public void update(Color color) {
 		Player currentPlayer = playerSupplier.get();
-		boolean changeOwner;
 
 		if (currentPlayer == null)
 			return;
 
-		for (Color color : target) {
-			Player currentOwner = ownerships.get(color);
-			if (!currentPlayer.equals(currentOwner)) {
-				int currAmt = currentPlayer.getDiningRoom().getQuantity(color);
-				int ownerAmt = currentOwner == null ? 0 : currentOwner.getDiningRoom().getQuantity(color);
+		Player currentOwner = ownerships[color.ordinal()];
+		if (!currentPlayer.equals(currentOwner)) {
+			int currAmt = currentPlayer.getDiningRoom().getQuantity(color);
+			int ownerAmt = currentOwner == null ? 0 : currentOwner.getDiningRoom().getQuantity(color);
 
-				changeOwner = currAmt > 0 && comparator.compare(currAmt, ownerAmt) > 0;
-				ownerships.put(color, changeOwner ? currentPlayer : currentOwner);
+			if (currAmt > 0 && comparator.compare(currAmt, ownerAmt) > 0) {
+				ownerships[color.ordinal()] = currentPlayer;
+				if (ownerChangeListener != null)
+					ownerChangeListener.ownerChanged(color, currentOwner, currentPlayer);
 			}
 		}
 	}
 
+	/**
+	 * Updates the owner of every professor.
+	 */
+	public void updateAll() {
+		for (Color color : COLORS)
+			update(color);
+	}
+
 	/**
 	 * A helper-getter method to fulfill the {@link BoardStatus} creation process.
 	 * @param c the target {@link Color}
 	 * @return a representation for the {@link Player} owning the professor of the specified {@link Color}
 	 */
 	public Player getOwnership(Color c) {
-		return ownerships.get(c);
+		return ownerships[c.ordinal()];
+	}
+
+	/**
+	 * Assigns the professor of the specified {@link Color} without comparing the dining rooms nor notifying the listener,
+	 * restoring the ownerships saved by a {@link ModelSnapshot}.
+	 * @param c the target {@link Color}
+	 * @param owner the {@link Player} owning the professor, or {@code null} if nobody owns it
+	 */
+	void restoreOwnership(Color c, Player owner) {
+		ownerships[c.ordinal()] = owner;
 	}
 }
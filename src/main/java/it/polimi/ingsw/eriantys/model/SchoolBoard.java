@@ -93,6 +93,14 @@ public class SchoolBoard {
 		return true;
 	}
 
+	/**
+	 * Sets the number of towers of this {@code SchoolBoard}, restoring a school board saved by a {@link ModelSnapshot}.
+	 * @param towers the number of towers, between 0 and the maximum number of towers
+	 */
+	void restoreTowers(int towers) {
+		this.towers = towers;
+	}
+
 	/**
 	 * A helper-getter method to fulfill the {@link BoardStatus} creation process.
 	 * @return a representation for the number of towers owned by the {@link Player}
@@ -3,7 +3,11 @@ package it.polimi.ingsw.eriantys.model;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * This class provides a container for student discs.
@@ -26,11 +30,20 @@ public class StudentContainer {
 	private static final int MAX_STUDENTS_PER_COLOR = 26;
 
 	/**
-	 * The {@link Map} containing the number of students stored in the container for each {@link Color}.
-	 * Keys must be all and only the values of {@link Color}.
-	 * Values must be non-{@code null} integers greater than or equal to 0.
+	 * The {@link Color} values, cached in order not to clone them at every iteration.
 	 */
-	private final Map<Color, Integer> students;
+	private static final Color[] COLORS = Color.values();
+
+	/**
+	 * The number of students stored in the container for each {@link Color}, indexed by {@link Color#ordinal()}.
+	 * Values must be integers greater than or equal to 0.
+	 */
+	private final int[] students;
+
+	/**
+	 * The total number of students stored in the container, which must always be equal to the sum of {@link #students}.
+	 */
+	private int total;
 
 	/**
 	 * The maximum number of students allowed in the {@code StudentContainer} at any time.
@@ -43,10 +56,7 @@ public class StudentContainer {
 	 * with no specified maximum size.
 	 */
 	public StudentContainer() {
-		this.maxSize = NO_MAX_SIZE;
-		this.students = new EnumMap<>(Color.class);
-		for (Color color : Color.values())
-			students.put(color, 0);
+		this(NO_MAX_SIZE);
 	}
 
 	/**
@@ -55,9 +65,8 @@ public class StudentContainer {
 	 */
 	public StudentContainer(int maxSize) {
 		this.maxSize = Math.min(maxSize, NO_MAX_SIZE);
-		this.students = new EnumMap<>(Color.class);
-		for (Color color : Color.values())
-			students.put(color, 0);
+		this.students = new int[COLORS.length];
+		this.total = 0;
 	}
 
 	/**
@@ -70,8 +79,7 @@ public class StudentContainer {
 		if (color == null)
 			return -1;
 
-		Integer res = students.putIfAbsent(color, 0);
-		return (res == null) ? 0 : res;
+		return students[color.ordinal()];
 	}
 
 	/**
@@ -90,23 +98,18 @@ public class StudentContainer {
 		if (!dest.hasRemainingCapacity(color))
 			throw new NoMovementException("0/1 - the destination container is full");	// this should not happen
 
-		Integer srcAmount = this.students.putIfAbsent(color, 0);
-		Integer destAmount = dest.students.get(color);
-
-		if (srcAmount == null || srcAmount == 0)
+		int index = color.ordinal();
+		if (this.students[index] == 0)
 			throw new NoMovementException("0/1 - the source container is empty.");	// TODO this could happen (Thief)
 
-		if (destAmount == null)
-			destAmount = 0;
-
-		this.students.put(color, srcAmount - 1);
-		dest.students.put(color, destAmount + 1);
+		this.remove(index, 1);
+		dest.add(index, 1);
 	}
 
 	/**
-	 * Moves {@code amount} students of random colors from {@code this} to the destination container {@code dest}.
-	 * Students are moved one by one until {@code amount} is reached or no colors that
-	 * can be both removed from {@code this} and added to {@code dest} can be found,
+	 * Moves {@code amount} random students from {@code this} to the destination container {@code dest}.
+	 * Students are drawn one by one, each of them uniformly among the students which can be both removed from
+	 * {@code this} and added to {@code dest}, until {@code amount} is reached or no such students can be found,
 	 * at which point no subsequent movements occur.
 	 * @param dest the destination {@code StudentContainer}
 	 * @param amount the amount of students to be moved
@@ -117,11 +120,13 @@ public class StudentContainer {
 	public void moveTo(StudentContainer dest, int amount) throws InvalidArgumentException, NoMovementException {
 		if (dest == null)
 			throw new InvalidArgumentException("dest argument is null");	// this should not happen
+		RandomGenerator random = getRandom();
 		for (int i = 0; i < amount; i++) {
-			Color color = this.getRandomColor(dest);
-			if (color == null)
+			int index = StudentSampler.draw(students, COLORS, dest, random);
+			if (index < 0)
 				throw new NoMovementException(i + "/" + amount + " - no matching colors were found");	// this should not happen
-			moveTo(dest, color);
+			this.remove(index, 1);
+			dest.add(index, 1);
 		}
 	}
 
@@ -140,28 +145,37 @@ public class StudentContainer {
 
 		boolean destinationFull = false;
 
-		for (Color color : Color.values()) {
-			if (!destinationFull) {
-				Integer srcAmount = this.students.get(color);
-				Integer destAmount = dest.students.get(color);
-
-				if (srcAmount == null)
-					srcAmount = 0;
-				if (destAmount == null)
-					destAmount = 0;
-
-				int maxMovements = Math.min(dest.remainingCapacity(color), srcAmount);
-				this.students.put(color, srcAmount - maxMovements);
-				dest.students.put(color, destAmount + maxMovements);
-				if (maxMovements < srcAmount)
-					destinationFull = true;
-			}
+		for (int i = 0; i < COLORS.length && !destinationFull; i++) {
+			int srcAmount = this.students[i];
+			if (srcAmount == 0)
+				continue;
+
+			int maxMovements = Math.min(dest.remainingCapacity(COLORS[i]), srcAmount);
+			this.remove(i, maxMovements);
+			dest.add(i, maxMovements);
+			if (maxMovements < srcAmount)
+				destinationFull = true;
 		}
 
 		if (destinationFull)
 			throw new NoMovementException("?/? - the destination container is full");	// this should not happen
 	}
 
+	/**
+	 * Moves all the students from {@code source} to {@code this} by adding up the amounts of each {@link Color},
+	 * without checking the capacity of {@code this}. This method is only to be called when unifying islands,
+	 * which can hold every student disc in the game.
+	 * @param source the container to be emptied into {@code this}
+	 */
+	void takeAllFrom(StudentContainer source) {
+		for (int i = 0; i < students.length; i++) {
+			this.students[i] += source.students[i];
+			source.students[i] = 0;
+		}
+		this.total += source.total;
+		source.total = 0;
+	}
+
 	/**
 	 * Refills {@code this} to its maximum capacity by picking random students from {@code source}.
 	 * Students are moved one by one until {@code this} is full or {@code source} is empty,
@@ -202,23 +216,55 @@ public class StudentContainer {
 		if (thisColor == thatColor)
 			return;
 
-		Integer thisAmount = this.students.putIfAbsent(thisColor, 0);
-		Integer thatAmount = that.students.putIfAbsent(thatColor, 0);
+		int thisIndex = thisColor.ordinal();
+		int thatIndex = thatColor.ordinal();
 
-		if (thisAmount == null || thisAmount == 0 || thatAmount == null || thatAmount == 0)
+		if (this.students[thisIndex] == 0 || that.students[thatIndex] == 0)
 			throw new NoMovementException("0/1 - a container is empty");	// this should not happen
 
-		this.students.put(thisColor, thisAmount - 1);
-		that.students.put(thatColor, thatAmount - 1);
+		this.remove(thisIndex, 1);
+		that.remove(thatIndex, 1);
 
 		if (!this.hasRemainingCapacity(thatColor) || !that.hasRemainingCapacity(thisColor)) {
-			this.students.put(thisColor, thisAmount);
-			that.students.put(thatColor, thatAmount);
+			this.add(thisIndex, 1);
+			that.add(thatIndex, 1);
 			throw new NoMovementException("0/1 - a container is full.");	// TODO this could happen (NoSwapException)
 		}
 
-		this.students.put(thatColor, this.students.get(thatColor) + 1);
-		that.students.put(thisColor, that.students.get(thisColor) + 1);
+		this.add(thatIndex, 1);
+		that.add(thisIndex, 1);
+	}
+
+	/**
+	 * Adds the specified amount of students of a single color to the container, keeping {@link #total} up to date.
+	 * @param index the {@link Color#ordinal()} of the students' color
+	 * @param amount the number of students to add
+	 */
+	private void add(int index, int amount) {
+		students[index] += amount;
+		total += amount;
+	}
+
+	/**
+	 * Removes the specified amount of students of a single color from the container, keeping {@link #total} up to date.
+	 * @param index the {@link Color#ordinal()} of the students' color
+	 * @param amount the number of students to remove
+	 */
+	private void remove(int index, int amount) {
+		students[index] -= amount;
+		total -= amount;
+	}
+
+	/**
+	 * Replaces the students of the container with the specified amounts, restoring a container saved by a {@link ModelSnapshot}.
+	 * @param quantities the number of students of each color, indexed by {@link Color#ordinal()}
+	 */
+	void restoreQuantities(int[] quantities) {
+		total = 0;
+		for (int i = 0; i < students.length; i++) {
+			students[i] = quantities[i];
+			total += quantities[i];
+		}
 	}
 
 	/**
@@ -228,28 +274,20 @@ public class StudentContainer {
 	public Map<String, Integer> getRepresentation() {
 		Map<String, Integer> rep = new LinkedHashMap<>();
 
-		List<String> colorLiterals = Arrays.stream(Color.values()).map(Color::toString).toList();
-		for (String c : colorLiterals)
-			rep.put(c, students.get(Color.valueOf(c)));
+		for (Color color : COLORS)
+			rep.put(color.toString(), students[color.ordinal()]);
 
 		return rep;
 	}
 
 	/**
-	 * Returns a random {@link Color} such that {@code this} contains students of that color and {@code destination} has
-	 * the capacity to contain more, or {@code null} if no such color can be found.
-	 * @param destination the destination {@code StudentContainer}.
-	 * @return a random {@link Color} such that {@code this} contains students of that color and {@code destination} has
-	 * the capacity to contain more, or {@code null} if no such color can be found.
+	 * Returns the source of randomness used to draw students out of the container.
+	 * Containers which students are drawn from in a game (namely the {@link Bag}) override this method
+	 * in order to use the random source of the game.
+	 * @return the source of randomness of the container
 	 */
-	private Color getRandomColor(StudentContainer destination) {
-		List<Color> available = students.keySet().stream().filter(c -> students.get(c) > 0).toList();
-		List<Color> destAvailable = destination.students.keySet().stream().filter(destination::hasRemainingCapacity).toList();
-		available = available.stream().filter(destAvailable::contains).toList();
-
-		if (available.size() == 0)
-			return null;
-		return available.get(new Random().nextInt(available.size()));
+	protected RandomGenerator getRandom() {
+		return ThreadLocalRandom.current();
 	}
 
 	/**
@@ -268,8 +306,7 @@ public class StudentContainer {
 	 * @see StudentContainer#remainingCapacity(Color)
 	 */
 	private int remainingCapacity() {
-		int currentOccupation = students.values().stream().reduce(0, Integer::sum);
-		return maxSize - currentOccupation;
+		return maxSize - total;
 	}
 
 	/**
@@ -291,8 +328,8 @@ public class StudentContainer {
 	 * is only to be called while constructing a {@link Bag} object.
 	 */
 	protected void fill() {
-		for (Color color : Color.values())
-			students.put(color, MAX_STUDENTS_PER_COLOR);
+		Arrays.fill(students, MAX_STUDENTS_PER_COLOR);
+		total = MAX_STUDENTS_PER_COLOR * students.length;
 	}
 
 	/**
@@ -300,10 +337,6 @@ public class StudentContainer {
 	 * @return true if and only if the container is empty
 	 */
 	protected boolean empty() {
-		for (Color color : Color.values())
-			if (students.get(color) != null && students.get(color) > 0)
-				return false;
-
-		return true;
+		return total == 0;
 	}
 }
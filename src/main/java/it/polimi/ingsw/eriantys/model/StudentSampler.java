@@ -0,0 +1,42 @@
+package it.polimi.ingsw.eriantys.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * This class draws random students out of the counts of a {@link StudentContainer}.
+ * Every student which can be moved to the destination container is equally likely to be drawn, so that colors are
+ * weighted by the number of their students, like discs drawn out of an actual bag.
+ * A draw walks the cumulative counts of the five colors and allocates nothing.
+ */
+final class StudentSampler {
+	private StudentSampler() {
+	}
+
+	/**
+	 * Draws the color of a random student which can be moved to the specified destination.
+	 * @param counts the number of students of each color in the source container, indexed by {@link Color#ordinal()}
+	 * @param colors the {@link Color} values, in declaration order
+	 * @param destination the destination container
+	 * @param random the source of randomness
+	 * @return the {@link Color#ordinal()} of the drawn student, or {@code -1} if no student can be moved
+	 */
+	static int draw(int[] counts, Color[] colors, StudentContainer destination, RandomGenerator random) {
+		int eligible = 0;
+		for (int i = 0; i < counts.length; i++)
+			if (counts[i] > 0 && destination.remainingCapacity(colors[i]) > 0)
+				eligible += counts[i];
+
+		if (eligible == 0)
+			return -1;
+
+		int choice = random.nextInt(eligible);
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] > 0 && destination.remainingCapacity(colors[i]) > 0) {
+				choice -= counts[i];
+				if (choice < 0)
+					return i;
+			}
+		}
+		return -1;
+	}
+}
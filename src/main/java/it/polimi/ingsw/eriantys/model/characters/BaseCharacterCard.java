@@ -30,6 +30,16 @@ public abstract class BaseCharacterCard implements CharacterCard {
 		return increasedCost ? initialCost + 1 : initialCost;
 	}
 
+	@Override
+	public boolean isCostIncreased() {
+		return increasedCost;
+	}
+
+	@Override
+	public void restoreIncreasedCost() {
+		increaseCost();
+	}
+
 	protected void increaseCost() {
 		if (!increasedCost) {
 			increasedCost = true;
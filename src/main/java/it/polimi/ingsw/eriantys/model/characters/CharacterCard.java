@@ -16,6 +16,19 @@ public interface CharacterCard {
 	 */
 	int getCost();
 
+	/**
+	 * A getter to know whether the cost of this card has been increased by a previous activation.
+	 *
+	 * @return {@code true} if and only if the card has already been activated
+	 */
+	boolean isCostIncreased();
+
+	/**
+	 * Increases the cost of this card without applying its effect, restoring a card which had already been activated
+	 * before a snapshot of the game was taken.
+	 */
+	void restoreIncreasedCost();
+
 	/**
 	 * Prepares this card to be activated.
 	 * It should be called once at the beginning of the game.
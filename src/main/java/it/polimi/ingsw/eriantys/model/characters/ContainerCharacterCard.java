@@ -40,6 +40,16 @@ public abstract class ContainerCharacterCard extends StudentContainer implements
 		return increasedCost ? initialCost + 1 : initialCost;
 	}
 
+	@Override
+	public boolean isCostIncreased() {
+		return increasedCost;
+	}
+
+	@Override
+	public void restoreIncreasedCost() {
+		increaseCost();
+	}
+
 	protected void increaseCost() {
 		if (!increasedCost) {
 			increasedCost = true;
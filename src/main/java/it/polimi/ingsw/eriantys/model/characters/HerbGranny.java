@@ -84,6 +84,28 @@ public class HerbGranny extends BaseCharacterCard {
 		increaseCost();
 	}
 
+	/**
+	 * A getter for the IDs of the no-entry tiles currently available on this card, from the bottom of the pile to the top.
+	 *
+	 * @return the IDs of the available no-entry tiles
+	 */
+	public List<Integer> getTileIds() {
+		return List.copyOf(tiles);
+	}
+
+	/**
+	 * Replaces the no-entry tiles available on this card, restoring a card saved by a snapshot of the game,
+	 * and prepares the {@link Board} to return the tiles removed from the islands to this card.
+	 *
+	 * @param ids the IDs of the available no-entry tiles, from the bottom of the pile to the top
+	 * @throws InvalidArgumentException if the {@link Board} refuses the returning function
+	 */
+	public void restoreTiles(List<Integer> ids) throws InvalidArgumentException {
+		tiles.clear();
+		tiles.addAll(ids);
+		board.setReturnNoEntryTile(this::returnTile);
+	}
+
 	/**
 	 * A helper-getter method to fulfill the {@link BoardStatus} creation process.
 	 * @return a representation for the number of no-entry tiles placed on the card
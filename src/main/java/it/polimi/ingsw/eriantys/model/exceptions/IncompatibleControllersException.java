@@ -1,11 +1,12 @@
 package it.polimi.ingsw.eriantys.model.exceptions;
 
+import it.polimi.ingsw.eriantys.model.Board;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 
 /**
- * This exception is thrown by {@link IslandGroup}'s {@code merge} method to indicate that
- * the two specified islands do not share the same controller, and therefore cannot be merged.
- * @see IslandGroup#merge(IslandGroup, IslandGroup)
+ * This exception is thrown when an {@link IslandGroup} is unified with a neighboring island to indicate that
+ * the two islands do not share the same controller, and therefore cannot be merged.
+ * @see Board#unifyIslands(IslandGroup)
  */
 public class IncompatibleControllersException extends Exception {
 
@@ -3,6 +3,7 @@ package it.polimi.ingsw.eriantys.model.influence;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.characters.CharacterCard;
 import it.polimi.ingsw.eriantys.model.characters.Knight;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
@@ -20,6 +21,14 @@ public class BonusInfluence extends CommonInfluence implements InfluenceCalculat
 		this.user = user;
 	}
 
+	/**
+	 * A getter for the player who gains the bonus influence.
+	 * @return the player who played the {@link Knight} card
+	 */
+	public Player getUser() {
+		return user;
+	}
+
 	@Override
 	public int calculate(Player player, IslandGroup island, Set<Color> ownedProfessors) throws InvalidArgumentException {
 		if (user == null)
@@ -29,4 +38,24 @@ public class BonusInfluence extends CommonInfluence implements InfluenceCalculat
 
 		return (user.equals(player)) ? result + 2 : result;
 	}
+
+	@Override
+	public int calculate(Player player, IslandGroup island, int professorMask) throws InvalidArgumentException {
+		if (user == null)
+			throw new InvalidArgumentException("Cannot proceed with null internal attributes parameter(s).");
+
+		int result = super.calculate(player, island, professorMask);
+
+		return (user.equals(player)) ? result + 2 : result;
+	}
+
+	@Override
+	public int calculate(Player player, IslandGroup island, int studentInfluence, ProfessorOwnership professors) throws InvalidArgumentException {
+		if (user == null)
+			throw new InvalidArgumentException("Cannot proceed with null internal attributes parameter(s).");
+
+		int result = super.calculate(player, island, studentInfluence, professors);
+
+		return (user.equals(player)) ? result + 2 : result;
+	}
 }
\ No newline at end of file
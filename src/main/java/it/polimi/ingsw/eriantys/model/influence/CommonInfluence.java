@@ -3,6 +3,7 @@ package it.polimi.ingsw.eriantys.model.influence;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.StudentContainer;
 import it.polimi.ingsw.eriantys.model.characters.CharacterCard;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
@@ -14,6 +15,8 @@ import java.util.Set;
  * defines the influence calculation when it is not affected by any {@link CharacterCard}.
  */
 public class CommonInfluence implements InfluenceCalculator {
+	private static final Color[] COLORS = Color.values();
+
 	@Override
 	public int calculate(Player player, IslandGroup island, Set<Color> ownedProfessors) throws InvalidArgumentException {
 		if (player == null || island == null || ownedProfessors == null)
@@ -28,6 +31,22 @@ public class CommonInfluence implements InfluenceCalculator {
 		return result;
 	}
 
+	@Override
+	public int calculate(Player player, IslandGroup island, int professorMask) throws InvalidArgumentException {
+		if (player == null || island == null)
+			throw new InvalidArgumentException("Cannot proceed with null parameter(s).");
+
+		return evaluateColors(island, professorMask) + evaluateTowers(island, player);
+	}
+
+	@Override
+	public int calculate(Player player, IslandGroup island, int studentInfluence, ProfessorOwnership professors) throws InvalidArgumentException {
+		if (player == null || island == null || professors == null)
+			throw new InvalidArgumentException("Cannot proceed with null parameter(s).");
+
+		return studentInfluence + evaluateTowers(island, player);
+	}
+
 	/**
 	 * The method evaluates the quantity of students of a {@link Color} on an island.
 	 * @param island the game location used for the calculation
@@ -38,6 +57,21 @@ public class CommonInfluence implements InfluenceCalculator {
 		return island.getQuantity(c);
 	}
 
+	/**
+	 * The method evaluates the quantity of students on an island whose {@link Color}s are in a bitmask.
+	 * @param island the game location used for the calculation
+	 * @param professorMask the bitmask of the target {@link Color}s, indexed by their ordinal
+	 * @return the number of students of the given {@link Color}s on the specified island
+	 */
+	protected int evaluateColors(StudentContainer island, int professorMask) {
+		int result = 0;
+
+		for (Color c : COLORS)
+			if ((professorMask & 1 << c.ordinal()) != 0)
+				result += evaluateColor(island, c);
+		return result;
+	}
+
 	/**
 	 * The method evaluates the contribution of the towers on an island.
 	 * @param island the game location used for the calculation
@@ -3,6 +3,7 @@ package it.polimi.ingsw.eriantys.model.influence;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.characters.CharacterCard;
 import it.polimi.ingsw.eriantys.model.characters.MushroomGuy;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
@@ -20,6 +21,14 @@ public class ExcludeColorInfluence extends CommonInfluence implements InfluenceC
 		this.excluded = excluded;
 	}
 
+	/**
+	 * A getter for the color which is not counted when calculating the influence.
+	 * @return the color selected with the {@link MushroomGuy} card
+	 */
+	public Color getExcluded() {
+		return excluded;
+	}
+
 	@Override
 	public int calculate(Player player, IslandGroup island, Set<Color> ownedProfessors) throws InvalidArgumentException {
 		if (excluded == null)
@@ -36,4 +45,22 @@ public class ExcludeColorInfluence extends CommonInfluence implements InfluenceC
 
 		return result;
 	}
+
+	@Override
+	public int calculate(Player player, IslandGroup island, int professorMask) throws InvalidArgumentException {
+		if (excluded == null)
+			throw new InvalidArgumentException("Cannot proceed with null internal attributes parameter(s).");
+
+		return super.calculate(player, island, professorMask & ~(1 << excluded.ordinal()));
+	}
+
+	@Override
+	public int calculate(Player player, IslandGroup island, int studentInfluence, ProfessorOwnership professors) throws InvalidArgumentException {
+		if (excluded == null)
+			throw new InvalidArgumentException("Cannot proceed with null internal attributes parameter(s).");
+
+		int result = super.calculate(player, island, studentInfluence, professors);
+
+		return player.equals(professors.getOwnership(excluded)) ? result - evaluateColor(island, excluded) : result;
+	}
 }
\ No newline at end of file
@@ -3,8 +3,10 @@ package it.polimi.ingsw.eriantys.model.influence;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 
+import java.util.EnumSet;
 import java.util.Set;
 
 /**
@@ -21,4 +23,40 @@ public interface InfluenceCalculator {
 	 * @throws InvalidArgumentException if one or more parameters are illegal
 	 */
 	int calculate(Player player, IslandGroup island, Set<Color> ownedProfessors) throws InvalidArgumentException;
+
+	/**
+	 * The method evaluates the influence of a {@link Player} on a certain island.
+	 * By default, the bitmask is converted to the set of the {@link Color}s of the professors.
+	 * @param player the main target of the calculation
+	 * @param island the game location used for the calculation
+	 * @param professorMask the professors which the {@link Player} owns,
+	 * as returned by {@link ProfessorOwnership#getProfessorMask(Player)}
+	 * @return the influence value for the given {@link Player} on the specified island
+	 * @throws InvalidArgumentException if one or more parameters are illegal
+	 */
+	default int calculate(Player player, IslandGroup island, int professorMask) throws InvalidArgumentException {
+		Set<Color> ownedProfessors = EnumSet.noneOf(Color.class);
+		for (Color color : Color.values())
+			if ((professorMask & 1 << color.ordinal()) != 0)
+				ownedProfessors.add(color);
+		return calculate(player, island, ownedProfessors);
+	}
+
+	/**
+	 * The method evaluates the influence of a {@link Player} on a certain island,
+	 * starting from the students on the island whose color matches one of the professors owned by the {@link Player},
+	 * as already counted by the caller.
+	 * By default, the influence is computed again from the bitmask of the professors owned by the {@link Player}.
+	 * @param player the main target of the calculation
+	 * @param island the game location used for the calculation
+	 * @param studentInfluence the number of students on the island matching the professors owned by the {@link Player}
+	 * @param professors the current owners of the professors
+	 * @return the influence value for the given {@link Player} on the specified island
+	 * @throws InvalidArgumentException if one or more parameters are illegal
+	 */
+	default int calculate(Player player, IslandGroup island, int studentInfluence, ProfessorOwnership professors) throws InvalidArgumentException {
+		if (professors == null)
+			throw new InvalidArgumentException("Cannot proceed with null parameter(s).");
+		return calculate(player, island, professors.getProfessorMask(player));
+	}
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package it.polimi.ingsw.eriantys.model.influence;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.characters.Centaur;
 import it.polimi.ingsw.eriantys.model.characters.CharacterCard;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
@@ -26,4 +27,20 @@ public class NoTowersInfluence extends CommonInfluence implements InfluenceCalcu
 
 		return result;
 	}
+
+	@Override
+	public int calculate(Player player, IslandGroup island, int professorMask) throws InvalidArgumentException {
+		if (player == null || island == null)
+			throw new InvalidArgumentException("Cannot proceed with null parameter(s).");
+
+		return evaluateColors(island, professorMask);
+	}
+
+	@Override
+	public int calculate(Player player, IslandGroup island, int studentInfluence, ProfessorOwnership professors) throws InvalidArgumentException {
+		if (player == null || island == null || professors == null)
+			throw new InvalidArgumentException("Cannot proceed with null parameter(s).");
+
+		return studentInfluence;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package it.polimi.ingsw.eriantys.resources;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import it.polimi.ingsw.eriantys.model.GameConstants;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class holds the resources shared by every game and client within the same JVM:
+ * the {@link GameConstants} read from {@code config.json}, the texts of the {@code help/*.txt} files
+ * and the character card descriptions read from {@code help/characters.json}.
+ * All the resources are parsed once into an immutable {@link Snapshot}, which is loaded on first use
+ * and can be replaced as a whole by {@link #reload()} without affecting the objects handed out by the previous one.
+ * Resources are looked up in the directory set by {@link #setDirectory(Path)}, if any, and then in the classpath.
+ */
+public final class ResourceRegistry {
+	/**
+	 * The name of the resource containing the game constants for each number of players.
+	 */
+	public static final String CONFIG = "config.json";
+
+	/**
+	 * The name of the resource containing the character card descriptions.
+	 */
+	public static final String CHARACTERS = "help/characters.json";
+
+	/**
+	 * The names of the help text resources.
+	 */
+	public static final List<String> HELP_FILES = List.of(
+			"help/no_game.txt", "help/not_started.txt", "help/game_setup.txt", "help/in_game.txt");
+
+	private static volatile Path directory;
+	private static volatile Snapshot snapshot;
+
+	private ResourceRegistry() {}
+
+	/**
+	 * A getter for the resources currently in use, which are loaded if this is the first call.
+	 * @return the current {@link Snapshot}
+	 * @throws UncheckedIOException if the resources have never been loaded and cannot be read
+	 */
+	public static Snapshot get() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			synchronized (ResourceRegistry.class) {
+				current = snapshot;
+				if (current == null) {
+					try {
+						current = load();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+					snapshot = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Reads and parses all the resources again, replacing the current {@link Snapshot} only if every resource is valid.
+	 * @return the new {@link Snapshot}
+	 * @throws IOException if a resource cannot be read, in which case the current {@link Snapshot} is kept
+	 */
+	public static Snapshot reload() throws IOException {
+		synchronized (ResourceRegistry.class) {
+			Snapshot loaded = load();
+			snapshot = loaded;
+			return loaded;
+		}
+	}
+
+	/**
+	 * A getter for the directory in which resources are looked up before the classpath.
+	 * @return the directory, or {@code null} if resources are only read from the classpath
+	 */
+	public static Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * A setter for the directory in which resources are looked up before the classpath.
+	 * The resources already loaded are kept until the next {@link #reload()}.
+	 * @param directory the directory, or {@code null} to read resources only from the classpath
+	 */
+	public static void setDirectory(Path directory) {
+		ResourceRegistry.directory = directory;
+	}
+
+	private static Snapshot load() throws IOException {
+		Gson gson = new Gson();
+
+		Map<String, GameConstants> config = parse(gson, CONFIG, new TypeToken<>(){});
+		Map<Integer, GameConstants> constants = new HashMap<>();
+		try {
+			for (Map.Entry<String, GameConstants> entry : config.entrySet())
+				constants.put(Integer.parseInt(entry.getKey()), entry.getValue());
+		} catch (NumberFormatException e) {
+			throw new IOException("Invalid resource: " + CONFIG, e);
+		}
+
+		Map<String, String> help = new HashMap<>();
+		for (String file : HELP_FILES)
+			try (InputStream in = open(file)) {
+				help.put(file, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+			}
+
+		Map<String, Map<String, String>> parsed = parse(gson, CHARACTERS, new TypeToken<>(){});
+		Map<String, Map<String, String>> characters = new LinkedHashMap<>();
+		for (Map.Entry<String, Map<String, String>> entry : parsed.entrySet())
+			characters.put(entry.getKey(), Map.copyOf(entry.getValue()));
+
+		return new Snapshot(Map.copyOf(constants), Map.copyOf(help), Collections.unmodifiableMap(characters));
+	}
+
+	private static <T> T parse(Gson gson, String name, TypeToken<T> type) throws IOException {
+		T out;
+		try (Reader reader = new InputStreamReader(open(name), StandardCharsets.UTF_8)) {
+			out = gson.fromJson(reader, type.getType());
+		} catch (JsonParseException e) {
+			throw new IOException("Invalid resource: " + name, e);
+		}
+		if (out == null)
+			throw new IOException("Empty resource: " + name);
+		return out;
+	}
+
+	private static InputStream open(String name) throws IOException {
+		Path dir = directory;
+		if (dir != null) {
+			Path file = dir.resolve(name);
+			if (Files.isRegularFile(file))
+				return Files.newInputStream(file);
+		}
+
+		InputStream in = ResourceRegistry.class.getClassLoader().getResourceAsStream(name);
+		if (in == null)
+			throw new FileNotFoundException(name);
+		return in;
+	}
+
+	/**
+	 * An immutable set of resources, as read by a single load.
+	 */
+	public static final class Snapshot {
+		private final Map<Integer, GameConstants> constants;
+		private final Map<String, String> help;
+		private final Map<String, Map<String, String>> characters;
+
+		private Snapshot(Map<Integer, GameConstants> constants, Map<String, String> help,
+						 Map<String, Map<String, String>> characters) {
+			this.constants = constants;
+			this.help = help;
+			this.characters = characters;
+		}
+
+		/**
+		 * A getter for the constants of a game with the specified number of players.
+		 * The same {@link GameConstants} object is returned to every caller.
+		 * @param numPlayers the number of players
+		 * @return the constants of the game
+		 * @throws IllegalArgumentException if {@code config.json} has no constants for {@code numPlayers} players
+		 */
+		public GameConstants getConstants(int numPlayers) {
+			GameConstants out = constants.get(numPlayers);
+			if (out == null)
+				throw new IllegalArgumentException("No constants for " + numPlayers + " players");
+			return out;
+		}
+
+		/**
+		 * A getter for the text of a help resource.
+		 * @param file the name of the resource, as listed in {@link ResourceRegistry#HELP_FILES}
+		 * @return the content of the resource
+		 * @throws IllegalArgumentException if {@code file} is not a help resource
+		 */
+		public String getHelp(String file) {
+			String out = help.get(file);
+			if (out == null)
+				throw new IllegalArgumentException("Unknown help resource: " + file);
+			return out;
+		}
+
+		/**
+		 * A getter for the descriptions of the character cards, in the order of {@code characters.json}.
+		 * Every description maps its fields (such as {@code effect}, {@code cmd} and {@code cost}) to their values.
+		 * @return an unmodifiable map from the name of each character card to its description
+		 */
+		public Map<String, Map<String, String>> getCharacters() {
+			return characters;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.codec.Frames;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodecs;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link ClientConnection} served by a non-blocking {@link SocketChannel} registered with an {@link IoLoop}.
+ * Incoming frames are decoded on the loop thread as soon as they are complete, while queued outgoing frames
+ * are flushed by the loop whenever the channel is writable.
+ */
+public class ChannelClientConnection extends ClientConnection {
+	private static final int INITIAL_BUFFER_SIZE = 4096;
+
+	private final SocketChannel channel;
+	private final SelectionKey key;
+	private final AtomicBoolean writeRequested;
+	private ByteBuffer readBuffer;
+	private ByteBuffer pendingWrite;
+	private long pendingSince;
+
+	/**
+	 * Constructs a new connection and registers its channel with the selector of the specified loop.
+	 * The constructor must be called by the loop thread.
+	 * @param server the game server
+	 * @param loop the loop serving the connection
+	 * @param channel the non-blocking channel between the server and this connection's client
+	 * @throws IOException if the channel cannot be registered
+	 */
+	ChannelClientConnection(Server server, IoLoop loop, SocketChannel channel) throws IOException {
+		super(server);
+		this.channel = channel;
+		this.writeRequested = new AtomicBoolean(false);
+		this.readBuffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+		this.key = channel.register(loop.getSelector(), SelectionKey.OP_READ, this);
+	}
+
+	/**
+	 * Reads the available bytes from the channel and handles every complete frame,
+	 * disconnecting the client if an I/O error occurs or a frame cannot be handled. Called by the loop thread.
+	 */
+	void onReadable() {
+		try {
+			if (channel.read(readBuffer) < 0)
+				throw new EOFException();
+			touch();
+			readBuffer.flip();
+			int required = 0;
+			while (readBuffer.remaining() >= Frames.HEADER_SIZE) {
+				int length = Frames.checkLength(readBuffer.getInt(readBuffer.position()));
+				if (readBuffer.remaining() < Frames.HEADER_SIZE + length) {
+					required = Frames.HEADER_SIZE + length;
+					break;
+				}
+				int offset = readBuffer.position() + Frames.HEADER_SIZE;
+				readBuffer.position(offset + length);
+				handle(MessageCodecs.decode(readBuffer.array(), offset, length));
+			}
+			readBuffer.compact();
+			if (required > readBuffer.capacity()) {
+				ByteBuffer larger = ByteBuffer.allocate(required);
+				readBuffer.flip();
+				larger.put(readBuffer);
+				readBuffer = larger;
+			}
+		} catch (IOException | RuntimeException e) {
+			// a malformed frame must only cost its own connection, not the loop serving the others
+			server.disconnect(this);
+		}
+	}
+
+	/**
+	 * Flushes as many queued frames as the channel accepts, disconnecting the client if an I/O error occurs.
+	 * Called by the loop thread.
+	 */
+	void onWritable() {
+		try {
+			while (true) {
+				if (pendingWrite == null) {
+					OutboundQueue.QueuedFrame frame = outbound.poll();
+					if (frame == null) break;
+					pendingWrite = ByteBuffer.wrap(frame.getBytes());
+					pendingSince = frame.getEnqueuedAt();
+				}
+				channel.write(pendingWrite);
+				if (pendingWrite.hasRemaining()) return;
+				pendingWrite = null;
+				server.getMetrics().recordQueueTime(System.nanoTime() - pendingSince);
+			}
+			writeRequested.set(false);
+			key.interestOpsAnd(~SelectionKey.OP_WRITE);
+			if (!outbound.isEmpty()) requestWrite();
+		} catch (IOException e) {
+			server.disconnect(this);
+		}
+	}
+
+	@Override
+	protected void onFrameQueued() {
+		requestWrite();
+	}
+
+	private void requestWrite() {
+		if (writeRequested.compareAndSet(false, true)) {
+			try {
+				key.interestOpsOr(SelectionKey.OP_WRITE);
+				key.selector().wakeup();
+			} catch (CancelledKeyException e) {
+				// the connection has been closed in the meantime
+			}
+		}
+	}
+
+	@Override
+	protected void closeTransport() {
+		key.cancel();
+		try {
+			channel.close();
+		} catch (IOException ignored) {
+			// the channel is being discarded anyway
+		}
+	}
+}
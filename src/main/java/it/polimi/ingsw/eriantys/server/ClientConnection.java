@@ -5,56 +5,73 @@ import it.polimi.ingsw.eriantys.messages.ConnectionMessage;
 import it.polimi.ingsw.eriantys.messages.GameMessage;
 import it.polimi.ingsw.eriantys.messages.Message;
 import it.polimi.ingsw.eriantys.messages.Ping;
+import it.polimi.ingsw.eriantys.messages.client.BoardStatusRequest;
 import it.polimi.ingsw.eriantys.messages.client.Handshake;
 import it.polimi.ingsw.eriantys.messages.client.HelpRequest;
 import it.polimi.ingsw.eriantys.messages.client.LeaveLobby;
+import it.polimi.ingsw.eriantys.messages.client.QuickPlay;
 import it.polimi.ingsw.eriantys.messages.client.Reconnect;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodecs;
+import it.polimi.ingsw.eriantys.messages.server.BoardDelta;
+import it.polimi.ingsw.eriantys.messages.server.BoardUpdate;
 import it.polimi.ingsw.eriantys.messages.server.Refused;
 import it.polimi.ingsw.eriantys.server.exceptions.NoConnectionException;
 
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.net.Socket;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This class represents a single client-server connection.
- * It exposes methods which allow to read from and write to the connection's I/O streams.
+ * It dispatches the messages received from the client and exposes methods to write messages to the client:
+ * written messages are encoded right away and put into a bounded {@link OutboundQueue}, which is drained
+ * by the transport provided by the subclasses, so that writers never block on a slow client.
+ * @see SocketClientConnection
+ * @see ChannelClientConnection
  */
-public class ClientConnection {
-	private final Server server;
-	private final Socket socketToClient;
-	private final ObjectOutputStream out;
-	private final ObjectInputStream in;
-	private boolean running;
-	private boolean joinedLobby;
-	private Game game;
+public abstract class ClientConnection {
+	protected final Server server;
+	protected final OutboundQueue outbound;
+	private final AtomicBoolean closed;
+	private volatile MessageCodec codec;
+	private volatile boolean running;
+	private volatile boolean joinedLobby;
+	private volatile Game game;
+	private volatile long lastHeardFrom;
 
 	/**
-	 * Constructs a new instance of {@link ClientConnection} with the specified parameters.
+	 * Initializes the state shared by every kind of connection.
 	 * @param server the game server
-	 * @param socketToClient the socket between the server and this connection's client
-	 * @throws IOException if an error occurs when retrieving the input or output stream
 	 */
-	public ClientConnection(Server server, Socket socketToClient) throws IOException {
+	protected ClientConnection(Server server) {
 		this.server = server;
-		this.socketToClient = socketToClient;
-		this.socketToClient.setSoTimeout(10000);
-		this.out = new ObjectOutputStream(socketToClient.getOutputStream());
-		this.in = new ObjectInputStream(socketToClient.getInputStream());
+		this.codec = MessageCodecs.JAVA;
+		ServerSettings settings = server.getSettings();
+		this.outbound = new OutboundQueue(settings.getQueueCapacity(), settings.getOverflowPolicy(), server.getMetrics());
+		this.closed = new AtomicBoolean(false);
 		this.running = true;
 		this.joinedLobby = false;
 		this.game = null;
+		this.lastHeardFrom = System.nanoTime();
 	}
 
 	/**
 	 * Sets the {@code running} member variable to the specified value.
 	 * @param running the desired value
 	 */
-	public synchronized void setRunning(boolean running) {
+	public void setRunning(boolean running) {
 		this.running = running;
 	}
 
+	/**
+	 * A getter to know if the connection is still being served.
+	 * @return {@code true} if and only if the connection has not been shut down
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
 	/**
 	 * A getter for the game which {@code this} refers to.
 	 * @return the game which the connection refers to (if there is one), or {@code null} otherwise.
@@ -88,74 +105,164 @@ public class ClientConnection {
 	}
 
 	/**
-	 * Continuously checks for new messages being sent by the client through the connection socket's input stream and
-	 * handles them according to the game phase, disconnecting the client if an I/O error occurs
-	 * or if the client is unresponsive to ping messages.
-	 */
-	public void read() {
-		try (socketToClient) {
-			while (running) { // TODO: try {} catch(NoConnectionException e) {}
-				Message message = (Message) in.readObject();
-				if (message instanceof Reconnect reconnect) {
-					String sender = reconnect.getSender();
-					int gameId = reconnect.getGameId();
-					String passcode = reconnect.getPasscode();
-					server.reconnect(sender, gameId, passcode, this);
-				} else if (message instanceof Handshake) {
-					server.connect(message.getSender(), this);
-				} else if (message instanceof ConnectionMessage connectionMessage) {
-					if (game != null && !(message instanceof LeaveLobby)) {
-						Message response = new Refused("Already participating in a game");
-						write(response);
-					} else {
-						server.handleMessage(connectionMessage);
-					}
-				} else if (message instanceof GameMessage gameMessage) {
-					if (game == null) {
-						Message response = new Refused("Not in a lobby yet");
-						write(response);
-					} else {
-						game.handleMessage(gameMessage);
-					}
-				} else if (message instanceof HelpRequest helpRequest) {
-					if (game == null) {
-						server.sendHelp(helpRequest);
-					} else {
-						game.sendHelp(helpRequest);
-					}
-				}
+	 * A getter for the codec used to encode the messages written to the client.
+	 * @return the codec of the connection
+	 */
+	public MessageCodec getCodec() {
+		return codec;
+	}
+
+	/**
+	 * Sets the codec used to encode the messages written from now on.
+	 * Incoming frames are decoded according to the codec which produced them, regardless of this setting.
+	 * @param codec the codec negotiated with the client
+	 */
+	public void setCodec(MessageCodec codec) {
+		this.codec = codec;
+	}
+
+	/**
+	 * A getter for the instant in which the client has been heard from for the last time.
+	 * @return the {@link System#nanoTime()} value of the last time some data has been received from the client
+	 */
+	public long getLastHeardFrom() {
+		return lastHeardFrom;
+	}
+
+	/**
+	 * Records that some data has just been received from the client.
+	 */
+	protected void touch() {
+		lastHeardFrom = System.nanoTime();
+	}
+
+	/**
+	 * Hands a message received from the client over to the {@link Mailbox} in charge of it, without blocking the reader:
+	 * messages addressed to the game of the client run within the mailbox of that game,
+	 * while all the other messages run within the lobby mailbox of the server.
+	 * Quick-play requests are queued right away, since the matchmaker collects them without locking,
+	 * and ping replies are not dispatched at all, since receiving them has already marked the client as alive.
+	 * @param message the received message
+	 */
+	protected void handle(Message message) {
+		if (message instanceof Ping)
+			return;
+		if (message instanceof QuickPlay quickPlay) {
+			server.quickPlay(quickPlay, this);
+			return;
+		}
+		Game target = game;
+		boolean inGame = message instanceof GameMessage || message instanceof BoardStatusRequest || message instanceof HelpRequest;
+		Executor lane = inGame && target != null ? target.getMailbox() : server.getLobby();
+		lane.execute(() -> {
+			long start = System.nanoTime();
+			try {
+				process(message, target);
+			} catch (NoConnectionException e) {
+				server.disconnect(this);
+			}
+			server.getMetrics().recordHandling(System.nanoTime() - start);
+		});
+	}
+
+	/**
+	 * Handles a message received from the client according to the game phase.
+	 * @param message the received message
+	 * @param target the game of the client when the message was received, whose {@link Mailbox} runs this method
+	 * if the message is addressed to it
+	 * @throws NoConnectionException if no connection can be retrieved for the sender
+	 */
+	private void process(Message message, Game target) throws NoConnectionException {
+		if (message instanceof Reconnect reconnect) {
+			String sender = reconnect.getSender();
+			int gameId = reconnect.getGameId();
+			String passcode = reconnect.getPasscode();
+			server.reconnect(sender, gameId, passcode, this);
+		} else if (message instanceof Handshake handshake) {
+			server.connect(handshake.getSender(), handshake.getCodecs(), this);
+		} else if (message instanceof ConnectionMessage connectionMessage) {
+			if (game != null && !(message instanceof LeaveLobby)) {
+				Message response = new Refused("Already participating in a game");
+				write(response);
+			} else {
+				server.handleMessage(connectionMessage);
+			}
+		} else if (message instanceof GameMessage gameMessage) {
+			if (target == null || game != target) {
+				Message response = new Refused("Not in a lobby yet");
+				write(response);
+			} else {
+				target.handleMessage(gameMessage);
+			}
+		} else if (message instanceof BoardStatusRequest) {
+			if (target != null && game == target)
+				target.sendBoardStatus(message.getSender());
+		} else if (message instanceof HelpRequest helpRequest) {
+			if (target == null) {
+				server.sendHelp(helpRequest);
+			} else {
+				target.sendHelp(helpRequest);
 			}
-		} catch (IOException | NoConnectionException | ClassNotFoundException e) {
-			server.disconnect(this);
 		}
 	}
 
 	/**
-	 * Writes the specified {@link Message} to the connection socket's output stream,
-	 * disconnecting the client if an I/O error occurs.
+	 * Encodes the specified {@link Message} and queues it to be sent to the client, disconnecting the client
+	 * if the message cannot be encoded or the client is not keeping up with its messages.
+	 * This method does not block.
 	 * @param message the message to be written and sent to the client
 	 */
-	public synchronized void write(Message message) {
+	public void write(Message message) {
+		if (!isRunning()) return;
+		byte[] frame;
 		try {
-			out.reset();
-			out.writeObject(message);
+			frame = codec.encode(message);
 		} catch (IOException e) {
 			server.disconnect(this);
+			return;
+		}
+		OutboundQueue.FrameKind kind = message instanceof BoardUpdate ? OutboundQueue.FrameKind.SNAPSHOT
+				: message instanceof BoardDelta ? OutboundQueue.FrameKind.DELTA : OutboundQueue.FrameKind.MESSAGE;
+		if (outbound.offer(frame, kind)) {
+			onFrameQueued();
+		} else {
+			server.getMetrics().recordOverflow();
+			server.disconnect(this);
 		}
 	}
 
 	/**
-	 * Sends a {@link Ping} message to the client approximately every 2.5 seconds in order to
-	 * ensure that the connection is working, disconnecting the client if an I/O error occurs.
+	 * Queues an already encoded frame to be sent to the client, unless other frames are already pending.
+	 * This is meant for frames (such as pings) which are redundant while data is flowing.
+	 * The frame must not be modified afterwards, as it may be shared among connections.
+	 * @param frame the frame to send, header included
 	 */
-	public void ping() {
-		try {
-			while (running) {
-				write(new Ping());
-				Thread.sleep(2500);
-			}
-		} catch (InterruptedException e) {
-			server.disconnect(this);
+	public void writeFrame(byte[] frame) {
+		if (!isRunning()) return;
+		outbound.offerIfEmpty(frame);
+		onFrameQueued();
+	}
+
+	/**
+	 * Notifies the transport that a frame has been queued.
+	 */
+	protected abstract void onFrameQueued();
+
+	/**
+	 * Stops serving the connection and closes the underlying transport.
+	 * Closing an already closed connection has no effect.
+	 */
+	public void close() {
+		if (closed.compareAndSet(false, true)) {
+			running = false;
+			outbound.close();
+			closeTransport();
+			server.getMetrics().connectionClosed();
 		}
 	}
+
+	/**
+	 * Releases the resources of the underlying transport.
+	 */
+	protected abstract void closeTransport();
 }
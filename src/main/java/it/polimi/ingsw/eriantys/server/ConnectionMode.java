@@ -0,0 +1,25 @@
+package it.polimi.ingsw.eriantys.server;
+
+/**
+ * Enumeration of the strategies the {@link Server} can use to serve client connections.
+ */
+public enum ConnectionMode {
+	/**
+	 * Each connection is served by its own blocking reader thread.
+	 */
+	BLOCKING,
+	/**
+	 * Connections are multiplexed onto a fixed number of non-blocking selector loops.
+	 */
+	SELECTOR;
+
+	/**
+	 * Looks up a connection mode from its (case-insensitive) name.
+	 * @param name the name of the mode
+	 * @return the matching {@link ConnectionMode}
+	 * @throws IllegalArgumentException if no mode matches the name
+	 */
+	public static ConnectionMode parse(String name) {
+		return ConnectionMode.valueOf(name.trim().toUpperCase());
+	}
+}
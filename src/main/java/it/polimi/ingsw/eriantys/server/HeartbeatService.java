@@ -0,0 +1,135 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.Ping;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodecs;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class keeps every live {@link ClientConnection} under watch from a few shared threads.
+ * Connections are spread over the slots of one or more timer wheels: each tick of a wheel pings the batch of
+ * connections in the current slot, so that every client is pinged once per {@link #PING_INTERVAL}, and disconnects
+ * those which have not been heard from within {@link #CLIENT_TIMEOUT}.
+ * All the pings encoded with the same codec share a single frame, which is encoded once when the service is created.
+ */
+public class HeartbeatService {
+	/**
+	 * The interval (in milliseconds) between two consecutive pings sent to the same client.
+	 */
+	public static final long PING_INTERVAL = 2500;
+
+	/**
+	 * The time (in milliseconds) after which a client which has not been heard from is disconnected.
+	 */
+	public static final long CLIENT_TIMEOUT = 10000;
+
+	private static final long TICK = 250;
+	private static final int SLOTS = (int) (PING_INTERVAL / TICK);
+
+	private final Server server;
+	private final byte[][] pingFrames;
+	private final Wheel[] wheels;
+	private final AtomicInteger nextWheel;
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * Constructs a heartbeat service driving the specified number of timer wheels, each on its own thread.
+	 * @param server the game server
+	 * @param threads the number of timer wheels
+	 * @throws IOException if the ping frames cannot be encoded
+	 */
+	public HeartbeatService(Server server, int threads) throws IOException {
+		this.server = server;
+		this.pingFrames = new byte[Byte.MAX_VALUE + 1][];
+		for (MessageCodec codec : List.of(MessageCodecs.JAVA, MessageCodecs.BINARY))
+			pingFrames[codec.getId()] = codec.encode(new Ping());
+		this.wheels = new Wheel[threads];
+		for (int i = 0; i < threads; i++)
+			wheels[i] = new Wheel();
+		this.nextWheel = new AtomicInteger();
+	}
+
+	/**
+	 * Starts ticking the timer wheels. Starting an already started service has no effect.
+	 */
+	public synchronized void start() {
+		if (scheduler != null) return;
+		AtomicInteger threadIndex = new AtomicInteger();
+		scheduler = Executors.newScheduledThreadPool(wheels.length, r -> {
+			Thread thread = new Thread(r, "heartbeat-" + threadIndex.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (Wheel wheel : wheels)
+			scheduler.scheduleAtFixedRate(wheel, TICK, TICK, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops ticking the timer wheels, if they have been started.
+	 */
+	public synchronized void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	/**
+	 * Puts a connection under watch. The connection is dropped by the service as soon as it stops running.
+	 * @param connection the connection to watch
+	 */
+	public void register(ClientConnection connection) {
+		wheels[Math.floorMod(nextWheel.getAndIncrement(), wheels.length)].add(connection);
+	}
+
+	/**
+	 * A timer wheel whose slots are visited one per tick by a single thread.
+	 */
+	private class Wheel implements Runnable {
+		private final List<Set<ClientConnection>> slots;
+		private final AtomicInteger nextSlot;
+		private int cursor;
+
+		Wheel() {
+			this.slots = new ArrayList<>(SLOTS);
+			for (int i = 0; i < SLOTS; i++)
+				slots.add(ConcurrentHashMap.newKeySet());
+			this.nextSlot = new AtomicInteger();
+			this.cursor = 0;
+		}
+
+		void add(ClientConnection connection) {
+			slots.get(Math.floorMod(nextSlot.getAndIncrement(), SLOTS)).add(connection);
+		}
+
+		@Override
+		public void run() {
+			long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(CLIENT_TIMEOUT);
+			Iterator<ClientConnection> iterator = slots.get(cursor).iterator();
+			cursor = (cursor + 1) % SLOTS;
+			while (iterator.hasNext()) {
+				ClientConnection connection = iterator.next();
+				try {
+					if (!connection.isRunning()) {
+						iterator.remove();
+					} else if (connection.getLastHeardFrom() - deadline < 0) {
+						iterator.remove();
+						server.disconnect(connection);
+					} else {
+						connection.writeFrame(pingFrames[connection.getCodec().getId()]);
+					}
+				} catch (RuntimeException e) {
+					System.out.println("This is a Throwable#printStackTrace() method call.");
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+}
@@ -1,8 +1,6 @@
 package it.polimi.ingsw.eriantys.server;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import it.polimi.ingsw.eriantys.resources.ResourceRegistry;
 
 /**
  * An enumeration to enclose the {@code /help} command responses within a CLI client.
@@ -23,19 +21,9 @@ public enum HelpContent {
 	/**
 	 * A getter for the text coded for an enumeration literal.
 	 * @return the content of the {@code *.txt} resource file associated with the literal
+	 * @see ResourceRegistry
 	 */
 	public String getContent() {
-		String out = null;
-
-		try (InputStream in = HelpContent.class.getClassLoader().getResourceAsStream(file)) {
-			if (in == null)
-				throw new RuntimeException();	// TODO: Is this necessary?
-			out = new String(in.readAllBytes(), StandardCharsets.UTF_8);
-		} catch (IOException e) {
-			System.out.println("This is a Throwable#printStackTrace() method call.");
-			e.printStackTrace();
-		}
-
-		return out;
+		return ResourceRegistry.get().getHelp(file);
 	}
 }
@@ -0,0 +1,106 @@
+package it.polimi.ingsw.eriantys.server;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * A selector loop serving many {@link ChannelClientConnection} objects on a single thread.
+ */
+public class IoLoop extends Thread {
+	private final Server server;
+	private final Selector selector;
+	private final Queue<SocketChannel> pendingChannels;
+	private final Consumer<SelectionKey> keyHandler;
+	private volatile boolean running;
+
+	/**
+	 * Constructs a new selector loop.
+	 * @param server the game server
+	 * @param index the index of the loop, used to name its thread
+	 * @throws IOException if the selector cannot be opened
+	 */
+	public IoLoop(Server server, int index) throws IOException {
+		super("io-loop-" + index);
+		this.server = server;
+		this.selector = Selector.open();
+		this.pendingChannels = new ConcurrentLinkedQueue<>();
+		this.keyHandler = this::handleKey;
+		this.running = true;
+	}
+
+	/**
+	 * A getter for the selector multiplexing the channels of this loop.
+	 * @return the selector
+	 */
+	Selector getSelector() {
+		return selector;
+	}
+
+	/**
+	 * Hands a newly accepted channel over to this loop. The channel is registered by the loop thread.
+	 * @param channel the accepted channel
+	 */
+	public void register(SocketChannel channel) {
+		pendingChannels.add(channel);
+		selector.wakeup();
+	}
+
+	/**
+	 * Stops the loop, closing all of its connections.
+	 */
+	public void shutdown() {
+		running = false;
+		selector.wakeup();
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (running) {
+				selector.select(keyHandler);
+				registerPendingChannels();
+			}
+		} catch (IOException e) {
+			System.out.println("This is a Throwable#printStackTrace() method call.");
+			e.printStackTrace();
+		} finally {
+			List.copyOf(selector.keys()).forEach(key -> server.disconnect((ChannelClientConnection) key.attachment()));
+			try {
+				selector.close();
+			} catch (IOException ignored) {
+				// the selector is being discarded anyway
+			}
+		}
+	}
+
+	private void handleKey(SelectionKey key) {
+		ChannelClientConnection connection = (ChannelClientConnection) key.attachment();
+		if (key.isValid() && key.isReadable())
+			connection.onReadable();
+		if (key.isValid() && key.isWritable())
+			connection.onWritable();
+	}
+
+	private void registerPendingChannels() {
+		SocketChannel channel;
+		while ((channel = pendingChannels.poll()) != null) {
+			try {
+				server.getHeartbeat().register(new ChannelClientConnection(server, this, channel));
+				server.getMetrics().connectionOpened();
+				System.out.println("Client connected at " + channel.getRemoteAddress());
+			} catch (IOException e) {
+				try {
+					channel.close();
+				} catch (IOException ignored) {
+					// the channel is being discarded anyway
+				}
+			}
+		}
+	}
+}
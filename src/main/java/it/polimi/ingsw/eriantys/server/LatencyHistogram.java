@@ -0,0 +1,100 @@
+package it.polimi.ingsw.eriantys.server;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations, used to estimate latency percentiles without storing the single samples.
+ * Samples are recorded in microseconds into power-of-two buckets, each split into {@value #SUB_BUCKETS} linear
+ * sub-buckets, which bounds the relative error of the reported percentiles to 25%.
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = 40;
+
+	private final AtomicLongArray counts;
+
+	/**
+	 * Constructs an empty histogram.
+	 */
+	public LatencyHistogram() {
+		this.counts = new AtomicLongArray(BUCKETS * SUB_BUCKETS);
+	}
+
+	/**
+	 * Records a duration.
+	 * @param nanos the duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		counts.incrementAndGet(indexOf(Math.max(0, nanos / 1000)));
+	}
+
+	/**
+	 * Returns the recorded counts and clears the histogram, so that consecutive snapshots describe disjoint intervals.
+	 * @return the bucket counts recorded since the last call
+	 */
+	public long[] snapshotAndReset() {
+		long[] snapshot = new long[counts.length()];
+		for (int i = 0; i < snapshot.length; i++)
+			snapshot[i] = counts.getAndSet(i, 0);
+		return snapshot;
+	}
+
+	/**
+	 * Returns the recorded counts, leaving the histogram untouched.
+	 * @return the bucket counts recorded so far
+	 */
+	public long[] snapshot() {
+		long[] snapshot = new long[counts.length()];
+		for (int i = 0; i < snapshot.length; i++)
+			snapshot[i] = counts.get(i);
+		return snapshot;
+	}
+
+	/**
+	 * Computes the total number of samples in a snapshot.
+	 * @param snapshot the bucket counts returned by {@link #snapshot()} or {@link #snapshotAndReset()}
+	 * @return the number of samples
+	 */
+	public static long count(long[] snapshot) {
+		long total = 0;
+		for (long count : snapshot)
+			total += count;
+		return total;
+	}
+
+	/**
+	 * Estimates a percentile out of a snapshot.
+	 * @param snapshot the bucket counts returned by {@link #snapshot()} or {@link #snapshotAndReset()}
+	 * @param percentile the requested percentile, between 0 and 100
+	 * @return the upper bound (in microseconds) of the bucket containing the percentile, or {@code 0} if the snapshot is empty
+	 */
+	public static long percentile(long[] snapshot, double percentile) {
+		long total = count(snapshot);
+		if (total == 0) return 0;
+		long threshold = Math.max(1, (long) Math.ceil(total * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < snapshot.length; i++) {
+			seen += snapshot[i];
+			if (seen >= threshold) return upperBoundOf(i);
+		}
+		return upperBoundOf(snapshot.length - 1);
+	}
+
+	private static int indexOf(long micros) {
+		if (micros < SUB_BUCKETS) return (int) micros;
+		int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		int bucket = exponent - SUB_BUCKET_BITS + 1;
+		return Math.min(bucket * SUB_BUCKETS + subBucket, BUCKETS * SUB_BUCKETS - 1);
+	}
+
+	private static long upperBoundOf(int index) {
+		if (index < SUB_BUCKETS) return index;
+		int bucket = index / SUB_BUCKETS;
+		int subBucket = index % SUB_BUCKETS;
+		int exponent = bucket + SUB_BUCKET_BITS - 1;
+		long base = 1L << exponent;
+		return base + (subBucket + 1) * (base >>> SUB_BUCKET_BITS) - 1;
+	}
+}
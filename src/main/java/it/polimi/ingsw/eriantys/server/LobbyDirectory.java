@@ -0,0 +1,233 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.controller.Game;
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.messages.server.AvailableLobbies;
+import it.polimi.ingsw.eriantys.messages.server.LobbyDirectoryUpdate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class keeps an index of the lobbies which can be joined, that is the games which have not started yet
+ * and have at least one free seat, so that lobby requests do not need to scan every game of the {@link Server}.
+ * Lobbies are split into a bucket for each combination of lobby size and game mode, each of them sorted by game identifier,
+ * so that a page of lobbies matching a filter is read by merging the matching buckets from a cursor onwards.
+ * Clients can subscribe to the changes of the lobbies matching a filter, which are pushed to them as
+ * {@link LobbyDirectoryUpdate} messages by the thread which made the change.
+ * The changes of a game are expected to come from its {@link Mailbox}, so that they are indexed and pushed in order.
+ */
+public class LobbyDirectory {
+	private final int minLobbySize;
+	private final int maxLobbySize;
+	private final Bucket[] buckets;
+	private final Map<ClientConnection, Filter> subscriptions;
+	private final AtomicLong version;
+
+	/**
+	 * Constructs an empty directory of lobbies.
+	 * @param minLobbySize the minimum number of players of a game
+	 * @param maxLobbySize the maximum number of players of a game
+	 */
+	public LobbyDirectory(int minLobbySize, int maxLobbySize) {
+		this.minLobbySize = minLobbySize;
+		this.maxLobbySize = maxLobbySize;
+		this.buckets = new Bucket[(maxLobbySize - minLobbySize + 1) * 2];
+		for (int i = 0; i < buckets.length; i++)
+			buckets[i] = new Bucket();
+		this.subscriptions = new ConcurrentHashMap<>();
+		this.version = new AtomicLong(0);
+	}
+
+	/**
+	 * A filter on the lobby size and on the game mode of the lobbies.
+	 * @param lobbySize the required number of players, or {@code null} for any number of players
+	 * @param expertMode the required game mode, or {@code null} for any game mode
+	 */
+	public record Filter(Integer lobbySize, Boolean expertMode) {
+		/**
+		 * A filter matching every lobby.
+		 */
+		public static final Filter ANY = new Filter(null, null);
+
+		/**
+		 * Returns {@code true} if and only if the specified lobby matches this filter.
+		 * @param lobby the lobby
+		 * @return {@code true} if and only if the lobby matches this filter
+		 */
+		public boolean matches(GameInfo lobby) {
+			return (lobbySize == null || lobbySize == lobby.getLobbySize()) &&
+					(expertMode == null || expertMode == lobby.isExpertMode());
+		}
+	}
+
+	private static class Bucket {
+		private final ConcurrentSkipListMap<Integer, Game> lobbies = new ConcurrentSkipListMap<>();
+		private final AtomicInteger size = new AtomicInteger(0);
+		private final Set<ClientConnection> subscribers = ConcurrentHashMap.newKeySet();
+	}
+
+	/**
+	 * Updates the entry of a game after its players have changed or it has started,
+	 * pushing the change to the clients subscribed to lobbies like it.
+	 * @param game the game
+	 */
+	public void update(Game game) {
+		GameInfo info = game.getInfo();
+		Bucket bucket = bucketOf(info);
+		if (bucket == null) return;
+
+		boolean joinable = !game.isStarted() && info.getCurrentPlayers() > 0 && info.getCurrentPlayers() < info.getLobbySize();
+		LobbyDirectoryUpdate.Change change;
+		if (joinable) {
+			change = bucket.lobbies.put(info.getGameId(), game) == null ?
+					LobbyDirectoryUpdate.Change.ADDED : LobbyDirectoryUpdate.Change.UPDATED;
+			if (change == LobbyDirectoryUpdate.Change.ADDED)
+				bucket.size.incrementAndGet();
+		} else if (bucket.lobbies.remove(info.getGameId(), game)) {
+			bucket.size.decrementAndGet();
+			change = LobbyDirectoryUpdate.Change.REMOVED;
+		} else
+			return;
+		publish(bucket, change, info);
+	}
+
+	/**
+	 * Removes a game from the directory, pushing the change to the clients subscribed to lobbies like it.
+	 * Nothing happens if the game is not listed.
+	 * @param game the game
+	 */
+	public void remove(Game game) {
+		GameInfo info = game.getInfo();
+		Bucket bucket = bucketOf(info);
+		if (bucket != null && bucket.lobbies.remove(info.getGameId(), game)) {
+			bucket.size.decrementAndGet();
+			publish(bucket, LobbyDirectoryUpdate.Change.REMOVED, info);
+		}
+	}
+
+	private void publish(Bucket bucket, LobbyDirectoryUpdate.Change change, GameInfo info) {
+		// the version is taken after the change, so that every page read at an earlier version is followed by it
+		long changeVersion = version.incrementAndGet();
+		if (bucket.subscribers.isEmpty()) return;
+		LobbyDirectoryUpdate update = new LobbyDirectoryUpdate(change, copy(info), changeVersion);
+		for (ClientConnection subscriber : bucket.subscribers)
+			subscriber.write(update);
+	}
+
+	/**
+	 * Reads a page of the lobbies matching the specified filter, sorted by game identifier.
+	 * The page is not a consistent snapshot of the directory: the changes made while it is read may or may not be reflected,
+	 * but all of them have a later version than the one of the page.
+	 * @param filter the filter on the lobbies
+	 * @param after the identifier of the last game of the previous page, or a negative number for the first page
+	 * @param limit the maximum number of lobbies in the page
+	 * @return the page of lobbies
+	 */
+	public AvailableLobbies query(Filter filter, int after, int limit) {
+		long pageVersion = version.get();
+		List<Bucket> matching = matchingBuckets(filter);
+
+		int total = 0;
+		PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+		for (Bucket bucket : matching) {
+			total += bucket.size.get();
+			Cursor cursor = new Cursor(bucket.lobbies.tailMap(after, false).values().iterator());
+			if (cursor.advance())
+				cursors.add(cursor);
+		}
+
+		List<GameInfo> lobbies = new ArrayList<>(Math.min(limit, total));
+		while (lobbies.size() < limit && !cursors.isEmpty()) {
+			Cursor cursor = cursors.poll();
+			lobbies.add(copy(cursor.current.getInfo()));
+			if (cursor.advance())
+				cursors.add(cursor);
+		}
+
+		Integer next = !cursors.isEmpty() && !lobbies.isEmpty() ? lobbies.get(lobbies.size() - 1).getGameId() : null;
+		return new AvailableLobbies(lobbies, total, next, pageVersion);
+	}
+
+	private static class Cursor implements Comparable<Cursor> {
+		private final Iterator<Game> iterator;
+		private Game current;
+
+		private Cursor(Iterator<Game> iterator) {
+			this.iterator = iterator;
+		}
+
+		private boolean advance() {
+			current = iterator.hasNext() ? iterator.next() : null;
+			return current != null;
+		}
+
+		@Override
+		public int compareTo(Cursor other) {
+			return Integer.compare(current.getInfo().getGameId(), other.current.getInfo().getGameId());
+		}
+	}
+
+	/**
+	 * Subscribes a client to the changes of the lobbies matching the specified filter, replacing its previous subscription.
+	 * @param connection the connection of the client
+	 * @param filter the filter on the lobbies
+	 */
+	public void subscribe(ClientConnection connection, Filter filter) {
+		unsubscribe(connection);
+		subscriptions.put(connection, filter);
+		for (Bucket bucket : matchingBuckets(filter))
+			bucket.subscribers.add(connection);
+	}
+
+	/**
+	 * Cancels the subscription of a client, if any.
+	 * @param connection the connection of the client
+	 */
+	public void unsubscribe(ClientConnection connection) {
+		Filter filter = subscriptions.remove(connection);
+		if (filter != null)
+			for (Bucket bucket : matchingBuckets(filter))
+				bucket.subscribers.remove(connection);
+	}
+
+	/**
+	 * A getter for the number of lobbies which can be joined.
+	 * @return the number of listed lobbies
+	 */
+	public int size() {
+		int size = 0;
+		for (Bucket bucket : buckets)
+			size += bucket.size.get();
+		return size;
+	}
+
+	private Bucket bucketOf(GameInfo info) {
+		if (info.getLobbySize() < minLobbySize || info.getLobbySize() > maxLobbySize)
+			return null;
+		return buckets[(info.getLobbySize() - minLobbySize) * 2 + (info.isExpertMode() ? 1 : 0)];
+	}
+
+	private List<Bucket> matchingBuckets(Filter filter) {
+		List<Bucket> matching = new ArrayList<>(buckets.length);
+		for (int lobbySize = minLobbySize; lobbySize <= maxLobbySize; lobbySize++)
+			for (int expert = 0; expert < 2; expert++)
+				if (filter.matches(new GameInfo(0, null, lobbySize, expert == 1)))
+					matching.add(buckets[(lobbySize - minLobbySize) * 2 + expert]);
+		return matching;
+	}
+
+	private static GameInfo copy(GameInfo info) {
+		GameInfo copy = new GameInfo(info.getGameId(), info.getCreator(), info.getLobbySize(), info.isExpertMode());
+		copy.setCurrentPlayers(info.getCurrentPlayers());
+		return copy;
+	}
+}
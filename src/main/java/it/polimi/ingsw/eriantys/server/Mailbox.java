@@ -0,0 +1,85 @@
+package it.polimi.ingsw.eriantys.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class runs the tasks submitted to it one at a time and in submission order, borrowing the threads of a shared pool.
+ * At most one thread drains a mailbox at any time, so that the state it guards has a single writer without any lock,
+ * while many mailboxes sharing the same pool make progress in parallel.
+ * A mailbox gives its thread back to the pool after {@link #BATCH_SIZE} tasks, so that a busy mailbox cannot starve the others.
+ */
+public class Mailbox implements Executor {
+	/**
+	 * The maximum number of tasks run in a row before the thread is given back to the pool.
+	 */
+	public static final int BATCH_SIZE = 32;
+
+	private final String name;
+	private final Executor workers;
+	private final Queue<Runnable> tasks;
+	private final AtomicBoolean scheduled;
+
+	/**
+	 * Constructs an empty mailbox.
+	 * @param name the name of the mailbox, which is printed if one of its tasks fails
+	 * @param workers the pool running the tasks
+	 */
+	public Mailbox(String name, Executor workers) {
+		this.name = name;
+		this.workers = workers;
+		this.tasks = new ConcurrentLinkedQueue<>();
+		this.scheduled = new AtomicBoolean(false);
+	}
+
+	/**
+	 * Queues a task, which runs after all the tasks previously submitted to this mailbox have run.
+	 * This method does not block.
+	 * @param task the task to run
+	 */
+	@Override
+	public void execute(Runnable task) {
+		tasks.add(task);
+		schedule();
+	}
+
+	/**
+	 * A getter for the number of tasks waiting to run.
+	 * @return the number of queued tasks
+	 */
+	public int size() {
+		return tasks.size();
+	}
+
+	private void schedule() {
+		if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+			try {
+				workers.execute(this::drain);
+			} catch (RejectedExecutionException e) {
+				// the pool is shutting down, and so is the server
+				scheduled.set(false);
+			}
+		}
+	}
+
+	private void drain() {
+		try {
+			Runnable task;
+			for (int i = 0; i < BATCH_SIZE && (task = tasks.poll()) != null; i++) {
+				try {
+					task.run();
+				} catch (RuntimeException e) {
+					System.out.println("Task failed in " + name);
+					System.out.println("This is a Throwable#printStackTrace() method call.");
+					e.printStackTrace();
+				}
+			}
+		} finally {
+			scheduled.set(false);
+			schedule();
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package it.polimi.ingsw.eriantys.server;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * This class groups the players looking for a quick game by number of players and game mode,
+ * handing each group over as soon as enough players are waiting for the same kind of game.
+ * Players can be queued from any thread without locking: arrivals are collected in a lock-free queue for each kind of game,
+ * and a single task drains all the pending arrivals at once within the lane of the matchmaker,
+ * so that a burst of arrivals costs one task and the waiting players are only ever touched by one thread at a time.
+ */
+public class Matchmaker {
+	/**
+	 * Receives the groups of players formed by the matchmaker.
+	 */
+	@FunctionalInterface
+	public interface MatchHandler {
+		/**
+		 * Handles a complete group of players, within the lane of the matchmaker.
+		 * @param players the players, in arrival order
+		 * @param numPlayers the number of players of the game
+		 * @param expertMode {@code true} if and only if the game is to be played in expert mode
+		 */
+		void match(List<Ticket> players, int numPlayers, boolean expertMode);
+	}
+
+	/**
+	 * A player waiting for a game.
+	 * @param username the username of the player
+	 * @param connection the connection of the player
+	 * @param since the {@link System#nanoTime()} value at which the player was queued
+	 */
+	public record Ticket(String username, ClientConnection connection, long since) {}
+
+	private final Executor lane;
+	private final int minPlayers;
+	private final int maxPlayers;
+	private final Predicate<Ticket> admission;
+	private final MatchHandler handler;
+	private final Pool[] pools;
+	private final AtomicBoolean scheduled;
+
+	/**
+	 * Constructs an empty matchmaker.
+	 * @param lane the executor running the matchmaking tasks one at a time, such as a {@link Mailbox}
+	 * @param minPlayers the minimum number of players of a game
+	 * @param maxPlayers the maximum number of players of a game
+	 * @param admission the check which every player must pass before waiting, run within the lane
+	 * @param handler the handler of the groups of players
+	 */
+	public Matchmaker(Executor lane, int minPlayers, int maxPlayers, Predicate<Ticket> admission, MatchHandler handler) {
+		this.lane = lane;
+		this.minPlayers = minPlayers;
+		this.maxPlayers = maxPlayers;
+		this.admission = admission;
+		this.handler = handler;
+		this.pools = new Pool[(maxPlayers - minPlayers + 1) * 2];
+		for (int i = 0; i < pools.length; i++)
+			pools[i] = new Pool(minPlayers + i / 2, i % 2 == 1);
+		this.scheduled = new AtomicBoolean(false);
+	}
+
+	private static class Pool {
+		private final int numPlayers;
+		private final boolean expertMode;
+		private final Queue<Ticket> arrivals = new ConcurrentLinkedQueue<>();
+		private final ArrayDeque<Ticket> waiting = new ArrayDeque<>();
+
+		private Pool(int numPlayers, boolean expertMode) {
+			this.numPlayers = numPlayers;
+			this.expertMode = expertMode;
+		}
+	}
+
+	/**
+	 * Queues a player looking for a game. This method does not block, and can be called from any thread.
+	 * @param ticket the player
+	 * @param numPlayers the number of players of the requested game
+	 * @param expertMode {@code true} if and only if the requested game is to be played in expert mode
+	 * @return {@code false} if the number of players is not valid, in which case the player is not queued
+	 */
+	public boolean enqueue(Ticket ticket, int numPlayers, boolean expertMode) {
+		if (numPlayers < minPlayers || numPlayers > maxPlayers)
+			return false;
+		pools[(numPlayers - minPlayers) * 2 + (expertMode ? 1 : 0)].arrivals.add(ticket);
+		if (scheduled.compareAndSet(false, true))
+			lane.execute(this::drain);
+		return true;
+	}
+
+	/**
+	 * Removes a waiting player. This method must be called within the lane of the matchmaker.
+	 * @param connection the connection of the player
+	 * @return {@code true} if and only if the player was waiting for a game
+	 */
+	public boolean remove(ClientConnection connection) {
+		for (Pool pool : pools)
+			for (Iterator<Ticket> iterator = pool.waiting.iterator(); iterator.hasNext(); )
+				if (iterator.next().connection() == connection) {
+					iterator.remove();
+					return true;
+				}
+		return false;
+	}
+
+	/**
+	 * A getter for the number of players waiting for a game. This method must be called within the lane of the matchmaker.
+	 * @return the number of waiting players
+	 */
+	public int size() {
+		int size = 0;
+		for (Pool pool : pools)
+			size += pool.waiting.size();
+		return size;
+	}
+
+	private void drain() {
+		// arrivals queued from now on are either drained below or schedule another drain
+		scheduled.set(false);
+		for (Pool pool : pools) {
+			Ticket ticket;
+			while ((ticket = pool.arrivals.poll()) != null)
+				if (admission.test(ticket))
+					pool.waiting.add(ticket);
+
+			pool.waiting.removeIf(t -> !t.connection().isRunning());
+			while (pool.waiting.size() >= pool.numPlayers) {
+				List<Ticket> players = new ArrayList<>(pool.numPlayers);
+				for (int i = 0; i < pool.numPlayers; i++)
+					players.add(pool.waiting.poll());
+				handler.match(players, pool.numPlayers, pool.expertMode);
+			}
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package it.polimi.ingsw.eriantys.server;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded queue of the frames waiting to be sent to a client.
+ * Any thread can enqueue frames without blocking, while the I/O layer of the connection drains them;
+ * when the queue is full, the configured {@link OverflowPolicy} decides what to drop.
+ * Only board frames are ever dropped, and only once a later {@link FrameKind#SNAPSHOT} frame is queued:
+ * a delta can never stand in for the frames before it, so the last board frame queued always reaches the client.
+ */
+public class OutboundQueue {
+	private final int capacity;
+	private final OverflowPolicy policy;
+	private final ServerMetrics metrics;
+	private final Deque<QueuedFrame> frames;
+	private final Lock lock;
+	private boolean closed;
+
+	/**
+	 * Constructs an empty queue.
+	 * @param capacity the maximum number of pending frames
+	 * @param policy the policy applied when the queue is full
+	 * @param metrics the statistics to update with the queue depth
+	 */
+	public OutboundQueue(int capacity, OverflowPolicy policy, ServerMetrics metrics) {
+		this.capacity = capacity;
+		this.policy = policy;
+		this.metrics = metrics;
+		this.frames = new ArrayDeque<>();
+		this.lock = new ReentrantLock();
+		this.closed = false;
+	}
+
+	/**
+	 * Enumeration of the roles a frame can have in the stream of board updates sent to a client.
+	 */
+	public enum FrameKind {
+		/**
+		 * A frame which is never dropped, such as any message other than a board update.
+		 */
+		MESSAGE,
+		/**
+		 * An incremental board update, which only applies to the version sent right before it:
+		 * it supersedes nothing, and is only dropped along with the frames it applies to.
+		 */
+		DELTA,
+		/**
+		 * A full board update, which supersedes every board frame queued before it.
+		 */
+		SNAPSHOT
+	}
+
+	/**
+	 * Enqueues a frame, making room according to the overflow policy if needed.
+	 * @param frame the frame to send, header included
+	 * @param kind the role of the frame in the stream of board updates
+	 * @return {@code false} if the frame could not be enqueued because the client is not keeping up, {@code true} otherwise
+	 */
+	public boolean offer(byte[] frame, FrameKind kind) {
+		lock.lock();
+		try {
+			if (closed) return true;
+			if (kind == FrameKind.SNAPSHOT && policy == OverflowPolicy.COALESCE)
+				dropSuperseded(frames.size());
+			if (frames.size() >= capacity) {
+				if (policy != OverflowPolicy.DROP_SUPERSEDED)
+					return false;
+				int superseded = kind == FrameKind.SNAPSHOT ? frames.size() : lastSnapshot();
+				if (dropSuperseded(superseded) == 0)
+					return false;
+			}
+			frames.addLast(new QueuedFrame(frame, kind));
+			metrics.recordQueueDepth(frames.size());
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Enqueues a frame only if no other frame is pending. Used for frames which are redundant while data is flowing.
+	 * @param frame the frame to send, header included
+	 */
+	public void offerIfEmpty(byte[] frame) {
+		lock.lock();
+		try {
+			if (closed || !frames.isEmpty()) return;
+			frames.addLast(new QueuedFrame(frame, FrameKind.MESSAGE));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Dequeues the oldest pending frame without waiting.
+	 * @return the oldest frame, or {@code null} if the queue is empty
+	 */
+	public QueuedFrame poll() {
+		lock.lock();
+		try {
+			return frames.pollFirst();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * A getter to know if any frame is pending.
+	 * @return {@code true} if and only if the queue is empty
+	 */
+	public boolean isEmpty() {
+		lock.lock();
+		try {
+			return frames.isEmpty();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Discards every pending frame. Frames offered afterwards are silently discarded.
+	 */
+	public void close() {
+		lock.lock();
+		try {
+			closed = true;
+			frames.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Finds the last pending {@link FrameKind#SNAPSHOT} frame, which supersedes every board frame before it.
+	 * @return the position of the last pending snapshot, or 0 if no snapshot is pending
+	 */
+	private int lastSnapshot() {
+		int position = 0;
+		int last = 0;
+		for (QueuedFrame frame : frames) {
+			if (frame.getKind() == FrameKind.SNAPSHOT) last = position;
+			position++;
+		}
+		return last;
+	}
+
+	/**
+	 * Drops the board frames among the specified number of oldest pending frames.
+	 * @param end the number of oldest pending frames which are superseded by a later snapshot
+	 * @return the number of dropped frames
+	 */
+	private int dropSuperseded(int end) {
+		int dropped = 0;
+		Iterator<QueuedFrame> iterator = frames.iterator();
+		for (int position = 0; position < end && iterator.hasNext(); position++) {
+			if (iterator.next().getKind() != FrameKind.MESSAGE) {
+				iterator.remove();
+				dropped++;
+			}
+		}
+		metrics.recordDroppedFrames(dropped);
+		return dropped;
+	}
+
+	/**
+	 * A frame waiting in an {@link OutboundQueue}, along with the instant in which it has been enqueued.
+	 */
+	public static final class QueuedFrame {
+		private final byte[] bytes;
+		private final FrameKind kind;
+		private final long enqueuedAt;
+
+		private QueuedFrame(byte[] bytes, FrameKind kind) {
+			this.bytes = bytes;
+			this.kind = kind;
+			this.enqueuedAt = System.nanoTime();
+		}
+
+		/**
+		 * A getter for the frame content.
+		 * @return the frame, header included
+		 */
+		public byte[] getBytes() {
+			return bytes;
+		}
+
+		/**
+		 * A getter for the role of the frame in the stream of board updates.
+		 * @return the kind of the frame
+		 */
+		public FrameKind getKind() {
+			return kind;
+		}
+
+		/**
+		 * A getter for the instant in which the frame has been enqueued.
+		 * @return the {@link System#nanoTime()} value at enqueue time
+		 */
+		public long getEnqueuedAt() {
+			return enqueuedAt;
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.server.BoardUpdate;
+
+/**
+ * Enumeration of the ways an {@link OutboundQueue} can react when a client does not keep up with its messages.
+ */
+public enum OverflowPolicy {
+	/**
+	 * When the queue is full, the pending board frames which are superseded by a newer full {@link BoardUpdate}
+	 * are dropped to make room; the client is disconnected only if no room can be made.
+	 */
+	DROP_SUPERSEDED,
+	/**
+	 * At most one full {@link BoardUpdate} frame is kept pending, followed by the deltas which apply to it:
+	 * a newer full update replaces all of them at the tail of the queue,
+	 * and the client is disconnected if the queue is full anyway.
+	 */
+	COALESCE,
+	/**
+	 * The client is disconnected as soon as its queue is full.
+	 */
+	DISCONNECT;
+
+	/**
+	 * Looks up an overflow policy from its (case-insensitive) name, where dashes stand for underscores.
+	 * @param name the name of the policy
+	 * @return the matching {@link OverflowPolicy}
+	 * @throws IllegalArgumentException if no policy matches the name
+	 */
+	public static OverflowPolicy parse(String name) {
+		return OverflowPolicy.valueOf(name.trim().replace('-', '_').toUpperCase());
+	}
+}
@@ -0,0 +1,91 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.resources.ResourceRegistry;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class reloads the {@link ResourceRegistry} whenever a file is created or modified within the resource directory
+ * of a {@link Server}, so that the constants of new games and the help texts can be changed without restarting it.
+ * Bursts of events (such as an editor saving several files) are merged into a single reload,
+ * and a failed reload keeps the resources previously loaded.
+ */
+public class ResourceWatcher {
+	private static final long SETTLE_TIME = 200;
+
+	private final Path directory;
+	private WatchService watchService;
+	private Thread thread;
+
+	/**
+	 * Constructs a watcher of the specified directory, which is not started yet.
+	 * @param directory the directory from which resources are read, including its {@code help} subdirectory
+	 */
+	public ResourceWatcher(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Starts watching the directory from a daemon thread.
+	 * @throws IOException if the directory cannot be watched
+	 */
+	public void start() throws IOException {
+		watchService = directory.getFileSystem().newWatchService();
+		register(directory);
+		Path help = directory.resolve("help");
+		if (Files.isDirectory(help))
+			register(help);
+
+		thread = new Thread(this::watch, "resource-watcher");
+		thread.setDaemon(true);
+		thread.start();
+		System.out.println("Watching " + directory + " for resource changes");
+	}
+
+	/**
+	 * Stops watching the directory.
+	 */
+	public void stop() {
+		try {
+			if (watchService != null)
+				watchService.close();
+		} catch (IOException e) {
+			System.out.println("This is a Throwable#printStackTrace() method call.");
+			e.printStackTrace();
+		}
+	}
+
+	private void register(Path path) throws IOException {
+		path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+	}
+
+	private void watch() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				do {
+					key.pollEvents();
+					key.reset();
+				} while ((key = watchService.poll(SETTLE_TIME, TimeUnit.MILLISECONDS)) != null);
+
+				try {
+					ResourceRegistry.reload();
+					System.out.println("Resources reloaded from " + directory);
+				} catch (IOException e) {
+					System.out.println("Resources could not be reloaded, keeping the previous ones: " + e.getMessage());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ClosedWatchServiceException e) {
+			// The watcher has been stopped
+		}
+	}
+}
@@ -4,33 +4,74 @@ import it.polimi.ingsw.eriantys.controller.Game;
 import it.polimi.ingsw.eriantys.messages.ConnectionMessage;
 import it.polimi.ingsw.eriantys.messages.Message;
 import it.polimi.ingsw.eriantys.messages.client.*;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodecs;
 import it.polimi.ingsw.eriantys.messages.server.*;
+import it.polimi.ingsw.eriantys.resources.ResourceRegistry;
 import it.polimi.ingsw.eriantys.server.exceptions.NoConnectionException;
+import it.polimi.ingsw.eriantys.server.journal.GameJournal;
+import it.polimi.ingsw.eriantys.server.journal.JournalCodec;
+import it.polimi.ingsw.eriantys.server.journal.JournalEntry;
+import it.polimi.ingsw.eriantys.server.journal.JournalWriter;
 import org.apache.commons.cli.*;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.util.HashMap;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class represents the application server thread. It handles all the clients, instantiating
- * {@link ClientConnection} objects for each of them, and exposes various methods
+ * {@link ClientConnection} objects for each of them, and exposes various methods.
+ * Messages are not handled by the threads reading them: each {@link Game} handles its own messages within its
+ * {@link Mailbox}, while handshakes, reconnections and lobby requests are handled within a separate lobby {@link Mailbox},
+ * all of them sharing a pool of {@link ServerSettings#getGameWorkers()} worker threads.
  */
 public class Server extends Thread {
 	private final int port;
+	private final ServerSettings settings;
+	private final ServerMetrics metrics;
+	private final HeartbeatService heartbeat;
+	private final ExecutorService workers;
+	private final Mailbox lobby;
+	private final LobbyDirectory lobbyDirectory;
+	private final Matchmaker matchmaker;
+	private final ResourceWatcher resourceWatcher;
+	private final JournalWriter journalWriter;
 	private final ServerSocket serverSocket;
+	private final ServerSocketChannel serverChannel;
+	private final ThreadFactory connectionThreads;
+	private final ExecutorService connectionWriters;
 	private boolean running;
 	private final Map<Integer, Game> gameById;
 	private final Map<String, ClientConnection> connectionByUsername;
+	private final Map<ClientConnection, String> usernameByConnection;
 	private final Map<String, Boolean> reconnectionSettings;
-	private int nextGameId;
+	private final AtomicInteger nextGameId;
 
 	private static final int MIN_NUM_PLAYERS = 2;
 	private static final int MAX_NUM_PLAYERS = 3;
+	private static final int MAX_LOBBY_PAGE_SIZE = 100;
 
 	public static final String name = "Server";
 
@@ -42,7 +83,23 @@ public class Server extends Thread {
 		String serverAddress = "localhost";
 		int serverPort = 9133;
 		Options options = new Options();
+		ServerSettings settings = new ServerSettings();
 		options.addOption(new Option("p", "port", true, "Server port"));
+		options.addOption(new Option("m", "mode", true, "Connection handling mode (blocking/selector)"));
+		options.addOption(new Option(null, "io-loops", true, "Number of selector loops in selector mode"));
+		options.addOption(new Option(null, "virtual-threads", false, "Serve blocking connections with virtual threads"));
+		options.addOption(new Option(null, "heartbeat-threads", true, "Number of threads pinging the clients"));
+		options.addOption(new Option(null, "game-workers", true, "Number of threads running the games and the lobby"));
+		options.addOption(new Option(null, "queue-capacity", true, "Maximum number of frames queued for a client"));
+		options.addOption(new Option(null, "overflow-policy", true,
+				"Outbound queue overflow policy (drop-superseded/coalesce/disconnect)"));
+		options.addOption(new Option(null, "stats", true, "Statistics report interval in seconds"));
+		options.addOption(new Option(null, "codecs", true,
+				"Comma-separated message codecs offered to the clients, by preference (binary,java)"));
+		options.addOption(new Option(null, "resources", true,
+				"Directory overriding the game resources, reloaded when its files change"));
+		options.addOption(new Option(null, "journal", true, "Directory in which the journal of every game is kept"));
+		options.addOption(new Option(null, "idle-timeout", true, "Seconds after which a paused game ends"));
 		CommandLineParser parser = new DefaultParser();
 		try {
 			CommandLine line = parser.parse(options, args);
@@ -51,13 +108,37 @@ public class Server extends Thread {
 				if (port >= 0 && port <= 65535)
 					serverPort = port;
 			}
+			if (line.hasOption("m"))
+				settings.setConnectionMode(ConnectionMode.parse(line.getOptionValue("mode")));
+			if (line.hasOption("io-loops"))
+				settings.setIoLoops(Integer.parseInt(line.getOptionValue("io-loops")));
+			if (line.hasOption("virtual-threads"))
+				settings.setVirtualThreads(true);
+			if (line.hasOption("heartbeat-threads"))
+				settings.setHeartbeatThreads(Integer.parseInt(line.getOptionValue("heartbeat-threads")));
+			if (line.hasOption("game-workers"))
+				settings.setGameWorkers(Integer.parseInt(line.getOptionValue("game-workers")));
+			if (line.hasOption("queue-capacity"))
+				settings.setQueueCapacity(Integer.parseInt(line.getOptionValue("queue-capacity")));
+			if (line.hasOption("overflow-policy"))
+				settings.setOverflowPolicy(OverflowPolicy.parse(line.getOptionValue("overflow-policy")));
+			if (line.hasOption("stats"))
+				settings.setStatsInterval(Integer.parseInt(line.getOptionValue("stats")));
+			if (line.hasOption("codecs"))
+				settings.setCodecs(Arrays.asList(line.getOptionValue("codecs").split(",")));
+			if (line.hasOption("resources"))
+				settings.setResourceDirectory(Path.of(line.getOptionValue("resources")));
+			if (line.hasOption("journal"))
+				settings.setJournalDirectory(Path.of(line.getOptionValue("journal")));
+			if (line.hasOption("idle-timeout"))
+				settings.setIdleTimeout(Integer.parseInt(line.getOptionValue("idle-timeout")));
 		}
-		catch (ParseException e) {
+		catch (ParseException | IllegalArgumentException e) {
 			System.out.println("Parsing failed");
 			System.exit(1);
 		}
 		try {
-			Server server = new Server(serverPort);
+			Server server = new Server(serverPort, settings);
 			server.start();
 		} catch (IOException e) {
 			System.out.println("This is a Throwable#printStackTrace() method call.");
@@ -66,30 +147,265 @@ public class Server extends Thread {
 	}
 
 	/**
-	 * Constructs a {@code Server} object, starting the {@link ServerSocket}.
+	 * Constructs a {@code Server} object with the default settings, starting the {@link ServerSocket}.
 	 * @param port the port number on which the {@code Server} will run
 	 * @throws IOException if the {@link ServerSocket} could not be opened
 	 */
 	public Server(int port) throws IOException {
+		this(port, new ServerSettings());
+	}
+
+	/**
+	 * Constructs a {@code Server} object, starting either the {@link ServerSocket} or the {@link ServerSocketChannel}
+	 * depending on the configured {@link ConnectionMode}.
+	 * The game resources are loaded before opening the server socket, so that every game created afterwards shares them.
+	 * @param port the port number on which the {@code Server} will run
+	 * @param settings the server configuration
+	 * @throws IOException if the game resources could not be read, the journal directory could not be created
+	 * or the server socket could not be opened
+	 */
+	public Server(int port, ServerSettings settings) throws IOException {
 		this.port = port;
-		this.gameById = new HashMap<>();
-		this.connectionByUsername = new HashMap<>();
-		this.reconnectionSettings = new HashMap<>();
-		this.nextGameId = 0;
-		this.serverSocket = new ServerSocket(port);
+		this.settings = settings;
+		loadResources(settings.getResourceDirectory());
+		this.resourceWatcher = settings.getResourceDirectory() != null ? new ResourceWatcher(settings.getResourceDirectory()) : null;
+		this.metrics = new ServerMetrics();
+		this.journalWriter = settings.getJournalDirectory() != null ? new JournalWriter(settings.getJournalDirectory(), metrics) : null;
+		this.heartbeat = new HeartbeatService(this, settings.getHeartbeatThreads());
+		this.workers = createWorkers(settings.getGameWorkers());
+		this.lobby = new Mailbox("lobby", workers);
+		this.lobbyDirectory = new LobbyDirectory(MIN_NUM_PLAYERS, MAX_NUM_PLAYERS);
+		this.matchmaker = new Matchmaker(lobby, MIN_NUM_PLAYERS, MAX_NUM_PLAYERS, this::admitQuickPlay, this::startQuickGame);
+		this.gameById = new ConcurrentHashMap<>();
+		this.connectionByUsername = new ConcurrentHashMap<>();
+		this.usernameByConnection = new ConcurrentHashMap<>();
+		this.reconnectionSettings = new ConcurrentHashMap<>();
+		this.nextGameId = new AtomicInteger(0);
+		this.connectionThreads = createConnectionThreadFactory(settings);
+		this.connectionWriters = createConnectionWriters(settings);
+		if (journalWriter != null)
+			recoverGames();
+		if (settings.getConnectionMode() == ConnectionMode.SELECTOR) {
+			this.serverSocket = null;
+			this.serverChannel = ServerSocketChannel.open().bind(new InetSocketAddress(port));
+		} else {
+			this.serverSocket = new ServerSocket(port);
+			this.serverChannel = null;
+		}
+	}
+
+	/**
+	 * Loads the game resources, reading them from the specified directory before the classpath.
+	 * @param directory the resource directory, or {@code null} to read resources only from the classpath
+	 * @throws IOException if a resource could not be read
+	 */
+	private static void loadResources(Path directory) throws IOException {
+		long start = System.nanoTime();
+		ResourceRegistry.setDirectory(directory);
+		try {
+			if (directory != null)
+				ResourceRegistry.reload();
+			else
+				ResourceRegistry.get();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		System.out.printf("Resources loaded in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+	}
+
+	/**
+	 * Restores the games left in progress by a previous run of the server from their journals, in parallel on the
+	 * worker pool. Restored games are idle until their players reconnect through the usual {@link Reconnect} flow,
+	 * and the identifiers of new games start after the highest one found among the journals.
+	 * A journal which cannot be restored is kept as it is, and its game is skipped.
+	 * @throws IOException if the journal directory cannot be listed
+	 */
+	private void recoverGames() throws IOException {
+		long start = System.nanoTime();
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(journalWriter.getDirectory(), "game-*.log")) {
+			for (Path file : stream)
+				files.add(file);
+		}
+		// snapshots whose journal has been deleted belong to games which have ended
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(journalWriter.getDirectory(), "game-*.snap*")) {
+			for (Path file : stream)
+				if (file.toString().endsWith(".tmp") || !files.contains(file.resolveSibling(
+						file.getFileName().toString().replace(".snap", ".log"))))
+					Files.delete(file);
+		}
+
+		AtomicInteger fromSnapshots = new AtomicInteger();
+		List<CompletableFuture<Game>> recoveries = new ArrayList<>(files.size());
+		for (Path file : files)
+			recoveries.add(CompletableFuture.supplyAsync(() -> recoverGame(file, fromSnapshots), workers));
+
+		int recovered = 0;
+		int failed = 0;
+		int maxGameId = -1;
+		for (int i = 0; i < files.size(); i++) {
+			maxGameId = Math.max(maxGameId, parseGameId(files.get(i)));
+			try {
+				Game game = recoveries.get(i).join();
+				if (game == null) continue;
+				int gameId = game.getInfo().getGameId();
+				maxGameId = Math.max(maxGameId, gameId);
+				gameById.put(gameId, game);
+				for (String player : game.getPlayers())
+					reconnectionSettings.put(player, true);
+				// a game which none of its players rejoins ends like any other paused game, deleting its journal
+				game.startIdleTimeout();
+				recovered++;
+			} catch (CompletionException e) {
+				failed++;
+				System.out.println("Game journal " + files.get(i) + " could not be recovered: " + e.getCause());
+			}
+		}
+		nextGameId.set(maxGameId + 1);
+		System.out.printf("Recovered %d games (%d from snapshots) in %.1f ms (%d failed)%n",
+				recovered, fromSnapshots.get(), (System.nanoTime() - start) / 1e6, failed);
+	}
+
+	/**
+	 * Restores a game from its journal file and its latest snapshot, deleting the files if the game had already ended.
+	 * If the snapshot cannot be used, the whole journal is replayed instead.
+	 * @param file the journal file
+	 * @param fromSnapshots the number of games restored from a snapshot, which is incremented if this game is one of them
+	 * @return the restored game, or {@code null} if the game had already ended
+	 * @throws UncheckedIOException if the journal cannot be read or replayed
+	 */
+	private Game recoverGame(Path file, AtomicInteger fromSnapshots) {
+		try {
+			JournalCodec.Contents contents = JournalCodec.read(file);
+			List<JournalEntry> entries = contents.entries();
+			Path snapshotFile = GameJournal.snapshotFile(file);
+			if (entries.isEmpty() || entries.get(entries.size() - 1) instanceof JournalEntry.End) {
+				Files.delete(file);
+				Files.deleteIfExists(snapshotFile);
+				return null;
+			}
+			GameJournal journal = journalWriter.resume(file, contents);
+			if (Files.exists(snapshotFile)) {
+				try {
+					Game game = Game.recover(this, entries, JournalCodec.readSnapshot(snapshotFile), journal);
+					fromSnapshots.incrementAndGet();
+					return game;
+				} catch (IOException e) {
+					System.out.println("Snapshot " + snapshotFile + " could not be used, replaying the whole journal: " + e.getMessage());
+				}
+			}
+			return Game.recover(this, entries, null, journal);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static int parseGameId(Path file) {
+		String name = file.getFileName().toString();
+		try {
+			return Integer.parseInt(name.substring("game-".length(), name.length() - ".log".length()));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Creates the pool of worker threads which run the {@link Mailbox} of every game and of the lobby.
+	 * The pool works in FIFO order, as mailboxes are independent tasks which never wait for each other.
+	 * @param threads the number of worker threads
+	 * @return the worker pool
+	 */
+	private static ExecutorService createWorkers(int threads) {
+		return new ForkJoinPool(threads, pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("game-worker-" + thread.getPoolIndex());
+			return thread;
+		}, null, true);
+	}
+
+	/**
+	 * Chooses the factory of the threads serving {@link ConnectionMode#BLOCKING} connections.
+	 * @param settings the server configuration
+	 * @return a factory of virtual threads if they have been requested and are supported, a factory of platform threads otherwise
+	 */
+	private static ThreadFactory createConnectionThreadFactory(ServerSettings settings) {
+		if (!settings.useVirtualThreads())
+			return Thread::new;
+		return VirtualThreads.factory("connection-").orElseGet(() -> {
+			System.out.println("Virtual threads are not supported by this runtime, falling back to platform threads");
+			return Thread::new;
+		});
+	}
+
+	/**
+	 * Creates the executor which writes the queued frames of {@link ConnectionMode#BLOCKING} connections.
+	 * A connection only takes one of its threads while it has frames to write, and idle threads are reclaimed after a minute,
+	 * so that the writers grow with the number of clients being written to rather than with the number of connections.
+	 * @param settings the server configuration
+	 * @return the writer executor, running virtual threads if they have been requested and are supported
+	 */
+	private static ExecutorService createConnectionWriters(ServerSettings settings) {
+		ThreadFactory threads = settings.useVirtualThreads() ? VirtualThreads.factory("connection-writer-").orElse(null) : null;
+		if (threads == null) {
+			AtomicInteger next = new AtomicInteger();
+			threads = r -> {
+				Thread thread = new Thread(r, "connection-writer-" + next.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			};
+		}
+		return Executors.newCachedThreadPool(threads);
 	}
 
 	@Override
 	public void run() {
+		if (settings.getStatsInterval() > 0)
+			metrics.startReporting(settings.getStatsInterval());
+		heartbeat.start();
+		if (journalWriter != null)
+			journalWriter.start();
+		if (resourceWatcher != null) {
+			try {
+				resourceWatcher.start();
+			} catch (IOException e) {
+				System.out.println("This is a Throwable#printStackTrace() method call.");
+				e.printStackTrace();
+			}
+		}
+		running = true;
+		if (settings.getConnectionMode() == ConnectionMode.SELECTOR)
+			acceptChannels();
+		else
+			acceptSockets();
+		heartbeat.stop();
+		connectionWriters.shutdown();
+		workers.shutdown();
+		if (resourceWatcher != null)
+			resourceWatcher.stop();
+		if (journalWriter != null) {
+			try {
+				journalWriter.close();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		metrics.stopReporting();
+	}
+
+	/**
+	 * Accepts client sockets, serving each of them with a dedicated reader thread, which is a virtual thread
+	 * if virtual threads have been requested, while their frames are written by the shared writer executor.
+	 */
+	private void acceptSockets() {
 		try (serverSocket) {
 			System.out.println("Accepting connections on port " + port);
-			running = true;
 			while (running) {
 				Socket socketToClient = serverSocket.accept();
-				ClientConnection connection = new ClientConnection(this, socketToClient);
+				SocketClientConnection connection = new SocketClientConnection(this, socketToClient, connectionWriters);
+				metrics.connectionOpened();
 				System.out.println("Client connected at " + socketToClient.getRemoteSocketAddress());
-				new Thread(connection::read).start();
-				new Thread(connection::ping).start();
+				heartbeat.register(connection);
+				connectionThreads.newThread(connection::read).start();
 			}
 		} catch (IOException e) {
 			System.out.println("This is a Throwable#printStackTrace() method call.");
@@ -97,79 +413,157 @@ public class Server extends Thread {
 		}
 	}
 
+	/**
+	 * Accepts client channels, distributing them in a round-robin fashion among the selector loops.
+	 */
+	private void acceptChannels() {
+		IoLoop[] loops = new IoLoop[settings.getIoLoops()];
+		try (serverChannel) {
+			for (int i = 0; i < loops.length; i++) {
+				loops[i] = new IoLoop(this, i);
+				loops[i].start();
+			}
+			System.out.println("Accepting connections on port " + port + " (" + loops.length + " selector loops)");
+			int next = 0;
+			while (running) {
+				SocketChannel channel = serverChannel.accept();
+				channel.configureBlocking(false);
+				channel.socket().setTcpNoDelay(true);
+				loops[next].register(channel);
+				next = (next + 1) % loops.length;
+			}
+		} catch (IOException e) {
+			System.out.println("This is a Throwable#printStackTrace() method call.");
+			e.printStackTrace();
+		} finally {
+			for (IoLoop loop : loops)
+				if (loop != null) loop.shutdown();
+		}
+	}
+
+	/**
+	 * A getter for the server configuration.
+	 * @return the server settings
+	 */
+	public ServerSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * A getter for the service which pings the clients and disconnects the unresponsive ones.
+	 * @return the heartbeat service
+	 */
+	public HeartbeatService getHeartbeat() {
+		return heartbeat;
+	}
+
+	/**
+	 * A getter for the writer of the game journals.
+	 * @return the journal writer, or {@code null} if games are not journaled
+	 */
+	public JournalWriter getJournalWriter() {
+		return journalWriter;
+	}
+
+	/**
+	 * A getter for the runtime statistics of the server.
+	 * @return the server metrics
+	 */
+	public ServerMetrics getMetrics() {
+		return metrics;
+	}
+
 	/**
 	 * Handles a user connection by processing a {@link Handshake} communication item.
+	 * If the username is accepted, the connection switches to the preferred codec among those offered by the client.
 	 * @param username the username requested by the client
+	 * @param codecs the names of the codecs supported by the client
 	 * @param connection a reference to the client connection instance
 	 */
-	public synchronized void connect(String username, ClientConnection connection) {
+	public void connect(String username, List<String> codecs, ClientConnection connection) {
 		Message response;
-		if (connectionByUsername.containsKey(username)) {
+		MessageCodec codec = null;
+		String existingUsername;
+		if (username == null) {
+			response = new Refused("Invalid username");
+		} else if (connectionByUsername.putIfAbsent(username, connection) != null) {
 			response = new Refused("The requested username already exists");
-		} else if (connectionByUsername.containsValue(connection)) {
-			Optional<String> existingUsername = connectionByUsername.keySet().stream()
-					.filter(k -> connectionByUsername.get(k) == connection)
-					.reduce((a, b) -> a);
-			String details = existingUsername
-					.map(u -> "Client already connected with username " + u)
-					.orElse("Client already connected, but no username found");
-			response = new Refused(details);
+		} else if ((existingUsername = usernameByConnection.putIfAbsent(connection, username)) != null) {
+			connectionByUsername.remove(username, connection);
+			response = new Refused("Client already connected with username " + existingUsername);
 		} else {
-			connectionByUsername.put(username, connection);
 			reconnectionSettings.putIfAbsent(username, false);
-			response = new AcceptedUsername(username);
+			codec = MessageCodecs.negotiate(settings.getCodecs(), codecs);
+			response = new AcceptedUsername(username, codec.getName());
 		}
 		connection.write(response);
+		if (codec != null) {
+			connection.setCodec(codec);
+			// a disconnection racing with the registration may have missed it
+			if (!connection.isRunning()) disconnect(connection);
+		}
 	}
 
 	/**
 	 * Handles a user reconnection by processing a {@link Reconnect} communication item.
+	 * The credentials are checked within the {@link Mailbox} of the target game, which then resumes the player.
 	 * @param username the username which has been chosen by the client prior to its disconnection
 	 * @param gameId the identifier of the game inside which the client was playing prior to its disconnection
 	 * @param passcode the hexadecimal code which has been associated with the client by the disconnection handling infrastructure
 	 * @param connection a reference to the client connection instance
 	 */
-	public synchronized void reconnect(String username, int gameId, String passcode, ClientConnection connection) {
-		Message response;
-		if (reconnectionSettings.get(username) != null && reconnectionSettings.get(username)) {
-			if (!gameById.containsKey(gameId) || gameById.get(gameId) == null)
+	public void reconnect(String username, int gameId, String passcode, ClientConnection connection) {
+		Message response = null;
+		Game game = null;
+		if (username != null && Boolean.TRUE.equals(reconnectionSettings.get(username))) {
+			game = gameById.get(gameId);
+			if (game == null)
 				response = new RefusedReconnect("The game #" + gameId + " does not exist");
-			else {
-				Game game = gameById.get(gameId);
-				if (game.checkCredentials(username, passcode)) {
-					response = new Accepted();
-					connection.setGame(game);
-					game.reconnect(username);
-				} else
-					response = new RefusedReconnect("Incorrect credentials");
-			}
-		} else if (!connectionByUsername.containsKey(username)) {
+		} else if (!isConnected(username)) {
 			response = new RefusedReconnect("The requested username does not exist");
 		} else {
 			response = new RefusedReconnect("Unable to reconnect to game #" + gameId);
 		}
 
-		connection.write(response);
+		if (response != null) {
+			connection.write(response);
+			return;
+		}
+
+		Game target = game;
+		target.getMailbox().execute(() -> {
+			if (target.checkCredentials(username, passcode)) {
+				connection.setGame(target);
+				target.reconnect(username);
+				connection.write(new Accepted());
+			} else
+				connection.write(new RefusedReconnect("Incorrect credentials"));
+		});
 	}
 
 	/**
 	 * Handles a user disconnection, causing an update on the internal state of the class.
+	 * The game of the user, if any, is notified within its {@link Mailbox}, so that this method can be called from any thread.
 	 * @param connection a reference to the client connection instance
 	 */
-	public synchronized void disconnect(ClientConnection connection) {
-		connection.setRunning(false);
-		connectionByUsername.keySet().stream()
-				.filter(k -> connectionByUsername.get(k) == connection)
-				.toList()
-				.forEach(user -> {
-					Game game = connection.getGame();
-					connectionByUsername.remove(user);
-					if (game != null) {
-						reconnectionSettings.put(user, game.isStarted());
-						game.disconnect(user);
-						if (game.isEmpty()) gameById.remove(game.getInfo().getGameId());
-					}
-				});
+	public void disconnect(ClientConnection connection) {
+		connection.close();
+		lobbyDirectory.unsubscribe(connection);
+		String user = usernameByConnection.remove(connection);
+		if (user == null || !connectionByUsername.remove(user, connection))
+			return;
+		lobby.execute(() -> matchmaker.remove(connection));
+
+		Game game = connection.getGame();
+		if (game != null) {
+			reconnectionSettings.put(user, game.isStarted());
+			game.getMailbox().execute(() -> {
+				// the game may have ended while the task was waiting
+				if (gameById.get(game.getInfo().getGameId()) != game) return;
+				game.disconnect(user);
+				if (game.isEmpty()) removeGame(game);
+			});
+		}
 	}
 
 	/**
@@ -178,7 +572,7 @@ public class Server extends Thread {
 	 * @return {@code true} if and only if a {@link ClientConnection} exists for the target username
 	 */
 	public boolean isConnected(String username) {
-		return connectionByUsername.get(username) != null;
+		return username != null && connectionByUsername.containsKey(username);
 	}
 
 	/**
@@ -188,13 +582,40 @@ public class Server extends Thread {
 	 * @throws NoConnectionException if no connection can be retrieved for the target player
 	 */
 	public ClientConnection getConnection(String username) throws NoConnectionException {
-		ClientConnection connection = connectionByUsername.get(username);
+		ClientConnection connection = username != null ? connectionByUsername.get(username) : null;
 		if (connection == null) throw new NoConnectionException();
 		return connection;
 	}
 
+	/**
+	 * A getter for the pool of worker threads shared by the {@link Mailbox} of every game and of the lobby.
+	 * @return the game worker pool
+	 */
+	public Executor getWorkers() {
+		return workers;
+	}
+
+	/**
+	 * A getter for the {@link Mailbox} running the lobby operations of the server, such as handshakes,
+	 * reconnections and the creation of games, one at a time and apart from the games.
+	 * @return the lobby mailbox
+	 */
+	public Mailbox getLobby() {
+		return lobby;
+	}
+
+	/**
+	 * A getter for the index of the lobbies which can be joined.
+	 * @return the lobby directory
+	 */
+	public LobbyDirectory getLobbyDirectory() {
+		return lobbyDirectory;
+	}
+
 	/**
 	 * Handles a user request by processing a {@link ConnectionMessage} communication item.
+	 * This method is meant to run within the lobby {@link Mailbox}: the operations involving a game are handed over
+	 * to the {@link Mailbox} of that game.
 	 * @param message the target message to process
 	 * @throws NoConnectionException if no connection can be retrieved for the target player
 	 */
@@ -213,6 +634,8 @@ public class Server extends Thread {
 
 	/**
 	 * Handles a user request by processing a {@link LobbiesRequest} communication item.
+	 * A single page of the matching lobbies is read from the {@link LobbyDirectory}, after subscribing the client
+	 * to their changes if requested, so that no change is missed between the page and the first update.
 	 * @param message the target message to process
 	 * @throws NoConnectionException if no connection can be retrieved for the target player
 	 */
@@ -220,14 +643,21 @@ public class Server extends Thread {
 		String sender = message.getSender();
 		ClientConnection connection = getConnection(sender);
 
-		Message response = new AvailableLobbies(
-				gameById.values().stream().filter(g -> !g.isStarted()).map(Game::getInfo).toList());
+		LobbyDirectory.Filter filter = new LobbyDirectory.Filter(message.getLobbySize(), message.getExpertMode());
+		if (message.isSubscribe() && !connection.hasJoinedLobby())
+			lobbyDirectory.subscribe(connection, filter);
+		else
+			lobbyDirectory.unsubscribe(connection);
+
+		int limit = message.getLimit() > 0 ? Math.min(message.getLimit(), MAX_LOBBY_PAGE_SIZE) : LobbiesRequest.DEFAULT_PAGE_SIZE;
+		Message response = lobbyDirectory.query(filter, message.getAfter(), limit);
 		System.out.println("Sending lobby list...");
 		connection.write(response);
 	}
 
 	/**
 	 * Handles a user request by processing a {@link JoinLobby} communication item.
+	 * The player is added within the {@link Mailbox} of the target game, where the game is also started once full.
 	 * @param message the target message to process
 	 * @throws NoConnectionException if no connection can be retrieved for the target player
 	 */
@@ -236,7 +666,7 @@ public class Server extends Thread {
 		ClientConnection connection = getConnection(sender);
 
 		Integer gameId = message.getGameId();
-		Game target = gameById.get(gameId);
+		Game target = gameId != null ? gameById.get(gameId) : null;
 
 		if (connection.hasJoinedLobby()) {
 			System.out.println("Already joined a lobby");
@@ -245,27 +675,43 @@ public class Server extends Thread {
 			System.out.printf("Unavailable game: #%d%n", gameId);
 			connection.write(new Refused("Unavailable game: #" + gameId));
 		} else {
-			String passcode = target.addPlayer(sender);
-			if (passcode == null) {
-				System.out.printf("Already participating in game: #%d%n", gameId);
-				connection.write(new Refused("Already participating in game: #" + gameId));
-			} else {
-				System.out.printf("Joined game: #%d%n", gameId);
-				connection.setGame(target);
-				connection.write(new AcceptedJoinLobby(gameId, passcode));
-				connection.setJoinedLobby(true);
-				reconnectionSettings.put(sender, true);
-				target.notifyLobbyChange();
-				if (target.meetsStartupCondition()) {
-					target.setup();
-					target.promptSelection();
-				}
+			// reserved right away, so that further lobby requests of the same client are refused
+			connection.setJoinedLobby(true);
+			lobbyDirectory.unsubscribe(connection);
+			target.getMailbox().execute(() -> joinLobby(target, sender, connection));
+		}
+	}
+
+	private void joinLobby(Game target, String sender, ClientConnection connection) {
+		int gameId = target.getInfo().getGameId();
+		if (target.isStarted() || gameById.get(gameId) != target) {
+			System.out.printf("Unavailable game: #%d%n", gameId);
+			connection.setJoinedLobby(false);
+			connection.write(new Refused("Unavailable game: #" + gameId));
+			return;
+		}
+
+		String passcode = target.addPlayer(sender);
+		if (passcode == null) {
+			System.out.printf("Already participating in game: #%d%n", gameId);
+			connection.setJoinedLobby(false);
+			connection.write(new Refused("Already participating in game: #" + gameId));
+		} else {
+			System.out.printf("Joined game: #%d%n", gameId);
+			connection.setGame(target);
+			connection.write(new AcceptedJoinLobby(gameId, passcode));
+			reconnectionSettings.put(sender, true);
+			target.notifyLobbyChange();
+			if (target.meetsStartupCondition()) {
+				target.setup();
+				target.promptSelection();
 			}
 		}
 	}
 
 	/**
 	 * Handles a user request by processing a {@link LeaveLobby} communication item.
+	 * The player is removed within the {@link Mailbox} of the target game.
 	 * @param message the target message to process
 	 * @throws NoConnectionException if no connection can be retrieved for the target player
 	 */
@@ -274,12 +720,26 @@ public class Server extends Thread {
 		ClientConnection connection = getConnection(sender);
 
 		Integer gameId = message.getGameId();
-		Game target = gameById.get(gameId);
+		Game target = gameId != null ? gameById.get(gameId) : null;
 
-		if (!connection.hasJoinedLobby()) {
+		if (matchmaker.remove(connection)) {
+			System.out.println("Left the quick-play queue");
+			connection.setJoinedLobby(false);
+			connection.write(new AcceptedLeaveLobby());
+		} else if (!connection.hasJoinedLobby()) {
 			System.out.println("Not part of a lobby");
 			connection.write(new Refused("Not part of a lobby"));
-		} else if (target == null || target.isStarted()) {
+		} else if (target == null) {
+			System.out.printf("Cannot leave game: #%d%n", gameId);
+			connection.write(new Refused("Cannot leave game: #" + gameId));
+		} else {
+			target.getMailbox().execute(() -> leaveLobby(target, sender, connection));
+		}
+	}
+
+	private void leaveLobby(Game target, String sender, ClientConnection connection) {
+		int gameId = target.getInfo().getGameId();
+		if (target.isStarted()) {
 			System.out.printf("Cannot leave game: #%d%n", gameId);
 			connection.write(new Refused("Cannot leave game: #" + gameId));
 		} else if (!target.removePlayer(sender)) {
@@ -293,12 +753,13 @@ public class Server extends Thread {
 			reconnectionSettings.put(sender, false);
 			target.notifyLobbyChange();
 			if (target.isEmpty())
-				gameById.remove(gameId);
+				removeGame(target);
 		}
 	}
 
 	/**
 	 * Handles a user request by processing a {@link LobbyCreation} communication item.
+	 * The game is registered right away, while its creator is added within the {@link Mailbox} of the new game.
 	 * @param message the target message to process
 	 * @throws NoConnectionException if no connection can be retrieved for the target player
 	 */
@@ -313,23 +774,95 @@ public class Server extends Thread {
 			System.out.println("Already joined a lobby");
 			connection.write(new Refused("Already joined a lobby"));
 		} else if (numPlayers < MIN_NUM_PLAYERS || numPlayers > MAX_NUM_PLAYERS) {
-			System.out.printf("Invalid number of players: %d%n", numPlayers);
 			connection.write(new Refused("Invalid number of players: " + numPlayers));
 		} else {
-			String username = message.getSender();
-			Game game = new Game(this, nextGameId, username, numPlayers, expertMode);
-			String passcode = game.addPlayer(username);
-			gameById.put(nextGameId, game);
-			System.out.printf("Game created successfully: #%d%n", nextGameId);
-			connection.setGame(game);
-			connection.write(new AcceptedJoinLobby(nextGameId, passcode));
+			int gameId = nextGameId.getAndIncrement();
+			Game game = new Game(this, gameId, sender, numPlayers, expertMode);
 			connection.setJoinedLobby(true);
-			reconnectionSettings.put(sender, true);
-			game.notifyLobbyChange();
-			nextGameId++;
+			lobbyDirectory.unsubscribe(connection);
+			gameById.put(gameId, game);
+			game.getMailbox().execute(() -> {
+				String passcode = game.addPlayer(sender);
+				System.out.printf("Game created successfully: #%d%n", gameId);
+				connection.setGame(game);
+				connection.write(new AcceptedJoinLobby(gameId, passcode));
+				reconnectionSettings.put(sender, true);
+				game.notifyLobbyChange();
+			});
+		}
+	}
+
+	/**
+	 * Handles a user request by processing a {@link QuickPlay} communication item.
+	 * The player is queued from the calling thread without waiting for the lobby {@link Mailbox},
+	 * which then checks the request and groups the player with the other ones looking for the same kind of game.
+	 * @param message the target message to process
+	 * @param connection a reference to the client connection instance
+	 */
+	public void quickPlay(QuickPlay message, ClientConnection connection) {
+		int numPlayers = message.getNumPlayers();
+		Matchmaker.Ticket ticket = new Matchmaker.Ticket(message.getSender(), connection, System.nanoTime());
+		if (!matchmaker.enqueue(ticket, numPlayers, message.isExpertMode())) {
+			connection.write(new Refused("Invalid number of players: " + numPlayers));
 		}
 	}
 
+	private boolean admitQuickPlay(Matchmaker.Ticket ticket) {
+		ClientConnection connection = ticket.connection();
+		if (ticket.username() == null || connectionByUsername.get(ticket.username()) != connection)
+			return false;
+		if (connection.getGame() != null) {
+			connection.write(new Refused("Already participating in a game"));
+			return false;
+		}
+		if (connection.hasJoinedLobby()) {
+			System.out.println("Already joined a lobby");
+			connection.write(new Refused("Already joined a lobby"));
+			return false;
+		}
+		connection.setJoinedLobby(true);
+		lobbyDirectory.unsubscribe(connection);
+		return true;
+	}
+
+	/**
+	 * Creates a game for a group of players formed by the {@link Matchmaker}, adding them within the {@link Mailbox}
+	 * of the new game and starting it right away.
+	 * A player who has disconnected in the meantime is left out, in which case the game waits for other players to join.
+	 */
+	private void startQuickGame(List<Matchmaker.Ticket> players, int numPlayers, boolean expertMode) {
+		int gameId = nextGameId.getAndIncrement();
+		Game game = new Game(this, gameId, players.get(0).username(), numPlayers, expertMode);
+		gameById.put(gameId, game);
+		game.getMailbox().execute(() -> {
+			long now = System.nanoTime();
+			for (Matchmaker.Ticket ticket : players) {
+				ClientConnection connection = ticket.connection();
+				String username = ticket.username();
+				// set before checking the registration, so that a concurrent disconnection either is seen here or sees the game
+				connection.setGame(game);
+				if (connectionByUsername.get(username) != connection) {
+					connection.setGame(null);
+					continue;
+				}
+				String passcode = game.addPlayer(username);
+				connection.write(new AcceptedJoinLobby(gameId, passcode));
+				reconnectionSettings.put(username, true);
+				metrics.recordMatchmaking(now - ticket.since());
+			}
+			System.out.printf("Quick-play game created successfully: #%d%n", gameId);
+			if (game.isEmpty()) {
+				removeGame(game);
+				return;
+			}
+			game.notifyLobbyChange();
+			if (game.meetsStartupCondition()) {
+				game.setup();
+				game.promptSelection();
+			}
+		});
+	}
+
 	/**
 	 * Handles the processing of an unexpected {@link ConnectionMessage} communication item.
 	 * @param message the target message
@@ -353,24 +886,30 @@ public class Server extends Thread {
 	}
 
 	/**
-	 * Processes the server-side end of the game.
+	 * Processes the server-side end of the game. This method is meant to run within the {@link Mailbox} of the game.
 	 * @param game the identifier of the game which has been ended
 	 * @param players the list of usernames who played the game
 	 */
 	public void gameOver(Game game, List<String> players) {
 		for (String player : players) {
 			try {
-				Game playerGame = getConnection(player).getGame();
+				ClientConnection connection = getConnection(player);
+				Game playerGame = connection.getGame();
 				if (playerGame != null && playerGame.getInfo().getGameId() == game.getInfo().getGameId()) {
-					getConnection(player).setGame(null);
-					connectionByUsername.remove(player);
+					connection.setGame(null);
+					if (connectionByUsername.remove(player, connection))
+						usernameByConnection.remove(connection, player);
 				}
 			} catch (NoConnectionException e) {
 				System.out.println("This is a Throwable#printStackTrace() method call.");
 				e.printStackTrace();
-				connectionByUsername.remove(player);
 			}
 		}
+		removeGame(game);
+	}
+
+	private void removeGame(Game game) {
 		gameById.remove(game.getInfo().getGameId(), game);
+		lobbyDirectory.remove(game);
 	}
 }
@@ -0,0 +1,207 @@
+package it.polimi.ingsw.eriantys.server;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class collects the runtime statistics of a {@link Server}, such as the number of open connections,
+ * the time spent handling incoming messages and the state of the outbound queues,
+ * and can periodically report them on the standard output.
+ */
+public class ServerMetrics {
+	private final AtomicInteger openConnections;
+	private final AtomicLong handledMessages;
+	private final LatencyHistogram handlingLatency;
+	private final LatencyHistogram queueLatency;
+	private final AtomicInteger maxQueueDepth;
+	private final AtomicLong droppedFrames;
+	private final AtomicLong overflows;
+	private final LatencyHistogram matchmakingLatency;
+	private final AtomicLong journalEntries;
+	private final LatencyHistogram journalSyncLatency;
+	private final AtomicLong snapshots;
+	private final AtomicLong snapshotBytes;
+	private ScheduledExecutorService reporter;
+
+	/**
+	 * Constructs an empty set of statistics.
+	 */
+	public ServerMetrics() {
+		this.openConnections = new AtomicInteger();
+		this.handledMessages = new AtomicLong();
+		this.handlingLatency = new LatencyHistogram();
+		this.queueLatency = new LatencyHistogram();
+		this.maxQueueDepth = new AtomicInteger();
+		this.droppedFrames = new AtomicLong();
+		this.overflows = new AtomicLong();
+		this.matchmakingLatency = new LatencyHistogram();
+		this.journalEntries = new AtomicLong();
+		this.journalSyncLatency = new LatencyHistogram();
+		this.snapshots = new AtomicLong();
+		this.snapshotBytes = new AtomicLong();
+	}
+
+	/**
+	 * Records the opening of a client connection.
+	 */
+	public void connectionOpened() {
+		openConnections.incrementAndGet();
+	}
+
+	/**
+	 * Records the closing of a client connection.
+	 */
+	public void connectionClosed() {
+		openConnections.decrementAndGet();
+	}
+
+	/**
+	 * A getter for the number of currently open client connections.
+	 * @return the number of open connections
+	 */
+	public int getOpenConnections() {
+		return openConnections.get();
+	}
+
+	/**
+	 * Records the time spent handling an incoming message.
+	 * @param nanos the handling time in nanoseconds
+	 */
+	public void recordHandling(long nanos) {
+		handledMessages.incrementAndGet();
+		handlingLatency.record(nanos);
+	}
+
+	/**
+	 * Records the depth reached by an outbound queue after a frame has been enqueued.
+	 * @param depth the number of pending frames
+	 */
+	public void recordQueueDepth(int depth) {
+		if (depth > maxQueueDepth.get())
+			maxQueueDepth.accumulateAndGet(depth, Math::max);
+	}
+
+	/**
+	 * Records the time a frame has spent in an outbound queue before being written.
+	 * @param nanos the queueing time in nanoseconds
+	 */
+	public void recordQueueTime(long nanos) {
+		queueLatency.record(nanos);
+	}
+
+	/**
+	 * Records that some frames have been dropped from an outbound queue because they were superseded.
+	 * @param frames the number of dropped frames
+	 */
+	public void recordDroppedFrames(int frames) {
+		if (frames > 0)
+			droppedFrames.addAndGet(frames);
+	}
+
+	/**
+	 * Records that a client has been disconnected because its outbound queue was full and no room could be made.
+	 */
+	public void recordOverflow() {
+		overflows.incrementAndGet();
+	}
+
+	/**
+	 * A getter for the number of frames dropped from the outbound queues since the last report.
+	 * @return the number of dropped frames
+	 */
+	public long getDroppedFrames() {
+		return droppedFrames.get();
+	}
+
+	/**
+	 * A getter for the number of clients disconnected because of a full outbound queue since the last report.
+	 * @return the number of overflows
+	 */
+	public long getOverflows() {
+		return overflows.get();
+	}
+
+	/**
+	 * Records the time a player has waited in the quick-play queue before being given a game.
+	 * @param nanos the waiting time in nanoseconds
+	 */
+	public void recordMatchmaking(long nanos) {
+		matchmakingLatency.record(nanos);
+	}
+
+	/**
+	 * Records a batch of journal entries written and forced to the disk together.
+	 * @param entries the number of entries of the batch
+	 * @param nanos the time spent writing and forcing the batch in nanoseconds
+	 */
+	public void recordJournalSync(int entries, long nanos) {
+		journalEntries.addAndGet(entries);
+		journalSyncLatency.record(nanos);
+	}
+
+	/**
+	 * Records a snapshot of a game written to the disk.
+	 * @param bytes the size of the snapshot in bytes
+	 */
+	public void recordSnapshot(int bytes) {
+		snapshots.incrementAndGet();
+		snapshotBytes.addAndGet(bytes);
+	}
+
+	/**
+	 * Starts printing a statistics report every {@code interval} seconds.
+	 * @param interval the reporting interval in seconds
+	 */
+	public synchronized void startReporting(int interval) {
+		if (reporter != null) return;
+		reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "metrics-reporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		reporter.scheduleAtFixedRate(this::report, interval, interval, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Stops the periodic report, if it has been started.
+	 */
+	public synchronized void stopReporting() {
+		if (reporter != null) {
+			reporter.shutdownNow();
+			reporter = null;
+		}
+	}
+
+	private void report() {
+		long[] latency = handlingLatency.snapshotAndReset();
+		long[] queued = queueLatency.snapshotAndReset();
+		long[] matched = matchmakingLatency.snapshotAndReset();
+		long[] synced = journalSyncLatency.snapshotAndReset();
+		System.out.printf("[stats] connections=%d messages=%d handling(us) p50=%d p99=%d max=%d"
+						+ " | queue depth max=%d queued(us) p50=%d p99=%d dropped=%d overflows=%d"
+						+ " | matched=%d waited(us) p50=%d p99=%d"
+						+ " | journal syncs=%d entries=%d sync(us) p50=%d p99=%d snapshots=%d bytes=%d%n",
+				openConnections.get(),
+				handledMessages.getAndSet(0),
+				LatencyHistogram.percentile(latency, 50),
+				LatencyHistogram.percentile(latency, 99),
+				LatencyHistogram.percentile(latency, 100),
+				maxQueueDepth.getAndSet(0),
+				LatencyHistogram.percentile(queued, 50),
+				LatencyHistogram.percentile(queued, 99),
+				droppedFrames.getAndSet(0),
+				overflows.getAndSet(0),
+				LatencyHistogram.count(matched),
+				LatencyHistogram.percentile(matched, 50),
+				LatencyHistogram.percentile(matched, 99),
+				LatencyHistogram.count(synced),
+				journalEntries.getAndSet(0),
+				LatencyHistogram.percentile(synced, 50),
+				LatencyHistogram.percentile(synced, 99),
+				snapshots.getAndSet(0),
+				snapshotBytes.getAndSet(0));
+	}
+}
@@ -0,0 +1,258 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodec;
+import it.polimi.ingsw.eriantys.messages.codec.MessageCodecs;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * This class gathers the tunable parameters of a {@link Server} instance.
+ * Every parameter has a default value, so that a freshly constructed object describes the standard configuration.
+ */
+public class ServerSettings {
+	private ConnectionMode connectionMode;
+	private int ioLoops;
+	private boolean virtualThreads;
+	private int heartbeatThreads;
+	private int gameWorkers;
+	private int queueCapacity;
+	private OverflowPolicy overflowPolicy;
+	private int statsInterval;
+	private int idleTimeout;
+	private List<MessageCodec> codecs;
+	private Path resourceDirectory;
+	private Path journalDirectory;
+
+	/**
+	 * Constructs the default server configuration.
+	 */
+	public ServerSettings() {
+		this.connectionMode = ConnectionMode.BLOCKING;
+		this.ioLoops = Runtime.getRuntime().availableProcessors();
+		this.virtualThreads = false;
+		this.heartbeatThreads = 1;
+		this.gameWorkers = Runtime.getRuntime().availableProcessors();
+		this.queueCapacity = 128;
+		this.overflowPolicy = OverflowPolicy.DROP_SUPERSEDED;
+		this.statsInterval = 0;
+		this.idleTimeout = 60;
+		this.codecs = List.of(MessageCodecs.BINARY, MessageCodecs.JAVA);
+		this.resourceDirectory = null;
+		this.journalDirectory = null;
+	}
+
+	/**
+	 * A getter for the strategy used to serve client connections.
+	 * @return the connection mode
+	 */
+	public ConnectionMode getConnectionMode() {
+		return connectionMode;
+	}
+
+	/**
+	 * A setter for the strategy used to serve client connections.
+	 * @param connectionMode the desired connection mode
+	 */
+	public void setConnectionMode(ConnectionMode connectionMode) {
+		this.connectionMode = connectionMode;
+	}
+
+	/**
+	 * A getter for the number of selector loops used in {@link ConnectionMode#SELECTOR} mode.
+	 * @return the number of selector loops
+	 */
+	public int getIoLoops() {
+		return ioLoops;
+	}
+
+	/**
+	 * A setter for the number of selector loops used in {@link ConnectionMode#SELECTOR} mode.
+	 * @param ioLoops the desired number of selector loops
+	 * @throws IllegalArgumentException if the number is not positive
+	 */
+	public void setIoLoops(int ioLoops) {
+		if (ioLoops <= 0) throw new IllegalArgumentException("The number of I/O loops must be positive");
+		this.ioLoops = ioLoops;
+	}
+
+	/**
+	 * A getter to know if the per-connection threads of {@link ConnectionMode#BLOCKING} mode should be virtual threads.
+	 * @return {@code true} if and only if virtual threads have been requested
+	 */
+	public boolean useVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * A setter to choose whether the per-connection threads of {@link ConnectionMode#BLOCKING} mode should be virtual threads.
+	 * Virtual threads are only available on Java 21 or later: on older runtimes, platform threads are used instead.
+	 * @param virtualThreads {@code true} to request virtual threads
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
+	/**
+	 * A getter for the number of threads (and timer wheels) used by the {@link HeartbeatService}.
+	 * @return the number of heartbeat threads
+	 */
+	public int getHeartbeatThreads() {
+		return heartbeatThreads;
+	}
+
+	/**
+	 * A setter for the number of threads (and timer wheels) used by the {@link HeartbeatService}.
+	 * @param heartbeatThreads the desired number of heartbeat threads
+	 * @throws IllegalArgumentException if the number is not positive
+	 */
+	public void setHeartbeatThreads(int heartbeatThreads) {
+		if (heartbeatThreads <= 0) throw new IllegalArgumentException("The number of heartbeat threads must be positive");
+		this.heartbeatThreads = heartbeatThreads;
+	}
+
+	/**
+	 * A getter for the number of worker threads shared by the {@link Mailbox} of every game and of the lobby.
+	 * @return the number of game worker threads
+	 */
+	public int getGameWorkers() {
+		return gameWorkers;
+	}
+
+	/**
+	 * A setter for the number of worker threads shared by the {@link Mailbox} of every game and of the lobby.
+	 * @param gameWorkers the desired number of game worker threads
+	 * @throws IllegalArgumentException if the number is not positive
+	 */
+	public void setGameWorkers(int gameWorkers) {
+		if (gameWorkers <= 0) throw new IllegalArgumentException("The number of game workers must be positive");
+		this.gameWorkers = gameWorkers;
+	}
+
+	/**
+	 * A getter for the maximum number of frames which can wait to be sent to a single client.
+	 * @return the capacity of the outbound queues
+	 */
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * A setter for the maximum number of frames which can wait to be sent to a single client.
+	 * @param queueCapacity the desired capacity of the outbound queues
+	 * @throws IllegalArgumentException if the capacity is not positive
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		if (queueCapacity <= 0) throw new IllegalArgumentException("The queue capacity must be positive");
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * A getter for the policy applied when a client does not keep up with its messages.
+	 * @return the overflow policy of the outbound queues
+	 */
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * A setter for the policy applied when a client does not keep up with its messages.
+	 * @param overflowPolicy the desired overflow policy of the outbound queues
+	 */
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * A getter for the interval between two consecutive statistics reports.
+	 * @return the interval in seconds, or {@code 0} if reporting is disabled
+	 */
+	public int getStatsInterval() {
+		return statsInterval;
+	}
+
+	/**
+	 * A setter for the interval between two consecutive statistics reports.
+	 * @param statsInterval the desired interval in seconds, or {@code 0} to disable reporting
+	 * @throws IllegalArgumentException if the interval is negative
+	 */
+	public void setStatsInterval(int statsInterval) {
+		if (statsInterval < 0) throw new IllegalArgumentException("The statistics interval cannot be negative");
+		this.statsInterval = statsInterval;
+	}
+
+	/**
+	 * A getter for the time after which a paused game ends, unless enough of its players reconnect.
+	 * @return the idle timeout in seconds
+	 */
+	public int getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	/**
+	 * A setter for the time after which a paused game ends, unless enough of its players reconnect.
+	 * @param idleTimeout the desired timeout in seconds
+	 * @throws IllegalArgumentException if the timeout is not positive
+	 */
+	public void setIdleTimeout(int idleTimeout) {
+		if (idleTimeout <= 0) throw new IllegalArgumentException("The idle timeout must be positive");
+		this.idleTimeout = idleTimeout;
+	}
+
+	/**
+	 * A getter for the codecs which can be negotiated with the clients, from the most to the least preferred one.
+	 * @return the negotiable codecs
+	 */
+	public List<MessageCodec> getCodecs() {
+		return codecs;
+	}
+
+	/**
+	 * A setter for the codecs which can be negotiated with the clients, from the most to the least preferred one.
+	 * Clients which do not support any of them fall back to Java serialization.
+	 * @param codecs the names of the negotiable codecs
+	 * @throws IllegalArgumentException if a codec name is unknown
+	 */
+	public void setCodecs(List<String> codecs) {
+		this.codecs = codecs.stream().map(MessageCodecs::byName).toList();
+	}
+
+	/**
+	 * A getter for the directory from which the game resources are read before the classpath.
+	 * @return the resource directory, or {@code null} if resources are only read from the classpath
+	 */
+	public Path getResourceDirectory() {
+		return resourceDirectory;
+	}
+
+	/**
+	 * A setter for the directory from which the game resources are read before the classpath.
+	 * The resources found in this directory are reloaded whenever they are modified.
+	 * @param resourceDirectory the resource directory, or {@code null} to read resources only from the classpath
+	 * @throws IllegalArgumentException if {@code resourceDirectory} is not a directory
+	 */
+	public void setResourceDirectory(Path resourceDirectory) {
+		if (resourceDirectory != null && !resourceDirectory.toFile().isDirectory())
+			throw new IllegalArgumentException("Not a directory: " + resourceDirectory);
+		this.resourceDirectory = resourceDirectory;
+	}
+
+	/**
+	 * A getter for the directory in which the journal of every game is kept.
+	 * @return the journal directory, or {@code null} if games are not journaled
+	 */
+	public Path getJournalDirectory() {
+		return journalDirectory;
+	}
+
+	/**
+	 * A setter for the directory in which the journal of every game is kept, which is created if it does not exist.
+	 * @param journalDirectory the journal directory, or {@code null} not to journal games
+	 * @throws IllegalArgumentException if {@code journalDirectory} exists and is not a directory
+	 */
+	public void setJournalDirectory(Path journalDirectory) {
+		if (journalDirectory != null && journalDirectory.toFile().exists() && !journalDirectory.toFile().isDirectory())
+			throw new IllegalArgumentException("Not a directory: " + journalDirectory);
+		this.journalDirectory = journalDirectory;
+	}
+}
@@ -0,0 +1,93 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.codec.Frames;
+
+import java.io.*;
+import java.net.Socket;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link ClientConnection} served by blocking socket streams, which requires a dedicated thread for {@link #read()}.
+ * Queued frames are written by a task submitted to a shared executor whenever the queue stops being empty,
+ * so that a connection only holds a second thread while it has frames to write.
+ */
+public class SocketClientConnection extends ClientConnection {
+	private final Socket socketToClient;
+	private final OutputStream out;
+	private final DataInputStream in;
+	private final Executor writers;
+	private final AtomicBoolean draining;
+
+	/**
+	 * Constructs a new instance of {@link SocketClientConnection} with the specified parameters.
+	 * @param server the game server
+	 * @param socketToClient the socket between the server and this connection's client
+	 * @param writers the executor, shared by every connection, which runs the tasks writing the queued frames
+	 * @throws IOException if an error occurs when retrieving the input or output stream
+	 */
+	public SocketClientConnection(Server server, Socket socketToClient, Executor writers) throws IOException {
+		super(server);
+		this.socketToClient = socketToClient;
+		this.out = new BufferedOutputStream(socketToClient.getOutputStream());
+		this.in = new DataInputStream(new BufferedInputStream(socketToClient.getInputStream()));
+		this.writers = writers;
+		this.draining = new AtomicBoolean(false);
+	}
+
+	/**
+	 * Continuously checks for new messages being sent by the client through the connection socket's input stream and
+	 * handles them according to the game phase, disconnecting the client if an I/O error occurs or a frame cannot be handled.
+	 * Unresponsive clients are detected by the {@link HeartbeatService}, which closes their socket.
+	 */
+	public void read() {
+		try {
+			while (isRunning()) {
+				Message message = Frames.read(in);
+				touch();
+				handle(message);
+			}
+		} catch (IOException | RuntimeException e) {
+			server.disconnect(this);
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * Writes the queued frames to the connection socket's output stream until the queue runs empty, then flushes it,
+	 * disconnecting the client if an I/O error occurs. Only one drain of a connection runs at any time.
+	 */
+	private void drain() {
+		try {
+			do {
+				OutboundQueue.QueuedFrame frame;
+				while ((frame = outbound.poll()) != null) {
+					out.write(frame.getBytes());
+					server.getMetrics().recordQueueTime(System.nanoTime() - frame.getEnqueuedAt());
+				}
+				out.flush();
+				draining.set(false);
+				// a frame queued after the last poll has not started a drain of its own, since this one was still running
+			} while (!outbound.isEmpty() && draining.compareAndSet(false, true));
+		} catch (IOException e) {
+			server.disconnect(this);
+		}
+	}
+
+	@Override
+	protected void onFrameQueued() {
+		if (draining.compareAndSet(false, true))
+			writers.execute(this::drain);
+	}
+
+	@Override
+	protected void closeTransport() {
+		try {
+			socketToClient.close();
+		} catch (IOException ignored) {
+			// the socket is being discarded anyway
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package it.polimi.ingsw.eriantys.server;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * This class gives access to virtual threads when the running JVM supports them.
+ * The project targets Java 17, so the virtual thread builder is looked up reflectively:
+ * on older runtimes (or when virtual threads are a disabled preview feature) no factory is available.
+ */
+public final class VirtualThreads {
+	private VirtualThreads() {
+	}
+
+	/**
+	 * Builds a factory of virtual threads named {@code prefix0}, {@code prefix1}, and so on.
+	 * @param prefix the prefix of the thread names
+	 * @return the factory, or an empty {@link Optional} if the runtime does not support virtual threads
+	 */
+	public static Optional<ThreadFactory> factory(String prefix) {
+		try {
+			Method ofVirtual = Thread.class.getMethod("ofVirtual");
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = ofVirtual.invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+			return Optional.of((ThreadFactory) builderClass.getMethod("factory").invoke(builder));
+		} catch (NoSuchMethodException | ClassNotFoundException | IllegalAccessException | InvocationTargetException e) {
+			return Optional.empty();
+		}
+	}
+}
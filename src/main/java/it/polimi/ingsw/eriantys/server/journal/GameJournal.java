@@ -0,0 +1,238 @@
+package it.polimi.ingsw.eriantys.server.journal;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import it.polimi.ingsw.eriantys.model.GameManager;
+import it.polimi.ingsw.eriantys.model.GameRandom;
+import it.polimi.ingsw.eriantys.model.exceptions.DuplicateNoEntryTileException;
+import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
+import it.polimi.ingsw.eriantys.model.exceptions.IslandNotFoundException;
+import it.polimi.ingsw.eriantys.model.exceptions.ItemNotAvailableException;
+import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
+import it.polimi.ingsw.eriantys.model.exceptions.NotEnoughMovementsException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class is the append-only log of a single game, to which the game records the seed of its source of randomness
+ * and every call it makes to its {@link GameManager}. Since the model draws every random choice from the seed,
+ * replaying the entries of the log on a new {@link GameManager} rebuilds the very same state.
+ * Entries are appended by the game without blocking, and written to the disk in the background by a {@link JournalWriter}.
+ * Since replaying a long journal is slow, the game also saves snapshots of its {@link GameManager} next to the journal,
+ * each recording how many entries it includes: a game is restored from its latest snapshot and the entries following it.
+ */
+public class GameJournal {
+	private final JournalWriter writer;
+	private final Path file;
+	private final long resumeAt;
+	private int entries;
+
+	/**
+	 * Constructs the journal of a game, which is written to the specified file.
+	 * @param writer the writer of the journal
+	 * @param file the journal file
+	 * @param resumeAt the length of the valid content of the file, after which the entries are appended,
+	 * or a negative number if the file is to be replaced
+	 * @param entries the number of entries already contained in the valid content of the file
+	 */
+	GameJournal(JournalWriter writer, Path file, long resumeAt, int entries) {
+		this.writer = writer;
+		this.file = file;
+		this.resumeAt = resumeAt;
+		this.entries = entries;
+	}
+
+	/**
+	 * Returns the name of the journal file of a game.
+	 * @param gameId the identifier of the game
+	 * @return the name of the journal file
+	 */
+	public static String fileName(int gameId) {
+		return "game-" + gameId + ".log";
+	}
+
+	/**
+	 * Returns the snapshot file kept next to a journal file.
+	 * @param file the journal file
+	 * @return the snapshot file of the same game
+	 */
+	public static Path snapshotFile(Path file) {
+		String name = file.getFileName().toString();
+		if (name.endsWith(".log"))
+			name = name.substring(0, name.length() - ".log".length());
+		return file.resolveSibling(name + ".snap");
+	}
+
+	/**
+	 * A getter for the file of this journal.
+	 * @return the journal file
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * A getter for the file of the snapshots of this journal.
+	 * @return the snapshot file
+	 */
+	public Path getSnapshotFile() {
+		return snapshotFile(file);
+	}
+
+	/**
+	 * A getter for the length of the valid content of the file, after which the entries of this journal are appended.
+	 * @return the length of the content to keep, or a negative number if the file is to be replaced
+	 */
+	long getResumeAt() {
+		return resumeAt;
+	}
+
+	/**
+	 * Appends an entry to this journal. This method does not block: the entry is written shortly afterwards.
+	 * @param entry the entry to append
+	 */
+	public void append(JournalEntry entry) {
+		writer.append(this, JournalCodec.encode(entry));
+		entries++;
+	}
+
+	/**
+	 * Saves a snapshot of the model of the game, which includes every entry appended so far.
+	 * The model is converted on the calling thread, while the snapshot file is replaced in the background,
+	 * once the entries it includes have been written.
+	 * @param gameManager the game manager, whose state must match the entries appended so far
+	 */
+	public void snapshot(GameManager gameManager) {
+		writer.snapshot(this, JournalCodec.encodeSnapshot(new JournalCodec.Snapshot(entries, gameManager.snapshot())));
+	}
+
+	/**
+	 * Closes this journal once every entry appended so far has been written.
+	 * @param delete {@code true} if the file is no longer needed and is to be deleted, such as after the end of the game
+	 */
+	public void close(boolean delete) {
+		writer.close(this, delete);
+	}
+
+	/**
+	 * Rebuilds the state of a game by replaying the entries of its journal on a new {@link GameManager}.
+	 * @param entries the entries of the journal, starting with a {@link JournalEntry.Created} entry
+	 * @return the rebuilt game manager
+	 * @throws IOException if the entries do not start with a {@link JournalEntry.Created} entry, or if the outcome of
+	 * an action differs from the recorded one
+	 */
+	public static GameManager replay(List<JournalEntry> entries) throws IOException {
+		if (entries.isEmpty() || !(entries.get(0) instanceof JournalEntry.Created created))
+			throw new IOException("The journal does not start with the creation of the game");
+		GameManager gameManager = new GameManager(created.players(), created.expertMode(), new GameRandom(created.seed()));
+		for (JournalEntry entry : entries.subList(1, entries.size()))
+			apply(gameManager, entry);
+		return gameManager;
+	}
+
+	/**
+	 * Rebuilds the state of a game from a snapshot, by replaying the entries of its journal which follow the snapshot.
+	 * @param entries the entries of the journal, starting with a {@link JournalEntry.Created} entry
+	 * @param snapshot the snapshot of the game
+	 * @return the rebuilt game manager
+	 * @throws IOException if the snapshot cannot be restored, or if the outcome of an action differs from the recorded one
+	 * @see #restore(List, JournalCodec.Snapshot)
+	 */
+	public static GameManager replay(List<JournalEntry> entries, JournalCodec.Snapshot snapshot) throws IOException {
+		GameManager gameManager = restore(entries, snapshot);
+		for (JournalEntry entry : entries.subList(snapshot.entries(), entries.size()))
+			apply(gameManager, entry);
+		return gameManager;
+	}
+
+	/**
+	 * Restores the model of a game from a snapshot, checking that the snapshot belongs to the game of the journal.
+	 * @param entries the entries of the journal, starting with a {@link JournalEntry.Created} entry
+	 * @param snapshot the snapshot of the game
+	 * @return the game manager saved by the snapshot, which does not include the entries following it
+	 * @throws IOException if the snapshot is malformed, includes more entries than the journal contains,
+	 * or belongs to a different game
+	 */
+	public static GameManager restore(List<JournalEntry> entries, JournalCodec.Snapshot snapshot) throws IOException {
+		if (entries.isEmpty() || !(entries.get(0) instanceof JournalEntry.Created created))
+			throw new IOException("The journal does not start with the creation of the game");
+		if (snapshot.entries() > entries.size())
+			throw new IOException("The snapshot includes entries which are missing from the journal");
+		GameManager gameManager = GameManager.restore(snapshot.state());
+		if (gameManager.getSeed() != created.seed() || !Set.copyOf(gameManager.getTurnOrder()).equals(Set.copyOf(created.players())))
+			throw new IOException("The snapshot belongs to a different game");
+		return gameManager;
+	}
+
+	/**
+	 * Applies a single entry of a journal to a {@link GameManager}, making the same call the game made when recording it.
+	 * @param gameManager the game manager
+	 * @param entry the entry to apply
+	 * @throws IOException if the entry records an action whose outcome differs from the recorded one,
+	 * or whose call fails with anything other than a rejection by the model
+	 */
+	public static void apply(GameManager gameManager, JournalEntry entry) throws IOException {
+		if (entry instanceof JournalEntry.SetupPlayer e)
+			check(entry, e.accepted(), call(entry, () -> gameManager.setupPlayer(e.username(), e.towerColor(), e.wizard())));
+		else if (entry instanceof JournalEntry.Start)
+			call(entry, () -> {
+				gameManager.setupBoard();
+				gameManager.setupEntrances();
+			});
+		else if (entry instanceof JournalEntry.Round)
+			call(entry, gameManager::setupRound);
+		else if (entry instanceof JournalEntry.AssistantCards e)
+			call(entry, () -> gameManager.handleAssistantCards(e.playedCards()));
+		else if (entry instanceof JournalEntry.CurrentPlayer e)
+			call(entry, () -> gameManager.setCurrentPlayer(e.username()));
+		else if (entry instanceof JournalEntry.MoveStudent e)
+			check(entry, e.accepted(), call(entry, () -> gameManager.handleMovedStudent(e.username(), e.color(), e.destination())));
+		else if (entry instanceof JournalEntry.MotherNature e)
+			check(entry, e.accepted(), call(entry, () -> gameManager.handleMotherNatureMovement(e.destination())));
+		else if (entry instanceof JournalEntry.Cloud e)
+			check(entry, e.accepted(), call(entry, () -> gameManager.handleSelectedCloud(e.username(), e.cloud())));
+		else if (entry instanceof JournalEntry.CharacterCard e)
+			check(entry, e.accepted(), call(entry, () -> {
+				JsonObject params = e.params() != null ? JsonParser.parseString(e.params()).getAsJsonObject() : null;
+				gameManager.handleCharacterCard(e.card(), params);
+			}));
+		else if (entry instanceof JournalEntry.CancelEffect)
+			call(entry, gameManager::cancelCharacterCardEffect);
+		else if (entry instanceof JournalEntry.Created)
+			throw new IOException("The game has already been created");
+	}
+
+	@FunctionalInterface
+	private interface Call {
+		void run() throws InvalidArgumentException, NoMovementException, IslandNotFoundException,
+				NotEnoughMovementsException, ItemNotAvailableException, DuplicateNoEntryTileException;
+	}
+
+	/**
+	 * Makes a call to the {@link GameManager}, telling whether the model accepted it.
+	 * @param entry the entry being applied
+	 * @param call the call
+	 * @return {@code true} if and only if the call has not been rejected by the model
+	 * @throws IOException if the call fails in any other way, in which case the game cannot be rebuilt
+	 */
+	private static boolean call(JournalEntry entry, Call call) throws IOException {
+		try {
+			call.run();
+			return true;
+		} catch (InvalidArgumentException | NoMovementException | IslandNotFoundException |
+				NotEnoughMovementsException | ItemNotAvailableException | DuplicateNoEntryTileException e) {
+			// the game has seen the same rejection, and the state it left is rebuilt as well
+			return false;
+		} catch (RuntimeException e) {
+			throw new IOException("The replay failed at " + entry, e);
+		}
+	}
+
+	private static void check(JournalEntry entry, boolean recorded, boolean replayed) throws IOException {
+		if (recorded != replayed)
+			throw new IOException("The replay diverged from the game at " + entry);
+	}
+}
@@ -0,0 +1,285 @@
+package it.polimi.ingsw.eriantys.server.journal;
+
+import it.polimi.ingsw.eriantys.messages.codec.BinaryInput;
+import it.polimi.ingsw.eriantys.messages.codec.BinaryOutput;
+import it.polimi.ingsw.eriantys.model.GameManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * This class converts the entries of a {@link GameJournal} to and from the frames appended to its file.
+ * Every frame is made of the length of its body as a variable-length integer, the CRC-32 of the body in four bytes
+ * and the body itself, which starts with the type of the entry and is written with the primitives of {@link BinaryOutput}.
+ * A crash may leave the last frame of a file incomplete: reading stops at the first frame which is truncated or
+ * does not match its checksum, so that only the entries which have been fully written are returned.
+ * This class also converts the snapshot files kept next to the journals, which are replaced as a whole and are
+ * therefore either complete or rejected.
+ */
+public final class JournalCodec {
+	/**
+	 * The version of the format of the entries, which is recorded in the first entry of every journal.
+	 */
+	public static final int FORMAT_VERSION = 1;
+
+	private static final int CREATED = 1;
+	private static final int SETUP_PLAYER = 2;
+	private static final int START = 3;
+	private static final int ROUND = 4;
+	private static final int ASSISTANT_CARDS = 5;
+	private static final int CURRENT_PLAYER = 6;
+	private static final int MOVE_STUDENT = 7;
+	private static final int MOTHER_NATURE = 8;
+	private static final int CLOUD = 9;
+	private static final int CHARACTER_CARD = 10;
+	private static final int CANCEL_EFFECT = 11;
+	private static final int END = 12;
+	private static final int PHASE = 13;
+
+	/**
+	 * The size of the header of a snapshot file: the format version, the number of entries and the length and
+	 * CRC-32 of the snapshot of the model.
+	 */
+	private static final int SNAPSHOT_HEADER = 13;
+
+	private JournalCodec() {}
+
+	/**
+	 * The content of a journal file.
+	 * @param entries the entries which have been fully written, in order
+	 * @param length the number of bytes taken by those entries, after which the file may contain an incomplete frame
+	 */
+	public record Contents(List<JournalEntry> entries, long length) {}
+
+	/**
+	 * The content of a snapshot file, which saves the state of the model of a game after some of the entries of its journal.
+	 * @param entries the number of entries of the journal, starting from the first, whose effects are included in the snapshot
+	 * @param state the snapshot of the model, as returned by {@link GameManager#snapshot()}
+	 */
+	public record Snapshot(int entries, byte[] state) {}
+
+	/**
+	 * Converts an entry into a frame, ready to be appended to a journal file.
+	 * @param entry the entry
+	 * @return the bytes of the frame
+	 */
+	public static byte[] encode(JournalEntry entry) {
+		try {
+			ByteArrayOutputStream body = new ByteArrayOutputStream(32);
+			writeBody(new BinaryOutput(body), entry);
+			byte[] bytes = body.toByteArray();
+			CRC32 crc = new CRC32();
+			crc.update(bytes);
+			int checksum = (int) crc.getValue();
+
+			ByteArrayOutputStream frame = new ByteArrayOutputStream(bytes.length + 9);
+			BinaryOutput out = new BinaryOutput(frame);
+			out.writeVarInt(bytes.length);
+			out.writeByte(checksum >>> 24);
+			out.writeByte(checksum >>> 16);
+			out.writeByte(checksum >>> 8);
+			out.writeByte(checksum);
+			frame.write(bytes);
+			return frame.toByteArray();
+		} catch (IOException e) {
+			// a ByteArrayOutputStream never fails
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Reads the entries of a journal file.
+	 * @param file the journal file
+	 * @return the entries of the file and the length they take
+	 * @throws IOException if the file cannot be read, or if a complete frame does not contain a valid entry
+	 */
+	public static Contents read(Path file) throws IOException {
+		return decode(Files.readAllBytes(file));
+	}
+
+	/**
+	 * Reads the entries contained in the bytes of a journal file.
+	 * @param bytes the content of the journal file
+	 * @return the entries and the length they take
+	 * @throws IOException if a complete frame does not contain a valid entry
+	 */
+	public static Contents decode(byte[] bytes) throws IOException {
+		List<JournalEntry> entries = new ArrayList<>();
+		int position = 0;
+		while (position < bytes.length) {
+			int length = 0;
+			int header = position;
+			for (int shift = 0; ; shift += 7) {
+				if (header == bytes.length || shift > 28)
+					return new Contents(entries, position);
+				int b = bytes[header++];
+				length |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) break;
+			}
+			if (length < 0 || bytes.length - header < length + 4)
+				return new Contents(entries, position);
+
+			int checksum = 0;
+			for (int i = 0; i < 4; i++)
+				checksum = checksum << 8 | bytes[header++] & 0xFF;
+			CRC32 crc = new CRC32();
+			crc.update(bytes, header, length);
+			if ((int) crc.getValue() != checksum)
+				return new Contents(entries, position);
+
+			BinaryInput in = new BinaryInput(bytes, header, length);
+			entries.add(readBody(in));
+			if (!in.isExhausted())
+				throw new IOException("Malformed journal entry at offset " + position);
+			position = header + length;
+		}
+		return new Contents(entries, position);
+	}
+
+	/**
+	 * Converts a snapshot into the content of a snapshot file, which is made of a fixed header, recording the format
+	 * version, the number of journal entries and the length and CRC-32 of the snapshot of the model, followed by the snapshot itself.
+	 * @param snapshot the snapshot
+	 * @return the bytes of the snapshot file
+	 */
+	public static byte[] encodeSnapshot(Snapshot snapshot) {
+		byte[] state = snapshot.state();
+		CRC32 crc = new CRC32();
+		crc.update(state);
+		return ByteBuffer.allocate(SNAPSHOT_HEADER + state.length)
+				.put((byte) FORMAT_VERSION)
+				.putInt(snapshot.entries())
+				.putInt(state.length)
+				.putInt((int) crc.getValue())
+				.put(state)
+				.array();
+	}
+
+	/**
+	 * Reads a snapshot file.
+	 * @param file the snapshot file
+	 * @return the snapshot
+	 * @throws IOException if the file cannot be read, is incomplete or does not match its checksum
+	 */
+	public static Snapshot readSnapshot(Path file) throws IOException {
+		return decodeSnapshot(Files.readAllBytes(file));
+	}
+
+	/**
+	 * Reads the snapshot contained in the bytes of a snapshot file.
+	 * @param bytes the content of the snapshot file
+	 * @return the snapshot
+	 * @throws IOException if the content is incomplete or does not match its checksum
+	 */
+	public static Snapshot decodeSnapshot(byte[] bytes) throws IOException {
+		if (bytes.length < SNAPSHOT_HEADER)
+			throw new IOException("Truncated snapshot");
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		int version = buffer.get();
+		if (version != FORMAT_VERSION)
+			throw new IOException("Unsupported journal format: " + version);
+		int entries = buffer.getInt();
+		int length = buffer.getInt();
+		int checksum = buffer.getInt();
+		if (entries < 1 || length != buffer.remaining())
+			throw new IOException("Truncated snapshot");
+
+		byte[] state = new byte[length];
+		buffer.get(state);
+		CRC32 crc = new CRC32();
+		crc.update(state);
+		if ((int) crc.getValue() != checksum)
+			throw new IOException("Corrupted snapshot");
+		return new Snapshot(entries, state);
+	}
+
+	private static void writeBody(BinaryOutput out, JournalEntry entry) throws IOException {
+		if (entry instanceof JournalEntry.Created e) {
+			out.writeByte(CREATED);
+			out.writeVarInt(FORMAT_VERSION);
+			out.writeVarInt(e.gameId());
+			out.writeString(e.creator());
+			out.writeVarInt(e.lobbySize());
+			out.writeBoolean(e.expertMode());
+			out.writeVarLong(e.seed());
+			out.writeStrings(e.players());
+			out.writeMap(e.passcodes(), BinaryOutput::writeString, BinaryOutput::writeString);
+		} else if (entry instanceof JournalEntry.SetupPlayer e) {
+			out.writeByte(SETUP_PLAYER);
+			out.writeString(e.username());
+			out.writeSymbol(e.towerColor());
+			out.writeSymbol(e.wizard());
+			out.writeBoolean(e.accepted());
+		} else if (entry instanceof JournalEntry.Start) {
+			out.writeByte(START);
+		} else if (entry instanceof JournalEntry.Round) {
+			out.writeByte(ROUND);
+		} else if (entry instanceof JournalEntry.AssistantCards e) {
+			out.writeByte(ASSISTANT_CARDS);
+			out.writeSymbolMap(e.playedCards());
+		} else if (entry instanceof JournalEntry.CurrentPlayer e) {
+			out.writeByte(CURRENT_PLAYER);
+			out.writeString(e.username());
+		} else if (entry instanceof JournalEntry.MoveStudent e) {
+			out.writeByte(MOVE_STUDENT);
+			out.writeString(e.username());
+			out.writeSymbol(e.color());
+			out.writeIslandId(e.destination());
+			out.writeBoolean(e.accepted());
+		} else if (entry instanceof JournalEntry.MotherNature e) {
+			out.writeByte(MOTHER_NATURE);
+			out.writeIslandId(e.destination());
+			out.writeBoolean(e.accepted());
+		} else if (entry instanceof JournalEntry.Cloud e) {
+			out.writeByte(CLOUD);
+			out.writeString(e.username());
+			out.writeInt(e.cloud());
+			out.writeBoolean(e.accepted());
+		} else if (entry instanceof JournalEntry.CharacterCard e) {
+			out.writeByte(CHARACTER_CARD);
+			out.writeInt(e.card());
+			out.writeString(e.params());
+			out.writeBoolean(e.accepted());
+		} else if (entry instanceof JournalEntry.Phase e) {
+			out.writeByte(PHASE);
+			out.writeSymbol(e.name());
+		} else if (entry instanceof JournalEntry.CancelEffect) {
+			out.writeByte(CANCEL_EFFECT);
+		} else if (entry instanceof JournalEntry.End) {
+			out.writeByte(END);
+		} else
+			throw new IllegalArgumentException("Unknown journal entry: " + entry);
+	}
+
+	private static JournalEntry readBody(BinaryInput in) throws IOException {
+		int type = in.readByte();
+		return switch (type) {
+			case CREATED -> {
+				int version = in.readVarInt();
+				if (version != FORMAT_VERSION)
+					throw new IOException("Unsupported journal format: " + version);
+				yield new JournalEntry.Created(in.readVarInt(), in.readString(), in.readVarInt(), in.readBoolean(),
+						in.readVarLong(), in.readStrings(), in.readMap(BinaryInput::readString, BinaryInput::readString));
+			}
+			case SETUP_PLAYER -> new JournalEntry.SetupPlayer(in.readString(), in.readSymbol(), in.readSymbol(), in.readBoolean());
+			case START -> new JournalEntry.Start();
+			case ROUND -> new JournalEntry.Round();
+			case ASSISTANT_CARDS -> new JournalEntry.AssistantCards(in.readSymbolMap());
+			case CURRENT_PLAYER -> new JournalEntry.CurrentPlayer(in.readString());
+			case MOVE_STUDENT -> new JournalEntry.MoveStudent(in.readString(), in.readSymbol(), in.readIslandId(), in.readBoolean());
+			case MOTHER_NATURE -> new JournalEntry.MotherNature(in.readIslandId(), in.readBoolean());
+			case CLOUD -> new JournalEntry.Cloud(in.readString(), in.readInt(), in.readBoolean());
+			case CHARACTER_CARD -> new JournalEntry.CharacterCard(in.readInt(), in.readString(), in.readBoolean());
+			case CANCEL_EFFECT -> new JournalEntry.CancelEffect();
+			case END -> new JournalEntry.End();
+			case PHASE -> new JournalEntry.Phase(in.readSymbol());
+			default -> throw new IOException("Unknown journal entry type: " + type);
+		};
+	}
+}
@@ -0,0 +1,104 @@
+package it.polimi.ingsw.eriantys.server.journal;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An entry of a {@link GameJournal}, recording a call made by a game to its {@code GameManager}.
+ * The actions sent by the players are recorded together with their outcome, since a refused action may still have
+ * changed the state of the game before failing, and is therefore replayed as well.
+ */
+public sealed interface JournalEntry {
+	/**
+	 * The first entry of every journal, recording everything needed to construct the game again.
+	 * @param gameId the identifier of the game
+	 * @param creator the username of the player who created the game
+	 * @param lobbySize the number of players of the game
+	 * @param expertMode {@code true} if and only if the game is played in expert mode
+	 * @param seed the seed of the source of randomness of the game
+	 * @param players the usernames of the players, in the order in which they joined the game
+	 * @param passcodes the passcode which each player can use to reconnect to the game
+	 */
+	record Created(int gameId, String creator, int lobbySize, boolean expertMode, long seed,
+				   List<String> players, Map<String, String> passcodes) implements JournalEntry {}
+
+	/**
+	 * The choice of tower color and wizard of a player.
+	 * @param username the player
+	 * @param towerColor the chosen tower color
+	 * @param wizard the chosen wizard
+	 * @param accepted {@code true} if and only if the choice has been accepted
+	 */
+	record SetupPlayer(String username, String towerColor, String wizard, boolean accepted) implements JournalEntry {}
+
+	/**
+	 * The setup of the board and of the entrances, once every player has completed the game setup.
+	 */
+	record Start() implements JournalEntry {}
+
+	/**
+	 * The beginning of a new round, which refills the clouds.
+	 */
+	record Round() implements JournalEntry {}
+
+	/**
+	 * The assistant cards played by the players during the planning phase.
+	 * @param playedCards the card played by each player, in the order in which they have been played
+	 */
+	record AssistantCards(Map<String, String> playedCards) implements JournalEntry {}
+
+	/**
+	 * The change of the current player.
+	 * @param username the new current player
+	 */
+	record CurrentPlayer(String username) implements JournalEntry {}
+
+	/**
+	 * The movement of a student from the entrance of a player.
+	 * @param username the player
+	 * @param color the color of the student
+	 * @param destination the destination of the student
+	 * @param accepted {@code true} if and only if the movement has been accepted
+	 */
+	record MoveStudent(String username, String color, String destination, boolean accepted) implements JournalEntry {}
+
+	/**
+	 * The movement of Mother Nature.
+	 * @param destination the destination island
+	 * @param accepted {@code true} if and only if the movement has been accepted
+	 */
+	record MotherNature(String destination, boolean accepted) implements JournalEntry {}
+
+	/**
+	 * The choice of a cloud tile.
+	 * @param username the player
+	 * @param cloud the index of the cloud tile
+	 * @param accepted {@code true} if and only if the choice has been accepted
+	 */
+	record Cloud(String username, int cloud, boolean accepted) implements JournalEntry {}
+
+	/**
+	 * The play of a character card.
+	 * @param card the index of the character card
+	 * @param params the parameters of the effect as a JSON object, or {@code null} if none were sent
+	 * @param accepted {@code true} if and only if the card has been played
+	 */
+	record CharacterCard(int card, String params, boolean accepted) implements JournalEntry {}
+
+	/**
+	 * The beginning of a step of the turn which is not marked by any call to the model, such as the movement of
+	 * Mother Nature or the choice of a cloud tile, which may also be reached by skipping the turn of a disconnected player.
+	 * @param name the name of the phase
+	 */
+	record Phase(String name) implements JournalEntry {}
+
+	/**
+	 * The end of the effect of the character card played in the turn which just ended.
+	 */
+	record CancelEffect() implements JournalEntry {}
+
+	/**
+	 * The end of the game, after which the journal is no longer needed.
+	 */
+	record End() implements JournalEntry {}
+}
@@ -0,0 +1,313 @@
+package it.polimi.ingsw.eriantys.server.journal;
+
+import it.polimi.ingsw.eriantys.server.ServerMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * This class appends the entries of every {@link GameJournal} of a server to their files from a single dedicated thread.
+ * Games only queue their encoded entries, without waiting for them to be written: the writer takes every entry queued
+ * since its last pass at once, appends the entries of each journal with a single write and then forces each written
+ * file to the disk once, so that the cost of a disk synchronization is shared by all the entries of the batch.
+ * An entry is therefore durable shortly after it has been queued, but never before: a crash may lose the last entries
+ * queued, and may leave an incomplete frame at the end of a file, which {@link JournalCodec} skips when reading it.
+ * The writer also replaces the snapshot files of the games, only after writing the entries each snapshot includes:
+ * a snapshot is written to a temporary file mapped into memory, forced to the disk and then renamed over the previous one,
+ * so that a crash always leaves a complete snapshot behind.
+ * Once the writer has been closed, newly queued operations are ignored; callers waiting for a writer which is not running,
+ * or which stops before reaching their operations, are released instead of waiting forever.
+ */
+public class JournalWriter {
+	/**
+	 * The maximum number of operations handled by a single pass of the writer.
+	 */
+	public static final int MAX_BATCH = 1024;
+
+	private final Path directory;
+	private final ServerMetrics metrics;
+	private final BlockingQueue<Operation> operations;
+	private final Map<GameJournal, FileChannel> channels;
+	private final Set<GameJournal> failed;
+	private Thread thread;
+	private volatile boolean closed;
+
+	/**
+	 * Constructs a writer of the journals kept in the specified directory, which is created if it does not exist.
+	 * @param directory the directory of the journal files
+	 * @param metrics the statistics of the server, or {@code null} if the disk synchronizations are not to be recorded
+	 * @throws IOException if the directory cannot be created
+	 */
+	public JournalWriter(Path directory, ServerMetrics metrics) throws IOException {
+		this.directory = Files.createDirectories(directory);
+		this.metrics = metrics;
+		this.operations = new LinkedBlockingQueue<>();
+		this.channels = new HashMap<>();
+		this.failed = new HashSet<>();
+	}
+
+	private sealed interface Operation {}
+
+	private record Append(GameJournal journal, byte[] frame) implements Operation {}
+
+	private record Close(GameJournal journal, boolean delete) implements Operation {}
+
+	private record Snapshot(GameJournal journal, byte[] bytes) implements Operation {}
+
+	private record Barrier(CompletableFuture<Boolean> done, boolean stop) implements Operation {}
+
+	/**
+	 * A getter for the directory of the journal files.
+	 * @return the journal directory
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Creates the journal of a new game, whose file replaces any previous file of a game with the same identifier.
+	 * @param gameId the identifier of the game
+	 * @return the journal of the game
+	 */
+	public GameJournal open(int gameId) {
+		return new GameJournal(this, directory.resolve(GameJournal.fileName(gameId)), -1, 0);
+	}
+
+	/**
+	 * Reopens the journal of a game restored from its file, so that new entries are appended to it.
+	 * Anything following the valid content of the file, such as a frame left incomplete by a crash, is discarded.
+	 * @param file the journal file
+	 * @param contents the valid content of the file, as returned by {@link JournalCodec#read(Path)}
+	 * @return the journal of the game
+	 */
+	public GameJournal resume(Path file, JournalCodec.Contents contents) {
+		return new GameJournal(this, file, contents.length(), contents.entries().size());
+	}
+
+	/**
+	 * Starts the thread of the writer. Starting an already started or a closed writer has no effect.
+	 */
+	public synchronized void start() {
+		if (thread != null || closed) return;
+		thread = new Thread(this::run, "journal-writer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Waits until every entry queued before this call has been written and forced to the disk.
+	 * @throws InterruptedException if the calling thread is interrupted while waiting
+	 * @throws IllegalStateException if the writer is not running, or stops before writing the entries
+	 */
+	public void flush() throws InterruptedException {
+		if (!await(false))
+			throw new IllegalStateException("The journal writer is not running");
+	}
+
+	/**
+	 * Writes every entry queued before this call, then closes the files of the journals and stops the thread of the writer.
+	 * The files are kept, so that the games can be restored from them. Any operation queued afterwards is ignored.
+	 * Closing a writer which is not running only prevents it from being started.
+	 * @throws InterruptedException if the calling thread is interrupted while waiting
+	 */
+	public void close() throws InterruptedException {
+		closed = true;
+		await(true);
+	}
+
+	/**
+	 * Queues a barrier and waits for the writer to reach it.
+	 * @param stop {@code true} if the writer is to stop after the barrier
+	 * @return {@code true} if and only if every operation queued before the barrier has been handled
+	 * @throws InterruptedException if the calling thread is interrupted while waiting
+	 */
+	private boolean await(boolean stop) throws InterruptedException {
+		CompletableFuture<Boolean> done = new CompletableFuture<>();
+		synchronized (this) {
+			// the thread releases the barriers left in the queue when it exits, which it cannot do while this lock is held
+			if (thread == null)
+				return false;
+			operations.add(new Barrier(done, stop));
+		}
+		try {
+			return done.get();
+		} catch (ExecutionException e) {
+			return false;
+		}
+	}
+
+	void append(GameJournal journal, byte[] frame) {
+		if (!closed)
+			operations.add(new Append(journal, frame));
+	}
+
+	void close(GameJournal journal, boolean delete) {
+		if (!closed)
+			operations.add(new Close(journal, delete));
+	}
+
+	void snapshot(GameJournal journal, byte[] bytes) {
+		if (!closed)
+			operations.add(new Snapshot(journal, bytes));
+	}
+
+	private void run() {
+		List<Operation> batch = new ArrayList<>(MAX_BATCH);
+		Map<GameJournal, List<ByteBuffer>> pending = new LinkedHashMap<>();
+		List<CompletableFuture<Boolean>> barriers = new ArrayList<>();
+		boolean stop = false;
+		try {
+			while (!stop) {
+				batch.add(operations.take());
+				operations.drainTo(batch, MAX_BATCH - 1);
+
+				for (Operation operation : batch) {
+					if (operation instanceof Append append) {
+						pending.computeIfAbsent(append.journal(), j -> new ArrayList<>()).add(ByteBuffer.wrap(append.frame()));
+					} else if (operation instanceof Close close) {
+						// the entries of the journal which are still pending must reach the file before it is closed
+						List<ByteBuffer> frames = pending.remove(close.journal());
+						if (frames != null)
+							sync(close.journal(), frames);
+						closeFile(close.journal(), close.delete());
+					} else if (operation instanceof Snapshot snapshot) {
+						// the snapshot must never include entries which are not in the file yet
+						List<ByteBuffer> frames = pending.remove(snapshot.journal());
+						if (frames != null)
+							sync(snapshot.journal(), frames);
+						writeSnapshot(snapshot.journal(), snapshot.bytes());
+					} else if (operation instanceof Barrier barrier) {
+						barriers.add(barrier.done());
+						stop |= barrier.stop();
+					}
+				}
+
+				for (Map.Entry<GameJournal, List<ByteBuffer>> entry : pending.entrySet())
+					sync(entry.getKey(), entry.getValue());
+				pending.clear();
+				batch.clear();
+				if (stop)
+					for (GameJournal journal : new ArrayList<>(channels.keySet()))
+						closeFile(journal, false);
+				for (CompletableFuture<Boolean> done : barriers)
+					done.complete(true);
+				barriers.clear();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			synchronized (this) {
+				thread = null;
+				// the barriers which have not been reached are never going to be, so their callers are released
+				for (CompletableFuture<Boolean> done : barriers)
+					done.complete(false);
+				for (Operation operation : batch)
+					if (operation instanceof Barrier barrier)
+						barrier.done().complete(false);
+				operations.removeIf(operation -> operation instanceof Barrier barrier && barrier.done().complete(false));
+			}
+		}
+	}
+
+	private void sync(GameJournal journal, List<ByteBuffer> frames) {
+		if (failed.contains(journal)) return;
+		long start = System.nanoTime();
+		try {
+			FileChannel channel = channels.get(journal);
+			if (channel == null) {
+				if (journal.getResumeAt() < 0) {
+					channel = FileChannel.open(journal.getFile(),
+							StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+					// a snapshot left by a previous game with the same identifier does not belong to the new journal
+					Files.deleteIfExists(journal.getSnapshotFile());
+				} else {
+					channel = FileChannel.open(journal.getFile(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+					channel.truncate(journal.getResumeAt());
+					channel.position(journal.getResumeAt());
+				}
+				channels.put(journal, channel);
+			}
+			ByteBuffer[] buffers = frames.toArray(new ByteBuffer[0]);
+			long remaining = 0;
+			for (ByteBuffer buffer : buffers)
+				remaining += buffer.remaining();
+			while (remaining > 0)
+				remaining -= channel.write(buffers);
+			channel.force(false);
+		} catch (IOException e) {
+			// the file may now end with a partial frame, after which nothing could be read back
+			System.out.println("Journal " + journal.getFile() + " is no longer written");
+			System.out.println("This is a Throwable#printStackTrace() method call.");
+			e.printStackTrace();
+			failed.add(journal);
+			closeFile(journal, false);
+			return;
+		}
+		if (metrics != null)
+			metrics.recordJournalSync(frames.size(), System.nanoTime() - start);
+	}
+
+	private void writeSnapshot(GameJournal journal, byte[] bytes) {
+		if (failed.contains(journal)) return;
+		Path file = journal.getSnapshotFile();
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				try {
+					MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes.length);
+					buffer.put(bytes);
+					buffer.force();
+				} catch (UnsupportedOperationException e) {
+					// the file system cannot map the file, which is written as usual
+					ByteBuffer buffer = ByteBuffer.wrap(bytes);
+					while (buffer.hasRemaining())
+						channel.write(buffer);
+					channel.force(false);
+				}
+			}
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// the previous snapshot, if any, is still complete, and the journal still holds every entry following it
+			System.out.println("Snapshot " + file + " could not be written");
+			System.out.println("This is a Throwable#printStackTrace() method call.");
+			e.printStackTrace();
+			return;
+		}
+		if (metrics != null)
+			metrics.recordSnapshot(bytes.length);
+	}
+
+	private void closeFile(GameJournal journal, boolean delete) {
+		FileChannel channel = channels.remove(journal);
+		try {
+			if (channel != null)
+				channel.close();
+			if (delete) {
+				Files.deleteIfExists(journal.getFile());
+				Files.deleteIfExists(journal.getSnapshotFile());
+				failed.remove(journal);
+			}
+		} catch (IOException e) {
+			System.out.println("This is a Throwable#printStackTrace() method call.");
+			e.printStackTrace();
+		}
+	}
+}
@@ -2,22 +2,36 @@ package it.polimi.ingsw.eriantys.controller;
 
 import com.google.gson.JsonObject;
 import it.polimi.ingsw.eriantys.client.Client;
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.messages.Message;
 import it.polimi.ingsw.eriantys.messages.client.GameSetupSelection;
 import it.polimi.ingsw.eriantys.messages.client.Handshake;
 import it.polimi.ingsw.eriantys.messages.client.HelpRequest;
 import it.polimi.ingsw.eriantys.messages.client.SelectCloud;
+import it.polimi.ingsw.eriantys.messages.server.BoardUpdate;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.IslandNotFoundException;
 import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
+import it.polimi.ingsw.eriantys.server.ClientConnection;
 import it.polimi.ingsw.eriantys.server.Server;
+import it.polimi.ingsw.eriantys.server.ServerSettings;
 import it.polimi.ingsw.eriantys.server.exceptions.NoConnectionException;
+import it.polimi.ingsw.eriantys.server.journal.GameJournal;
+import it.polimi.ingsw.eriantys.server.journal.JournalCodec;
+import it.polimi.ingsw.eriantys.server.journal.JournalEntry;
+import it.polimi.ingsw.eriantys.server.journal.JournalWriter;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -252,6 +266,47 @@ class GameTest {
 		assertDoesNotThrow(game::receiveCloudSelection);
 	}
 
+	@Test
+	void sendBoardStatus_AfterPhaseChange_ResendPhase() throws IOException {
+		Server server = new Server(0);
+		Game game = construct(server);
+		game.addPlayer("P1");
+		game.addPlayer("P2");
+		List<Message> written = new CopyOnWriteArrayList<>();
+		for (String player : List.of("P1", "P2")) {
+			ClientConnection connection = new ClientConnection(server) {
+				@Override
+				public void write(Message message) {
+					if (player.equals("P1")) written.add(message);
+				}
+
+				@Override
+				protected void onFrameQueued() {
+				}
+
+				@Override
+				protected void closeTransport() {
+				}
+			};
+			server.connect(player, List.of(), connection);
+			connection.setGame(game);
+		}
+		assertDoesNotThrow(game::setup);
+
+		assertDoesNotThrow(() -> game.setupPlayer("P1", "WHITE", "SNOW"));
+		assertDoesNotThrow(() -> game.setupPlayer("P2", "BLACK", "SKY"));
+
+		assertDoesNotThrow(game::start);
+		assertDoesNotThrow(game::receiveMotherNatureMovement);
+		assertDoesNotThrow(() -> game.sendBoardUpdate());
+		written.clear();
+
+		game.sendBoardStatus("P1");
+		assertEquals(1, written.size());
+		BoardUpdate resync = assertInstanceOf(BoardUpdate.class, written.get(0));
+		assertEquals(PhaseName.MOTHER_NATURE, resync.getPhase());
+	}
+
 	@Test
 	void addPlayer_ExistingPlayer_ReturnNull() {
 		Game game = construct();
@@ -717,4 +772,108 @@ class GameTest {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	static JournalEntry.Created created() {
+		return new JournalEntry.Created(4, "P1", 2, false, 42, List.of("P1", "P2"), Map.of("P1", "1a2b", "P2", "3c4d"));
+	}
+
+	@Test
+	void recover_SetupInProgress_RestoreNextPlayer() throws IOException {
+		Game game = Game.recover(server, List.of(
+				created(),
+				new JournalEntry.SetupPlayer("P1", "PURPLE", "SKY", false),
+				new JournalEntry.SetupPlayer("P1", "BLACK", "SKY", true)), null, null);
+		assertTrue(game.isStarted());
+		assertEquals(4, game.getInfo().getGameId());
+		assertEquals(2, game.getInfo().getCurrentPlayers());
+		assertEquals("P2", game.getCurrentPlayer());
+		assertTrue(game.checkCredentials("P2", "3c4d"));
+		assertFalse(game.checkCredentials("P2", "1a2b"));
+	}
+
+	@Test
+	void recover_ActionPhase_RestoreTurnOrder() throws IOException {
+		Map<String, String> playedCards = new LinkedHashMap<>();
+		playedCards.put("P1", "CAT");
+		playedCards.put("P2", "CHEETAH");
+		Game game = Game.recover(server, List.of(
+				created(),
+				new JournalEntry.SetupPlayer("P1", "BLACK", "SKY", true),
+				new JournalEntry.SetupPlayer("P2", "WHITE", "SNOW", true),
+				new JournalEntry.Start(),
+				new JournalEntry.Round(),
+				new JournalEntry.AssistantCards(playedCards),
+				new JournalEntry.CurrentPlayer("P2"),
+				new JournalEntry.Phase("MOTHER_NATURE")), null, null);
+		assertEquals(List.of("P2", "P1"), game.getPlayers());
+		assertEquals("P2", game.getCurrentPlayer());
+		assertEquals(10, game.getAssistantCards().get("P1").size());
+	}
+
+	@Test
+	void recover_FromSnapshot_RestoreTurnOrder() throws IOException {
+		Map<String, String> playedCards = new LinkedHashMap<>();
+		playedCards.put("P1", "CAT");
+		playedCards.put("P2", "CHEETAH");
+		List<JournalEntry> entries = List.of(
+				created(),
+				new JournalEntry.SetupPlayer("P1", "BLACK", "SKY", true),
+				new JournalEntry.SetupPlayer("P2", "WHITE", "SNOW", true),
+				new JournalEntry.Start(),
+				new JournalEntry.Round(),
+				new JournalEntry.AssistantCards(playedCards),
+				new JournalEntry.CurrentPlayer("P2"),
+				new JournalEntry.Phase("MOTHER_NATURE"));
+		JournalCodec.Snapshot snapshot = new JournalCodec.Snapshot(5, GameJournal.replay(entries.subList(0, 5)).snapshot());
+		Game game = Game.recover(server, entries, snapshot, null);
+		Game replayed = Game.recover(server, entries, null, null);
+		assertEquals(List.of("P2", "P1"), game.getPlayers());
+		assertEquals("P2", game.getCurrentPlayer());
+		assertEquals(replayed.getAssistantCards(), game.getAssistantCards());
+	}
+
+	@Test
+	void recover_PlanningPhase_RestartFromFirstPlayer() throws IOException {
+		Game game = Game.recover(server, List.of(
+				created(),
+				new JournalEntry.SetupPlayer("P1", "BLACK", "SKY", true),
+				new JournalEntry.SetupPlayer("P2", "WHITE", "SNOW", true),
+				new JournalEntry.Start(),
+				new JournalEntry.Round()), null, null);
+		assertEquals("P1", game.getCurrentPlayer());
+		assertEquals(10, game.getAssistantCards().get("P2").size());
+	}
+
+	@Test
+	void recover_EndedGame_ThrowIOException() {
+		assertThrows(IOException.class, () -> Game.recover(server, List.of(created(), new JournalEntry.End()), null, null));
+	}
+
+	@Test
+	void recover_DivergingOutcome_ThrowIOException() {
+		assertThrows(IOException.class, () -> Game.recover(server, List.of(
+				created(),
+				new JournalEntry.SetupPlayer("P1", "BLACK", "PURPLE", true)), null, null));
+	}
+
+	@Test
+	void recover_NobodyReconnects_GameOverAndJournalDeleted(@TempDir Path directory) throws Exception {
+		JournalWriter writer = new JournalWriter(directory, null);
+		writer.start();
+		GameJournal journal = writer.open(4);
+		journal.append(created());
+		journal.append(new JournalEntry.SetupPlayer("P1", "BLACK", "SKY", true));
+		writer.close();
+		assertTrue(Files.exists(journal.getFile()));
+
+		ServerSettings settings = new ServerSettings();
+		settings.setJournalDirectory(directory);
+		settings.setIdleTimeout(1);
+		Server server = new Server(0, settings);
+		server.start();
+
+		for (int i = 0; i < 40 && Files.exists(journal.getFile()); i++)
+			Thread.sleep(250);
+		assertFalse(Files.exists(journal.getFile()));
+	}
+}
@@ -0,0 +1,177 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.model.AssistantCard;
+import it.polimi.ingsw.eriantys.model.Color;
+import it.polimi.ingsw.eriantys.model.TowerColor;
+import it.polimi.ingsw.eriantys.model.Wizard;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryOutputTest {
+	@FunctionalInterface
+	interface Write {
+		void run(BinaryOutput out) throws IOException;
+	}
+
+	byte[] write(Write write) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		write.run(new BinaryOutput(bytes));
+		return bytes.toByteArray();
+	}
+
+	BinaryInput input(byte[] bytes) {
+		return new BinaryInput(bytes, 0, bytes.length);
+	}
+
+	@Test
+	void writeVarInt_Boundaries_ReadBackInFewestBytes() throws IOException {
+		int[] values = {0, 1, 127, 128, 16383, 16384, 2097151, 2097152, 268435455, 268435456, Integer.MAX_VALUE};
+		int[] lengths = {1, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5};
+		for (int i = 0; i < values.length; i++) {
+			int value = values[i];
+			byte[] bytes = write(out -> out.writeVarInt(value));
+			assertEquals(lengths[i], bytes.length, "length of " + value);
+			BinaryInput in = input(bytes);
+			assertEquals(value, in.readVarInt());
+			assertTrue(in.isExhausted());
+		}
+	}
+
+	@Test
+	void writeVarLong_Boundaries_ReadBack() throws IOException {
+		for (long value : new long[]{0, 127, 128, Integer.MAX_VALUE, 1L << 32, Long.MAX_VALUE, -1, Long.MIN_VALUE}) {
+			BinaryInput in = input(write(out -> out.writeVarLong(value)));
+			assertEquals(value, in.readVarLong());
+			assertTrue(in.isExhausted());
+		}
+		assertEquals(10, write(out -> out.writeVarLong(-1)).length);
+	}
+
+	@Test
+	void writeInt_Zigzag_SmallMagnitudesStayShort() throws IOException {
+		for (int value : new int[]{0, 1, -1, 63, -64, 64, -65, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+			BinaryInput in = input(write(out -> out.writeInt(value)));
+			assertEquals(value, in.readInt());
+			assertTrue(in.isExhausted());
+		}
+		assertEquals(1, write(out -> out.writeInt(-64)).length);
+		assertEquals(2, write(out -> out.writeInt(-65)).length);
+	}
+
+	@Test
+	void writeNullableInt_Boundaries_ReadBack() throws IOException {
+		for (Integer value : new Integer[]{null, 0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1}) {
+			BinaryInput in = input(write(out -> out.writeNullableInt(value)));
+			assertEquals(value, in.readNullableInt());
+			assertTrue(in.isExhausted());
+		}
+	}
+
+	@Test
+	void readNullableInt_OutOfRange_ThrowsIOException() throws IOException {
+		byte[] bytes = write(out -> out.writeVarLong((1L << 32) + 1));
+		assertThrows(IOException.class, () -> input(bytes).readNullableInt());
+	}
+
+	@Test
+	void readVarInt_MalformedOrTruncated_ThrowsIOException() {
+		byte[] endless = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01};
+		assertThrows(IOException.class, () -> input(endless).readVarInt());
+		byte[] truncated = {(byte) 0x80};
+		assertThrows(IOException.class, () -> input(truncated).readVarInt());
+	}
+
+	@Test
+	void writeString_Unicode_ReadBack() throws IOException {
+		for (String value : new String[]{null, "", "Alice", "Àlìçé 🐱"}) {
+			BinaryInput in = input(write(out -> out.writeString(value)));
+			assertEquals(value, in.readString());
+			assertTrue(in.isExhausted());
+		}
+		byte[] bytes = write(out -> out.writeString("Alice"));
+		assertThrows(IOException.class, () -> input(Arrays.copyOf(bytes, bytes.length - 1)).readString());
+	}
+
+	@Test
+	void writeSymbol_KnownSymbol_SingleByte() throws IOException {
+		for (String value : List.of("YELLOW", "GREY", "SNOW", "TURTLE", "SELECT_CLOUD", "Thief")) {
+			byte[] bytes = write(out -> out.writeSymbol(value));
+			assertEquals(1, bytes.length);
+			assertEquals(value, input(bytes).readSymbol());
+		}
+	}
+
+	@Test
+	void writeSymbol_NotInVocabulary_WrittenInFull() throws IOException {
+		for (String value : new String[]{"PURPLE", "yellow", "", "Alice"}) {
+			byte[] bytes = write(out -> out.writeSymbol(value));
+			assertEquals(Symbols.LITERAL, bytes[0]);
+			BinaryInput in = input(bytes);
+			assertEquals(value, in.readSymbol());
+			assertTrue(in.isExhausted());
+		}
+		assertNull(input(write(out -> out.writeSymbol(null))).readSymbol());
+	}
+
+	@Test
+	void readSymbol_UnknownToken_ThrowsIOException() throws IOException {
+		byte[] bytes = write(out -> out.writeVarInt(Symbols.FIRST + 1000));
+		assertThrows(IOException.class, () -> input(bytes).readSymbol());
+	}
+
+	@Test
+	void symbols_EveryGameLiteral_InVocabulary() {
+		Stream.of(Color.values(), TowerColor.values(), Wizard.values(), AssistantCard.values(), PhaseName.values())
+				.flatMap(Stream::of)
+				.map(Enum::name)
+				.forEach(name -> assertNotEquals(Symbols.LITERAL, Symbols.tokenOf(name), name));
+	}
+
+	@Test
+	void symbols_Tokens_Unchanged() {
+		// the tokens are part of the binary format: symbols may only be appended
+		assertEquals(Symbols.FIRST, Symbols.tokenOf("YELLOW"));
+		assertEquals(Symbols.FIRST + 5, Symbols.tokenOf("BLACK"));
+		assertEquals(Symbols.FIRST + 8, Symbols.tokenOf("FOREST"));
+		assertEquals(Symbols.FIRST + 12, Symbols.tokenOf("CHEETAH"));
+		assertEquals(Symbols.FIRST + 22, Symbols.tokenOf("MOVE_STUDENT"));
+		assertEquals(Symbols.FIRST + 25, Symbols.tokenOf("Centaur"));
+		assertEquals(Symbols.FIRST + 36, Symbols.tokenOf("Thief"));
+		assertEquals(1, Symbols.LITERAL);
+	}
+
+	@Test
+	void writeIslandId_GroupsAndLiterals_ReadBack() throws IOException {
+		for (String value : new String[]{null, "01", "03-04", "01-02-03-12", "1", "ab", "01-2"}) {
+			BinaryInput in = input(write(out -> out.writeIslandId(value)));
+			assertEquals(value, in.readIslandId());
+			assertTrue(in.isExhausted());
+		}
+		assertEquals(3, write(out -> out.writeIslandId("03-04")).length);
+	}
+
+	@Test
+	void writeCounts_ColorOrderAndOthers_ReadBack() throws IOException {
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		for (Color color : Color.values())
+			counts.put(color.name(), color.ordinal());
+		Map<String, Integer> other = new LinkedHashMap<>();
+		other.put("RED", 2);
+		other.put("PURPLE", 1);
+		for (Map<String, Integer> value : Arrays.asList(counts, other, null)) {
+			BinaryInput in = input(write(out -> out.writeCounts(value)));
+			assertEquals(value, in.readCounts());
+			assertTrue(in.isExhausted());
+		}
+	}
+}
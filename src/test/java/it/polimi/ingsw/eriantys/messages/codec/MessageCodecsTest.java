@@ -0,0 +1,209 @@
+package it.polimi.ingsw.eriantys.messages.codec;
+
+import com.google.gson.Gson;
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.controller.phases.PhaseName;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.Ping;
+import it.polimi.ingsw.eriantys.messages.client.*;
+import it.polimi.ingsw.eriantys.messages.server.*;
+import it.polimi.ingsw.eriantys.model.BoardStatus;
+import it.polimi.ingsw.eriantys.model.BoardStatusDelta;
+import it.polimi.ingsw.eriantys.model.GameManager;
+import it.polimi.ingsw.eriantys.model.GameRandom;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageCodecsTest {
+	Gson gson = new Gson();
+
+	/**
+	 * Builds the board of a game in its second round, and the delta of the move which follows it.
+	 */
+	BoardStatusDelta board(BoardStatus[] statuses) throws Exception {
+		GameManager gameManager = new GameManager(List.of("Alice", "Bob", "Eve"), true, new GameRandom(11));
+		gameManager.setupPlayer("Alice", "WHITE", "FOREST");
+		gameManager.setupPlayer("Bob", "BLACK", "SKY");
+		gameManager.setupPlayer("Eve", "GREY", "SNOW");
+		gameManager.setupBoard();
+		gameManager.setupEntrances();
+		gameManager.setupRound();
+		gameManager.handleAssistantCards(Map.of("Alice", "CAT", "Bob", "OSTRICH", "Eve", "TURTLE"));
+		gameManager.setCurrentPlayer("Alice");
+		BoardStatus before = new BoardStatus(gameManager);
+
+		String color = gameManager.entranceRepresentation("Alice").entrySet().stream()
+				.filter(e -> e.getValue() > 0).findFirst().orElseThrow().getKey();
+		gameManager.handleMovedStudent("Alice", color, gameManager.islandsRepresentation().get(1));
+		BoardStatus after = new BoardStatus(gameManager);
+		statuses[0] = before;
+		statuses[1] = after;
+		return new BoardStatusDelta(before, after);
+	}
+
+	/**
+	 * Builds one instance of every message which can be exchanged, with every field set.
+	 */
+	List<Message> messages() throws Exception {
+		BoardStatus[] statuses = new BoardStatus[2];
+		BoardStatusDelta delta = board(statuses);
+		GameInfo lobby = new GameInfo(7, "Alice", 3, true);
+		lobby.setCurrentPlayers(2);
+
+		Map<String, String> towerColors = new LinkedHashMap<>();
+		towerColors.put("Alice", "WHITE");
+		towerColors.put("Bob", "PURPLE");
+		Map<String, String> playedCards = new LinkedHashMap<>();
+		playedCards.put("Alice", "CAT");
+		playedCards.put("Bob", "OSTRICH");
+		Map<String, List<String>> availableCards = new LinkedHashMap<>();
+		availableCards.put("Alice", List.of("DOG", "FOX"));
+		availableCards.put("Bob", List.of());
+
+		UserSelectionUpdate userSelection = new UserSelectionUpdate(List.of("GREY"), List.of("DESERT", "SNOW"),
+				towerColors, Map.of("Alice", "FOREST"));
+		userSelection.setNextPlayer("Bob");
+		AssistantCardUpdate assistantCards = new AssistantCardUpdate(playedCards, availableCards);
+		assistantCards.setNextPlayer("Eve");
+		BoardUpdate boardUpdate = new BoardUpdate(statuses[1], PhaseName.MOVE_STUDENT, 12);
+		boardUpdate.setNextPlayer("Alice");
+		BoardDelta boardDelta = new BoardDelta(12, 13, delta, PhaseName.MOTHER_NATURE);
+		boardDelta.setNextPlayer("Alice");
+		CharacterCardUpdate characterCard = new CharacterCardUpdate(2);
+		characterCard.setNextPlayer("Bob");
+		LastRoundUpdate lastRound = new LastRoundUpdate();
+		lastRound.setNextPlayer("Eve");
+		GameOverUpdate gameOver = new GameOverUpdate("Alice");
+
+		return List.of(
+				new Ping("Alice"),
+				new Handshake("Alice", List.of("binary", "java")),
+				new Reconnect("Alice", 7, "1a2b"),
+				new HelpRequest("Alice"),
+				new LobbiesRequest("Alice", 3, false, 40, 20, true),
+				new LobbyCreation("Alice", 3, true),
+				new JoinLobby("Bob", 7),
+				new LeaveLobby("Bob", 7),
+				new GameSetupSelection("Alice", "WHITE", "FOREST"),
+				new PlayAssistantCard("Alice", "ELEPHANT"),
+				new MoveStudent("Alice", "PINK", "03-04"),
+				new MotherNatureDestination("Alice", "11"),
+				new SelectCloud("Alice", 1),
+				new PlayCharacterCard("Alice", 0, "{\"sourceColors\":[\"RED\"],\"targetIsland\":\"05\"}"),
+				new BoardStatusRequest("Alice"),
+				new QuickPlay("Alice", 2, false),
+				new Accepted(),
+				new AcceptedUsername("Alice", "binary"),
+				new AcceptedJoinLobby(7, "1a2b"),
+				new AcceptedLeaveLobby(),
+				new Refused("Lobby not found"),
+				new RefusedReconnect("Wrong passcode"),
+				new HelpResponse("Ask for help"),
+				new AvailableLobbies(List.of(lobby), 41, 8, 1L << 40),
+				new LobbyUpdate(List.of("Alice", "Bob")),
+				userSelection,
+				assistantCards,
+				boardUpdate,
+				new InitialBoardStatus(statuses[0], 1),
+				characterCard,
+				lastRound,
+				gameOver,
+				new DisconnectionUpdate("Bob", 2, true),
+				new ReconnectionUpdate("Bob", 3, false),
+				boardDelta,
+				new LobbyDirectoryUpdate(LobbyDirectoryUpdate.Change.UPDATED, lobby, 99));
+	}
+
+	Message roundTrip(MessageCodec codec, Message message) throws IOException {
+		byte[] frame = codec.encode(message);
+		return MessageCodecs.decode(frame, Frames.HEADER_SIZE, frame.length - Frames.HEADER_SIZE);
+	}
+
+	void assertSameMessage(Message expected, Message actual) {
+		assertEquals(expected.getClass(), actual.getClass());
+		assertEquals(expected.getSender(), actual.getSender());
+		assertEquals(gson.toJson(expected), gson.toJson(actual), expected.getClass().getSimpleName());
+	}
+
+	@Test
+	void roundTrip_EveryRegisteredMessage_SameMessage() throws Exception {
+		Set<Class<? extends Message>> covered = new HashSet<>();
+		for (Message message : messages()) {
+			for (MessageCodec codec : List.of(MessageCodecs.BINARY, MessageCodecs.JAVA))
+				assertSameMessage(message, roundTrip(codec, message));
+			covered.add(message.getClass());
+		}
+		assertEquals(((BinaryMessageCodec) MessageCodecs.BINARY).getTypes(), covered);
+	}
+
+	@Test
+	void roundTrip_NullFields_SameMessage() throws Exception {
+		BoardUpdate boardUpdate = new BoardUpdate(new BoardStatus(), null, 1);
+		boardUpdate.getStatus().setPlayers(List.of());
+		boardUpdate.getStatus().setIslands(List.of());
+		List<Message> messages = List.of(
+				new Ping(null),
+				new LobbiesRequest("Alice", null, null, 0, 1, false),
+				new GameSetupSelection("Alice", null, "NOT_A_WIZARD"),
+				new MoveStudent("Alice", "PURPLE", "not-an-island"),
+				new PlayCharacterCard("Alice", 1, null),
+				new AvailableLobbies(List.of(), 0, null, 0),
+				new AssistantCardUpdate(null, null),
+				new GameOverUpdate(null),
+				boardUpdate);
+		for (Message message : messages)
+			for (MessageCodec codec : List.of(MessageCodecs.BINARY, MessageCodecs.JAVA))
+				assertSameMessage(message, roundTrip(codec, message));
+	}
+
+	@Test
+	void encode_Binary_SmallerThanJava() throws Exception {
+		for (Message message : messages())
+			assertTrue(MessageCodecs.BINARY.encode(message).length < MessageCodecs.JAVA.encode(message).length,
+					message.getClass().getSimpleName());
+	}
+
+	@Test
+	void decode_Binary_MalformedPayload_ThrowsIOException() throws Exception {
+		byte[] frame = MessageCodecs.BINARY.encode(new Handshake("Alice", List.of("binary")));
+		int length = frame.length - Frames.HEADER_SIZE;
+		// truncated
+		assertThrows(IOException.class, () -> MessageCodecs.decode(frame, Frames.HEADER_SIZE, length - 1));
+		// trailing bytes
+		byte[] longer = java.util.Arrays.copyOf(frame, frame.length + 1);
+		assertThrows(IOException.class, () -> MessageCodecs.decode(longer, Frames.HEADER_SIZE, length + 1));
+		// unknown message type
+		byte[] unknown = frame.clone();
+		unknown[Frames.HEADER_SIZE + 1] = 63;
+		assertThrows(IOException.class, () -> MessageCodecs.decode(unknown, Frames.HEADER_SIZE, length));
+	}
+
+	@Test
+	void decode_Binary_IslandIdOutOfRange_ThrowsIOException() throws Exception {
+		byte[] frame = MessageCodecs.BINARY.encode(new MoveStudent("Alice", "PINK", "03-04"));
+		int length = frame.length - Frames.HEADER_SIZE;
+		// the island identifier is the last field: a token of 3 followed by two island numbers
+		int token = frame.length - 3;
+		assertEquals(3, frame[token]);
+		for (long value : new long[]{-1, 14, 1L << 31, 715_827_884}) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			bytes.write(frame, 0, token);
+			BinaryOutput out = new BinaryOutput(bytes);
+			out.writeVarInt((int) value);
+			bytes.write(frame, token + 1, 2);
+			byte[] malformed = bytes.toByteArray();
+			int malformedLength = malformed.length - Frames.HEADER_SIZE;
+			assertThrows(IOException.class, () -> MessageCodecs.decode(malformed, Frames.HEADER_SIZE, malformedLength));
+		}
+		assertInstanceOf(MoveStudent.class, MessageCodecs.decode(frame, Frames.HEADER_SIZE, length));
+	}
+}
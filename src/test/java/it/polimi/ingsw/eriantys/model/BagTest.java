@@ -4,7 +4,9 @@ import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -63,4 +65,47 @@ class BagTest {
 	void remainingCapacity_PassNull_ReturnNeg1() {
 		assertEquals(-1, new Bag().remainingCapacity(null));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void moveTo_SameSeed_SameDraws() throws InvalidArgumentException, NoMovementException {
+		StudentContainer first = new StudentContainer();
+		StudentContainer second = new StudentContainer();
+		new Bag(new Random(42)).moveTo(first, 60);
+		new Bag(new Random(42)).moveTo(second, 60);
+
+		assertEquals(first.getRepresentation(), second.getRepresentation());
+	}
+
+	@Test
+	void moveTo_OneBlueStudentLeft_DrawsWeightedByCount() throws InvalidArgumentException, NoMovementException {
+		Bag bag = new Bag(new Random(7));
+		StudentContainer removed = new StudentContainer();
+		for (int i = 0; i < 25; i++)
+			bag.moveTo(removed, Color.BLUE);
+
+		StudentContainer drawn = new StudentContainer();
+		int blue = 0;
+		for (int i = 0; i < 2000; i++) {
+			bag.moveTo(drawn, 1);
+			if (drawn.getQuantity(Color.BLUE) > 0)
+				blue++;
+			drawn.moveAllTo(bag);
+		}
+
+		// 1 blue student out of 105: about 19 draws expected, against 400 with colors drawn uniformly
+		assertTrue(blue < 60);
+	}
+
+	@Test
+	void moveTo_DestinationFullForAColor_DrawsOtherColors() throws InvalidArgumentException, NoMovementException {
+		Bag bag = new Bag(new Random(1));
+		DiningRoom diningRoom = new DiningRoom();
+		for (int i = 0; i < 10; i++)
+			bag.moveTo(diningRoom, Color.RED);
+
+		bag.moveTo(diningRoom, 40);
+
+		assertEquals(10, diningRoom.getQuantity(Color.RED));
+		assertEquals(40, Arrays.stream(Color.values()).filter(c -> c != Color.RED).mapToInt(diningRoom::getQuantity).sum());
+	}
+}
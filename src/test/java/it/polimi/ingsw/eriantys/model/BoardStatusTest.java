@@ -0,0 +1,118 @@
+package it.polimi.ingsw.eriantys.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardStatusTest {
+	GameManager gm;
+
+	@BeforeEach
+	void init() {
+		gm = new GameManager(List.of("Alice", "Bob"), true);
+		assertDoesNotThrow(gm::setupBoard);
+		assertDoesNotThrow(gm::setupEntrances);
+		assertDoesNotThrow(() -> gm.setupPlayer("Alice", "BLACK", "FOREST"));
+		assertDoesNotThrow(() -> gm.setupPlayer("Bob", "WHITE", "SKY"));
+	}
+
+	@Test
+	void createDelta_UnchangedStatus_NoChanges() {
+		BoardStatus previous = new BoardStatus(gm);
+		BoardStatusDelta delta = new BoardStatusDelta(previous, new BoardStatus(gm));
+
+		assertNull(delta.getPlayers());
+		assertNull(delta.getIslands());
+		assertFalse(delta.haveCharacterCardsChanged());
+		assertTrue(delta.getPlayerEntrances().isEmpty());
+		assertTrue(delta.getIslandStudents().isEmpty());
+		assertTrue(delta.getCloudTiles().isEmpty());
+		assertTrue(delta.getProfessors().isEmpty());
+		assertTrue(delta.getCharacterCardsCost().isEmpty());
+	}
+
+	@Test
+	void applyDelta_MovedStudent_MatchesCurrentStatus() {
+		BoardStatus previous = new BoardStatus(gm);
+		Map<String, Integer> entrance = gm.entranceRepresentation("Bob");
+		String color = entrance.keySet().stream().filter(k -> entrance.get(k) > 0).findFirst().orElseThrow();
+		assertDoesNotThrow(() -> gm.handleMovedStudent("Bob", color, "01"));
+		BoardStatus current = new BoardStatus(gm);
+
+		BoardStatusDelta delta = new BoardStatusDelta(previous, current);
+		assertEquals(Map.of("Bob", current.getPlayerEntrances().get("Bob")), delta.getPlayerEntrances());
+		assertEquals(Map.of("01", current.getIslandStudents().get("01")), delta.getIslandStudents());
+		assertTrue(delta.getPlayerDiningRooms().isEmpty());
+
+		assertSameStatus(current, new BoardStatus(previous, delta));
+	}
+
+	@Test
+	void applyDelta_MergedIslands_DropsMergedIdentifiers() {
+		BoardStatus previous = new BoardStatus();
+		previous.setPlayers(List.of("Alice", "Bob"));
+		previous.setIslands(List.of("01", "02", "03"));
+		for (String isle : previous.getIslands()) {
+			previous.getIslandSizes().put(isle, 1);
+			previous.getIslandControllers().put(isle, null);
+		}
+		previous.setMotherNatureIsland("02");
+
+		BoardStatus current = new BoardStatus();
+		current.setPlayers(List.of("Bob", "Alice"));
+		current.setIslands(List.of("01-02", "03"));
+		current.getIslandSizes().put("01-02", 2);
+		current.getIslandSizes().put("03", 1);
+		current.getIslandControllers().put("01-02", "Bob");
+		current.getIslandControllers().put("03", null);
+		current.setMotherNatureIsland("01-02");
+
+		BoardStatusDelta delta = new BoardStatusDelta(previous, current);
+		assertEquals(List.of("Bob", "Alice"), delta.getPlayers());
+		assertEquals(List.of("01-02", "03"), delta.getIslands());
+		assertFalse(delta.getIslandSizes().containsKey("03"));
+
+		BoardStatus applied = new BoardStatus(previous, delta);
+		assertSameStatus(current, applied);
+		assertFalse(applied.getIslandSizes().containsKey("02"));
+		assertTrue(applied.getIslandControllers().containsKey("03"));
+		assertNull(applied.getIslandControllers().get("03"));
+	}
+
+	@Test
+	void applyDelta_BaseStatus_NotModified() {
+		BoardStatus previous = new BoardStatus(gm);
+		Map<String, Map<String, Integer>> entrances = Map.copyOf(previous.getPlayerEntrances());
+		Map<String, Integer> entrance = gm.entranceRepresentation("Alice");
+		String color = entrance.keySet().stream().filter(k -> entrance.get(k) > 0).findFirst().orElseThrow();
+		assertDoesNotThrow(() -> gm.handleMovedStudent("Alice", color, "02"));
+
+		new BoardStatus(previous, new BoardStatusDelta(previous, new BoardStatus(gm)));
+		assertEquals(entrances, previous.getPlayerEntrances());
+	}
+
+	private void assertSameStatus(BoardStatus expected, BoardStatus actual) {
+		assertEquals(expected.getPlayers(), actual.getPlayers());
+		assertEquals(expected.getPlayerEntrances(), actual.getPlayerEntrances());
+		assertEquals(expected.getPlayerDiningRooms(), actual.getPlayerDiningRooms());
+		assertEquals(expected.getPlayerTowerColors(), actual.getPlayerTowerColors());
+		assertEquals(expected.getPlayerTowers(), actual.getPlayerTowers());
+		assertEquals(expected.getPlayerCoins(), actual.getPlayerCoins());
+		assertEquals(expected.getIslands(), actual.getIslands());
+		assertEquals(expected.getIslandSizes(), actual.getIslandSizes());
+		assertEquals(expected.getIslandStudents(), actual.getIslandStudents());
+		assertEquals(expected.getIslandControllers(), actual.getIslandControllers());
+		assertEquals(expected.getMotherNatureIsland(), actual.getMotherNatureIsland());
+		assertEquals(expected.getIslandNoEntryTiles(), actual.getIslandNoEntryTiles());
+		assertEquals(expected.getCloudTiles(), actual.getCloudTiles());
+		assertEquals(expected.getProfessors(), actual.getProfessors());
+		assertEquals(expected.getCharacterCards(), actual.getCharacterCards());
+		assertEquals(expected.getCharacterCardsCost(), actual.getCharacterCardsCost());
+		assertEquals(expected.getCharacterCardsStudents(), actual.getCharacterCardsStudents());
+		assertEquals(expected.getCharacterCardsNoEntryTiles(), actual.getCharacterCardsNoEntryTiles());
+	}
+}
@@ -144,7 +144,7 @@ class BoardTest {
 	@Test
 	void moveMotherNature_NonexistentIsland_ReturnFalse() {
 		Board board = new Board(2, 3);
-		assertFalse(board.moveMotherNature(new IslandGroup("99")));
+		assertFalse(board.moveMotherNature(new IslandGroup(1, 2)));
 	}
 
 	@Test
@@ -173,7 +173,7 @@ class BoardTest {
 	@Test
 	void unifyIslands_NonexistentTarget_ThrowException() {
 		assertThrowsExactly(IslandNotFoundException.class,
-					() -> new Board(2, 3).unifyIslands(new IslandGroup("89")));
+					() -> new Board(2, 3).unifyIslands(new IslandGroup(1, 2)));
 	}
 
 	@Test
@@ -270,6 +270,75 @@ class BoardTest {
 		assertThrowsExactly(IslandNotFoundException.class, () -> board.getIsland("01-02-03"));
 	}
 
+	@Test
+	void unifyIslands_LastAndFirstIslands_MergeAtTheEndOfTheRing() throws InvalidArgumentException, NoMovementException, IslandNotFoundException {
+		Board board = new Board(2, 3);
+		board.setup();	// Needed due to MN index retrieval
+		Player p = new Player("p", 9, 6);
+
+		board.getIsland("12").setController(p);
+		board.getIsland("01").setController(p);
+		board.getIsland("02").setController(p);
+
+		board.unifyIslands(board.getIsland("01"));
+
+		List<String> rep = board.getIslandsRepresentation();
+		assertEquals(10, board.getIslandNumber());
+		assertEquals("03", rep.get(0));
+		assertEquals("12-01-02", rep.get(9));
+		assertDoesNotThrow(() -> board.getIsland("12-01-02"));
+		assertThrowsExactly(IslandNotFoundException.class, () -> board.getIsland("01-02"));
+	}
+
+	@Test
+	void unifyIslands_MotherNatureOnMergedIsland_MotherNatureOnNewIsland() throws InvalidArgumentException, NoMovementException, IslandNotFoundException {
+		Board board = new Board(2, 3);
+		board.setup();	// Needed due to MN index retrieval
+		Player p = new Player("p", 9, 6);
+
+		board.getIsland("11").setController(p);
+		board.getIsland("12").setController(p);
+		board.moveMotherNature(board.getIsland("12"));
+
+		board.unifyIslands(board.getIsland("11"));
+
+		assertEquals("11-12", board.getMotherNatureIsland().getId());
+		assertEquals(1, board.getDistanceFromMotherNature(board.getIsland("01")));
+	}
+
+	@Test
+	void unifyIslands_MotherNatureAfterMergedIslands_DistancesUpdated() throws InvalidArgumentException, NoMovementException, IslandNotFoundException {
+		Board board = new Board(2, 3);
+		board.setup();	// Needed due to MN index retrieval
+		Player p = new Player("p", 9, 6);
+
+		board.getIsland("02").setController(p);
+		board.getIsland("03").setController(p);
+		board.getIsland("04").setController(p);
+		board.moveMotherNature(board.getIsland("06"));
+
+		board.unifyIslands(board.getIsland("03"));
+
+		assertEquals("06", board.getMotherNatureIsland().getId());
+		assertEquals(8, board.getDistanceFromMotherNature(board.getIsland("02-03-04")));
+		assertEquals(7, board.getDistanceFromMotherNature(board.getIsland("01")));
+	}
+
+	@Test
+	void unifyIslands_NoEntryTilesOnMergedIslands_TilesKept() throws Exception {
+		Board board = new Board(2, 3);
+		board.setup();	// Needed due to MN index retrieval
+		Player p = new Player("p", 9, 6);
+
+		board.getIsland("05").setController(p);
+		board.getIsland("06").setController(p);
+		board.getIsland("06").putNoEntryTile(2);
+
+		board.unifyIslands(board.getIsland("05"));
+
+		assertEquals(1, board.getIsland("05-06").getNoEntryTiles());
+	}
+
 	@Test
 	void getDistanceFromMotherNature_NullTarget_ReturnNeg1() {
 		Board board = new Board(2, 3);
@@ -281,7 +350,7 @@ class BoardTest {
 	void getDistanceFromMotherNature_NonexistentTarget_ReturnNeg1() {
 		Board board = new Board(2, 3);
 		assertDoesNotThrow(board::setup);
-		assertEquals(-1, board.getDistanceFromMotherNature(new IslandGroup("98")));
+		assertEquals(-1, board.getDistanceFromMotherNature(new IslandGroup(1, 2)));
 	}
 
 	@Test
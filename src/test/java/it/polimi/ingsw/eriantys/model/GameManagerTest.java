@@ -1,5 +1,6 @@
 package it.polimi.ingsw.eriantys.model;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.IslandNotFoundException;
@@ -31,6 +32,18 @@ class GameManagerTest {
 		assertThrows(Throwable.class, () -> new GameManager(List.of("foo"), false));
 	}
 
+	@Test
+	void createGameManager_SameNumberOfPlayers_SharesConstants() {
+		GameManager first = new GameManager(players, false);
+		GameManager second = new GameManager(players, true);
+		GameManager twoPlayers = new GameManager(List.of("Alice", "Bob"), false);
+
+		assertSame(first.constants, second.constants);
+		assertNotSame(first.constants, twoPlayers.constants);
+		assertEquals(9, first.constants.getEntranceSize());
+		assertEquals(7, twoPlayers.constants.getEntranceSize());
+	}
+
 	@Test
 	void setupEntrances_NormalPreConditions_NormalPostConditions() {
 		GameManager gm = new GameManager(players, false);
@@ -624,4 +637,21 @@ class GameManagerTest {
 
 		assertNull(gm.characterNoEntryTilesRepresentation("Mage"));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void construct_SameSeed_SameBoard() throws Exception {
+		GameManager first = new GameManager(players, true, new GameRandom(42));
+		GameManager second = new GameManager(players, true, new GameRandom(42));
+
+		for (GameManager gm : List.of(first, second)) {
+			gm.setupBoard();
+			gm.setupEntrances();
+			gm.setupPlayer(Alice.getNickname(), "BLACK", "DESERT");
+			gm.setupPlayer(Bob.getNickname(), "WHITE", "FOREST");
+			gm.setupPlayer(Eve.getNickname(), "GREY", "SKY");
+		}
+
+		assertEquals(42, first.getSeed());
+		assertEquals(new Gson().toJson(new BoardStatus(first)), new Gson().toJson(new BoardStatus(second)));
+	}
+}
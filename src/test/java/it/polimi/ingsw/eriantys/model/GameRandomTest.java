@@ -0,0 +1,42 @@
+package it.polimi.ingsw.eriantys.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRandomTest {
+
+	@Test
+	void nextLong_SameSeed_SameSequence() {
+		GameRandom first = new GameRandom(7);
+		GameRandom second = new GameRandom(7);
+
+		for (int i = 0; i < 100; i++)
+			assertEquals(first.nextLong(), second.nextLong());
+	}
+
+	@Test
+	void construct_SavedState_ResumesSequence() {
+		GameRandom random = new GameRandom(7);
+		for (int i = 0; i < 10; i++)
+			random.nextInt(12);
+		GameRandom restored = new GameRandom(random.getSeed(), random.getState());
+
+		assertEquals(7, restored.getSeed());
+		for (int i = 0; i < 100; i++)
+			assertEquals(random.nextInt(130), restored.nextInt(130));
+	}
+
+	@Test
+	void shuffle_NormalConditions_ReturnPermutation() {
+		List<Integer> list = new ArrayList<>(IntStream.rangeClosed(1, 12).boxed().toList());
+		GameRandom.shuffle(list, new GameRandom(3));
+
+		assertEquals(12, list.size());
+		assertEquals(IntStream.rangeClosed(1, 12).boxed().toList(), list.stream().sorted().toList());
+	}
+}
@@ -0,0 +1,96 @@
+package it.polimi.ingsw.eriantys.model;
+
+import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
+import it.polimi.ingsw.eriantys.model.exceptions.IslandNotFoundException;
+import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InfluenceTableTest {
+	Player p1, p2, currentPlayer;
+	Board board;
+	Bag bag;
+	ProfessorOwnership professors;
+	InfluenceTable table;
+
+	@BeforeEach
+	void init() {
+		PlayerList players = new PlayerList(List.of("p1", "p2"), 7, 8);
+		p1 = players.get("p1");
+		p2 = players.get("p2");
+		board = new Board(2, 3);
+		bag = new Bag();
+		professors = new ProfessorOwnership(() -> currentPlayer);
+		table = new InfluenceTable(players);
+		professors.setOwnerChangeListener((color, oldOwner, newOwner) -> table.professorMoved(board, color, oldOwner, newOwner));
+	}
+
+	@Test
+	void get_EmptyTable_Return0() throws IslandNotFoundException {
+		assertEquals(0, table.get(board.getIsland("01"), p1));
+		assertEquals(0, table.get(board.getIsland("01"), new Player("p3", 7, 8)));
+	}
+
+	@Test
+	void studentAdded_ProfessorOwned_IncreaseOwnerInfluence()
+			throws IslandNotFoundException, InvalidArgumentException, NoMovementException {
+		IslandGroup island = board.getIsland("04");
+		giveProfessor(p1, Color.RED);
+
+		bag.moveTo(island, Color.RED);
+		table.studentAdded(island, Color.RED, professors.getOwnership(Color.RED));
+		bag.moveTo(island, Color.BLUE);
+		table.studentAdded(island, Color.BLUE, professors.getOwnership(Color.BLUE));
+
+		assertEquals(1, table.get(island, p1));
+		assertEquals(0, table.get(island, p2));
+	}
+
+	@Test
+	void professorMoved_NewOwner_MoveInfluenceOnEveryIsland()
+			throws IslandNotFoundException, InvalidArgumentException, NoMovementException {
+		IslandGroup i1 = board.getIsland("01"), i2 = board.getIsland("07");
+		bag.moveTo(i1, Color.PINK);
+		bag.moveTo(i2, Color.PINK);
+		bag.moveTo(i2, Color.PINK);
+
+		giveProfessor(p1, Color.PINK);
+		assertEquals(1, table.get(i1, p1));
+		assertEquals(2, table.get(i2, p1));
+
+		giveProfessor(p2, Color.PINK);
+		giveProfessor(p2, Color.PINK);
+		assertEquals(0, table.get(i2, p1));
+		assertEquals(2, table.get(i2, p2));
+		assertEquals(1, table.get(i1, p2));
+	}
+
+	@Test
+	void refresh_UnifiedIslands_CountStudentsOfTheGroup()
+			throws IslandNotFoundException, InvalidArgumentException, NoMovementException {
+		board.setup();
+		giveProfessor(p1, Color.GREEN);
+		board.getIsland("02").setController(p1);
+		board.getIsland("03").setController(p1);
+		bag.moveTo(board.getIsland("02"), Color.GREEN);
+		bag.moveTo(board.getIsland("03"), Color.GREEN);
+
+		board.unifyIslands(board.getIsland("02"));
+		IslandGroup island = board.getIsland("02-03");
+		table.refresh(island, professors);
+
+		assertEquals(island.getQuantity(Color.GREEN), table.get(island, p1));
+		assertEquals(0, table.get(island, p2));
+	}
+
+	private void giveProfessor(Player player, Color color) throws InvalidArgumentException, NoMovementException {
+		currentPlayer = player;
+		bag.moveTo(player.getDiningRoom(), color);
+		professors.update(Set.of(color));
+	}
+}
@@ -9,7 +9,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class IslandGroupTest {
 
 	@Test
-	void merge_PassIslandsWithSameController_ReturnValidIsland() {
+	void absorb_PassIslandsWithSameController_ReturnValidIsland() {
 		IslandGroup i1 = new IslandGroup("01");
 		IslandGroup i2 = new IslandGroup("02");
 		Player p = new Player("p", 9, 6);
@@ -17,37 +17,71 @@ class IslandGroupTest {
 		i1.setController(p);
 		i2.setController(p);
 
-		IslandGroup res = assertDoesNotThrow(() -> IslandGroup.merge(i1, i2));
+		assertDoesNotThrow(() -> i1.absorb(i2));
 
-		assertEquals(p, res.getController());
-		assertTrue(res.getComponents().containsAll(i1.getComponents()));
-		assertTrue(res.getComponents().containsAll(i2.getComponents()));
-		assertEquals("01-02", res.getId());
+		assertEquals(p, i1.getController());
+		assertTrue(i1.getComponents().containsAll(i2.getComponents()));
+		assertEquals("01-02", i1.getId());
 	}
 
 	@Test
-	void merge_PassIslandsWithDifferentControllers_ThrowException() {
+	void absorb_PassIslandsWithNoController_ThrowException() {
 		IslandGroup i1 = new IslandGroup("01");
 		IslandGroup i2 = new IslandGroup("02");
 
-		i1.setController(new Player("p1", 7, 8));
-		i2.setController(new Player("p2", 7, 8));
+		assertThrowsExactly(IncompatibleControllersException.class, () -> i1.absorb(i2));
+	}
+
+	@Test
+	void absorb_PassNeighborWithSameController_GrowInPlace() throws Exception {
+		IslandGroup i1 = new IslandGroup("12");
+		IslandGroup i2 = new IslandGroup("01");
+		Player p = new Player("p", 9, 6);
+
+		i1.setController(p);
+		i2.setController(p);
+		Bag bag = new Bag();
+		bag.moveTo(i1, Color.RED);
+		bag.moveTo(i2, Color.RED);
+		bag.moveTo(i2, Color.RED);
+		bag.moveTo(i2, Color.BLUE);
+		i2.putNoEntryTile(4);
 
-		assertThrowsExactly(IncompatibleControllersException.class, () -> IslandGroup.merge(i1, i2));
+		i1.absorb(i2);
+
+		assertEquals("12-01", i1.getId());
+		assertEquals(2, i1.getSize());
+		assertEquals(2, i1.getTowers());
+		assertEquals(3, i1.getQuantity(Color.RED));
+		assertEquals(1, i1.getQuantity(Color.BLUE));
+		assertEquals(1, i1.getNoEntryTiles());
+		assertEquals(0, i2.getQuantity(Color.RED));
+		assertEquals(0, i2.getNoEntryTiles());
 	}
 
 	@Test
-	void merge_PassNull_ReturnNull() throws IncompatibleControllersException {
-		IslandGroup island = new IslandGroup("03");
+	void absorb_PassNeighborWithDifferentController_ThrowException() {
+		IslandGroup i1 = new IslandGroup("01");
+		IslandGroup i2 = new IslandGroup("02");
 
-		assertNull(IslandGroup.merge(island, null));
-		assertNull(IslandGroup.merge(null, island));
-		assertNull(IslandGroup.merge(null, null));
+		i1.setController(new Player("p1", 7, 8));
+		i2.setController(new Player("p2", 7, 8));
+
+		assertThrowsExactly(IncompatibleControllersException.class, () -> i1.absorb(i2));
+		assertEquals("01", i1.getId());
 	}
 
 	@Test
 	void getId_NormalConditions_ReturnValidString() {
-		assertEquals("91", new IslandGroup("91").getId());
+		assertEquals("09", new IslandGroup("09").getId());
+		assertEquals("11-12-01", new IslandGroup(10, 3).getId());
+	}
+
+	@Test
+	void constructor_PassIdOutOfRange_ThrowException() {
+		assertThrowsExactly(IllegalArgumentException.class, () -> new IslandGroup("00"));
+		assertThrowsExactly(IllegalArgumentException.class, () -> new IslandGroup("13"));
+		assertThrowsExactly(NumberFormatException.class, () -> new IslandGroup("01-02"));
 	}
 
 	@Test
@@ -112,8 +146,8 @@ class IslandGroupTest {
 		i1.setController(p);
 		i2.setController(p);
 
-		IslandGroup res = IslandGroup.merge(i1, i2);
-		assertEquals(2, res.getTowers());
+		i1.absorb(i2);
+		assertEquals(2, i1.getTowers());
 	}
 
 	@Test
@@ -132,7 +166,7 @@ class IslandGroupTest {
 
 	@Test
 	void popNoEntryTile_NoTilesPlaced_ReturnNull() {
-		assertNull(new IslandGroup("33").popNoEntryTile());
+		assertNull(new IslandGroup("03").popNoEntryTile());
 	}
 
 	@Test
@@ -164,10 +198,10 @@ class IslandGroupTest {
 		i2.setController(p);
 		i3.setController(p);
 
-		IslandGroup aggregate = IslandGroup.merge(i1, i2);
-		aggregate = IslandGroup.merge(aggregate, i3);
+		i1.absorb(i2);
+		i1.absorb(i3);
 
-		assertEquals(3, aggregate.getSize());
+		assertEquals(3, i1.getSize());
 	}
 
 	@Test
@@ -0,0 +1,194 @@
+package it.polimi.ingsw.eriantys.model;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import it.polimi.ingsw.eriantys.model.influence.CommonInfluence;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelSnapshotTest {
+	List<String> players = List.of("Alice", "Bob", "Eve");
+
+	GameManager start(long seed, boolean expertMode) throws Exception {
+		GameManager gameManager = new GameManager(players, expertMode, new GameRandom(seed));
+		gameManager.setupPlayer("Alice", "WHITE", "FOREST");
+		gameManager.setupPlayer("Bob", "BLACK", "SKY");
+		gameManager.setupPlayer("Eve", "GREY", "SNOW");
+		gameManager.setupBoard();
+		gameManager.setupEntrances();
+		return gameManager;
+	}
+
+	/**
+	 * Plays the specified number of rounds, always making the same moves in the same state of the game,
+	 * and trying to play every character card in every turn.
+	 */
+	boolean play(GameManager gameManager, int rounds) throws Exception {
+		for (int round = 0; round < rounds; round++) {
+			try {
+				if (gameManager.setupRound())
+					return true;
+			} catch (Exception e) {
+				// the bag has run out of students
+				return true;
+			}
+			Map<String, String> playedCards = new LinkedHashMap<>();
+			Map<String, List<String>> decks = gameManager.getAvailableAssistantCards();
+			for (int i = 0; i < players.size(); i++)
+				playedCards.put(players.get(i), decks.get(players.get(i)).get(i));
+			gameManager.handleAssistantCards(playedCards);
+
+			for (String player : gameManager.getTurnOrder()) {
+				gameManager.setCurrentPlayer(player);
+				for (int i = 0; i < gameManager.constants.getCloudSize(); i++) {
+					String color = gameManager.entranceRepresentation(player).entrySet().stream()
+							.filter(e -> e.getValue() > 0).map(Map.Entry::getKey).findFirst().orElse(null);
+					if (color == null) break;
+					String destination = (i + round) % 2 == 0 ? GameConstants.DINING_ROOM : gameManager.islandsRepresentation().get(i);
+					try {
+						gameManager.handleMovedStudent(player, color, destination);
+					} catch (Exception ignored) {
+					}
+				}
+				if (gameManager.charactersRepresentation() != null)
+					try {
+						gameManager.handleCharacterCard(round % 3, params(gameManager));
+					} catch (Exception ignored) {
+					}
+
+				List<String> islands = gameManager.islandsRepresentation();
+				String destination = islands.get((islands.indexOf(gameManager.motherNatureIslandRepresentation()) + 1) % islands.size());
+				if (gameManager.handleMotherNatureMovement(destination))
+					return true;
+				try {
+					gameManager.handleSelectedCloud(player, gameManager.getTurnOrder().indexOf(player));
+				} catch (Exception ignored) {
+				}
+				gameManager.cancelCharacterCardEffect();
+			}
+		}
+		return false;
+	}
+
+	JsonObject params(GameManager gameManager) {
+		JsonObject params = new JsonObject();
+		JsonArray colors = new JsonArray();
+		colors.add("RED");
+		params.add("sourceColors", colors);
+		params.add("destinationColors", colors);
+		params.addProperty("targetColor", "RED");
+		params.addProperty("targetIsland", gameManager.islandsRepresentation().get(0));
+		return params;
+	}
+
+	String board(GameManager gameManager) {
+		return new Gson().toJson(new BoardStatus(gameManager));
+	}
+
+	@Test
+	void restore_MidGame_SameState() throws Exception {
+		GameManager gameManager = start(42, true);
+		play(gameManager, 4);
+		byte[] snapshot = gameManager.snapshot();
+
+		GameManager restored = GameManager.restore(snapshot);
+		assertEquals(board(gameManager), board(restored));
+		assertEquals(gameManager.getTurnOrder(), restored.getTurnOrder());
+		assertEquals(gameManager.getAvailableAssistantCards(), restored.getAvailableAssistantCards());
+		assertEquals(gameManager.getSeed(), restored.getSeed());
+		assertArrayEquals(snapshot, restored.snapshot());
+	}
+
+	@Test
+	void restore_ContinuedGame_SameOutcome() throws Exception {
+		for (long seed = 1; seed <= 5; seed++) {
+			for (boolean expertMode : new boolean[]{false, true}) {
+				GameManager gameManager = start(seed, expertMode);
+				play(gameManager, 3);
+				GameManager restored = GameManager.restore(gameManager.snapshot());
+
+				boolean over = play(gameManager, 20);
+				assertEquals(over, play(restored, 20));
+				assertEquals(board(gameManager), board(restored));
+				assertEquals(gameManager.getWinner(), restored.getWinner());
+				assertArrayEquals(gameManager.snapshot(), restored.snapshot());
+			}
+		}
+	}
+
+	@Test
+	void restore_ActiveCharacterEffect_SameState() throws Exception {
+		int effects = 0;
+		for (long seed = 1; seed <= 20; seed++) {
+			GameManager gameManager = start(seed, true);
+			play(gameManager, 1);
+			gameManager.setupRound();
+			gameManager.handleAssistantCards(Map.of("Alice", "CAT", "Bob", "OSTRICH", "Eve", "TURTLE"));
+			gameManager.setCurrentPlayer("Alice");
+			for (int i = 0; i < 3; i++) {
+				gameManager.getPlayerList().get("Alice").updateCoins(3);
+				try {
+					gameManager.handleCharacterCard(i, params(gameManager));
+				} catch (Exception ignored) {
+				}
+			}
+			if (gameManager.getProfessors().isEffectActive() || gameManager.getInfluenceCalculator().getClass() != CommonInfluence.class)
+				effects++;
+
+			byte[] snapshot = gameManager.snapshot();
+			GameManager restored = GameManager.restore(snapshot);
+			assertArrayEquals(snapshot, restored.snapshot());
+			assertEquals(board(gameManager), board(restored));
+			assertEquals(gameManager.getInfluenceCalculator().getClass(), restored.getInfluenceCalculator().getClass());
+			assertEquals(gameManager.getProfessors().isEffectActive(), restored.getProfessors().isEffectActive());
+
+			List<String> islands = gameManager.islandsRepresentation();
+			String destination = islands.get((islands.indexOf(gameManager.motherNatureIslandRepresentation()) + 1) % islands.size());
+			gameManager.handleMotherNatureMovement(destination);
+			restored.handleMotherNatureMovement(destination);
+			gameManager.cancelCharacterCardEffect();
+			restored.cancelCharacterCardEffect();
+			assertEquals(board(gameManager), board(restored));
+		}
+		assertTrue(effects > 0);
+	}
+
+	@Test
+	void restore_NewGame_SameState() throws Exception {
+		GameManager gameManager = new GameManager(players, true, new GameRandom(7));
+		byte[] snapshot = gameManager.snapshot();
+		GameManager restored = GameManager.restore(snapshot);
+		assertEquals(gameManager.charactersRepresentation(), restored.charactersRepresentation());
+		assertArrayEquals(snapshot, restored.snapshot());
+
+		restored.setupPlayer("Alice", "WHITE", "FOREST");
+		restored.setupPlayer("Bob", "BLACK", "SKY");
+		restored.setupPlayer("Eve", "GREY", "SNOW");
+		restored.setupBoard();
+		restored.setupEntrances();
+		assertEquals(board(start(7, true)), board(restored));
+	}
+
+	@Test
+	void restore_UnsupportedVersion_ThrowsIOException() throws Exception {
+		byte[] snapshot = start(3, false).snapshot();
+		snapshot[0] = (byte) (ModelSnapshot.VERSION + 1);
+		assertThrows(IOException.class, () -> GameManager.restore(snapshot));
+	}
+
+	@Test
+	void restore_TruncatedSnapshot_ThrowsIOException() throws Exception {
+		byte[] snapshot = start(3, true).snapshot();
+		assertThrows(IOException.class, () -> GameManager.restore(Arrays.copyOf(snapshot, snapshot.length - 1)));
+		byte[] longer = Arrays.copyOf(snapshot, snapshot.length + 1);
+		assertThrows(IOException.class, () -> GameManager.restore(longer));
+	}
+}
@@ -60,4 +60,34 @@ class PlayerListTest {
 
 		assertNull(ans);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void getHandle_NormalPostConditions() {
+		assertEquals(0, l.getHandle("Alice"));
+		assertEquals(2, l.getHandle(Eve));
+		assertEquals(-1, l.getHandle("admin"));
+		assertEquals(-1, l.getHandle((String) null));
+		assertEquals(Bob, l.get(l.getHandle("Bob")));
+		assertEquals(3, l.size());
+	}
+
+	@Test
+	void getHandle_AfterSetFirst_HandlesUnchanged() {
+		l.setFirst(Bob);
+
+		assertEquals(0, l.getHandle(Alice));
+		assertEquals(1, l.getHandle(Bob));
+		assertEquals(2, l.getHandle(Eve));
+	}
+
+	@Test
+	void getTurnOrder_SetFirstAfterwards_ViewReflectsNewOrder() {
+		List<Player> turnOrder = l.getTurnOrder();
+
+		l.setFirst(Bob);
+
+		assertEquals(List.of(Bob, Eve, Alice), turnOrder);
+		assertThrows(UnsupportedOperationException.class, () -> turnOrder.remove(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> turnOrder.get(3));
+	}
+}
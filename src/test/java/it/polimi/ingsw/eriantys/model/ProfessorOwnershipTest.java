@@ -4,6 +4,7 @@ import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -146,6 +147,56 @@ class ProfessorOwnershipTest {
 		assertEquals(0, ownership.getProfessors(p).size());
 	}
 
+	@Test
+	void getProfessorMask_PassNull_Return0() {
+		assertEquals(0, new ProfessorOwnership(this::supplyPlayer).getProfessorMask(null));
+	}
+
+	@Test
+	void getProfessorMask_PlayerWithSomeProfessors_ReturnMatchingBits() throws InvalidArgumentException, NoMovementException {
+		Player p1 = new Player("p1", 7, 8);
+		Player p2 = new Player("p2", 7, 8);
+		Bag bag = new Bag();
+		ProfessorOwnership ownership = new ProfessorOwnership(this::supplyPlayer);
+
+		this.currentPlayer = p1;
+		bag.moveTo(p1.getDiningRoom(), Color.GREEN);
+		bag.moveTo(p1.getDiningRoom(), Color.PINK);
+		ownership.updateAll();
+
+		this.currentPlayer = p2;
+		bag.moveTo(p2.getDiningRoom(), Color.BLUE);
+		ownership.update(Color.BLUE);
+
+		assertEquals(1 << Color.GREEN.ordinal() | 1 << Color.PINK.ordinal(), ownership.getProfessorMask(p1));
+		assertEquals(1 << Color.BLUE.ordinal(), ownership.getProfessorMask(p2));
+		assertEquals(ownership.getProfessors(p1).size(), Integer.bitCount(ownership.getProfessorMask(p1)));
+	}
+
+	@Test
+	void update_OwnerChanged_NotifyListener() throws InvalidArgumentException, NoMovementException {
+		Player p1 = new Player("p1", 7, 8);
+		Player p2 = new Player("p2", 7, 8);
+		Bag bag = new Bag();
+		ProfessorOwnership ownership = new ProfessorOwnership(this::supplyPlayer);
+		List<String> changes = new ArrayList<>();
+
+		ownership.setOwnerChangeListener((color, oldOwner, newOwner) ->
+				changes.add(color + ":" + (oldOwner == null ? null : oldOwner.getNickname()) + "->" + newOwner.getNickname()));
+		ownership.activateEffect();
+
+		this.currentPlayer = p1;
+		bag.moveTo(p1.getDiningRoom(), Color.RED);
+		ownership.update(Color.RED);
+		ownership.update(Color.RED);
+
+		this.currentPlayer = p2;
+		bag.moveTo(p2.getDiningRoom(), Color.RED);
+		ownership.update(Color.RED);
+
+		assertEquals(List.of("RED:null->p1", "RED:p1->p2"), changes);
+	}
+
 	Player supplyPlayer() {
 		return currentPlayer;
 	}
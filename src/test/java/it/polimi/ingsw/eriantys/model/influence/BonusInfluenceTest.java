@@ -4,6 +4,7 @@ import it.polimi.ingsw.eriantys.model.Bag;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 import org.junit.jupiter.api.Test;
@@ -39,4 +40,29 @@ class BonusInfluenceTest {
 
 		assertEquals(3 + 2, calc.calculate(p, island, professors));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void BonusInfluence_StudentInfluence_AddBonusToUser() throws InvalidArgumentException {
+		Player p = new Player("admin", 9, 6);
+		IslandGroup island = new IslandGroup("03");
+		ProfessorOwnership ownership = new ProfessorOwnership(() -> p);
+
+		island.setController(p);
+
+		assertEquals(3 + 1 + 2, calc.calculate(p, island, 3, ownership));
+		assertEquals(3, calc.calculate(new Player("Eve", 9, 6), island, 3, ownership));
+	}
+
+	@Test
+	void BonusInfluence_ProfessorMask_NormalPostConditions() throws InvalidArgumentException, NoMovementException {
+		Player p = new Player("admin", 9, 6);
+		IslandGroup island = new IslandGroup("03");
+		Bag b = new Bag();
+
+		b.moveTo(island, Color.PINK);
+		b.moveTo(island, Color.RED);
+
+		assertEquals(1 + 2, calc.calculate(p, island, 1 << Color.PINK.ordinal()));
+		assertEquals(1, calc.calculate(new Player("Eve", 9, 6), island, 1 << Color.RED.ordinal()));
+	}
+}
@@ -4,6 +4,7 @@ import it.polimi.ingsw.eriantys.model.Bag;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 import org.junit.jupiter.api.Test;
@@ -38,4 +39,31 @@ class CommonInfluenceTest {
 
 		assertEquals(2, calc.calculate(p, island, professors));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void CommonInfluence_StudentInfluence_AddTowers() throws InvalidArgumentException {
+		Player p = new Player("admin", 9, 6);
+		IslandGroup island = new IslandGroup("03");
+		ProfessorOwnership ownership = new ProfessorOwnership(() -> p);
+
+		assertEquals(4, calc.calculate(p, island, 4, ownership));
+		island.setController(p);
+		assertEquals(4 + 1, calc.calculate(p, island, 4, ownership));
+		assertThrowsExactly(InvalidArgumentException.class, () -> calc.calculate(p, island, 4, null));
+	}
+
+	@Test
+	void CommonInfluence_ProfessorMask_NormalPostConditions() throws InvalidArgumentException, NoMovementException {
+		Player p = new Player("admin", 9, 6);
+		IslandGroup island = new IslandGroup("03");
+		Bag b = new Bag();
+
+		island.setController(p);
+		b.moveTo(island, Color.PINK);
+		b.moveTo(island, Color.BLUE);
+		b.moveTo(island, Color.RED);
+
+		assertEquals(2 + 1, calc.calculate(p, island, 1 << Color.PINK.ordinal() | 1 << Color.BLUE.ordinal()));
+		assertEquals(0, calc.calculate(new Player("Eve", 9, 6), island, 0));
+	}
+}
@@ -4,6 +4,7 @@ import it.polimi.ingsw.eriantys.model.Bag;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 import org.junit.jupiter.api.Test;
@@ -38,4 +39,32 @@ class ExcludeColorInfluenceTest {
 
 		assertEquals(0, calc.calculate(p, island, professors));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void ExcludeColorInfluence_StudentInfluence_SubtractExcludedColor() throws InvalidArgumentException, NoMovementException {
+		Player p = new Player("admin", 9, 6);
+		IslandGroup island = new IslandGroup("03");
+		ProfessorOwnership ownership = new ProfessorOwnership(() -> p);
+		Bag b = new Bag();
+
+		b.moveTo(p.getDiningRoom(), Color.PINK);
+		ownership.update(Set.of(Color.PINK));
+		b.moveTo(island, Color.PINK);
+		b.moveTo(island, Color.PINK);
+
+		assertEquals(0, calc.calculate(p, island, 2, ownership));
+		assertEquals(2, calc.calculate(new Player("Eve", 9, 6), island, 2, ownership));
+	}
+
+	@Test
+	void ExcludeColorInfluence_ProfessorMask_NormalPostConditions() throws InvalidArgumentException, NoMovementException {
+		Player p = new Player("admin", 9, 6);
+		IslandGroup island = new IslandGroup("03");
+		Bag b = new Bag();
+
+		b.moveTo(island, Color.PINK);
+		b.moveTo(island, Color.BLUE);
+
+		assertEquals(1, calc.calculate(p, island, 1 << Color.PINK.ordinal() | 1 << Color.BLUE.ordinal()));
+	}
+}
@@ -4,6 +4,7 @@ import it.polimi.ingsw.eriantys.model.Bag;
 import it.polimi.ingsw.eriantys.model.Color;
 import it.polimi.ingsw.eriantys.model.IslandGroup;
 import it.polimi.ingsw.eriantys.model.Player;
+import it.polimi.ingsw.eriantys.model.ProfessorOwnership;
 import it.polimi.ingsw.eriantys.model.exceptions.InvalidArgumentException;
 import it.polimi.ingsw.eriantys.model.exceptions.NoMovementException;
 import org.junit.jupiter.api.Test;
@@ -38,4 +39,27 @@ class NoTowersInfluenceTest {
 
 		assertEquals(1, calc.calculate(p, island, professors));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void NoTowersInfluence_StudentInfluence_IgnoreTowers() throws InvalidArgumentException {
+		Player p = new Player("admin", 9, 6);
+		IslandGroup island = new IslandGroup("03");
+		ProfessorOwnership ownership = new ProfessorOwnership(() -> p);
+
+		island.setController(p);
+
+		assertEquals(3, calc.calculate(p, island, 3, ownership));
+	}
+
+	@Test
+	void NoTowersInfluence_ProfessorMask_NormalPostConditions() throws InvalidArgumentException, NoMovementException {
+		Player p = new Player("admin", 9, 6);
+		IslandGroup island = new IslandGroup("03");
+		Bag b = new Bag();
+
+		island.setController(p);
+		b.moveTo(island, Color.YELLOW);
+
+		assertEquals(1, calc.calculate(p, island, 1 << Color.YELLOW.ordinal()));
+	}
+}
@@ -0,0 +1,85 @@
+package it.polimi.ingsw.eriantys.resources;
+
+import it.polimi.ingsw.eriantys.model.GameConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceRegistryTest {
+	@TempDir
+	Path directory;
+
+	@AfterEach
+	void restore() throws IOException {
+		ResourceRegistry.setDirectory(null);
+		ResourceRegistry.reload();
+	}
+
+	@Test
+	void get_ClasspathResources_LoadedOnce() {
+		ResourceRegistry.Snapshot snapshot = ResourceRegistry.get();
+
+		assertSame(snapshot, ResourceRegistry.get());
+		assertSame(snapshot.getConstants(3), ResourceRegistry.get().getConstants(3));
+		assertEquals(4, snapshot.getConstants(3).getCloudSize());
+		assertEquals(8, snapshot.getConstants(2).getTowerNumber());
+		for (String file : ResourceRegistry.HELP_FILES)
+			assertFalse(snapshot.getHelp(file).isEmpty());
+		assertEquals(12, snapshot.getCharacters().size());
+		assertEquals("1", snapshot.getCharacters().get("Monk").get("cost"));
+	}
+
+	@Test
+	void get_UnknownResources_ThrowsIllegalArgumentException() {
+		ResourceRegistry.Snapshot snapshot = ResourceRegistry.get();
+
+		assertThrowsExactly(IllegalArgumentException.class, () -> snapshot.getConstants(1));
+		assertThrowsExactly(IllegalArgumentException.class, () -> snapshot.getHelp("help/foo.txt"));
+	}
+
+	@Test
+	void getCharacters_Modification_ThrowsUnsupportedOperationException() {
+		Map<String, Map<String, String>> characters = ResourceRegistry.get().getCharacters();
+
+		assertThrows(UnsupportedOperationException.class, () -> characters.remove("Monk"));
+		assertThrows(UnsupportedOperationException.class, () -> characters.get("Monk").put("cost", "2"));
+	}
+
+	@Test
+	void reload_OverridingDirectory_ReplacesSnapshot() throws IOException {
+		ResourceRegistry.Snapshot old = ResourceRegistry.get();
+		GameConstants oldConstants = old.getConstants(2);
+		Files.writeString(directory.resolve(ResourceRegistry.CONFIG),
+				"{\"2\": {\"cloudSize\": 5, \"cloudNumber\": 2, \"entranceSize\": 11, \"towerNumber\": 8}}");
+		ResourceRegistry.setDirectory(directory);
+
+		assertSame(old, ResourceRegistry.get());
+
+		ResourceRegistry.Snapshot reloaded = ResourceRegistry.reload();
+
+		assertSame(reloaded, ResourceRegistry.get());
+		assertEquals(5, reloaded.getConstants(2).getCloudSize());
+		assertEquals(11, reloaded.getConstants(2).getEntranceSize());
+		assertThrowsExactly(IllegalArgumentException.class, () -> reloaded.getConstants(3));
+		assertEquals(old.getHelp("help/in_game.txt"), reloaded.getHelp("help/in_game.txt"));
+		assertEquals(3, oldConstants.getCloudSize());
+	}
+
+	@Test
+	void reload_InvalidResource_KeepsSnapshot() throws IOException {
+		ResourceRegistry.Snapshot old = ResourceRegistry.get();
+		Files.createDirectory(directory.resolve("help"));
+		Files.writeString(directory.resolve(ResourceRegistry.CHARACTERS), "{\"Monk\": ");
+		ResourceRegistry.setDirectory(directory);
+
+		assertThrows(IOException.class, ResourceRegistry::reload);
+		assertSame(old, ResourceRegistry.get());
+	}
+}
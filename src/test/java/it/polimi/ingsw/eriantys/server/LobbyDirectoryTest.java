@@ -0,0 +1,180 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.controller.Game;
+import it.polimi.ingsw.eriantys.controller.GameInfo;
+import it.polimi.ingsw.eriantys.messages.Message;
+import it.polimi.ingsw.eriantys.messages.server.AvailableLobbies;
+import it.polimi.ingsw.eriantys.messages.server.LobbyDirectoryUpdate;
+import it.polimi.ingsw.eriantys.messages.server.LobbyDirectoryUpdate.Change;
+import it.polimi.ingsw.eriantys.server.LobbyDirectory.Filter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LobbyDirectoryTest {
+
+	static Server server;
+
+	static {
+		try {
+			server = new Server(0);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	LobbyDirectory directory = new LobbyDirectory(2, 4);
+
+	/**
+	 * Creates a lobby with the specified number of players waiting in it, and lists it in the directory.
+	 */
+	Game lobby(int gameId, int lobbySize, boolean expertMode, int players) {
+		Game game = new Game(server, gameId, "p0", lobbySize, expertMode);
+		for (int i = 0; i < players; i++)
+			game.addPlayer("p" + i);
+		directory.update(game);
+		return game;
+	}
+
+	List<Integer> ids(AvailableLobbies page) {
+		return page.getLobbies().stream().map(GameInfo::getGameId).toList();
+	}
+
+	List<Change> changes(RecordingConnection connection) {
+		return connection.written.stream().map(m -> ((LobbyDirectoryUpdate) m).getChange()).toList();
+	}
+
+	@Test
+	void query_Pages_FollowCursorToLastPage() {
+		for (int id = 1; id <= 5; id++)
+			lobby(id, 2 + id % 3, id % 2 == 0, 1);
+
+		AvailableLobbies first = directory.query(Filter.ANY, -1, 2);
+		assertEquals(List.of(1, 2), ids(first));
+		assertEquals(2, first.getNext());
+		assertEquals(5, first.getTotal());
+
+		AvailableLobbies second = directory.query(Filter.ANY, first.getNext(), 2);
+		assertEquals(List.of(3, 4), ids(second));
+		assertEquals(4, second.getNext());
+
+		AvailableLobbies last = directory.query(Filter.ANY, second.getNext(), 2);
+		assertEquals(List.of(5), ids(last));
+		assertNull(last.getNext());
+	}
+
+	@Test
+	void query_PageEndsWithLastLobby_NoNextPage() {
+		for (int id = 1; id <= 4; id++)
+			lobby(id, 3, false, 1);
+
+		AvailableLobbies page = directory.query(Filter.ANY, -1, 4);
+		assertEquals(List.of(1, 2, 3, 4), ids(page));
+		assertNull(page.getNext());
+
+		AvailableLobbies after = directory.query(Filter.ANY, 4, 4);
+		assertEquals(List.of(), ids(after));
+		assertNull(after.getNext());
+		assertEquals(4, after.getTotal());
+	}
+
+	@Test
+	void query_Filters_MatchSizeAndMode() {
+		lobby(1, 2, false, 1);
+		lobby(2, 3, true, 1);
+		lobby(3, 3, false, 2);
+		lobby(4, 2, true, 1);
+		lobby(5, 3, true, 2);
+
+		assertEquals(List.of(2, 3, 5), ids(directory.query(new Filter(3, null), -1, 10)));
+		assertEquals(List.of(2, 4, 5), ids(directory.query(new Filter(null, true), -1, 10)));
+		assertEquals(List.of(1), ids(directory.query(new Filter(2, false), -1, 10)));
+		assertEquals(List.of(), ids(directory.query(new Filter(4, null), -1, 10)));
+		AvailableLobbies page = directory.query(new Filter(3, true), -1, 1);
+		assertEquals(List.of(2), ids(page));
+		assertEquals(2, page.getTotal());
+		assertEquals(2, page.getNext());
+	}
+
+	@Test
+	void update_EmptyOrUnsupportedLobby_NotListed() {
+		lobby(1, 3, false, 0);
+		lobby(2, 5, false, 1);
+		assertEquals(0, directory.size());
+		assertEquals(List.of(), ids(directory.query(Filter.ANY, -1, 10)));
+	}
+
+	@Test
+	void update_LobbyFillsUp_AddedUpdatedRemoved() {
+		RecordingConnection subscriber = new RecordingConnection(server);
+		directory.subscribe(subscriber, Filter.ANY);
+
+		Game game = lobby(1, 3, false, 1);
+		game.addPlayer("p1");
+		directory.update(game);
+		game.addPlayer("p2");
+		directory.update(game);
+		directory.update(game);
+
+		assertEquals(List.of(Change.ADDED, Change.UPDATED, Change.REMOVED), changes(subscriber));
+		assertEquals(List.of(1, 2, 3), subscriber.written.stream()
+				.map(m -> ((LobbyDirectoryUpdate) m).getLobby().getCurrentPlayers()).toList());
+		assertEquals(0, directory.size());
+		assertEquals(List.of(), ids(directory.query(Filter.ANY, -1, 10)));
+	}
+
+	@Test
+	void remove_ListedLobby_RemovedOnce() {
+		RecordingConnection subscriber = new RecordingConnection(server);
+		directory.subscribe(subscriber, Filter.ANY);
+		Game game = lobby(1, 2, true, 1);
+		Game unlisted = new Game(server, 2, "p0", 2, true);
+
+		directory.remove(game);
+		directory.remove(game);
+		directory.remove(unlisted);
+		directory.update(game);
+
+		assertEquals(List.of(Change.ADDED, Change.REMOVED, Change.ADDED), changes(subscriber));
+		assertEquals(1, directory.size());
+	}
+
+	@Test
+	void update_Versions_LaterThanPage() {
+		RecordingConnection subscriber = new RecordingConnection(server);
+		directory.subscribe(subscriber, Filter.ANY);
+		Game game = lobby(1, 2, false, 1);
+		AvailableLobbies page = directory.query(Filter.ANY, -1, 10);
+		directory.remove(game);
+
+		List<Long> versions = subscriber.written.stream().map(m -> ((LobbyDirectoryUpdate) m).getVersion()).toList();
+		assertTrue(versions.get(0) <= page.getVersion());
+		assertTrue(versions.get(1) > page.getVersion());
+	}
+
+	@Test
+	void subscribe_Filter_OnlyMatchingChanges() {
+		RecordingConnection subscriber = new RecordingConnection(server);
+		directory.subscribe(subscriber, new Filter(3, true));
+		lobby(1, 2, true, 1);
+		lobby(2, 3, false, 1);
+		lobby(3, 3, true, 1);
+		assertEquals(1, subscriber.written.size());
+		assertEquals(3, ((LobbyDirectoryUpdate) subscriber.written.get(0)).getLobby().getGameId());
+
+		// a new subscription replaces the previous one
+		directory.subscribe(subscriber, new Filter(2, null));
+		lobby(4, 3, true, 1);
+		lobby(5, 2, false, 1);
+		assertEquals(5, ((LobbyDirectoryUpdate) subscriber.written.get(1)).getLobby().getGameId());
+
+		directory.unsubscribe(subscriber);
+		lobby(6, 2, false, 1);
+		assertEquals(2, subscriber.written.size());
+		for (Message message : subscriber.written)
+			assertInstanceOf(LobbyDirectoryUpdate.class, message);
+	}
+}
@@ -0,0 +1,207 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.server.Matchmaker.Ticket;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchmakerTest {
+
+	static Server server;
+
+	static {
+		try {
+			server = new Server(0);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * The tasks submitted to the lane, which only run when the test says so.
+	 */
+	List<Runnable> tasks = new ArrayList<>();
+
+	/**
+	 * The groups handed over by the matchmaker, as lists of usernames followed by the size and the mode of the game.
+	 */
+	List<String> matches = new ArrayList<>();
+
+	Matchmaker matchmaker(Predicate<Ticket> admission) {
+		return new Matchmaker(tasks::add, 2, 3, admission, (players, numPlayers, expertMode) ->
+				matches.add(players.stream().map(Ticket::username).toList() + " " + numPlayers + (expertMode ? " expert" : "")));
+	}
+
+	Matchmaker matchmaker() {
+		return matchmaker(ticket -> true);
+	}
+
+	Ticket ticket(String username) {
+		return new Ticket(username, new RecordingConnection(server), System.nanoTime());
+	}
+
+	void runTasks() {
+		List<Runnable> pending = new ArrayList<>(tasks);
+		tasks.clear();
+		pending.forEach(Runnable::run);
+	}
+
+	@Test
+	void enqueue_InvalidNumberOfPlayers_ReturnFalse() {
+		Matchmaker matchmaker = matchmaker();
+		assertFalse(matchmaker.enqueue(ticket("a"), 1, false));
+		assertFalse(matchmaker.enqueue(ticket("a"), 4, true));
+		assertTrue(tasks.isEmpty());
+	}
+
+	@Test
+	void enqueue_Burst_ScheduleSingleDrain() {
+		Matchmaker matchmaker = matchmaker();
+		for (int i = 0; i < 5; i++)
+			assertTrue(matchmaker.enqueue(ticket("p" + i), 2, false));
+		assertEquals(1, tasks.size());
+
+		runTasks();
+		assertEquals(List.of("[p0, p1] 2", "[p2, p3] 2"), matches);
+		assertEquals(1, matchmaker.size());
+
+		// once drained, the next arrival schedules a new drain
+		matchmaker.enqueue(ticket("p5"), 2, false);
+		assertEquals(1, tasks.size());
+		runTasks();
+		assertEquals("[p4, p5] 2", matches.get(2));
+		assertEquals(0, matchmaker.size());
+	}
+
+	@Test
+	void drain_DifferentKinds_GroupSeparately() {
+		Matchmaker matchmaker = matchmaker();
+		matchmaker.enqueue(ticket("a"), 3, true);
+		matchmaker.enqueue(ticket("b"), 3, false);
+		matchmaker.enqueue(ticket("c"), 2, true);
+		matchmaker.enqueue(ticket("d"), 3, true);
+		matchmaker.enqueue(ticket("e"), 2, false);
+		matchmaker.enqueue(ticket("f"), 3, true);
+		runTasks();
+
+		assertEquals(List.of("[a, d, f] 3 expert"), matches);
+		assertEquals(3, matchmaker.size());
+	}
+
+	@Test
+	void drain_AdmissionRefused_NotWaiting() {
+		Matchmaker matchmaker = matchmaker(ticket -> !ticket.username().startsWith("x"));
+		matchmaker.enqueue(ticket("a"), 2, false);
+		matchmaker.enqueue(ticket("x"), 2, false);
+		runTasks();
+		assertEquals(1, matchmaker.size());
+
+		matchmaker.enqueue(ticket("b"), 2, false);
+		runTasks();
+		assertEquals(List.of("[a, b] 2"), matches);
+	}
+
+	@Test
+	void drain_DisconnectedTicket_Dropped() {
+		Matchmaker matchmaker = matchmaker();
+		Ticket waiting = ticket("a");
+		matchmaker.enqueue(waiting, 2, false);
+		runTasks();
+
+		// the player disconnects while waiting
+		waiting.connection().setRunning(false);
+		matchmaker.enqueue(ticket("b"), 2, false);
+		runTasks();
+		assertTrue(matches.isEmpty());
+		assertEquals(1, matchmaker.size());
+
+		// and before being drained
+		Ticket arriving = ticket("c");
+		matchmaker.enqueue(arriving, 2, false);
+		arriving.connection().setRunning(false);
+		runTasks();
+		assertTrue(matches.isEmpty());
+
+		matchmaker.enqueue(ticket("d"), 2, false);
+		runTasks();
+		assertEquals(List.of("[b, d] 2"), matches);
+	}
+
+	@Test
+	void remove_WaitingPlayer_ReturnTrueOnce() {
+		Matchmaker matchmaker = matchmaker();
+		Ticket ticket = ticket("a");
+		matchmaker.enqueue(ticket, 3, false);
+		runTasks();
+
+		assertTrue(matchmaker.remove(ticket.connection()));
+		assertFalse(matchmaker.remove(ticket.connection()));
+		assertFalse(matchmaker.remove(new RecordingConnection(server)));
+		assertEquals(0, matchmaker.size());
+
+		matchmaker.enqueue(ticket("b"), 3, false);
+		matchmaker.enqueue(ticket("c"), 3, false);
+		runTasks();
+		assertTrue(matches.isEmpty());
+	}
+
+	@Test
+	void enqueue_Concurrent_EveryPlayerMatchedOnce() throws InterruptedException {
+		int threads = 8, perThread = 300;
+		ExecutorService lane = Executors.newSingleThreadExecutor();
+		Set<String> matched = new HashSet<>();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger overlaps = new AtomicInteger();
+		Matchmaker matchmaker = new Matchmaker(lane, 2, 3, ticket -> true, (players, numPlayers, expertMode) -> {
+			if (running.incrementAndGet() > 1)
+				overlaps.incrementAndGet();
+			assertEquals(numPlayers, players.size());
+			for (Ticket ticket : players)
+				assertTrue(matched.add(ticket.username()));
+			running.decrementAndGet();
+		});
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> producers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			int thread = t;
+			Thread producer = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < perThread; i++)
+					matchmaker.enqueue(ticket(thread + "-" + i), 3, i % 2 == 0);
+			});
+			producer.start();
+			producers.add(producer);
+		}
+		start.countDown();
+		for (Thread producer : producers)
+			producer.join();
+
+		// every drain scheduled so far runs before this task
+		AtomicInteger waiting = new AtomicInteger(-1);
+		lane.execute(() -> waiting.set(matchmaker.size()));
+		lane.shutdown();
+		assertTrue(lane.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(0, overlaps.get());
+		// each kind of game gets a multiple of 3 players, so nobody is left waiting
+		assertEquals(0, waiting.get());
+		assertEquals(threads * perThread, matched.size());
+	}
+}
@@ -0,0 +1,178 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.server.OutboundQueue.FrameKind;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundQueueTest {
+	ServerMetrics metrics = new ServerMetrics();
+
+	OutboundQueue queue(int capacity, OverflowPolicy policy) {
+		return new OutboundQueue(capacity, policy, metrics);
+	}
+
+	byte[] frame(int id) {
+		return new byte[]{(byte) id};
+	}
+
+	/**
+	 * Drains the queue, returning the identifiers of the pending frames in order.
+	 */
+	List<Integer> drain(OutboundQueue queue) {
+		List<Integer> ids = new ArrayList<>();
+		OutboundQueue.QueuedFrame frame;
+		while ((frame = queue.poll()) != null)
+			ids.add((int) frame.getBytes()[0]);
+		return ids;
+	}
+
+	@Test
+	void offer_NotFull_KeepEveryFrame() {
+		for (OverflowPolicy policy : OverflowPolicy.values()) {
+			OutboundQueue queue = queue(3, policy);
+			assertTrue(queue.offer(frame(1), FrameKind.MESSAGE));
+			assertTrue(queue.offer(frame(2), FrameKind.SNAPSHOT));
+			assertTrue(queue.offer(frame(3), FrameKind.MESSAGE));
+			assertEquals(List.of(1, 2, 3), drain(queue));
+			assertTrue(queue.isEmpty());
+		}
+		assertEquals(0, metrics.getDroppedFrames());
+	}
+
+	@Test
+	void offer_DropSuperseded_Full_DropEverySupersededSnapshot() {
+		OutboundQueue queue = queue(4, OverflowPolicy.DROP_SUPERSEDED);
+		queue.offer(frame(1), FrameKind.SNAPSHOT);
+		queue.offer(frame(2), FrameKind.MESSAGE);
+		queue.offer(frame(3), FrameKind.SNAPSHOT);
+		queue.offer(frame(4), FrameKind.SNAPSHOT);
+		assertTrue(queue.offer(frame(5), FrameKind.MESSAGE));
+		// the last snapshot is superseded by nothing, so it is kept
+		assertEquals(List.of(2, 4, 5), drain(queue));
+		assertEquals(2, metrics.getDroppedFrames());
+	}
+
+	@Test
+	void offer_DropSuperseded_FullWithSnapshot_DropEveryBoardFrame() {
+		OutboundQueue queue = queue(3, OverflowPolicy.DROP_SUPERSEDED);
+		queue.offer(frame(1), FrameKind.SNAPSHOT);
+		queue.offer(frame(2), FrameKind.DELTA);
+		queue.offer(frame(3), FrameKind.MESSAGE);
+		assertTrue(queue.offer(frame(4), FrameKind.SNAPSHOT));
+		assertEquals(List.of(3, 4), drain(queue));
+		assertEquals(2, metrics.getDroppedFrames());
+	}
+
+	@Test
+	void offer_DropSuperseded_FullOfMessages_Refuse() {
+		OutboundQueue queue = queue(2, OverflowPolicy.DROP_SUPERSEDED);
+		queue.offer(frame(1), FrameKind.MESSAGE);
+		queue.offer(frame(2), FrameKind.MESSAGE);
+		assertFalse(queue.offer(frame(3), FrameKind.SNAPSHOT));
+		assertFalse(queue.offer(frame(4), FrameKind.MESSAGE));
+		assertEquals(List.of(1, 2), drain(queue));
+		assertEquals(0, metrics.getDroppedFrames());
+	}
+
+	@Test
+	void offer_Coalesce_NotFull_ReplacePendingSnapshot() {
+		OutboundQueue queue = queue(8, OverflowPolicy.COALESCE);
+		queue.offer(frame(1), FrameKind.SNAPSHOT);
+		queue.offer(frame(2), FrameKind.MESSAGE);
+		assertTrue(queue.offer(frame(3), FrameKind.SNAPSHOT));
+		assertEquals(List.of(2, 3), drain(queue));
+		assertEquals(1, metrics.getDroppedFrames());
+	}
+
+	@Test
+	void offer_Coalesce_FullAnyway_Refuse() {
+		OutboundQueue queue = queue(2, OverflowPolicy.COALESCE);
+		queue.offer(frame(1), FrameKind.SNAPSHOT);
+		queue.offer(frame(2), FrameKind.MESSAGE);
+		// the new snapshot replaces the pending one, which makes room for it
+		assertTrue(queue.offer(frame(3), FrameKind.SNAPSHOT));
+		assertFalse(queue.offer(frame(4), FrameKind.MESSAGE));
+		assertEquals(List.of(2, 3), drain(queue));
+	}
+
+	@Test
+	void offer_Disconnect_Full_RefuseWithoutDropping() {
+		OutboundQueue queue = queue(2, OverflowPolicy.DISCONNECT);
+		queue.offer(frame(1), FrameKind.SNAPSHOT);
+		queue.offer(frame(2), FrameKind.SNAPSHOT);
+		assertFalse(queue.offer(frame(3), FrameKind.SNAPSHOT));
+		assertEquals(List.of(1, 2), drain(queue));
+		assertEquals(0, metrics.getDroppedFrames());
+	}
+
+	@Test
+	void offerIfEmpty_PendingFrames_Skip() {
+		OutboundQueue queue = queue(2, OverflowPolicy.DISCONNECT);
+		queue.offerIfEmpty(frame(1));
+		queue.offerIfEmpty(frame(2));
+		assertEquals(List.of(1), drain(queue));
+		queue.offer(frame(3), FrameKind.MESSAGE);
+		queue.offerIfEmpty(frame(4));
+		assertEquals(List.of(3), drain(queue));
+	}
+
+	@Test
+	void close_DiscardPendingAndLaterFrames() {
+		OutboundQueue queue = queue(2, OverflowPolicy.DISCONNECT);
+		queue.offer(frame(1), FrameKind.MESSAGE);
+		queue.close();
+		assertTrue(queue.isEmpty());
+		assertNull(queue.poll());
+		// a closed queue never asks for its client to be disconnected again
+		assertTrue(queue.offer(frame(2), FrameKind.MESSAGE));
+		assertTrue(queue.offer(frame(3), FrameKind.MESSAGE));
+		assertTrue(queue.offer(frame(4), FrameKind.MESSAGE));
+		queue.offerIfEmpty(frame(5));
+		assertNull(queue.poll());
+	}
+
+	@Test
+	void offer_Coalesce_DeltaKeepsPendingFrames() {
+		OutboundQueue queue = queue(8, OverflowPolicy.COALESCE);
+		assertTrue(queue.offer(frame(1), FrameKind.SNAPSHOT));
+		assertTrue(queue.offer(frame(2), FrameKind.DELTA));
+		assertTrue(queue.offer(frame(3), FrameKind.DELTA));
+		assertEquals(List.of(1, 2, 3), drain(queue));
+	}
+
+	@Test
+	void offer_Coalesce_SnapshotReplacesDeltas() {
+		OutboundQueue queue = queue(8, OverflowPolicy.COALESCE);
+		queue.offer(frame(1), FrameKind.SNAPSHOT);
+		queue.offer(frame(2), FrameKind.DELTA);
+		queue.offer(frame(3), FrameKind.MESSAGE);
+		queue.offer(frame(4), FrameKind.DELTA);
+		assertTrue(queue.offer(frame(5), FrameKind.SNAPSHOT));
+		assertEquals(List.of(3, 5), drain(queue));
+	}
+
+	@Test
+	void offer_DropSuperseded_FullOfDeltas_RefuseDelta() {
+		OutboundQueue queue = queue(3, OverflowPolicy.DROP_SUPERSEDED);
+		queue.offer(frame(1), FrameKind.DELTA);
+		queue.offer(frame(2), FrameKind.DELTA);
+		queue.offer(frame(3), FrameKind.DELTA);
+		assertFalse(queue.offer(frame(4), FrameKind.DELTA));
+	}
+
+	@Test
+	void offer_DropSuperseded_DeltaAfterSnapshot_DropFramesBeforeSnapshot() {
+		OutboundQueue queue = queue(4, OverflowPolicy.DROP_SUPERSEDED);
+		queue.offer(frame(1), FrameKind.SNAPSHOT);
+		queue.offer(frame(2), FrameKind.DELTA);
+		queue.offer(frame(3), FrameKind.SNAPSHOT);
+		queue.offer(frame(4), FrameKind.DELTA);
+		assertTrue(queue.offer(frame(5), FrameKind.DELTA));
+		// the deltas following the last snapshot apply to it, so they are kept
+		assertEquals(List.of(3, 4, 5), drain(queue));
+	}
+}
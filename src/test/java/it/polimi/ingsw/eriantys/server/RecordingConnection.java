@@ -0,0 +1,30 @@
+package it.polimi.ingsw.eriantys.server;
+
+import it.polimi.ingsw.eriantys.messages.Message;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A connection with no transport, which records the messages written to it.
+ */
+class RecordingConnection extends ClientConnection {
+	final List<Message> written = new CopyOnWriteArrayList<>();
+
+	RecordingConnection(Server server) {
+		super(server);
+	}
+
+	@Override
+	public void write(Message message) {
+		written.add(message);
+	}
+
+	@Override
+	protected void onFrameQueued() {
+	}
+
+	@Override
+	protected void closeTransport() {
+	}
+}
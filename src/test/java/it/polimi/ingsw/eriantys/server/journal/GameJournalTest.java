@@ -0,0 +1,303 @@
+package it.polimi.ingsw.eriantys.server.journal;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import it.polimi.ingsw.eriantys.model.BoardStatus;
+import it.polimi.ingsw.eriantys.model.GameConstants;
+import it.polimi.ingsw.eriantys.model.GameManager;
+import it.polimi.ingsw.eriantys.model.GameRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameJournalTest {
+	@TempDir
+	Path directory;
+
+	List<String> players = List.of("Alice", "Bob");
+
+	JournalEntry.Created created(long seed) {
+		return new JournalEntry.Created(3, "Alice", 2, true, seed, players, Map.of("Alice", "1a2b", "Bob", "3c4d"));
+	}
+
+	String entranceStudent(GameManager gameManager, String player) {
+		return gameManager.entranceRepresentation(player).entrySet().stream()
+				.filter(e -> e.getValue() > 0).findFirst().orElseThrow().getKey();
+	}
+
+	@Test
+	void replay_RecordedGame_SameBoard() throws Exception {
+		JournalWriter writer = new JournalWriter(directory, null);
+		writer.start();
+		GameJournal journal = writer.open(3);
+		GameManager gameManager = new GameManager(players, true, new GameRandom(42));
+		journal.append(created(42));
+
+		gameManager.setupPlayer("Alice", "BLACK", "FOREST");
+		journal.append(new JournalEntry.SetupPlayer("Alice", "BLACK", "FOREST", true));
+		assertThrows(Exception.class, () -> gameManager.setupPlayer("Bob", "PURPLE", "SKY"));
+		journal.append(new JournalEntry.SetupPlayer("Bob", "PURPLE", "SKY", false));
+		gameManager.setupPlayer("Bob", "WHITE", "SKY");
+		journal.append(new JournalEntry.SetupPlayer("Bob", "WHITE", "SKY", true));
+		gameManager.setupBoard();
+		gameManager.setupEntrances();
+		journal.append(new JournalEntry.Start());
+		gameManager.setupRound();
+		journal.append(new JournalEntry.Round());
+
+		Map<String, String> playedCards = new LinkedHashMap<>();
+		playedCards.put("Alice", "CAT");
+		playedCards.put("Bob", "CHEETAH");
+		gameManager.handleAssistantCards(playedCards);
+		journal.append(new JournalEntry.AssistantCards(playedCards));
+		String current = gameManager.getTurnOrder().get(0);
+		gameManager.setCurrentPlayer(current);
+		journal.append(new JournalEntry.CurrentPlayer(current));
+
+		for (int i = 0; i < 3; i++) {
+			String color = entranceStudent(gameManager, current);
+			String destination = i == 0 ? gameManager.islandsRepresentation().get(0) : GameConstants.DINING_ROOM;
+			gameManager.handleMovedStudent(current, color, destination);
+			journal.append(new JournalEntry.MoveStudent(current, color, destination, true));
+		}
+		JsonObject params = new JsonObject();
+		assertThrows(Exception.class, () -> gameManager.handleCharacterCard(5, params));
+		journal.append(new JournalEntry.CharacterCard(5, params.toString(), false));
+
+		List<String> islands = gameManager.islandsRepresentation();
+		String destination = islands.get((islands.indexOf(gameManager.motherNatureIslandRepresentation()) + 1) % islands.size());
+		gameManager.handleMotherNatureMovement(destination);
+		journal.append(new JournalEntry.MotherNature(destination, true));
+		gameManager.handleSelectedCloud(current, 0);
+		journal.append(new JournalEntry.Cloud(current, 0, true));
+		gameManager.cancelCharacterCardEffect();
+		journal.append(new JournalEntry.CancelEffect());
+		writer.close();
+
+		JournalCodec.Contents contents = JournalCodec.read(journal.getFile());
+		assertEquals(Files.size(journal.getFile()), contents.length());
+		assertEquals(created(42), contents.entries().get(0));
+		GameManager replayed = GameJournal.replay(contents.entries());
+		assertEquals(new Gson().toJson(new BoardStatus(gameManager)), new Gson().toJson(new BoardStatus(replayed)));
+	}
+
+	@Test
+	void decode_TornTail_ReturnCompleteEntries() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		bytes.write(JournalCodec.encode(created(7)));
+		bytes.write(JournalCodec.encode(new JournalEntry.Round()));
+		int length = bytes.size();
+		byte[] last = JournalCodec.encode(new JournalEntry.MoveStudent("Alice", "RED", "01", true));
+		bytes.write(last, 0, last.length - 1);
+
+		JournalCodec.Contents contents = JournalCodec.decode(bytes.toByteArray());
+		assertEquals(List.of(created(7), new JournalEntry.Round()), contents.entries());
+		assertEquals(length, contents.length());
+	}
+
+	@Test
+	void decode_CorruptedEntry_StopBeforeIt() throws IOException {
+		byte[] first = JournalCodec.encode(created(7));
+		byte[] second = JournalCodec.encode(new JournalEntry.CurrentPlayer("Bob"));
+		second[second.length - 1] ^= 1;
+		byte[] bytes = new byte[first.length + second.length];
+		System.arraycopy(first, 0, bytes, 0, first.length);
+		System.arraycopy(second, 0, bytes, first.length, second.length);
+
+		JournalCodec.Contents contents = JournalCodec.decode(bytes);
+		assertEquals(List.of(created(7)), contents.entries());
+		assertEquals(first.length, contents.length());
+	}
+
+	@Test
+	void replay_DivergingOutcome_ThrowsIOException() {
+		List<JournalEntry> entries = List.of(created(7), new JournalEntry.SetupPlayer("Alice", "PURPLE", "SKY", true));
+		assertThrows(IOException.class, () -> GameJournal.replay(entries));
+	}
+
+	@Test
+	void replay_MissingCreation_ThrowsIOException() {
+		assertThrows(IOException.class, () -> GameJournal.replay(List.of(new JournalEntry.Round())));
+	}
+
+	@Test
+	void close_Delete_RemoveFile() throws Exception {
+		JournalWriter writer = new JournalWriter(directory, null);
+		writer.start();
+		GameJournal journal = writer.open(1);
+		journal.append(created(7));
+		writer.flush();
+		assertTrue(Files.exists(journal.getFile()));
+
+		journal.close(true);
+		writer.close();
+		assertFalse(Files.exists(journal.getFile()));
+	}
+
+	@Test
+	void replay_FromSnapshot_SameBoard() throws Exception {
+		JournalWriter writer = new JournalWriter(directory, null);
+		writer.start();
+		GameJournal journal = writer.open(3);
+		GameManager gameManager = new GameManager(players, true, new GameRandom(42));
+		journal.append(created(42));
+		gameManager.setupPlayer("Alice", "BLACK", "FOREST");
+		journal.append(new JournalEntry.SetupPlayer("Alice", "BLACK", "FOREST", true));
+		gameManager.setupPlayer("Bob", "WHITE", "SKY");
+		journal.append(new JournalEntry.SetupPlayer("Bob", "WHITE", "SKY", true));
+		gameManager.setupBoard();
+		gameManager.setupEntrances();
+		journal.append(new JournalEntry.Start());
+		gameManager.setupRound();
+		journal.append(new JournalEntry.Round());
+		journal.snapshot(gameManager);
+
+		Map<String, String> playedCards = new LinkedHashMap<>();
+		playedCards.put("Alice", "EAGLE");
+		playedCards.put("Bob", "OSTRICH");
+		gameManager.handleAssistantCards(playedCards);
+		journal.append(new JournalEntry.AssistantCards(playedCards));
+		String current = gameManager.getTurnOrder().get(0);
+		gameManager.setCurrentPlayer(current);
+		journal.append(new JournalEntry.CurrentPlayer(current));
+		String color = entranceStudent(gameManager, current);
+		gameManager.handleMovedStudent(current, color, GameConstants.DINING_ROOM);
+		journal.append(new JournalEntry.MoveStudent(current, color, GameConstants.DINING_ROOM, true));
+		writer.close();
+
+		JournalCodec.Snapshot snapshot = JournalCodec.readSnapshot(journal.getSnapshotFile());
+		assertEquals(5, snapshot.entries());
+		List<JournalEntry> entries = JournalCodec.read(journal.getFile()).entries();
+		GameManager replayed = GameJournal.replay(entries, snapshot);
+		assertEquals(new Gson().toJson(new BoardStatus(gameManager)), new Gson().toJson(new BoardStatus(replayed)));
+		assertEquals(new Gson().toJson(new BoardStatus(GameJournal.replay(entries))), new Gson().toJson(new BoardStatus(replayed)));
+	}
+
+	@Test
+	void restore_SnapshotOfAnotherGame_ThrowsIOException() {
+		GameManager other = new GameManager(players, true, new GameRandom(8));
+		JournalCodec.Snapshot snapshot = new JournalCodec.Snapshot(1, other.snapshot());
+		assertThrows(IOException.class, () -> GameJournal.restore(List.of(created(7)), snapshot));
+	}
+
+	@Test
+	void restore_SnapshotAheadOfJournal_ThrowsIOException() {
+		GameManager gameManager = new GameManager(players, true, new GameRandom(7));
+		JournalCodec.Snapshot snapshot = new JournalCodec.Snapshot(2, gameManager.snapshot());
+		assertThrows(IOException.class, () -> GameJournal.restore(List.of(created(7)), snapshot));
+	}
+
+	@Test
+	void decodeSnapshot_CorruptedOrTruncated_ThrowsIOException() throws IOException {
+		byte[] state = new GameManager(players, false, new GameRandom(7)).snapshot();
+		byte[] bytes = JournalCodec.encodeSnapshot(new JournalCodec.Snapshot(4, state));
+		JournalCodec.Snapshot decoded = JournalCodec.decodeSnapshot(bytes);
+		assertEquals(4, decoded.entries());
+		assertArrayEquals(state, decoded.state());
+
+		byte[] corrupted = bytes.clone();
+		corrupted[corrupted.length - 1] ^= 1;
+		assertThrows(IOException.class, () -> JournalCodec.decodeSnapshot(corrupted));
+		assertThrows(IOException.class, () -> JournalCodec.decodeSnapshot(Arrays.copyOf(bytes, bytes.length - 1)));
+	}
+
+	@Test
+	void close_Delete_RemoveSnapshot() throws Exception {
+		JournalWriter writer = new JournalWriter(directory, null);
+		writer.start();
+		GameJournal journal = writer.open(2);
+		journal.append(created(7));
+		journal.snapshot(new GameManager(players, true, new GameRandom(7)));
+		writer.flush();
+		assertTrue(Files.exists(journal.getSnapshotFile()));
+
+		journal.close(true);
+		writer.flush();
+		assertFalse(Files.exists(journal.getSnapshotFile()));
+
+		GameJournal reopened = writer.open(2);
+		Files.write(reopened.getSnapshotFile(), new byte[]{1});
+		reopened.append(created(9));
+		writer.close();
+		assertFalse(Files.exists(reopened.getSnapshotFile()));
+	}
+
+	@Test
+	void replay_UnexpectedFailure_ThrowsIOException() {
+		List<JournalEntry> entries = List.of(created(7),
+				new JournalEntry.SetupPlayer("Alice", "BLACK", "FOREST", true),
+				new JournalEntry.SetupPlayer("Bob", "WHITE", "SKY", true),
+				new JournalEntry.Start(),
+				new JournalEntry.MoveStudent("Alice", "RED", null, false));
+		IOException e = assertThrows(IOException.class, () -> GameJournal.replay(entries));
+		assertInstanceOf(NullPointerException.class, e.getCause());
+	}
+
+	@Test
+	void replay_MalformedCharacterCardParams_ThrowsIOException() {
+		List<JournalEntry> entries = List.of(created(7), new JournalEntry.CharacterCard(0, "{", false));
+		assertThrows(IOException.class, () -> GameJournal.replay(entries));
+	}
+
+	@Test
+	void flush_WriterNotStarted_ThrowsIllegalStateException() throws IOException {
+		JournalWriter writer = new JournalWriter(directory, null);
+		writer.open(1).append(created(7));
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+			assertThrows(IllegalStateException.class, writer::flush);
+			writer.close();
+			writer.close();
+		});
+	}
+
+	@Test
+	void close_StoppedWriter_IgnoreLaterOperations() throws Exception {
+		JournalWriter writer = new JournalWriter(directory, null);
+		writer.start();
+		GameJournal journal = writer.open(1);
+		journal.append(created(7));
+		writer.close();
+		long length = Files.size(journal.getFile());
+
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+			journal.append(new JournalEntry.Round());
+			assertThrows(IllegalStateException.class, writer::flush);
+			writer.start();
+			assertThrows(IllegalStateException.class, writer::flush);
+			writer.close();
+		});
+		assertEquals(length, Files.size(journal.getFile()));
+	}
+
+	@Test
+	void flush_ConcurrentClose_NeverHang() throws Exception {
+		for (int i = 0; i < 50; i++) {
+			JournalWriter writer = new JournalWriter(directory, null);
+			writer.start();
+			GameJournal journal = writer.open(i);
+			journal.append(created(7));
+			Thread flusher = new Thread(() -> {
+				try {
+					writer.flush();
+				} catch (IllegalStateException | InterruptedException e) {
+					// the writer stopped first
+				}
+			});
+			flusher.start();
+			writer.close();
+			flusher.join(5000);
+			assertFalse(flusher.isAlive());
+		}
+	}
+}